@@ -18,11 +18,13 @@
 package org.ballerinalang.natives.annotation.processor;
 
 import org.ballerinalang.natives.annotation.processor.holders.PackageHolder;
+import org.ballerinalang.util.repository.BuiltinPackageRepository;
 
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -32,8 +34,10 @@ import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Builder class to generate ballerina files for the native APIs.
@@ -87,6 +91,28 @@ public class NativeBallerinaFileBuilder {
         } catch (IOException e) {
             ERROR.println("failed to move native ballerina files. cause: " + e);
         }
+
+        // writes the index of all ballerina files, so that the packages are loaded without scanning the jar
+        writePackageIndex();
+    }
+
+    /**
+     * Writes the package index, which lists the paths of all ballerina files in the targetDirectory, relative to
+     * the targetDirectory.
+     */
+    private void writePackageIndex() {
+        Path target = Paths.get(targetDirectory);
+        try (Stream<Path> files = Files.walk(target)) {
+            List<String> filePaths = files
+                    .filter(file -> file.toString().endsWith(".bal") && Files.isRegularFile(file))
+                    .map(file -> target.relativize(file).toString().replace(File.separatorChar, '/'))
+                    .sorted()
+                    .collect(Collectors.toList());
+            Files.write(target.resolve(BuiltinPackageRepository.PACKAGE_INDEX_FILE), filePaths,
+                    StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            ERROR.println("couldn't create the index of native packages. cause: " + e);
+        }
     }
 
     /**
@@ -51,6 +51,9 @@ public class PackageFinder extends SimpleFileVisitor<Path>  {
 
     @Override
     public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+        if (!file.toString().endsWith(".bal")) {
+            return FileVisitResult.CONTINUE;
+        }
         String pkg = basePath.relativize(file.getParent()).toString().replace(File.separator, ".");
         builtInPackages.add(pkg);
         return FileVisitResult.CONTINUE;
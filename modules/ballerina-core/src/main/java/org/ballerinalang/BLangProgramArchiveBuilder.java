@@ -19,31 +19,52 @@ package org.ballerinalang;
 
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.util.program.BLangFiles;
+import org.ballerinalang.util.program.BLangModelCache;
 import org.ballerinalang.util.program.BLangPackages;
+import org.ballerinalang.util.program.BLangProgramImage;
 import org.ballerinalang.util.repository.BLangProgramArchive;
 import org.ballerinalang.util.repository.PackageRepository;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.FileSystem;
-import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * This class provides helper methods to create main and service program archives.
+ * <p>
+ * An archive holds the source files of the program along with their model images, and the image of the analyzed
+ * program as its first entry, see {@link BLangProgramImage}.
  *
  * @since 0.8.0
  */
 public class BLangProgramArchiveBuilder {
 
+    private BLangModelCache modelCache;
+
+    /**
+     * Take the model images of the source files which have not changed since a previous build from the given cache,
+     * instead of parsing the source files again.
+     *
+     * @param modelCache cache of the model images of source files
+     * @return this builder
+     */
+    public BLangProgramArchiveBuilder setModelCache(BLangModelCache modelCache) {
+        this.modelCache = modelCache;
+        return this;
+    }
+
     public void build(BLangProgram bLangProgram) {
         String outFileName;
         String extension = bLangProgram.getProgramCategory().getExtension();
@@ -86,76 +107,119 @@ public class BLangProgramArchiveBuilder {
     }
 
     private void createArchive(BLangProgram bLangProgram, String outFileName) {
-        Map<String, String> zipFSEnv = new HashMap<>();
-        zipFSEnv.put("create", "true");
-
-        URI zipFileURI = URI.create("jar:file:" + Paths.get(outFileName).toUri().getPath());
-        try (FileSystem zipFS = FileSystems.newFileSystem(zipFileURI, zipFSEnv)) {
-            addProgramToArchive(bLangProgram, zipFS);
-            addBallerinaConfFile(zipFS, bLangProgram);
+        try (ZipOutputStream zipOut = new ZipOutputStream(Files.newOutputStream(Paths.get(outFileName)))) {
+            Set<String> dirEntryNames = new HashSet<>();
+            addProgramImage(bLangProgram, zipOut);
+            addProgramToArchive(bLangProgram, zipOut, dirEntryNames);
+            addBallerinaConfFile(zipOut, bLangProgram, dirEntryNames);
         } catch (IOException e) {
             throw new RuntimeException("error in creating program archive '" +
                     bLangProgram.getProgramFilePath() + "': " + e.getMessage());
         }
     }
 
-    private void addProgramToArchive(BLangProgram bLangProgram, FileSystem zipFS) throws IOException {
+    private void addProgramImage(BLangProgram bLangProgram, ZipOutputStream zipOut) throws IOException {
+        byte[] programImage = BLangProgramImage.write(bLangProgram);
+        if (programImage == null) {
+            // Loaders analyze the program from its source files
+            return;
+        }
+
+        // The image is the first entry, ahead of its directory entry, and is stored as it is, so that loaders map it
+        // from the archive file
+        ZipEntry imageEntry = new ZipEntry(BLangProgramArchive.PROGRAM_IMAGE_FILE_PATH);
+        CRC32 crc = new CRC32();
+        crc.update(programImage);
+        imageEntry.setMethod(ZipEntry.STORED);
+        imageEntry.setSize(programImage.length);
+        imageEntry.setCompressedSize(programImage.length);
+        imageEntry.setCrc(crc.getValue());
+        zipOut.putNextEntry(imageEntry);
+        zipOut.write(programImage);
+        zipOut.closeEntry();
+    }
+
+    private void addProgramToArchive(BLangProgram bLangProgram, ZipOutputStream zipOut, Set<String> dirEntryNames)
+            throws IOException {
 
         for (BLangPackage bLangPackage : bLangProgram.getPackages()) {
             if (bLangPackage.getPackagePath().equals(".")) {
                 PackageRepository.PackageSource packageSource =
                         bLangPackage.getPackageRepository().loadFile(bLangProgram.getProgramFilePath());
-                addPackageSourceToArchive(packageSource, Paths.get("."), zipFS);
+                addPackageSourceToArchive(packageSource, Paths.get("."), zipOut, dirEntryNames, bLangProgram);
                 continue;
             }
 
             Path packagePath = BLangPackages.getPathFromPackagePath(bLangPackage.getPackagePath());
             PackageRepository.PackageSource packageSource =
                     bLangPackage.getPackageRepository().loadPackage(packagePath);
-            addPackageSourceToArchive(packageSource, packagePath, zipFS);
+            addPackageSourceToArchive(packageSource, packagePath, zipOut, dirEntryNames, bLangProgram);
         }
     }
 
     private void addPackageSourceToArchive(PackageRepository.PackageSource packageSource,
                                            Path packagePath,
-                                           FileSystem zipFS) throws IOException {
+                                           ZipOutputStream zipOut,
+                                           Set<String> dirEntryNames,
+                                           BLangProgram bLangProgram) throws IOException {
+
+        // Model images are recorded on a package of their own, which is not a part of the program
+        BLangPackage.PackageBuilder packageBuilder = new BLangPackage.PackageBuilder(
+                BLangPackages.getPackagePathFromPath(packagePath), packageSource.getPackageRepository(), bLangProgram);
 
         for (Map.Entry<String, InputStream> mapEntry : packageSource.getSourceFileStreamMap().entrySet()) {
-            Path root = zipFS.getPath("/");
-            Path dest = zipFS.getPath(root.toString(),
-                    packagePath.resolve(mapEntry.getKey()).toString());
+            Path sourceFilePath = packagePath.resolve(mapEntry.getKey()).normalize();
+            String entryName = getEntryName(sourceFilePath);
 
-            copyFileToZip(mapEntry.getValue(), dest);
-        }
-    }
+            byte[] source = BLangFiles.readFully(mapEntry.getValue(), sourceFilePath);
+            addFileToZip(source, entryName, zipOut, dirEntryNames);
 
-    private void copyFileToZip(InputStream srcInputStream, Path destPath) throws IOException {
-        Path parent = destPath.getParent();
-        if (Files.notExists(parent)) {
-            Files.createDirectories(parent);
+            // Loaders replay the image of the source, instead of parsing it
+            byte[] modelImage = (modelCache != null) ?
+                    BLangFiles.createModelImage(mapEntry.getKey(), packagePath, source, modelCache, packageBuilder) :
+                    BLangFiles.createModelImage(mapEntry.getKey(), packagePath, source, packageBuilder);
+            addFileToZip(modelImage, entryName + BLangProgramArchive.MODEL_IMAGE_EXT, zipOut, dirEntryNames);
         }
-
-        Files.copy(srcInputStream, destPath, StandardCopyOption.REPLACE_EXISTING);
     }
 
-    private void addBallerinaConfFile(FileSystem zipFS, BLangProgram bLangProgram) throws IOException {
-        final Path rootPath = zipFS.getPath("/");
-        final Path destPath = zipFS.getPath(rootPath.toString(), BLangProgramArchive.BAL_INF_DIR_NAME,
-                BLangProgramArchive.BALLERINA_CONF);
+    private void addFileToZip(byte[] content, String entryName, ZipOutputStream zipOut, Set<String> dirEntryNames)
+            throws IOException {
+        addDirEntries(entryName, zipOut, dirEntryNames);
+        zipOut.putNextEntry(new ZipEntry(entryName));
+        zipOut.write(content);
+        zipOut.closeEntry();
+    }
 
-        String entryPointStr;
-        String[] entryPoints = bLangProgram.getEntryPoints();
-        if (entryPoints.length == 1) {
-            entryPointStr = zipFS.getPath(entryPoints[0]).toString();
-        } else {
-            StringBuilder stringBuilder = new StringBuilder();
-            for (int i = 0; i < entryPoints.length - 1; i++) {
-                stringBuilder.append(zipFS.getPath(entryPoints[i]).toString()).append(",");
+    private void addDirEntries(String entryName, ZipOutputStream zipOut, Set<String> dirEntryNames)
+            throws IOException {
+        // Parent directories first
+        int index = entryName.indexOf('/');
+        while (index != -1) {
+            String dirEntryName = entryName.substring(0, index + 1);
+            if (dirEntryNames.add(dirEntryName)) {
+                zipOut.putNextEntry(new ZipEntry(dirEntryName));
+                zipOut.closeEntry();
             }
+            index = entryName.indexOf('/', index + 1);
+        }
+    }
 
-            stringBuilder.append(zipFS.getPath(entryPoints[entryPoints.length - 1]).toString());
-            entryPointStr = stringBuilder.toString();
+    private String getEntryName(Path path) {
+        StringBuilder entryName = new StringBuilder();
+        for (Path name : path) {
+            if (entryName.length() > 0) {
+                entryName.append('/');
+            }
+            entryName.append(name.toString());
         }
+        return entryName.toString();
+    }
+
+    private void addBallerinaConfFile(ZipOutputStream zipOut, BLangProgram bLangProgram, Set<String> dirEntryNames)
+            throws IOException {
+        String entryPointStr = Arrays.stream(bLangProgram.getEntryPoints())
+                .map(entryPoint -> getEntryName(Paths.get(entryPoint)))
+                .collect(Collectors.joining(","));
 
         String balConfContent;
         if (bLangProgram.getProgramCategory() == BLangProgram.Category.MAIN_PROGRAM) {
@@ -167,7 +231,7 @@ public class BLangProgramArchiveBuilder {
                     BLangProgramArchive.SERVICE_PACKAGE_PREFIX + ": " + entryPointStr + "\n";
         }
 
-        InputStream stream = new ByteArrayInputStream(balConfContent.getBytes(StandardCharsets.UTF_8));
-        copyFileToZip(stream, destPath);
+        addFileToZip(balConfContent.getBytes(StandardCharsets.UTF_8),
+                BLangProgramArchive.BAL_INF_DIR_NAME + "/" + BLangProgramArchive.BALLERINA_CONF, zipOut, dirEntryNames);
     }
 }
@@ -17,23 +17,29 @@
 */
 package org.ballerinalang;
 
+import org.ballerinalang.bre.bytecode.BLangCodeGenerator;
+import org.ballerinalang.bre.nonblocking.ModeResolver;
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BLangProgram;
 import org.ballerinalang.model.GlobalScope;
 import org.ballerinalang.model.SymbolName;
 import org.ballerinalang.util.BLangDiagnosticListener;
+import org.ballerinalang.util.program.BLangModelCache;
 import org.ballerinalang.util.program.BLangPackages;
+import org.ballerinalang.util.program.BLangProgramImage;
 import org.ballerinalang.util.program.BLangPrograms;
 import org.ballerinalang.util.repository.BLangProgramArchive;
 import org.ballerinalang.util.repository.FileSystemPackageRepository;
 import org.ballerinalang.util.repository.PackageRepository;
 import org.ballerinalang.util.semantics.SemanticAnalyzer;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -46,6 +52,7 @@ public class BLangProgramLoader {
     private boolean disableSemanticAnalyzer = false;
     private PackageRepository packageRepository;
     private BLangDiagnosticListener diagnosticListener;
+    private BLangModelCache modelCache;
 
     public BLangProgram loadMain(Path programDirPath, Path sourcePath) {
         programDirPath = BLangPrograms.validateAndResolveProgramDirPath(programDirPath);
@@ -63,11 +70,9 @@ public class BLangProgramLoader {
         bLangProgram.setMainPackage(mainPackage);
         bLangProgram.define(new SymbolName(mainPackage.getPackagePath()), mainPackage);
 
-
         // Analyze the semantic properties of the Ballerina program
         if (!disableSemanticAnalyzer) {
-            SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(bLangProgram);
-            bLangProgram.accept(semanticAnalyzer);
+            analyze(bLangProgram, bLangPackages);
         }
 
         return bLangProgram;
@@ -92,8 +97,7 @@ public class BLangProgramLoader {
 
         // Analyze the semantic properties of the Ballerina program
         if (!disableSemanticAnalyzer) {
-            SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(bLangProgram);
-            bLangProgram.accept(semanticAnalyzer);
+            analyze(bLangProgram, servicePackages);
         }
 
         return bLangProgram;
@@ -119,8 +123,7 @@ public class BLangProgramLoader {
 
         // Analyze the semantic properties of the Ballerina program
         if (!disableSemanticAnalyzer) {
-            SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(bLangProgram);
-            bLangProgram.accept(semanticAnalyzer);
+            analyze(bLangProgram, bLangPackages);
         }
 
         return bLangProgram;
@@ -136,11 +139,37 @@ public class BLangProgramLoader {
         return this;
     }
 
+    /**
+     * Load the source files which have not changed since a previous load from their model images in the given cache,
+     * and cache the model images of the ones which are parsed. Packages which have not changed are read from their
+     * images in the cache as well, rather than analyzed.
+     *
+     * @param modelCache cache of the model images of source files
+     * @return this loader
+     */
+    public BLangProgramLoader setModelCache(BLangModelCache modelCache) {
+        this.modelCache = modelCache;
+        return this;
+    }
+
     public BLangProgramLoader addDiagnosticListener(BLangDiagnosticListener diagnosticListener) {
         this.diagnosticListener = diagnosticListener;
         return this;
     }
 
+    private void analyze(BLangProgram bLangProgram, BLangPackage[] bLangPackages) {
+        // Packages read from the program image of an archive are analyzed already
+        if (!Arrays.stream(bLangPackages).allMatch(BLangPackage::isSymbolsDefined)) {
+            SemanticAnalyzer semanticAnalyzer = new SemanticAnalyzer(bLangProgram, modelCache);
+            bLangProgram.accept(semanticAnalyzer);
+        }
+
+        // Lower function, action and resource bodies for the bytecode interpreter
+        if (ModeResolver.getInstance().isBytecodeEnabled()) {
+            BLangCodeGenerator.generate(bLangProgram);
+        }
+    }
+
     private BLangPackage[] loadPackages(Path programDirPath,
                                         Path sourcePath,
                                         BLangProgram bLangProgram) {
@@ -151,12 +180,14 @@ public class BLangProgramLoader {
         PackageRepository packageRepository = new FileSystemPackageRepository(programDirPath);
         if (Files.isDirectory(sourcePath, LinkOption.NOFOLLOW_LINKS)) {
             Path packagePath = programDirPath.relativize(sourcePath);
-            BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, packageRepository, bLangProgram);
+            BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, packageRepository, bLangProgram,
+                    modelCache);
             bLangProgram.addEntryPoint(packagePath.toString());
             return new BLangPackage[]{bLangPackage};
 
         } else if (sourcePath.toString().endsWith(BLangPrograms.BSOURCE_FILE_EXT)) {
-            BLangPackage bLangPackage = BLangPackages.loadFile(sourcePath, packageRepository, bLangProgram);
+            BLangPackage bLangPackage = BLangPackages.loadFile(sourcePath, packageRepository, bLangProgram,
+                    modelCache);
             bLangProgram.addEntryPoint(sourcePath.getFileName().toString());
             return new BLangPackage[]{bLangPackage};
         } else {
@@ -176,16 +207,29 @@ public class BLangProgramLoader {
                         bLangProgram.getProgramFilePath() + " : multiple entry points");
             }
 
+            // Read the analyzed program from its image if it is valid, else analyze it from the source files
+            BLangPackage[] bLangPackages = disableSemanticAnalyzer ? null : loadProgramImage(archivePath,
+                    programArchive, bLangProgram);
+            if (bLangPackages != null) {
+                for (String entryPoint : entryPoints) {
+                    bLangProgram.addEntryPoint(entryPoint.endsWith(".bal") ?
+                            Paths.get(entryPoint).getFileName().toString() : Paths.get(entryPoint).toString());
+                }
+                return bLangPackages;
+            }
+
             List<BLangPackage> bLangPackageList = new ArrayList<>();
             for (String entryPoint : entryPoints) {
                 if (entryPoint.endsWith(".bal")) {
                     Path filePath = Paths.get(entryPoint);
-                    BLangPackage bLangPackage = BLangPackages.loadFile(filePath, programArchive, bLangProgram);
+                    BLangPackage bLangPackage = BLangPackages.loadFile(filePath, programArchive, bLangProgram,
+                            modelCache);
                     bLangPackageList.add(bLangPackage);
                     bLangProgram.addEntryPoint(filePath.getFileName().toString());
                 } else {
                     Path packagePath = Paths.get(entryPoint);
-                    BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, programArchive, bLangProgram);
+                    BLangPackage bLangPackage = BLangPackages.loadPackage(packagePath, programArchive, bLangProgram,
+                            modelCache);
                     bLangPackageList.add(bLangPackage);
                     bLangProgram.addEntryPoint(packagePath.toString());
                 }
@@ -196,4 +240,11 @@ public class BLangProgramLoader {
             throw new RuntimeException(e.getMessage(), e);
         }
     }
+
+    private BLangPackage[] loadProgramImage(Path archivePath, BLangProgramArchive programArchive,
+                                            BLangProgram bLangProgram) {
+        ByteBuffer programImage = BLangProgramImage.map(archivePath);
+        return (programImage != null) ?
+                BLangProgramImage.read(programImage, bLangProgram, programArchive, modelCache) : null;
+    }
 }
@@ -22,6 +22,7 @@ import org.ballerinalang.bre.CallableUnitInfo;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.RuntimeEnvironment;
 import org.ballerinalang.bre.StackFrame;
+import org.ballerinalang.bre.bytecode.BLangBytecodeExecutor;
 import org.ballerinalang.bre.nonblocking.BLangNonBlockingExecutor;
 import org.ballerinalang.bre.nonblocking.ModeResolver;
 import org.ballerinalang.bre.nonblocking.debugger.BLangExecutionDebugger;
@@ -34,6 +35,8 @@ import org.ballerinalang.model.builder.BLangExecutionFlowBuilder;
 import org.ballerinalang.model.values.BArray;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.natives.connectors.NativeConnectorRegistry;
+import org.ballerinalang.runtime.ResourceInvocationPlan;
 import org.ballerinalang.services.ErrorHandlerUtils;
 import org.ballerinalang.services.dispatchers.DispatcherRegistry;
 import org.ballerinalang.util.debugger.DebugManager;
@@ -64,6 +67,8 @@ public class BLangProgramRunner {
                         dispatcher.serviceRegistered(service));
                 // Build Flow for Non-Blocking execution.
                 service.accept(flowBuilder);
+                // Resolve the resource invocations upfront, so that requests only have to bind the arguments.
+                ResourceInvocationPlan.prepare(service);
             }
         }
 
@@ -81,6 +86,26 @@ public class BLangProgramRunner {
         bLangProgram.setRuntimeEnvironment(runtimeEnv);
     }
 
+    /**
+     * Stop the services of a program started by {@link #startServices(BLangProgram)}. Shared connectors of the
+     * program, e.g. sql connection pools, are closed unless they are used by other programs.
+     *
+     * @param bLangProgram program with services
+     */
+    public void stopServices(BLangProgram bLangProgram) {
+        for (BLangPackage servicePackage : bLangProgram.getServicePackages()) {
+            for (Service service : servicePackage.getServices()) {
+                DispatcherRegistry.getInstance().getServiceDispatchers().forEach((protocol, dispatcher) ->
+                        dispatcher.serviceUnregistered(service));
+            }
+        }
+
+        RuntimeEnvironment runtimeEnv = bLangProgram.getRuntimeEnvironment();
+        if (runtimeEnv != null) {
+            NativeConnectorRegistry.getInstance().release(runtimeEnv);
+        }
+    }
+
     public void runMain(BLangProgram bLangProgram, String[] args) {
         Context bContext = new Context();
         BallerinaFunction mainFunction = bLangProgram.getMainFunction();
@@ -121,6 +146,9 @@ public class BLangProgramRunner {
                 BLangNonBlockingExecutor executor = new BLangNonBlockingExecutor(runtimeEnv, bContext);
                 bContext.setExecutor(executor);
                 executor.continueExecution(mainFunction.getCallableUnitBody());
+            } else if (ModeResolver.getInstance().isBytecodeEnabled()) {
+                BLangBytecodeExecutor executor = new BLangBytecodeExecutor(runtimeEnv, bContext);
+                executor.execute(mainFunction);
             } else {
                 BLangExecutor executor = new BLangExecutor(runtimeEnv, bContext);
                 mainFunction.getCallableUnitBody().execute(executor);
@@ -73,24 +73,25 @@ import org.ballerinalang.model.types.BMapType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.util.BValueUtils;
+import org.ballerinalang.model.util.BacktickTemplate;
 import org.ballerinalang.model.values.BArray;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BException;
 import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BJSON;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BValueType;
-import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.AbstractNativeTypeMapper;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
 import org.ballerinalang.natives.connectors.AbstractNativeConnector;
+import org.ballerinalang.natives.connectors.NativeConnectorRegistry;
 import org.ballerinalang.runtime.worker.WorkerCallback;
+import org.ballerinalang.runtime.worker.WorkerScheduler;
 import org.ballerinalang.services.ErrorHandlerUtils;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
@@ -100,8 +101,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -120,7 +119,6 @@ public class BLangExecutor implements NodeExecutor {
     private boolean returnedOrReplied;
     private boolean isForkJoinTimedOut;
     private boolean isBreakCalled;
-    private ExecutorService executor;
 
     public BLangExecutor(RuntimeEnvironment runtimeEnv, Context bContext) {
         this.runtimeEnv = runtimeEnv;
@@ -128,6 +126,18 @@ public class BLangExecutor implements NodeExecutor {
         this.controlStack = bContext.getControlStack();
     }
 
+    public boolean isReturnedOrReplied() {
+        return returnedOrReplied;
+    }
+
+    public boolean isBreakCalled() {
+        return isBreakCalled;
+    }
+
+    public void setBreakCalled(boolean breakCalled) {
+        isBreakCalled = breakCalled;
+    }
+
     @Override
     public void visit(BlockStmt blockStmt) {
         Statement[] stmts = blockStmt.getStatements();
@@ -337,14 +347,14 @@ public class BLangExecutor implements NodeExecutor {
 
         StackFrame stackFrame = new StackFrame(localVals, returnVals, functionInfo);
         Context workerContext = new Context();
+        workerContext.setDeadline(bContext.getDeadline());
         workerContext.getControlStack().pushFrame(stackFrame);
         WorkerCallback workerCallback = new WorkerCallback(workerContext);
         workerContext.setBalCallback(workerCallback);
         BLangExecutor workerExecutor = new BLangExecutor(runtimeEnv, workerContext);
 
-        executor = Executors.newSingleThreadExecutor();
         WorkerRunner workerRunner = new WorkerRunner(workerExecutor, workerContext, worker);
-        Future<BMessage> future = executor.submit(workerRunner);
+        Future<BMessage> future = WorkerScheduler.getInstance().submit(workerRunner);
         worker.setResultFuture(future);
 
 
@@ -357,21 +367,19 @@ public class BLangExecutor implements NodeExecutor {
         Future<BMessage> future = worker.getResultFuture();
         try {
             // TODO: Make this value configurable - need grammar level rethink
-            BMessage result = future.get(60, TimeUnit.SECONDS);
+            BMessage result = WorkerScheduler.getInstance().get(future, 60, TimeUnit.SECONDS);
             VariableRefExpr variableRefExpr = workerReplyStmt.getReceiveExpr();
             assignValueToVarRefExpr(result, variableRefExpr);
-            executor.shutdown();
-            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
-                executor.shutdownNow();
-            }
         } catch (Exception e) {
             // If there is an exception in the worker, set an empty value to the return variable
             BMessage result = BTypes.typeMessage.getDefaultValue();
             VariableRefExpr variableRefExpr = workerReplyStmt.getReceiveExpr();
             assignValueToVarRefExpr(result, variableRefExpr);
         } finally {
-            // Finally, try again to shutdown if not done already
-            executor.shutdownNow();
+            // Interrupt the worker if it is still running
+            if (future != null) {
+                future.cancel(true);
+            }
         }
     }
 
@@ -448,6 +456,7 @@ public class BLangExecutor implements NodeExecutor {
 
             StackFrame stackFrame = new StackFrame(localVals, returnVals, functionInfo);
             Context workerContext = new Context();
+            workerContext.setDeadline(bContext.getDeadline());
             workerContext.getControlStack().pushFrame(stackFrame);
             WorkerCallback workerCallback = new WorkerCallback(workerContext);
             workerContext.setBalCallback(workerCallback);
@@ -526,10 +535,9 @@ public class BLangExecutor implements NodeExecutor {
     }
 
     private BMessage invokeAnyWorker(List<WorkerRunner> workerRunnerList, int timeout) {
-        ExecutorService anyExecutor = Executors.newWorkStealingPool();
         BMessage result;
         try {
-            result = anyExecutor.invokeAny(workerRunnerList, timeout, TimeUnit.SECONDS);
+            result = WorkerScheduler.getInstance().invokeAny(workerRunnerList, timeout, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException e) {
             return null;
         } catch (TimeoutException e) {
@@ -540,10 +548,11 @@ public class BLangExecutor implements NodeExecutor {
     }
 
     private List<BMessage> invokeAllWorkers(List<WorkerRunner> workerRunnerList, int timeout) {
-        ExecutorService allExecutor = Executors.newWorkStealingPool();
         List<BMessage> result = new ArrayList<>();
         try {
-            allExecutor.invokeAll(workerRunnerList, timeout, TimeUnit.SECONDS).stream().map(bMessageFuture -> {
+            List<Future<BMessage>> futures = WorkerScheduler.getInstance().invokeAll(workerRunnerList, timeout,
+                    TimeUnit.SECONDS);
+            futures.stream().map(bMessageFuture -> {
                 try {
                     return bMessageFuture.get();
                 } catch (CancellationException e) {
@@ -803,14 +812,15 @@ public class BLangExecutor implements NodeExecutor {
 
         if (connector instanceof AbstractNativeConnector) {
 
-            AbstractNativeConnector nativeConnector = ((AbstractNativeConnector) connector).getInstance();
             Expression[] argExpressions = connectorInitExpr.getArgExprs();
             connectorMemBlock = new BValue[argExpressions.length];
             for (int j = 0; j < argExpressions.length; j++) {
                 connectorMemBlock[j] = argExpressions[j].execute(this);
             }
 
-            nativeConnector.init(connectorMemBlock);
+            // Connectors with expensive resources are shared, instead of being created for each execution
+            AbstractNativeConnector nativeConnector = NativeConnectorRegistry.getInstance()
+                    .getConnector((AbstractNativeConnector) connector, connectorMemBlock, runtimeEnv);
             bConnector = new BConnector(nativeConnector, connectorMemBlock);
 
 //            //TODO Fix Issue#320
@@ -849,13 +859,13 @@ public class BLangExecutor implements NodeExecutor {
     @Override
     public BValue visit(BacktickExpr backtickExpr) {
         // Evaluate the variable references before creating objects
-        String evaluatedString = evaluteBacktickString(backtickExpr);
-        if (backtickExpr.getType() == BTypes.typeJSON) {
-            return new BJSON(evaluatedString);
-
-        } else {
-            return new BXML(evaluatedString);
+        BacktickTemplate template = BacktickTemplate.getTemplate(backtickExpr);
+        Expression[] holeExprs = template.getHoleExprs();
+        BValue[] holeValues = new BValue[holeExprs.length];
+        for (int i = 0; i < holeExprs.length; i++) {
+            holeValues[i] = holeExprs[i].execute(this);
         }
+        return template.evaluate(holeValues);
     }
 
     @Override
@@ -991,23 +1001,6 @@ public class BLangExecutor implements NodeExecutor {
         return i;
     }
 
-    private String evaluteBacktickString(BacktickExpr backtickExpr) {
-        StringBuilder builder = new StringBuilder();
-        boolean isJson = backtickExpr.getType() == BTypes.typeJSON;
-        String strVal;
-        BValue bVal;
-        for (Expression expression : backtickExpr.getArgExprs()) {
-            bVal = expression.execute(this);
-            strVal = bVal.stringValue();
-            if (isJson && bVal instanceof BString && expression instanceof ReferenceExpr) {
-                builder.append("\"" + strVal + "\"");
-            } else {
-                builder.append(strVal);
-            }
-        }
-        return builder.toString();
-    }
-
     private void assignValueToArrayMapAccessExpr(BValue rValue, ArrayMapAccessExpr lExpr) {
         ArrayMapAccessExpr accessExpr = lExpr;
         if (!(accessExpr.getType() == BTypes.typeMap)) {
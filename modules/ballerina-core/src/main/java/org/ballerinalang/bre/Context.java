@@ -23,6 +23,7 @@ import org.wso2.carbon.messaging.CarbonMessage;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code Context} represents the runtime state of a program.
@@ -39,6 +40,8 @@ public class Context {
     private CallableUnitInfo serviceInfo;
     private BLangExecutionVisitor executor;
     private Object serverConnectorProtocol;
+    // Deadline of the request, in System.nanoTime() terms, or 0 if the request has no deadline
+    private long deadline;
 
     public Context() {
         this.controlStack = new ControlStack();
@@ -100,4 +103,32 @@ public class Context {
     public void setServerConnectorProtocol(Object serverConnectorProtocol) {
         this.serverConnectorProtocol = serverConnectorProtocol;
     }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    /**
+     * Set the deadline before which the outbound calls made on behalf of this context have to complete.
+     *
+     * @param deadline deadline in {@link System#nanoTime()} terms, or 0 if there is no deadline
+     */
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns the given timeout, shortened to the time left until the deadline of this context if there is one.
+     *
+     * @param timeout timeout of an outbound call
+     * @param unit    unit of the timeout
+     * @return timeout of the outbound call, which is not positive if the deadline has already passed
+     */
+    public long getTimeout(long timeout, TimeUnit unit) {
+        if (deadline == 0) {
+            return timeout;
+        }
+        long remaining = unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        return Math.min(timeout, remaining);
+    }
 }
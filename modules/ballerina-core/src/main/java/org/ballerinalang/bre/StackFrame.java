@@ -31,6 +31,11 @@ import java.util.HashMap;
  */
 public class StackFrame {
     public BValue[] values;
+    // Primitive register banks used by the bytecode interpreter for int, long and boolean (longValues) and
+    // float and double (doubleValues) values. They are used only in the bytecode mode, see
+    // ModeResolver#isBytecodeEnabled(); the AST executors hold all the values boxed in the values array.
+    public long[] longValues;
+    public double[] doubleValues;
     public BValue[] returnValues;
     private CallableUnitInfo callableUnitInfo;
     // Field for Non-Blocking Implementation.
@@ -56,6 +61,24 @@ public class StackFrame {
         this.callableUnitInfo = callableUnitInfo;
     }
 
+    /**
+     * Create a Stack frame with primitive register banks.
+     *
+     * @param values           Parameter and local variable values
+     * @param longValues       Registers holding int, long and boolean values
+     * @param doubleValues     Registers holding float and double values
+     * @param returnValues     Return values
+     * @param callableUnitInfo Meta info of the node.
+     */
+    public StackFrame(BValue[] values, long[] longValues, double[] doubleValues, BValue[] returnValues,
+                      CallableUnitInfo callableUnitInfo) {
+        this.values = values;
+        this.longValues = longValues;
+        this.doubleValues = doubleValues;
+        this.returnValues = returnValues;
+        this.callableUnitInfo = callableUnitInfo;
+    }
+
     public StackFrame(BValue[] values, BValue[] returnValues, BValue[] tempValues, CallableUnitInfo callableUnitInfo) {
         this.values = values;
         this.returnValues = returnValues;
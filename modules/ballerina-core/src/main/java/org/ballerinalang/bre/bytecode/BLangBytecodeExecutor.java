@@ -0,0 +1,613 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bytecode;
+
+import org.ballerinalang.bre.BLangExecutor;
+import org.ballerinalang.bre.CallableUnitInfo;
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.ControlStack;
+import org.ballerinalang.bre.RuntimeEnvironment;
+import org.ballerinalang.bre.StackFrame;
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.model.CallableUnit;
+import org.ballerinalang.model.ParameterDef;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.expressions.CallableUnitInvocationExpr;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.statements.Statement;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BConnector;
+import org.ballerinalang.model.values.BDouble;
+import org.ballerinalang.model.values.BFloat;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BLong;
+import org.ballerinalang.model.values.BMessage;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BValueType;
+import org.ballerinalang.natives.AbstractNativeFunction;
+import org.ballerinalang.natives.connectors.AbstractNativeAction;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+
+/**
+ * {@code BLangBytecodeExecutor} runs the code generated by the {@link BLangCodeGenerator} in a tight dispatch loop.
+ * <p>
+ * Invocations of Ballerina functions and actions run their compiled code on a new stack frame. Statements and
+ * expressions which are not lowered to instructions are delegated to a {@link BLangExecutor} sharing the same
+ * {@link Context}.
+ * <p>
+ * Primitive local variables live in the long and double register banks of the stack frame while the compiled code
+ * runs. The ones used by a delegated statement are boxed into the values array before it runs and unboxed again
+ * afterwards.
+ * <p>
+ * The register banks are used only in the bytecode mode, see {@link ModeResolver#isBytecodeEnabled()}. The AST
+ * executors, which run programs by default, hold all the values boxed; there only the results of comparisons and
+ * logical operators are not allocated, as they are shared {@link BBoolean} values.
+ *
+ * @since 0.8.1
+ */
+public class BLangBytecodeExecutor {
+
+    private static final long[] EMPTY_LONG_REGISTERS = new long[0];
+    private static final double[] EMPTY_DOUBLE_REGISTERS = new double[0];
+
+    private RuntimeEnvironment runtimeEnv;
+    private Context bContext;
+    private ControlStack controlStack;
+
+    public BLangBytecodeExecutor(RuntimeEnvironment runtimeEnv, Context bContext) {
+        this.runtimeEnv = runtimeEnv;
+        this.bContext = bContext;
+        this.controlStack = bContext.getControlStack();
+    }
+
+    /**
+     * Invoke the given resource with the given argument values.
+     *
+     * @param resource  resource to be invoked
+     * @param argValues argument values of the resource
+     */
+    public void invokeResource(Resource resource, BValue[] argValues) {
+        CompiledCode compiledCode = BLangCodeGenerator.getCompiledCode(resource);
+        BValue[] valueParams = new BValue[compiledCode.getRegisterCount()];
+        System.arraycopy(argValues, 0, valueParams, 0, argValues.length);
+
+        CallableUnitInfo resourceInfo = new CallableUnitInfo(resource.getName(), resource.getPackagePath(),
+                resource.getNodeLocation());
+        StackFrame stackFrame = new StackFrame(valueParams, allocLongRegisters(compiledCode),
+                allocDoubleRegisters(compiledCode), new BValue[1], resourceInfo);
+        controlStack.pushFrame(stackFrame);
+        execute(compiledCode, stackFrame);
+        controlStack.popFrame();
+    }
+
+    /**
+     * Execute the body of the given callable unit on the current stack frame. The values array of the current frame
+     * is expanded if it cannot hold all the registers of the compiled code.
+     *
+     * @param callableUnit Ballerina function, action or resource
+     */
+    public void execute(CallableUnit callableUnit) {
+        CompiledCode compiledCode = BLangCodeGenerator.getCompiledCode(callableUnit);
+        StackFrame stackFrame = controlStack.getCurrentFrame();
+        if (stackFrame.values.length < compiledCode.getRegisterCount()) {
+            stackFrame.values = Arrays.copyOf(stackFrame.values, compiledCode.getRegisterCount());
+        }
+        if (stackFrame.longValues == null || stackFrame.longValues.length < compiledCode.getLongRegisterCount()) {
+            stackFrame.longValues = allocLongRegisters(compiledCode);
+        }
+        if (stackFrame.doubleValues == null ||
+                stackFrame.doubleValues.length < compiledCode.getDoubleRegisterCount()) {
+            stackFrame.doubleValues = allocDoubleRegisters(compiledCode);
+        }
+        execute(compiledCode, stackFrame);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void execute(CompiledCode compiledCode, StackFrame stackFrame) {
+        int[] code = compiledCode.getCode();
+        Object[] constants = compiledCode.getConstants();
+        BValue[] regs = stackFrame.values;
+        long[] longRegs = stackFrame.longValues;
+        double[] doubleRegs = stackFrame.doubleValues;
+        boolean hasPrimitiveLocals = compiledCode.getPrimitiveLocals().length > 0;
+
+        // AST executor used for the statements and expressions which are not lowered. Created on demand.
+        BLangExecutor delegate = null;
+        BConnector bConnector;
+        BValue[] returnVals;
+        int[] useSet;
+        int pc = 0;
+
+        if (hasPrimitiveLocals) {
+            unboxPrimitiveLocals(compiledCode, stackFrame, null);
+        }
+
+        while (true) {
+            switch (code[pc]) {
+                case OpCodes.LDC:
+                    regs[code[pc + 1]] = (BValue) constants[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.LDNULL:
+                    regs[code[pc + 1]] = null;
+                    pc += 2;
+                    break;
+                case OpCodes.LDSTATIC:
+                    regs[code[pc + 1]] = runtimeEnv.getStaticMemory().getValue(code[pc + 2]);
+                    pc += 3;
+                    break;
+                case OpCodes.STSTATIC:
+                    runtimeEnv.getStaticMemory().setValue(code[pc + 2], regs[code[pc + 1]]);
+                    pc += 3;
+                    break;
+                case OpCodes.LDCONN:
+                    // In an action invocation first argument is always the connector
+                    bConnector = getConnector(regs);
+                    regs[code[pc + 1]] = bConnector.getValue(code[pc + 2]);
+                    pc += 3;
+                    break;
+                case OpCodes.STCONN:
+                    bConnector = getConnector(regs);
+                    bConnector.setValue(code[pc + 2], regs[code[pc + 1]]);
+                    pc += 3;
+                    break;
+                case OpCodes.MOV:
+                    regs[code[pc + 1]] = regs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.UNOP:
+                    regs[code[pc + 1]] = ((BiFunction<BValueType, BValueType, BValueType>) constants[code[pc + 3]])
+                            .apply(null, (BValueType) regs[code[pc + 2]]);
+                    pc += 4;
+                    break;
+                case OpCodes.BINOP:
+                    regs[code[pc + 1]] = ((BiFunction<BValueType, BValueType, BValueType>) constants[code[pc + 4]])
+                            .apply((BValueType) regs[code[pc + 2]], (BValueType) regs[code[pc + 3]]);
+                    pc += 5;
+                    break;
+                case OpCodes.JMP:
+                    pc = code[pc + 1];
+                    break;
+                case OpCodes.JMPF:
+                    pc = ((BBoolean) regs[code[pc + 1]]).booleanValue() ? pc + 3 : code[pc + 2];
+                    break;
+                case OpCodes.CALL:
+                    returnVals = invoke((CallableUnitInvocationExpr) constants[code[pc + 2]], regs,
+                            code[pc + 3], code[pc + 4]);
+                    if (code[pc + 1] >= 0) {
+                        regs[code[pc + 1]] = returnVals[0];
+                    }
+                    pc += 5;
+                    break;
+                case OpCodes.EVAL:
+                    if (delegate == null) {
+                        delegate = new BLangExecutor(runtimeEnv, bContext);
+                    }
+                    if (code[pc + 3] != 0 && hasPrimitiveLocals) {
+                        boxPrimitiveLocals(compiledCode, stackFrame, null);
+                    }
+                    regs[code[pc + 1]] = ((Expression) constants[code[pc + 2]]).execute(delegate);
+                    pc += 4;
+                    break;
+                case OpCodes.EXEC:
+                    if (delegate == null) {
+                        delegate = new BLangExecutor(runtimeEnv, bContext);
+                    }
+                    useSet = code[pc + 3] >= 0 ? (int[]) constants[code[pc + 3]] : null;
+                    if (hasPrimitiveLocals) {
+                        boxPrimitiveLocals(compiledCode, stackFrame, useSet);
+                    }
+                    ((Statement) constants[code[pc + 1]]).execute(delegate);
+                    if (hasPrimitiveLocals) {
+                        unboxPrimitiveLocals(compiledCode, stackFrame, useSet);
+                    }
+                    if (delegate.isReturnedOrReplied()) {
+                        return;
+                    } else if (delegate.isBreakCalled()) {
+                        delegate.setBreakCalled(false);
+                        pc = code[pc + 2];
+                    } else {
+                        pc += 4;
+                    }
+                    break;
+                case OpCodes.SETRET:
+                    stackFrame.returnValues[code[pc + 1]] = regs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.REPLY:
+                    bContext.getBalCallback().done(((BMessage) regs[code[pc + 1]]).value());
+                    return;
+                case OpCodes.RET:
+                    return;
+
+                case OpCodes.LDC_L:
+                    longRegs[code[pc + 1]] = (Long) constants[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.LDC_D:
+                    doubleRegs[code[pc + 1]] = (Double) constants[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.LMOV:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.DMOV:
+                    doubleRegs[code[pc + 1]] = doubleRegs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.UNBOX_I:
+                    longRegs[code[pc + 1]] = ((BValueType) regs[code[pc + 2]]).intValue();
+                    pc += 3;
+                    break;
+                case OpCodes.UNBOX_L:
+                    longRegs[code[pc + 1]] = ((BValueType) regs[code[pc + 2]]).longValue();
+                    pc += 3;
+                    break;
+                case OpCodes.UNBOX_Z:
+                    longRegs[code[pc + 1]] = ((BValueType) regs[code[pc + 2]]).booleanValue() ? 1 : 0;
+                    pc += 3;
+                    break;
+                case OpCodes.UNBOX_F:
+                    doubleRegs[code[pc + 1]] = ((BValueType) regs[code[pc + 2]]).floatValue();
+                    pc += 3;
+                    break;
+                case OpCodes.UNBOX_D:
+                    doubleRegs[code[pc + 1]] = ((BValueType) regs[code[pc + 2]]).doubleValue();
+                    pc += 3;
+                    break;
+                case OpCodes.BOX_I:
+                    regs[code[pc + 1]] = new BInteger((int) longRegs[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case OpCodes.BOX_L:
+                    regs[code[pc + 1]] = new BLong(longRegs[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case OpCodes.BOX_Z:
+                    regs[code[pc + 1]] = BBoolean.valueOf(longRegs[code[pc + 2]] != 0);
+                    pc += 3;
+                    break;
+                case OpCodes.BOX_F:
+                    regs[code[pc + 1]] = new BFloat((float) doubleRegs[code[pc + 2]]);
+                    pc += 3;
+                    break;
+                case OpCodes.BOX_D:
+                    regs[code[pc + 1]] = new BDouble(doubleRegs[code[pc + 2]]);
+                    pc += 3;
+                    break;
+
+                // int values are kept widened in the long bank, hence the operands are narrowed first
+                case OpCodes.I_ADD:
+                    longRegs[code[pc + 1]] = (int) longRegs[code[pc + 2]] + (int) longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.I_SUB:
+                    longRegs[code[pc + 1]] = (int) longRegs[code[pc + 2]] - (int) longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.I_MUL:
+                    longRegs[code[pc + 1]] = (int) longRegs[code[pc + 2]] * (int) longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.I_DIV:
+                    if ((int) longRegs[code[pc + 3]] == 0) {
+                        throw new BallerinaException(" / by zero");
+                    }
+                    longRegs[code[pc + 1]] = (int) longRegs[code[pc + 2]] / (int) longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.I_MOD:
+                    longRegs[code[pc + 1]] = (int) longRegs[code[pc + 2]] % (int) longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.L_ADD:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] + longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.L_SUB:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] - longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.L_MUL:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] * longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.L_DIV:
+                    if (longRegs[code[pc + 3]] == 0) {
+                        throw new BallerinaException(" / by zero");
+                    }
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] / longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.L_MOD:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] % longRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+
+                // float values are kept widened in the double bank, hence the operands are narrowed first
+                case OpCodes.F_ADD:
+                    doubleRegs[code[pc + 1]] = (float) doubleRegs[code[pc + 2]] + (float) doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.F_SUB:
+                    doubleRegs[code[pc + 1]] = (float) doubleRegs[code[pc + 2]] - (float) doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.F_MUL:
+                    doubleRegs[code[pc + 1]] = (float) doubleRegs[code[pc + 2]] * (float) doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.F_DIV:
+                    if ((float) doubleRegs[code[pc + 3]] == 0) {
+                        throw new BallerinaException(" / by zero");
+                    }
+                    doubleRegs[code[pc + 1]] = (float) doubleRegs[code[pc + 2]] / (float) doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.F_MOD:
+                    doubleRegs[code[pc + 1]] = (float) doubleRegs[code[pc + 2]] % (float) doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.D_ADD:
+                    doubleRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] + doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.D_SUB:
+                    doubleRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] - doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.D_MUL:
+                    doubleRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] * doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.D_DIV:
+                    if (doubleRegs[code[pc + 3]] == 0) {
+                        throw new BallerinaException(" / by zero");
+                    }
+                    doubleRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] / doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+                case OpCodes.D_MOD:
+                    doubleRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] % doubleRegs[code[pc + 3]];
+                    pc += 4;
+                    break;
+
+                case OpCodes.L_EQ:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] == longRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.L_NE:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] != longRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.L_LT:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] < longRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.L_LE:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] <= longRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.L_GT:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] > longRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.L_GE:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] >= longRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.D_EQ:
+                    longRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] == doubleRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.D_NE:
+                    longRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] != doubleRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.D_LT:
+                    longRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] < doubleRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.D_LE:
+                    longRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] <= doubleRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.D_GT:
+                    longRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] > doubleRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.D_GE:
+                    longRegs[code[pc + 1]] = doubleRegs[code[pc + 2]] >= doubleRegs[code[pc + 3]] ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.Z_AND:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] != 0 && longRegs[code[pc + 3]] != 0 ? 1 : 0;
+                    pc += 4;
+                    break;
+                case OpCodes.Z_OR:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] != 0 || longRegs[code[pc + 3]] != 0 ? 1 : 0;
+                    pc += 4;
+                    break;
+
+                case OpCodes.I_NEG:
+                    longRegs[code[pc + 1]] = -(int) longRegs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.L_NEG:
+                    longRegs[code[pc + 1]] = -longRegs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.F_NEG:
+                    doubleRegs[code[pc + 1]] = -(float) doubleRegs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.D_NEG:
+                    doubleRegs[code[pc + 1]] = -doubleRegs[code[pc + 2]];
+                    pc += 3;
+                    break;
+                case OpCodes.Z_NOT:
+                    longRegs[code[pc + 1]] = longRegs[code[pc + 2]] == 0 ? 1 : 0;
+                    pc += 3;
+                    break;
+                case OpCodes.JMPF_Z:
+                    pc = longRegs[code[pc + 1]] != 0 ? pc + 3 : code[pc + 2];
+                    break;
+                default:
+                    throw new IllegalStateException("invalid opcode: " + code[pc] + " at " + pc);
+            }
+        }
+    }
+
+    private BValue[] invoke(CallableUnitInvocationExpr<?> invocationExpr, BValue[] regs, int argStart, int argCount) {
+        CallableUnit callableUnit = invocationExpr.getCallableUnit();
+        CompiledCode compiledCode = BLangCodeGenerator.getCompiledCode(callableUnit);
+
+        int frameSize = compiledCode != null ? compiledCode.getRegisterCount() : callableUnit.getStackFrameSize();
+        BValue[] localVals = new BValue[frameSize];
+        System.arraycopy(regs, argStart, localVals, 0, argCount);
+
+        int valueCounter = argCount;
+        for (ParameterDef returnParam : callableUnit.getReturnParameters()) {
+            // Check whether these are unnamed set of return types.
+            // If so break the loop. You can't have a mix of unnamed and named returns parameters.
+            if (returnParam.getName() == null) {
+                break;
+            }
+
+            localVals[valueCounter] = returnParam.getType().getDefaultValue();
+            valueCounter++;
+        }
+
+        // Create an arrays in the stack frame to hold return values;
+        BValue[] returnVals = new BValue[callableUnit.getReturnParamTypes().length];
+
+        CallableUnitInfo callableUnitInfo = new CallableUnitInfo(callableUnit.getName(),
+                callableUnit.getPackagePath(), ((Expression) invocationExpr).getNodeLocation());
+        StackFrame stackFrame;
+        if (compiledCode != null) {
+            stackFrame = new StackFrame(localVals, allocLongRegisters(compiledCode),
+                    allocDoubleRegisters(compiledCode), returnVals, callableUnitInfo);
+        } else {
+            stackFrame = new StackFrame(localVals, returnVals, callableUnitInfo);
+        }
+        controlStack.pushFrame(stackFrame);
+
+        if (compiledCode != null) {
+            execute(compiledCode, stackFrame);
+        } else if (callableUnit instanceof AbstractNativeFunction) {
+            ((AbstractNativeFunction) callableUnit).executeNative(bContext);
+        } else {
+            ((AbstractNativeAction) callableUnit).execute(bContext);
+        }
+
+        controlStack.popFrame();
+        return returnVals;
+    }
+
+    private static long[] allocLongRegisters(CompiledCode compiledCode) {
+        int count = compiledCode.getLongRegisterCount();
+        return count == 0 ? EMPTY_LONG_REGISTERS : new long[count];
+    }
+
+    private static double[] allocDoubleRegisters(CompiledCode compiledCode) {
+        int count = compiledCode.getDoubleRegisterCount();
+        return count == 0 ? EMPTY_DOUBLE_REGISTERS : new double[count];
+    }
+
+    /**
+     * Moves the values of the given primitive local variables from the values array to the primitive registers.
+     *
+     * @param compiledCode code being run
+     * @param stackFrame   current stack frame
+     * @param useSet       indexes of the primitive local variables to be moved, or null to move all of them
+     */
+    private static void unboxPrimitiveLocals(CompiledCode compiledCode, StackFrame stackFrame, int[] useSet) {
+        int[] locals = compiledCode.getPrimitiveLocals();
+        int[] kinds = compiledCode.getPrimitiveLocalKinds();
+        int count = useSet != null ? useSet.length : locals.length;
+        for (int j = 0; j < count; j++) {
+            int i = useSet != null ? useSet[j] : j;
+            BValueType value = (BValueType) stackFrame.values[locals[i]];
+            if (value == null) {
+                // Not defined yet
+                continue;
+            }
+
+            switch (kinds[i]) {
+                case CompiledCode.INT_KIND:
+                    stackFrame.longValues[locals[i]] = value.intValue();
+                    break;
+                case CompiledCode.LONG_KIND:
+                    stackFrame.longValues[locals[i]] = value.longValue();
+                    break;
+                case CompiledCode.BOOLEAN_KIND:
+                    stackFrame.longValues[locals[i]] = value.booleanValue() ? 1 : 0;
+                    break;
+                case CompiledCode.FLOAT_KIND:
+                    stackFrame.doubleValues[locals[i]] = value.floatValue();
+                    break;
+                default:
+                    stackFrame.doubleValues[locals[i]] = value.doubleValue();
+            }
+        }
+    }
+
+    /**
+     * Moves the values of the given primitive local variables from the primitive registers to the values array.
+     *
+     * @param compiledCode code being run
+     * @param stackFrame   current stack frame
+     * @param useSet       indexes of the primitive local variables to be moved, or null to move all of them
+     */
+    private static void boxPrimitiveLocals(CompiledCode compiledCode, StackFrame stackFrame, int[] useSet) {
+        int[] locals = compiledCode.getPrimitiveLocals();
+        int[] kinds = compiledCode.getPrimitiveLocalKinds();
+        int count = useSet != null ? useSet.length : locals.length;
+        for (int j = 0; j < count; j++) {
+            int i = useSet != null ? useSet[j] : j;
+            switch (kinds[i]) {
+                case CompiledCode.INT_KIND:
+                    stackFrame.values[locals[i]] = new BInteger((int) stackFrame.longValues[locals[i]]);
+                    break;
+                case CompiledCode.LONG_KIND:
+                    stackFrame.values[locals[i]] = new BLong(stackFrame.longValues[locals[i]]);
+                    break;
+                case CompiledCode.BOOLEAN_KIND:
+                    stackFrame.values[locals[i]] = BBoolean.valueOf(stackFrame.longValues[locals[i]] != 0);
+                    break;
+                case CompiledCode.FLOAT_KIND:
+                    stackFrame.values[locals[i]] = new BFloat((float) stackFrame.doubleValues[locals[i]]);
+                    break;
+                default:
+                    stackFrame.values[locals[i]] = new BDouble(stackFrame.doubleValues[locals[i]]);
+            }
+        }
+    }
+
+    private BConnector getConnector(BValue[] regs) {
+        BConnector bConnector = (BConnector) regs[0];
+        if (bConnector == null) {
+            throw new BallerinaException("Connector argument value is null");
+        }
+        return bConnector;
+    }
+}
@@ -0,0 +1,1012 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bytecode;
+
+import org.ballerinalang.bre.ConnectorVarLocation;
+import org.ballerinalang.bre.ConstantLocation;
+import org.ballerinalang.bre.MemoryLocation;
+import org.ballerinalang.bre.ServiceVarLocation;
+import org.ballerinalang.bre.StackVarLocation;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.BallerinaAction;
+import org.ballerinalang.model.BallerinaConnectorDef;
+import org.ballerinalang.model.BallerinaFunction;
+import org.ballerinalang.model.CallableUnit;
+import org.ballerinalang.model.Function;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.model.expressions.ActionInvocationExpr;
+import org.ballerinalang.model.expressions.AddExpression;
+import org.ballerinalang.model.expressions.AndExpression;
+import org.ballerinalang.model.expressions.ArrayMapAccessExpr;
+import org.ballerinalang.model.expressions.BasicLiteral;
+import org.ballerinalang.model.expressions.BinaryExpression;
+import org.ballerinalang.model.expressions.CallableUnitInvocationExpr;
+import org.ballerinalang.model.expressions.DivideExpr;
+import org.ballerinalang.model.expressions.EqualExpression;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.expressions.FunctionInvocationExpr;
+import org.ballerinalang.model.expressions.GreaterEqualExpression;
+import org.ballerinalang.model.expressions.GreaterThanExpression;
+import org.ballerinalang.model.expressions.LessEqualExpression;
+import org.ballerinalang.model.expressions.LessThanExpression;
+import org.ballerinalang.model.expressions.MapStructInitKeyValueExpr;
+import org.ballerinalang.model.expressions.ModExpression;
+import org.ballerinalang.model.expressions.MultExpression;
+import org.ballerinalang.model.expressions.NotEqualExpression;
+import org.ballerinalang.model.expressions.OrExpression;
+import org.ballerinalang.model.expressions.RefTypeInitExpr;
+import org.ballerinalang.model.expressions.StructFieldAccessExpr;
+import org.ballerinalang.model.expressions.SubtractExpression;
+import org.ballerinalang.model.expressions.TypeCastExpression;
+import org.ballerinalang.model.expressions.UnaryExpression;
+import org.ballerinalang.model.expressions.VariableRefExpr;
+import org.ballerinalang.model.statements.ActionInvocationStmt;
+import org.ballerinalang.model.statements.AssignStmt;
+import org.ballerinalang.model.statements.BlockStmt;
+import org.ballerinalang.model.statements.BreakStmt;
+import org.ballerinalang.model.statements.CommentStmt;
+import org.ballerinalang.model.statements.FunctionInvocationStmt;
+import org.ballerinalang.model.statements.IfElseStmt;
+import org.ballerinalang.model.statements.ReplyStmt;
+import org.ballerinalang.model.statements.ReturnStmt;
+import org.ballerinalang.model.statements.Statement;
+import org.ballerinalang.model.statements.ThrowStmt;
+import org.ballerinalang.model.statements.TryCatchStmt;
+import org.ballerinalang.model.statements.VariableDefStmt;
+import org.ballerinalang.model.statements.WhileStmt;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BValueType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Stack;
+import java.util.TreeMap;
+
+import static org.ballerinalang.bre.bytecode.CompiledCode.BOOLEAN_KIND;
+import static org.ballerinalang.bre.bytecode.CompiledCode.DOUBLE_KIND;
+import static org.ballerinalang.bre.bytecode.CompiledCode.FLOAT_KIND;
+import static org.ballerinalang.bre.bytecode.CompiledCode.INT_KIND;
+import static org.ballerinalang.bre.bytecode.CompiledCode.LONG_KIND;
+
+/**
+ * {@code BLangCodeGenerator} lowers the body of a callable unit into a flat, register-based instruction stream.
+ * <p>
+ * This stage runs after the {@code SemanticAnalyzer}, hence memory locations and stack frame sizes are already
+ * resolved. Parameters and local variables are addressed directly using their stack frame offsets and temporary
+ * registers are allocated above them. Statements and expressions which are not lowered (e.g. try-catch, fork-join,
+ * struct and array access) are kept in the constant pool and delegated to the AST walking executor at runtime.
+ * <p>
+ * Local variables and expressions of int, long, boolean, float and double types are kept unboxed in the primitive
+ * register banks of the stack frame, so that arithmetic, comparisons and loop conditions do not allocate value
+ * objects. A value is boxed only when it escapes to the values array, e.g. as an invocation argument, a return
+ * value or an operand of a delegated node.
+ *
+ * @see OpCodes
+ * @see BLangBytecodeExecutor
+ * @since 0.8.1
+ */
+public class BLangCodeGenerator {
+
+    private static final int NO_REGISTER = -1;
+    private static final int NO_KIND = 0;
+
+    // Opcodes indexed by the primitive kind
+    private static final int[] BOX_OPCODES = {0, OpCodes.BOX_I, OpCodes.BOX_L, OpCodes.BOX_Z, OpCodes.BOX_F,
+            OpCodes.BOX_D};
+    private static final int[] UNBOX_OPCODES = {0, OpCodes.UNBOX_I, OpCodes.UNBOX_L, OpCodes.UNBOX_Z,
+            OpCodes.UNBOX_F, OpCodes.UNBOX_D};
+
+    // Primitive instructions of the evaluation functions of binary and unary expressions
+    private static final Map<Object, PrimitiveOp> PRIMITIVE_OPS = new IdentityHashMap<>();
+
+    static {
+        addPrimitiveOp(AddExpression.ADD_INT_FUNC, OpCodes.I_ADD, INT_KIND, INT_KIND);
+        addPrimitiveOp(AddExpression.ADD_LONG_FUNC, OpCodes.L_ADD, LONG_KIND, LONG_KIND);
+        addPrimitiveOp(AddExpression.ADD_FLOAT_FUNC, OpCodes.F_ADD, FLOAT_KIND, FLOAT_KIND);
+        addPrimitiveOp(AddExpression.ADD_DOUBLE_FUNC, OpCodes.D_ADD, DOUBLE_KIND, DOUBLE_KIND);
+        addPrimitiveOp(SubtractExpression.SUB_INT_FUNC, OpCodes.I_SUB, INT_KIND, INT_KIND);
+        addPrimitiveOp(SubtractExpression.SUB_LONG_FUNC, OpCodes.L_SUB, LONG_KIND, LONG_KIND);
+        addPrimitiveOp(SubtractExpression.SUB_FLOAT_FUNC, OpCodes.F_SUB, FLOAT_KIND, FLOAT_KIND);
+        addPrimitiveOp(SubtractExpression.SUB_DOUBLE_FUNC, OpCodes.D_SUB, DOUBLE_KIND, DOUBLE_KIND);
+        addPrimitiveOp(MultExpression.MULT_INT_FUNC, OpCodes.I_MUL, INT_KIND, INT_KIND);
+        addPrimitiveOp(MultExpression.MULT_LONG_FUNC, OpCodes.L_MUL, LONG_KIND, LONG_KIND);
+        addPrimitiveOp(MultExpression.MULT_FLOAT_FUNC, OpCodes.F_MUL, FLOAT_KIND, FLOAT_KIND);
+        addPrimitiveOp(MultExpression.MULT_DOUBLE_FUNC, OpCodes.D_MUL, DOUBLE_KIND, DOUBLE_KIND);
+        addPrimitiveOp(DivideExpr.DIV_INT_FUNC, OpCodes.I_DIV, INT_KIND, INT_KIND);
+        addPrimitiveOp(DivideExpr.DIV_LONG_FUNC, OpCodes.L_DIV, LONG_KIND, LONG_KIND);
+        addPrimitiveOp(DivideExpr.DIV_FLOAT_FUNC, OpCodes.F_DIV, FLOAT_KIND, FLOAT_KIND);
+        addPrimitiveOp(DivideExpr.DIV_DOUBLE_FUNC, OpCodes.D_DIV, DOUBLE_KIND, DOUBLE_KIND);
+        addPrimitiveOp(ModExpression.MOD_INT_FUNC, OpCodes.I_MOD, INT_KIND, INT_KIND);
+        addPrimitiveOp(ModExpression.MOD_LONG_FUNC, OpCodes.L_MOD, LONG_KIND, LONG_KIND);
+        addPrimitiveOp(ModExpression.MOD_FLOAT_FUNC, OpCodes.F_MOD, FLOAT_KIND, FLOAT_KIND);
+        addPrimitiveOp(ModExpression.MOD_DOUBLE_FUNC, OpCodes.D_MOD, DOUBLE_KIND, DOUBLE_KIND);
+
+        addPrimitiveOp(EqualExpression.EQUAL_INT_FUNC, OpCodes.L_EQ, INT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(EqualExpression.EQUAL_LONG_FUNC, OpCodes.L_EQ, LONG_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(EqualExpression.EQUAL_BOOLEAN_FUNC, OpCodes.L_EQ, BOOLEAN_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(EqualExpression.EQUAL_FLOAT_FUNC, OpCodes.D_EQ, FLOAT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(EqualExpression.EQUAL_DOUBLE_FUNC, OpCodes.D_EQ, DOUBLE_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(NotEqualExpression.NOT_EQUAL_INT_FUNC, OpCodes.L_NE, INT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(NotEqualExpression.NOT_EQUAL_LONG_FUNC, OpCodes.L_NE, LONG_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(NotEqualExpression.NOT_EQUAL_BOOLEAN_FUNC, OpCodes.L_NE, BOOLEAN_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(NotEqualExpression.NOT_EQUAL_FLOAT_FUNC, OpCodes.D_NE, FLOAT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(NotEqualExpression.NOT_EQUAL_DOUBLE_FUNC, OpCodes.D_NE, DOUBLE_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessThanExpression.LESS_THAN_INT_FUNC, OpCodes.L_LT, INT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessThanExpression.LESS_THAN_LONG_FUNC, OpCodes.L_LT, LONG_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessThanExpression.LESS_THAN_FLOAT_FUNC, OpCodes.D_LT, FLOAT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessThanExpression.LESS_THAN_DOUBLE_FUNC, OpCodes.D_LT, DOUBLE_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessEqualExpression.LESS_EQUAL_INT_FUNC, OpCodes.L_LE, INT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessEqualExpression.LESS_EQUAL_LONG_FUNC, OpCodes.L_LE, LONG_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessEqualExpression.LESS_EQUAL_FLOAT_FUNC, OpCodes.D_LE, FLOAT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(LessEqualExpression.LESS_EQUAL_DOUBLE_FUNC, OpCodes.D_LE, DOUBLE_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterThanExpression.GREATER_THAN_INT_FUNC, OpCodes.L_GT, INT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterThanExpression.GREATER_THAN_LONG_FUNC, OpCodes.L_GT, LONG_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterThanExpression.GREATER_THAN_FLOAT_FUNC, OpCodes.D_GT, FLOAT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterThanExpression.GREATER_THAN_DOUBLE_FUNC, OpCodes.D_GT, DOUBLE_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterEqualExpression.GREATER_EQUAL_INT_FUNC, OpCodes.L_GE, INT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterEqualExpression.GREATER_EQUAL_LONG_FUNC, OpCodes.L_GE, LONG_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterEqualExpression.GREATER_EQUAL_FLOAT_FUNC, OpCodes.D_GE, FLOAT_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(GreaterEqualExpression.GREATER_EQUAL_DOUBLE_FUNC, OpCodes.D_GE, DOUBLE_KIND, BOOLEAN_KIND);
+
+        addPrimitiveOp(AndExpression.AND_FUNC, OpCodes.Z_AND, BOOLEAN_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(OrExpression.OR_FUNC, OpCodes.Z_OR, BOOLEAN_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(UnaryExpression.NOT_BOOLEAN_FUNC, OpCodes.Z_NOT, BOOLEAN_KIND, BOOLEAN_KIND);
+        addPrimitiveOp(UnaryExpression.NEGATIVE_INT_FUNC, OpCodes.I_NEG, INT_KIND, INT_KIND);
+        addPrimitiveOp(UnaryExpression.NEGATIVE_LONG_FUNC, OpCodes.L_NEG, LONG_KIND, LONG_KIND);
+        addPrimitiveOp(UnaryExpression.NEGATIVE_FLOAT_FUNC, OpCodes.F_NEG, FLOAT_KIND, FLOAT_KIND);
+        addPrimitiveOp(UnaryExpression.NEGATIVE_DOUBLE_FUNC, OpCodes.D_NEG, DOUBLE_KIND, DOUBLE_KIND);
+    }
+
+    private int[] code = new int[64];
+    private int pc;
+    private List<Object> constants = new ArrayList<>();
+    private Map<Object, Integer> constantIndexes = new IdentityHashMap<>();
+
+    private int localCount;
+    private int nextTempRegister;
+    private int maxRegister;
+
+    // Primitive temporary registers are allocated above the local variables in each bank
+    private int nextLongRegister;
+    private int maxLongRegister;
+    private int nextDoubleRegister;
+    private int maxDoubleRegister;
+
+    // Kinds of the local variables held in primitive registers, keyed by the stack frame offset
+    private Map<Integer, Integer> primitiveLocals = new TreeMap<>();
+
+    // Primitive local variables used by each delegated statement, mapped to indexes of the primitive locals once the
+    // code is generated
+    private List<int[]> useSets = new ArrayList<>();
+
+    // Operand positions of the pending jumps to the end of each enclosing while loop
+    private Stack<List<Integer>> breakJumpStack = new Stack<>();
+
+    private BLangCodeGenerator(int localCount) {
+        this.localCount = localCount;
+        this.nextTempRegister = localCount;
+        this.maxRegister = localCount;
+        this.nextLongRegister = localCount;
+        this.nextDoubleRegister = localCount;
+    }
+
+    /**
+     * Generates code for all the Ballerina functions, actions and resources of the given program.
+     *
+     * @param bLangProgram semantically analyzed program
+     */
+    public static void generate(BLangProgram bLangProgram) {
+        for (BLangPackage bLangPackage : bLangProgram.getPackages()) {
+            for (Function function : bLangPackage.getFunctions()) {
+                if (function instanceof BallerinaFunction) {
+                    getCompiledCode(function);
+                }
+            }
+
+            for (BallerinaConnectorDef connectorDef : bLangPackage.getConnectors()) {
+                for (BallerinaAction action : connectorDef.getActions()) {
+                    getCompiledCode(action);
+                }
+            }
+
+            for (Service service : bLangPackage.getServices()) {
+                for (Resource resource : service.getResources()) {
+                    getCompiledCode(resource);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the code of the given callable unit, generating it on first use.
+     *
+     * @param callableUnit a Ballerina function, action or resource
+     * @return compiled code, or null if the given callable unit is a native one
+     */
+    public static CompiledCode getCompiledCode(CallableUnit callableUnit) {
+        if (callableUnit instanceof BallerinaFunction) {
+            BallerinaFunction function = (BallerinaFunction) callableUnit;
+            CompiledCode compiledCode = function.getCompiledCode();
+            if (compiledCode == null) {
+                synchronized (function) {
+                    compiledCode = function.getCompiledCode();
+                    if (compiledCode == null) {
+                        compiledCode = compile(function);
+                        function.setCompiledCode(compiledCode);
+                    }
+                }
+            }
+            return compiledCode;
+
+        } else if (callableUnit instanceof BallerinaAction) {
+            BallerinaAction action = (BallerinaAction) callableUnit;
+            CompiledCode compiledCode = action.getCompiledCode();
+            if (compiledCode == null) {
+                synchronized (action) {
+                    compiledCode = action.getCompiledCode();
+                    if (compiledCode == null) {
+                        compiledCode = compile(action);
+                        action.setCompiledCode(compiledCode);
+                    }
+                }
+            }
+            return compiledCode;
+
+        } else if (callableUnit instanceof Resource) {
+            Resource resource = (Resource) callableUnit;
+            CompiledCode compiledCode = resource.getCompiledCode();
+            if (compiledCode == null) {
+                synchronized (resource) {
+                    compiledCode = resource.getCompiledCode();
+                    if (compiledCode == null) {
+                        compiledCode = compile(resource);
+                        resource.setCompiledCode(compiledCode);
+                    }
+                }
+            }
+            return compiledCode;
+        }
+
+        return null;
+    }
+
+    private static CompiledCode compile(CallableUnit callableUnit) {
+        BLangCodeGenerator codeGenerator = new BLangCodeGenerator(callableUnit.getStackFrameSize());
+        codeGenerator.genStmt(callableUnit.getCallableUnitBody());
+        codeGenerator.emit(OpCodes.RET);
+
+        int[] primitiveLocals = new int[codeGenerator.primitiveLocals.size()];
+        int[] primitiveLocalKinds = new int[primitiveLocals.length];
+        int i = 0;
+        for (Map.Entry<Integer, Integer> entry : codeGenerator.primitiveLocals.entrySet()) {
+            primitiveLocals[i] = entry.getKey();
+            primitiveLocalKinds[i] = entry.getValue();
+            i++;
+        }
+
+        for (int[] useSet : codeGenerator.useSets) {
+            for (int j = 0; j < useSet.length; j++) {
+                useSet[j] = Arrays.binarySearch(primitiveLocals, useSet[j]);
+            }
+        }
+
+        return new CompiledCode(Arrays.copyOf(codeGenerator.code, codeGenerator.pc),
+                codeGenerator.constants.toArray(), codeGenerator.maxRegister, codeGenerator.maxLongRegister,
+                codeGenerator.maxDoubleRegister, primitiveLocals, primitiveLocalKinds);
+    }
+
+    // Statements
+
+    private void genStmt(Statement stmt) {
+        // Temporary registers are only live within a single statement
+        resetTempRegisters();
+
+        if (stmt instanceof BlockStmt) {
+            for (Statement childStmt : ((BlockStmt) stmt).getStatements()) {
+                genStmt(childStmt);
+            }
+        } else if (stmt instanceof VariableDefStmt) {
+            genVariableDefStmt((VariableDefStmt) stmt);
+        } else if (stmt instanceof AssignStmt) {
+            genAssignStmt((AssignStmt) stmt);
+        } else if (stmt instanceof IfElseStmt) {
+            genIfElseStmt((IfElseStmt) stmt);
+        } else if (stmt instanceof WhileStmt) {
+            genWhileStmt((WhileStmt) stmt);
+        } else if (stmt instanceof BreakStmt && !breakJumpStack.isEmpty()) {
+            emit(OpCodes.JMP, 0);
+            breakJumpStack.peek().add(pc - 1);
+        } else if (stmt instanceof ReturnStmt) {
+            genReturnStmt((ReturnStmt) stmt);
+        } else if (stmt instanceof ReplyStmt) {
+            int src = genExpr(((ReplyStmt) stmt).getReplyExpr());
+            emit(OpCodes.REPLY, src);
+        } else if (stmt instanceof FunctionInvocationStmt) {
+            genInvocation(((FunctionInvocationStmt) stmt).getFunctionInvocationExpr(), NO_REGISTER);
+        } else if (stmt instanceof ActionInvocationStmt) {
+            genInvocation(((ActionInvocationStmt) stmt).getActionInvocationExpr(), NO_REGISTER);
+        } else if (!(stmt instanceof CommentStmt)) {
+            genDelegatedStmt(stmt);
+        }
+    }
+
+    private void genVariableDefStmt(VariableDefStmt varDefStmt) {
+        Expression lExpr = varDefStmt.getLExpr();
+        Expression rExpr = varDefStmt.getRExpr();
+        if (!isAssignable(lExpr)) {
+            genDelegatedStmt(varDefStmt);
+            return;
+        }
+
+        VariableRefExpr varRefExpr = (VariableRefExpr) lExpr;
+        if (rExpr != null) {
+            genAssignment(varRefExpr, rExpr);
+            return;
+        }
+
+        int local = getPrimitiveLocal(varRefExpr);
+        if (local != NO_REGISTER) {
+            int kind = getKind(varRefExpr.getType());
+            emit(CompiledCode.isLongKind(kind) ? OpCodes.LDC_L : OpCodes.LDC_D, local,
+                    addConstant(CompiledCode.isLongKind(kind) ? (Object) 0L : (Object) 0.0d));
+            return;
+        }
+
+        int dst = getTargetRegister(varRefExpr);
+        if (BTypes.isValueType(lExpr.getType())) {
+            // Value types are immutable, hence the default value can be shared
+            emit(OpCodes.LDC, dst, addConstant(lExpr.getType().getDefaultValue()));
+        } else {
+            emit(OpCodes.LDNULL, dst);
+        }
+        genStore(varRefExpr, dst);
+    }
+
+    private void genAssignStmt(AssignStmt assignStmt) {
+        Expression[] lExprs = assignStmt.getLExprs();
+        if (lExprs.length != 1 || !isAssignable(lExprs[0])) {
+            genDelegatedStmt(assignStmt);
+            return;
+        }
+
+        genAssignment((VariableRefExpr) lExprs[0], assignStmt.getRExpr());
+    }
+
+    private void genAssignment(VariableRefExpr varRefExpr, Expression rExpr) {
+        int local = getPrimitiveLocal(varRefExpr);
+        if (local != NO_REGISTER) {
+            genPrimitiveExprInto(rExpr, getKind(varRefExpr.getType()), local);
+            return;
+        }
+
+        int dst = getTargetRegister(varRefExpr);
+        genExprInto(rExpr, dst);
+        genStore(varRefExpr, dst);
+    }
+
+    private void genIfElseStmt(IfElseStmt ifElseStmt) {
+        List<Integer> endJumps = new ArrayList<>();
+
+        int jumpToNext = genCondition(ifElseStmt.getCondition());
+        genStmt(ifElseStmt.getThenBody());
+        emit(OpCodes.JMP, 0);
+        endJumps.add(pc - 1);
+
+        for (IfElseStmt.ElseIfBlock elseIfBlock : ifElseStmt.getElseIfBlocks()) {
+            code[jumpToNext] = pc;
+            resetTempRegisters();
+            jumpToNext = genCondition(elseIfBlock.getElseIfCondition());
+            genStmt(elseIfBlock.getElseIfBody());
+            emit(OpCodes.JMP, 0);
+            endJumps.add(pc - 1);
+        }
+
+        code[jumpToNext] = pc;
+        Statement elseBody = ifElseStmt.getElseBody();
+        if (elseBody != null) {
+            genStmt(elseBody);
+        }
+
+        for (int jump : endJumps) {
+            code[jump] = pc;
+        }
+    }
+
+    private void genWhileStmt(WhileStmt whileStmt) {
+        int loopStart = pc;
+        int jumpToEnd = genCondition(whileStmt.getCondition());
+
+        breakJumpStack.push(new ArrayList<>());
+        genStmt(whileStmt.getBody());
+        emit(OpCodes.JMP, loopStart);
+
+        code[jumpToEnd] = pc;
+        for (int jump : breakJumpStack.pop()) {
+            code[jump] = pc;
+        }
+    }
+
+    private void genReturnStmt(ReturnStmt returnStmt) {
+        Expression[] exprs = returnStmt.getExprs();
+
+        // Multiple return values of a function invocation are handled by the AST executor
+        if (exprs.length == 1 && exprs[0] instanceof FunctionInvocationExpr &&
+                ((FunctionInvocationExpr) exprs[0]).getTypes().length > 1) {
+            genDelegatedStmt(returnStmt);
+            return;
+        }
+
+        for (int i = 0; i < exprs.length; i++) {
+            int src = genExpr(exprs[i]);
+            emit(OpCodes.SETRET, i, src);
+        }
+        emit(OpCodes.RET);
+    }
+
+    private void genDelegatedStmt(Statement stmt) {
+        // Only the primitive local variables used by the statement are boxed before delegating it and unboxed
+        // afterwards. If the statement cannot be inspected, the interpreter moves all of them.
+        Map<Integer, Integer> locals = new LinkedHashMap<>();
+        Set<Integer> definedLocals = new HashSet<>();
+        int useSetIndex = -1;
+        if (collectPrimitiveLocals(stmt, locals, definedLocals)) {
+            // Variables defined within the statement are not live outside of it
+            locals.keySet().removeAll(definedLocals);
+            int[] useSet = new int[locals.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Integer> entry : locals.entrySet()) {
+                addPrimitiveLocal(entry.getKey(), entry.getValue());
+                useSet[i++] = entry.getKey();
+            }
+            useSets.add(useSet);
+            useSetIndex = addConstant(useSet);
+        }
+
+        emit(OpCodes.EXEC, addConstant(stmt), -1, useSetIndex);
+        if (!breakJumpStack.isEmpty()) {
+            breakJumpStack.peek().add(pc - 2);
+        }
+    }
+
+    /**
+     * Generates code to evaluate the given boolean condition.
+     *
+     * @param condition condition expression
+     * @return position of the jump target operand to be patched with the location of the false branch
+     */
+    private int genCondition(Expression condition) {
+        if (isPrimitiveExpr(condition, BOOLEAN_KIND)) {
+            int cond = genPrimitiveExpr(condition, BOOLEAN_KIND);
+            emit(OpCodes.JMPF_Z, cond, 0);
+        } else {
+            int cond = genExpr(condition);
+            emit(OpCodes.JMPF, cond, 0);
+        }
+        return pc - 1;
+    }
+
+    // Expressions
+
+    /**
+     * Generates code to evaluate the given expression.
+     *
+     * @param expr expression to be evaluated
+     * @return register which holds the value of the expression
+     */
+    private int genExpr(Expression expr) {
+        if (expr instanceof VariableRefExpr &&
+                ((VariableRefExpr) expr).getMemoryLocation() instanceof StackVarLocation) {
+            int local = ((StackVarLocation) ((VariableRefExpr) expr).getMemoryLocation()).getStackFrameOffset();
+            if (getPrimitiveLocal(expr) != NO_REGISTER) {
+                // Box the current value into the slot of the variable in the values array
+                emit(BOX_OPCODES[getKind(expr.getType())], local, local);
+            }
+            return local;
+        }
+
+        int dst = allocTempRegister();
+        genExprInto(expr, dst);
+        return dst;
+    }
+
+    /**
+     * Generates code to evaluate the given expression into the given register. The destination register is only
+     * written by the last instruction generated for the expression.
+     *
+     * @param expr expression to be evaluated
+     * @param dst  destination register
+     */
+    private void genExprInto(Expression expr, int dst) {
+        int kind = getKind(expr.getType());
+        if (kind != NO_KIND && !(expr instanceof BasicLiteral) && isPrimitiveExpr(expr, kind)) {
+            int src = genPrimitiveExpr(expr, kind);
+            emit(BOX_OPCODES[kind], dst, src);
+
+        } else if (expr instanceof BasicLiteral) {
+            emit(OpCodes.LDC, dst, addConstant(((BasicLiteral) expr).getBValue()));
+
+        } else if (expr instanceof VariableRefExpr) {
+            genVariableRefExpr((VariableRefExpr) expr, dst);
+
+        } else if (expr instanceof BinaryExpression && ((BinaryExpression) expr).getEvalFunc() != null) {
+            // Right hand side is evaluated first, same as the AST executor
+            BinaryExpression binaryExpr = (BinaryExpression) expr;
+            int rhs = genExpr(binaryExpr.getRExpr());
+            int lhs = genExpr(binaryExpr.getLExpr());
+            emit(OpCodes.BINOP, dst, lhs, rhs, addConstant(binaryExpr.getEvalFunc()));
+
+        } else if (!(expr instanceof BinaryExpression) && expr instanceof UnaryExpression &&
+                ((UnaryExpression) expr).getEvalFunc() != null) {
+            UnaryExpression unaryExpr = (UnaryExpression) expr;
+            int src = genExpr(unaryExpr.getRExpr());
+            emit(OpCodes.UNOP, dst, src, addConstant(unaryExpr.getEvalFunc()));
+
+        } else if (expr instanceof FunctionInvocationExpr || expr instanceof ActionInvocationExpr) {
+            genInvocation((CallableUnitInvocationExpr) expr, dst);
+
+        } else {
+            genEval(expr, dst);
+        }
+    }
+
+    private void genVariableRefExpr(VariableRefExpr varRefExpr, int dst) {
+        MemoryLocation memoryLocation = varRefExpr.getMemoryLocation();
+        if (memoryLocation instanceof StackVarLocation) {
+            int src = ((StackVarLocation) memoryLocation).getStackFrameOffset();
+            if (src != dst) {
+                emit(OpCodes.MOV, dst, src);
+            }
+        } else if (memoryLocation instanceof ServiceVarLocation) {
+            emit(OpCodes.LDSTATIC, dst, ((ServiceVarLocation) memoryLocation).getStaticMemAddrOffset());
+        } else if (memoryLocation instanceof ConstantLocation) {
+            emit(OpCodes.LDSTATIC, dst, ((ConstantLocation) memoryLocation).getStaticMemAddrOffset());
+        } else if (memoryLocation instanceof ConnectorVarLocation) {
+            emit(OpCodes.LDCONN, dst, ((ConnectorVarLocation) memoryLocation).getConnectorMemAddrOffset());
+        } else {
+            genEval(varRefExpr, dst);
+        }
+    }
+
+    private void genEval(Expression expr, int dst) {
+        // Only the primitive local variables referred by the expression are boxed before delegating it. If the
+        // expression cannot be inspected, the interpreter boxes all of them.
+        Map<Integer, Integer> locals = new LinkedHashMap<>();
+        boolean spillAll = !collectPrimitiveLocals(expr, locals);
+        if (!spillAll) {
+            for (Map.Entry<Integer, Integer> entry : locals.entrySet()) {
+                addPrimitiveLocal(entry.getKey(), entry.getValue());
+                emit(BOX_OPCODES[entry.getValue()], entry.getKey(), entry.getKey());
+            }
+        }
+        emit(OpCodes.EVAL, dst, addConstant(expr), spillAll ? 1 : 0);
+    }
+
+    private void genInvocation(CallableUnitInvocationExpr invocationExpr, int dst) {
+        Expression[] argExprs = invocationExpr.getArgExprs();
+
+        // Arguments are passed in consecutive registers
+        int argStart = nextTempRegister;
+        for (int i = 0; i < argExprs.length; i++) {
+            allocTempRegister();
+        }
+
+        for (int i = 0; i < argExprs.length; i++) {
+            genExprInto(argExprs[i], argStart + i);
+        }
+
+        emit(OpCodes.CALL, dst, addConstant(invocationExpr), argStart, argExprs.length);
+    }
+
+    // Primitive expressions
+
+    /**
+     * Checks whether the given expression can be evaluated in the primitive registers of the given kind without
+     * boxing intermediate values.
+     *
+     * @param expr expression to be checked
+     * @param kind kind of the result
+     * @return true if the expression is a primitive local variable or a primitive operation
+     */
+    private boolean isPrimitiveExpr(Expression expr, int kind) {
+        return getKind(expr.getType()) == kind && (getPrimitiveLocal(expr) != NO_REGISTER ||
+                getPrimitiveOp(expr, kind) != null);
+    }
+
+    /**
+     * Generates code to evaluate the given expression into the primitive register bank of the given kind.
+     *
+     * @param expr expression to be evaluated
+     * @param kind kind of the result
+     * @return primitive register which holds the value of the expression
+     */
+    private int genPrimitiveExpr(Expression expr, int kind) {
+        if (getKind(expr.getType()) == kind) {
+            int local = getPrimitiveLocal(expr);
+            if (local != NO_REGISTER) {
+                return local;
+            }
+        }
+
+        int dst = allocTempPrimitiveRegister(kind);
+        genPrimitiveExprInto(expr, kind, dst);
+        return dst;
+    }
+
+    /**
+     * Generates code to evaluate the given expression into the given primitive register. Values of other
+     * expressions are evaluated as usual and unboxed. The destination register is only written by the last
+     * instruction generated for the expression.
+     *
+     * @param expr expression to be evaluated
+     * @param kind kind of the result
+     * @param dst  destination register in the bank of the given kind
+     */
+    private void genPrimitiveExprInto(Expression expr, int kind, int dst) {
+        boolean longKind = CompiledCode.isLongKind(kind);
+        int local = getKind(expr.getType()) == kind ? getPrimitiveLocal(expr) : NO_REGISTER;
+        PrimitiveOp op = getPrimitiveOp(expr, kind);
+
+        if (local != NO_REGISTER) {
+            if (local != dst) {
+                emit(longKind ? OpCodes.LMOV : OpCodes.DMOV, dst, local);
+            }
+
+        } else if (expr instanceof BasicLiteral && ((BasicLiteral) expr).getBValue() instanceof BValueType) {
+            BValueType value = (BValueType) ((BasicLiteral) expr).getBValue();
+            emit(longKind ? OpCodes.LDC_L : OpCodes.LDC_D, dst, addConstant(toPrimitiveConstant(value, kind)));
+
+        } else if (op != null && expr instanceof BinaryExpression) {
+            // Right hand side is evaluated first, same as the AST executor
+            BinaryExpression binaryExpr = (BinaryExpression) expr;
+            int rhs = genPrimitiveExpr(binaryExpr.getRExpr(), op.operandKind);
+            int lhs = genPrimitiveExpr(binaryExpr.getLExpr(), op.operandKind);
+            emit(op.opcode, dst, lhs, rhs);
+
+        } else if (op != null) {
+            int src = genPrimitiveExpr(((UnaryExpression) expr).getRExpr(), op.operandKind);
+            emit(op.opcode, dst, src);
+
+        } else {
+            int src = genExpr(expr);
+            emit(UNBOX_OPCODES[kind], dst, src);
+        }
+    }
+
+    private PrimitiveOp getPrimitiveOp(Expression expr, int kind) {
+        PrimitiveOp op;
+        if (expr instanceof BinaryExpression) {
+            BinaryExpression binaryExpr = (BinaryExpression) expr;
+            op = PRIMITIVE_OPS.get(binaryExpr.getEvalFunc());
+            if (op == null || getKind(binaryExpr.getLExpr().getType()) != op.operandKind ||
+                    getKind(binaryExpr.getRExpr().getType()) != op.operandKind) {
+                return null;
+            }
+        } else if (expr instanceof UnaryExpression && ((UnaryExpression) expr).getEvalFunc() != null) {
+            UnaryExpression unaryExpr = (UnaryExpression) expr;
+            op = PRIMITIVE_OPS.get(unaryExpr.getEvalFunc());
+            if (op == null || getKind(unaryExpr.getRExpr().getType()) != op.operandKind) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+
+        return op.resultKind == kind ? op : null;
+    }
+
+    /**
+     * Returns the stack frame offset of the given expression if it refers to a local variable of a primitive kind.
+     * Such variables are held in the primitive register with the same offset.
+     *
+     * @param expr expression to be checked
+     * @return stack frame offset of the variable, or {@code NO_REGISTER}
+     */
+    private int getPrimitiveLocal(Expression expr) {
+        int local = getLocalOffset(expr);
+        if (local != NO_REGISTER) {
+            addPrimitiveLocal(local, getKind(expr.getType()));
+        }
+        return local;
+    }
+
+    /**
+     * Returns the stack frame offset of the given expression if it refers to a local variable of a primitive kind,
+     * without allocating a primitive register for it.
+     *
+     * @param expr expression to be checked
+     * @return stack frame offset of the variable, or {@code NO_REGISTER}
+     */
+    private int getLocalOffset(Expression expr) {
+        if (!(expr instanceof VariableRefExpr) ||
+                !(((VariableRefExpr) expr).getMemoryLocation() instanceof StackVarLocation) ||
+                getKind(expr.getType()) == NO_KIND) {
+            return NO_REGISTER;
+        }
+        return ((StackVarLocation) ((VariableRefExpr) expr).getMemoryLocation()).getStackFrameOffset();
+    }
+
+    private void addPrimitiveLocal(int local, int kind) {
+        if (primitiveLocals.put(local, kind) == null) {
+            if (CompiledCode.isLongKind(kind)) {
+                maxLongRegister = Math.max(maxLongRegister, local + 1);
+            } else {
+                maxDoubleRegister = Math.max(maxDoubleRegister, local + 1);
+            }
+        }
+    }
+
+    /**
+     * Collects the primitive local variables referred by the given expression, which is delegated to the AST
+     * executor.
+     *
+     * @param expr   expression to be inspected
+     * @param locals kinds of the referred primitive local variables, keyed by the stack frame offset
+     * @return false if the expression contains a node which is not inspected
+     */
+    private boolean collectPrimitiveLocals(Expression expr, Map<Integer, Integer> locals) {
+        if (expr == null || expr instanceof BasicLiteral) {
+            return true;
+        } else if (expr instanceof VariableRefExpr) {
+            int local = getLocalOffset(expr);
+            if (local != NO_REGISTER) {
+                locals.put(local, getKind(expr.getType()));
+            }
+            return true;
+        } else if (expr instanceof BinaryExpression) {
+            BinaryExpression binaryExpr = (BinaryExpression) expr;
+            return collectPrimitiveLocals(binaryExpr.getLExpr(), locals) &&
+                    collectPrimitiveLocals(binaryExpr.getRExpr(), locals);
+        } else if (expr instanceof ArrayMapAccessExpr) {
+            ArrayMapAccessExpr accessExpr = (ArrayMapAccessExpr) expr;
+            return collectPrimitiveLocals(accessExpr.getRExpr(), locals) &&
+                    collectPrimitiveLocals(accessExpr.getIndexExpr(), locals);
+        } else if (expr instanceof StructFieldAccessExpr) {
+            StructFieldAccessExpr fieldAccessExpr = (StructFieldAccessExpr) expr;
+            return collectPrimitiveLocals(fieldAccessExpr.getVarRef(), locals) &&
+                    collectPrimitiveLocals(fieldAccessExpr.getFieldExpr(), locals);
+        } else if (expr instanceof RefTypeInitExpr) {
+            return collectPrimitiveLocals(((RefTypeInitExpr) expr).getArgExprs(), locals);
+        } else if (expr instanceof MapStructInitKeyValueExpr) {
+            MapStructInitKeyValueExpr keyValueExpr = (MapStructInitKeyValueExpr) expr;
+            return collectPrimitiveLocals(keyValueExpr.getKeyExpr(), locals) &&
+                    collectPrimitiveLocals(keyValueExpr.getValueExpr(), locals);
+        } else if (expr instanceof TypeCastExpression) {
+            TypeCastExpression typeCastExpr = (TypeCastExpression) expr;
+            return collectPrimitiveLocals(typeCastExpr.getRExpr(), locals) &&
+                    collectPrimitiveLocals(typeCastExpr.getArgExprs(), locals);
+        } else if (expr instanceof CallableUnitInvocationExpr) {
+            return collectPrimitiveLocals(((CallableUnitInvocationExpr) expr).getArgExprs(), locals);
+        } else if (expr.getClass() == UnaryExpression.class) {
+            return collectPrimitiveLocals(((UnaryExpression) expr).getRExpr(), locals);
+        }
+        return false;
+    }
+
+    private boolean collectPrimitiveLocals(Expression[] exprs, Map<Integer, Integer> locals) {
+        if (exprs == null) {
+            return true;
+        }
+
+        for (Expression expr : exprs) {
+            if (!collectPrimitiveLocals(expr, locals)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the primitive local variables used by the given statement, which is delegated to the AST executor.
+     *
+     * @param stmt          statement to be inspected
+     * @param locals        kinds of the referred primitive local variables, keyed by the stack frame offset
+     * @param definedLocals stack frame offsets of the primitive local variables defined in the nested blocks
+     * @return false if the statement contains a node which is not inspected
+     */
+    private boolean collectPrimitiveLocals(Statement stmt, Map<Integer, Integer> locals, Set<Integer> definedLocals) {
+        if (stmt == null || stmt instanceof CommentStmt || stmt instanceof BreakStmt) {
+            return true;
+        } else if (stmt instanceof BlockStmt) {
+            for (Statement childStmt : ((BlockStmt) stmt).getStatements()) {
+                if (childStmt instanceof VariableDefStmt) {
+                    int local = getLocalOffset(((VariableDefStmt) childStmt).getLExpr());
+                    if (local != NO_REGISTER) {
+                        definedLocals.add(local);
+                    }
+                }
+                if (!collectPrimitiveLocals(childStmt, locals, definedLocals)) {
+                    return false;
+                }
+            }
+            return true;
+        } else if (stmt instanceof VariableDefStmt) {
+            VariableDefStmt varDefStmt = (VariableDefStmt) stmt;
+            return collectPrimitiveLocals(varDefStmt.getLExpr(), locals) &&
+                    collectPrimitiveLocals(varDefStmt.getRExpr(), locals);
+        } else if (stmt instanceof AssignStmt) {
+            AssignStmt assignStmt = (AssignStmt) stmt;
+            return collectPrimitiveLocals(assignStmt.getLExprs(), locals) &&
+                    collectPrimitiveLocals(assignStmt.getRExpr(), locals);
+        } else if (stmt instanceof IfElseStmt) {
+            IfElseStmt ifElseStmt = (IfElseStmt) stmt;
+            if (!collectPrimitiveLocals(ifElseStmt.getCondition(), locals) ||
+                    !collectPrimitiveLocals(ifElseStmt.getThenBody(), locals, definedLocals)) {
+                return false;
+            }
+            for (IfElseStmt.ElseIfBlock elseIfBlock : ifElseStmt.getElseIfBlocks()) {
+                if (!collectPrimitiveLocals(elseIfBlock.getElseIfCondition(), locals) ||
+                        !collectPrimitiveLocals(elseIfBlock.getElseIfBody(), locals, definedLocals)) {
+                    return false;
+                }
+            }
+            return collectPrimitiveLocals(ifElseStmt.getElseBody(), locals, definedLocals);
+        } else if (stmt instanceof WhileStmt) {
+            WhileStmt whileStmt = (WhileStmt) stmt;
+            return collectPrimitiveLocals(whileStmt.getCondition(), locals) &&
+                    collectPrimitiveLocals(whileStmt.getBody(), locals, definedLocals);
+        } else if (stmt instanceof TryCatchStmt) {
+            TryCatchStmt tryCatchStmt = (TryCatchStmt) stmt;
+            TryCatchStmt.CatchBlock catchBlock = tryCatchStmt.getCatchBlock();
+            return collectPrimitiveLocals(tryCatchStmt.getTryBlock(), locals, definedLocals) &&
+                    (catchBlock == null ||
+                            collectPrimitiveLocals(catchBlock.getCatchBlockStmt(), locals, definedLocals));
+        } else if (stmt instanceof ReturnStmt) {
+            return collectPrimitiveLocals(((ReturnStmt) stmt).getExprs(), locals);
+        } else if (stmt instanceof ReplyStmt) {
+            return collectPrimitiveLocals(((ReplyStmt) stmt).getReplyExpr(), locals);
+        } else if (stmt instanceof ThrowStmt) {
+            return collectPrimitiveLocals(((ThrowStmt) stmt).getExpr(), locals);
+        } else if (stmt instanceof FunctionInvocationStmt) {
+            return collectPrimitiveLocals(((FunctionInvocationStmt) stmt).getFunctionInvocationExpr(), locals);
+        } else if (stmt instanceof ActionInvocationStmt) {
+            return collectPrimitiveLocals(((ActionInvocationStmt) stmt).getActionInvocationExpr(), locals);
+        }
+        return false;
+    }
+
+    // Helper methods
+
+    private boolean isAssignable(Expression lExpr) {
+        if (!(lExpr instanceof VariableRefExpr)) {
+            return false;
+        }
+
+        MemoryLocation memoryLocation = ((VariableRefExpr) lExpr).getMemoryLocation();
+        return memoryLocation instanceof StackVarLocation || memoryLocation instanceof ServiceVarLocation ||
+                memoryLocation instanceof ConnectorVarLocation;
+    }
+
+    private int getTargetRegister(VariableRefExpr varRefExpr) {
+        MemoryLocation memoryLocation = varRefExpr.getMemoryLocation();
+        if (memoryLocation instanceof StackVarLocation) {
+            return ((StackVarLocation) memoryLocation).getStackFrameOffset();
+        }
+        return allocTempRegister();
+    }
+
+    private void genStore(VariableRefExpr varRefExpr, int src) {
+        MemoryLocation memoryLocation = varRefExpr.getMemoryLocation();
+        if (memoryLocation instanceof ServiceVarLocation) {
+            emit(OpCodes.STSTATIC, src, ((ServiceVarLocation) memoryLocation).getStaticMemAddrOffset());
+        } else if (memoryLocation instanceof ConnectorVarLocation) {
+            emit(OpCodes.STCONN, src, ((ConnectorVarLocation) memoryLocation).getConnectorMemAddrOffset());
+        }
+    }
+
+    private void resetTempRegisters() {
+        nextTempRegister = localCount;
+        nextLongRegister = localCount;
+        nextDoubleRegister = localCount;
+    }
+
+    private int allocTempPrimitiveRegister(int kind) {
+        int register;
+        if (CompiledCode.isLongKind(kind)) {
+            register = nextLongRegister++;
+            maxLongRegister = Math.max(maxLongRegister, nextLongRegister);
+        } else {
+            register = nextDoubleRegister++;
+            maxDoubleRegister = Math.max(maxDoubleRegister, nextDoubleRegister);
+        }
+        return register;
+    }
+
+    private int allocTempRegister() {
+        int register = nextTempRegister++;
+        if (nextTempRegister > maxRegister) {
+            maxRegister = nextTempRegister;
+        }
+        return register;
+    }
+
+    private int addConstant(Object constant) {
+        Integer index = constantIndexes.get(constant);
+        if (index == null) {
+            index = constants.size();
+            constants.add(constant);
+            constantIndexes.put(constant, index);
+        }
+        return index;
+    }
+
+    private static int getKind(BType type) {
+        if (type == BTypes.typeInt) {
+            return INT_KIND;
+        } else if (type == BTypes.typeLong) {
+            return LONG_KIND;
+        } else if (type == BTypes.typeBoolean) {
+            return BOOLEAN_KIND;
+        } else if (type == BTypes.typeFloat) {
+            return FLOAT_KIND;
+        } else if (type == BTypes.typeDouble) {
+            return DOUBLE_KIND;
+        }
+        return NO_KIND;
+    }
+
+    private static Object toPrimitiveConstant(BValueType value, int kind) {
+        switch (kind) {
+            case INT_KIND:
+                return (long) value.intValue();
+            case LONG_KIND:
+                return value.longValue();
+            case BOOLEAN_KIND:
+                return value.booleanValue() ? 1L : 0L;
+            case FLOAT_KIND:
+                return (double) value.floatValue();
+            default:
+                return value.doubleValue();
+        }
+    }
+
+    private static void addPrimitiveOp(Object evalFunc, int opcode, int operandKind, int resultKind) {
+        PRIMITIVE_OPS.put(evalFunc, new PrimitiveOp(opcode, operandKind, resultKind));
+    }
+
+    private void emit(int... instruction) {
+        if (pc + instruction.length > code.length) {
+            code = Arrays.copyOf(code, Math.max(code.length * 2, pc + instruction.length));
+        }
+        System.arraycopy(instruction, 0, code, pc, instruction.length);
+        pc += instruction.length;
+    }
+
+    /**
+     * Primitive instruction of an evaluation function along with the kinds of its operands and result.
+     */
+    private static class PrimitiveOp {
+        private final int opcode;
+        private final int operandKind;
+        private final int resultKind;
+
+        PrimitiveOp(int opcode, int operandKind, int resultKind) {
+            this.opcode = opcode;
+            this.operandKind = operandKind;
+            this.resultKind = resultKind;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bytecode;
+
+/**
+ * {@code CompiledCode} holds the flat instruction stream generated for the body of a callable unit.
+ *
+ * @see BLangCodeGenerator
+ * @see BLangBytecodeExecutor
+ * @since 0.8.1
+ */
+public class CompiledCode {
+
+    // Kinds of values held in primitive registers
+    public static final int INT_KIND = 1;
+    public static final int LONG_KIND = 2;
+    public static final int BOOLEAN_KIND = 3;
+    public static final int FLOAT_KIND = 4;
+    public static final int DOUBLE_KIND = 5;
+
+    private final int[] code;
+    private final Object[] constants;
+    private final int registerCount;
+    private final int longRegisterCount;
+    private final int doubleRegisterCount;
+
+    // Stack frame offsets and kinds of the local variables which are held in primitive registers
+    private final int[] primitiveLocals;
+    private final int[] primitiveLocalKinds;
+
+    public CompiledCode(int[] code, Object[] constants, int registerCount, int longRegisterCount,
+                        int doubleRegisterCount, int[] primitiveLocals, int[] primitiveLocalKinds) {
+        this.code = code;
+        this.constants = constants;
+        this.registerCount = registerCount;
+        this.longRegisterCount = longRegisterCount;
+        this.doubleRegisterCount = doubleRegisterCount;
+        this.primitiveLocals = primitiveLocals;
+        this.primitiveLocalKinds = primitiveLocalKinds;
+    }
+
+    public int[] getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the constant pool of this code. It holds literal values, evaluation functions and the model nodes
+     * which are delegated to the AST executor.
+     *
+     * @return constant pool
+     */
+    public Object[] getConstants() {
+        return constants;
+    }
+
+    /**
+     * Returns the number of registers, i.e. parameters, local variables and temporaries, required in the stack
+     * frame to run this code.
+     *
+     * @return number of registers
+     */
+    public int getRegisterCount() {
+        return registerCount;
+    }
+
+    public int getLongRegisterCount() {
+        return longRegisterCount;
+    }
+
+    public int getDoubleRegisterCount() {
+        return doubleRegisterCount;
+    }
+
+    /**
+     * Returns the stack frame offsets of the parameters and local variables of value types which are held in the
+     * primitive register with the same offset. Their values have to be moved from and to the values array of the
+     * stack frame on entry and around the statements and expressions delegated to the AST executor.
+     *
+     * @return stack frame offsets of the primitive local variables
+     */
+    public int[] getPrimitiveLocals() {
+        return primitiveLocals;
+    }
+
+    public int[] getPrimitiveLocalKinds() {
+        return primitiveLocalKinds;
+    }
+
+    public static boolean isLongKind(int kind) {
+        return kind == INT_KIND || kind == LONG_KIND || kind == BOOLEAN_KIND;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bytecode;
+
+/**
+ * {@code OpCodes} defines the instruction set of the register-based bytecode interpreter.
+ * <p>
+ * Each instruction is encoded in the code array as the opcode followed by a fixed number of int operands.
+ * Register operands are indexes into the values array of the current {@link org.ballerinalang.bre.StackFrame};
+ * parameters and local variables keep their stack frame offsets and temporary registers are allocated above them.
+ * The same layout is used in the primitive register banks of the stack frame.
+ *
+ * @since 0.8.1
+ */
+public final class OpCodes {
+
+    // LDC dst, constIndex
+    public static final int LDC = 1;
+    // LDNULL dst
+    public static final int LDNULL = 2;
+    // LDSTATIC dst, staticMemOffset
+    public static final int LDSTATIC = 3;
+    // STSTATIC src, staticMemOffset
+    public static final int STSTATIC = 4;
+    // LDCONN dst, connectorMemOffset
+    public static final int LDCONN = 5;
+    // STCONN src, connectorMemOffset
+    public static final int STCONN = 6;
+    // MOV dst, src
+    public static final int MOV = 7;
+    // UNOP dst, src, evalFuncConstIndex
+    public static final int UNOP = 8;
+    // BINOP dst, lhs, rhs, evalFuncConstIndex
+    public static final int BINOP = 9;
+    // JMP target
+    public static final int JMP = 10;
+    // JMPF cond, target
+    public static final int JMPF = 11;
+    // CALL dst, invocationExprConstIndex, argStart, argCount
+    public static final int CALL = 12;
+    // EVAL dst, exprConstIndex, spillPrimitiveLocals
+    public static final int EVAL = 13;
+    // EXEC stmtConstIndex, breakTarget, useSetConstIndex
+    public static final int EXEC = 14;
+    // SETRET returnIndex, src
+    public static final int SETRET = 15;
+    // REPLY src
+    public static final int REPLY = 16;
+    // RET
+    public static final int RET = 17;
+
+    // Primitive register instructions. Values of int, long and boolean types are held in the long register bank
+    // and values of float and double types are held in the double register bank of the stack frame.
+
+    // LDC_L longDst, constIndex
+    public static final int LDC_L = 18;
+    // LDC_D doubleDst, constIndex
+    public static final int LDC_D = 19;
+    // LMOV longDst, longSrc
+    public static final int LMOV = 20;
+    // DMOV doubleDst, doubleSrc
+    public static final int DMOV = 21;
+
+    // UNBOX_X primitiveDst, src
+    public static final int UNBOX_I = 22;
+    public static final int UNBOX_L = 23;
+    public static final int UNBOX_Z = 24;
+    public static final int UNBOX_F = 25;
+    public static final int UNBOX_D = 26;
+
+    // BOX_X dst, primitiveSrc
+    public static final int BOX_I = 27;
+    public static final int BOX_L = 28;
+    public static final int BOX_Z = 29;
+    public static final int BOX_F = 30;
+    public static final int BOX_D = 31;
+
+    // X_OP dst, lhs, rhs
+    public static final int I_ADD = 32;
+    public static final int I_SUB = 33;
+    public static final int I_MUL = 34;
+    public static final int I_DIV = 35;
+    public static final int I_MOD = 36;
+    public static final int L_ADD = 37;
+    public static final int L_SUB = 38;
+    public static final int L_MUL = 39;
+    public static final int L_DIV = 40;
+    public static final int L_MOD = 41;
+    public static final int F_ADD = 42;
+    public static final int F_SUB = 43;
+    public static final int F_MUL = 44;
+    public static final int F_DIV = 45;
+    public static final int F_MOD = 46;
+    public static final int D_ADD = 47;
+    public static final int D_SUB = 48;
+    public static final int D_MUL = 49;
+    public static final int D_DIV = 50;
+    public static final int D_MOD = 51;
+
+    // Comparisons of the long and double banks. Result is a boolean in the long bank.
+    public static final int L_EQ = 52;
+    public static final int L_NE = 53;
+    public static final int L_LT = 54;
+    public static final int L_LE = 55;
+    public static final int L_GT = 56;
+    public static final int L_GE = 57;
+    public static final int D_EQ = 58;
+    public static final int D_NE = 59;
+    public static final int D_LT = 60;
+    public static final int D_LE = 61;
+    public static final int D_GT = 62;
+    public static final int D_GE = 63;
+
+    // Z_AND, Z_OR longDst, lhs, rhs
+    public static final int Z_AND = 64;
+    public static final int Z_OR = 65;
+
+    // X_NEG, Z_NOT dst, src
+    public static final int I_NEG = 66;
+    public static final int L_NEG = 67;
+    public static final int F_NEG = 68;
+    public static final int D_NEG = 69;
+    public static final int Z_NOT = 70;
+
+    // JMPF_Z longCond, target
+    public static final int JMPF_Z = 71;
+
+    private OpCodes() {
+    }
+}
@@ -113,23 +113,24 @@ import org.ballerinalang.model.types.BMapType;
 import org.ballerinalang.model.types.BType;
 import org.ballerinalang.model.types.BTypes;
 import org.ballerinalang.model.util.BValueUtils;
+import org.ballerinalang.model.util.BacktickTemplate;
 import org.ballerinalang.model.values.BArray;
 import org.ballerinalang.model.values.BBoolean;
 import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BException;
 import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BJSON;
 import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BValueType;
-import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.natives.connectors.AbstractNativeConnector;
 import org.ballerinalang.natives.connectors.BalConnectorCallback;
+import org.ballerinalang.natives.connectors.NativeConnectorRegistry;
 import org.ballerinalang.runtime.Constants;
 import org.ballerinalang.runtime.worker.WorkerCallback;
+import org.ballerinalang.runtime.worker.WorkerScheduler;
 import org.ballerinalang.services.ErrorHandlerUtils;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.exceptions.FlowBuilderException;
@@ -143,8 +144,6 @@ import java.util.Map;
 import java.util.Stack;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -163,7 +162,6 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
     private ControlStack controlStack;
     private Stack<TryCatchStackRef> tryCatchStackRefs;
     protected LinkedNode next;
-    private ExecutorService executor;
     private ForkJoinInvocationStatus forkJoinInvocationStatus;
     private boolean completed;
 
@@ -336,14 +334,14 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
 
         StackFrame stackFrame = new StackFrame(localVals, returnVals, functionInfo);
         Context workerContext = new Context();
+        workerContext.setDeadline(bContext.getDeadline());
         workerContext.getControlStack().pushFrame(stackFrame);
         WorkerCallback workerCallback = new WorkerCallback(workerContext);
         workerContext.setBalCallback(workerCallback);
         BLangExecutor workerExecutor = new BLangExecutor(runtimeEnv, workerContext);
 
-        executor = Executors.newSingleThreadExecutor();
         WorkerRunner workerRunner = new WorkerRunner(workerExecutor, workerContext, worker);
-        Future<BMessage> future = executor.submit(workerRunner);
+        Future<BMessage> future = WorkerScheduler.getInstance().submit(workerRunner);
         worker.setResultFuture(future);
     }
 
@@ -356,21 +354,19 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
         Worker worker = workerReplyStmt.getWorker();
         Future<BMessage> future = worker.getResultFuture();
         try {
-            BMessage result = future.get(60, TimeUnit.SECONDS);
+            BMessage result = WorkerScheduler.getInstance().get(future, 60, TimeUnit.SECONDS);
             VariableRefExpr variableRefExpr = workerReplyStmt.getReceiveExpr();
             assignValueToVarRefExpr(result, variableRefExpr);
-            executor.shutdown();
-            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
-                executor.shutdownNow();
-            }
         } catch (Exception e) {
             // If there is an exception in the worker, set an empty value to the return variable
             BMessage result = BTypes.typeMessage.getDefaultValue();
             VariableRefExpr variableRefExpr = workerReplyStmt.getReceiveExpr();
             assignValueToVarRefExpr(result, variableRefExpr);
         } finally {
-            // Finally, try again to shutdown if not done already
-            executor.shutdownNow();
+            // Interrupt the worker if it is still running
+            if (future != null) {
+                future.cancel(true);
+            }
         }
     }
 
@@ -729,6 +725,7 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
 
             StackFrame stackFrame = new StackFrame(localVals, returnVals, functionInfo);
             Context workerContext = new Context();
+            workerContext.setDeadline(bContext.getDeadline());
             workerContext.getControlStack().pushFrame(stackFrame);
             WorkerCallback workerCallback = new WorkerCallback(workerContext);
             workerContext.setBalCallback(workerCallback);
@@ -806,10 +803,9 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
     }
 
     private BMessage invokeAnyWorker(List<WorkerRunner> workerRunnerList, int timeout) {
-        ExecutorService anyExecutor = Executors.newWorkStealingPool();
         BMessage result;
         try {
-            result = anyExecutor.invokeAny(workerRunnerList, timeout, TimeUnit.SECONDS);
+            result = WorkerScheduler.getInstance().invokeAny(workerRunnerList, timeout, TimeUnit.SECONDS);
         } catch (InterruptedException | ExecutionException e) {
             return null;
         } catch (TimeoutException e) {
@@ -821,10 +817,11 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
     }
 
     private List<BMessage> invokeAllWorkers(List<WorkerRunner> workerRunnerList, int timeout) {
-        ExecutorService allExecutor = Executors.newWorkStealingPool();
         List<BMessage> result = new ArrayList<>();
         try {
-            allExecutor.invokeAll(workerRunnerList, timeout, TimeUnit.SECONDS).stream().map(bMessageFuture -> {
+            List<Future<BMessage>> futures = WorkerScheduler.getInstance().invokeAll(workerRunnerList, timeout,
+                    TimeUnit.SECONDS);
+            futures.stream().map(bMessageFuture -> {
                 try {
                     return bMessageFuture.get();
                 } catch (CancellationException e) {
@@ -1034,12 +1031,14 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
             logger.debug("Executing BacktickExpr - EndNode");
         }
         next = backtickExprEndNode.next;
-        String evaluatedString = evaluteBacktickString(backtickExprEndNode.getExpression());
-        if (backtickExprEndNode.getExpression().getType() == BTypes.typeJSON) {
-            setTempValue(backtickExprEndNode.getExpression().getTempOffset(), new BJSON(evaluatedString));
-        } else {
-            setTempValue(backtickExprEndNode.getExpression().getTempOffset(), new BXML(evaluatedString));
+        BacktickExpr backtickExpr = backtickExprEndNode.getExpression();
+        BacktickTemplate template = BacktickTemplate.getTemplate(backtickExpr);
+        Expression[] holeExprs = template.getHoleExprs();
+        BValue[] holeValues = new BValue[holeExprs.length];
+        for (int i = 0; i < holeExprs.length; i++) {
+            holeValues[i] = getTempValue(holeExprs[i]);
         }
+        setTempValue(backtickExpr.getTempOffset(), template.evaluate(holeValues));
     }
 
     @Override
@@ -1247,14 +1246,15 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
 
         if (connector instanceof AbstractNativeConnector) {
 
-            AbstractNativeConnector nativeConnector = ((AbstractNativeConnector) connector).getInstance();
             Expression[] argExpressions = connectorInitExpr.getArgExprs();
             connectorMemBlock = new BValue[argExpressions.length];
             for (int j = 0; j < argExpressions.length; j++) {
                 connectorMemBlock[j] = getTempValue(argExpressions[j]);
             }
 
-            nativeConnector.init(connectorMemBlock);
+            // Connectors with expensive resources are shared, instead of being created for each execution
+            AbstractNativeConnector nativeConnector = NativeConnectorRegistry.getInstance()
+                    .getConnector((AbstractNativeConnector) connector, connectorMemBlock, runtimeEnv);
             bConnector = new BConnector(nativeConnector, connectorMemBlock);
 
 //            //TODO Fix Issue#320
@@ -1420,23 +1420,6 @@ public abstract class BLangAbstractExecutionVisitor extends BLangExecutionVisito
         return i;
     }
 
-    private String evaluteBacktickString(BacktickExpr backtickExpr) {
-        StringBuilder builder = new StringBuilder();
-        boolean isJson = backtickExpr.getType() == BTypes.typeJSON;
-        String strVal;
-        BValue bVal;
-        for (Expression expression : backtickExpr.getArgExprs()) {
-            bVal = getTempValue(expression);
-            strVal = bVal.stringValue();
-            if (isJson && bVal instanceof BString && expression instanceof ReferenceExpr) {
-                builder.append("\"" + strVal + "\"");
-            } else {
-                builder.append(strVal);
-            }
-        }
-        return builder.toString();
-    }
-
     private void assignValue(BValue rValue, Expression lExpr) {
         if (lExpr instanceof VariableRefExpr) {
             assignValueToVarRefExpr(rValue, (VariableRefExpr) lExpr);
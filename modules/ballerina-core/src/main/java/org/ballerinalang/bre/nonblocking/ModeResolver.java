@@ -29,12 +29,22 @@ public class ModeResolver {
     private static final ModeResolver instance = new ModeResolver();
     private boolean nonblockingEnabled = false;
     private boolean debugEnabled = false;
+    private boolean bytecodeEnabled = false;
+    private boolean virtualThreadsEnabled = false;
 
     private ModeResolver() {
         String property = System.getProperty(Constants.SYS_PROP_ENABLE_NONBLOCKING);
         if (property != null && property.equalsIgnoreCase("true")) {
             nonblockingEnabled = true;
         }
+        String bytecode = System.getProperty(Constants.SYS_PROP_ENABLE_BYTECODE);
+        if (bytecode != null && bytecode.equalsIgnoreCase("true")) {
+            bytecodeEnabled = true;
+        }
+        String virtualThreads = System.getProperty(Constants.SYS_PROP_ENABLE_VIRTUAL_THREADS);
+        if (virtualThreads != null && virtualThreads.equalsIgnoreCase("true")) {
+            virtualThreadsEnabled = true;
+        }
         String debug = System.getProperty(Constants.SYSTEM_PROP_BAL_DEBUG);
         if (debug != null && !debug.isEmpty()) {
             debugEnabled = true;
@@ -54,6 +64,36 @@ public class ModeResolver {
         this.nonblockingEnabled = enabled;
     }
 
+    /**
+     * Whether blocking executions should run on the register-based bytecode interpreter instead of the
+     * AST walking {@code BLangExecutor}. Non-blocking and debug modes take precedence over this mode.
+     *
+     * @return true if the bytecode interpreter is enabled
+     */
+    public boolean isBytecodeEnabled() {
+        return bytecodeEnabled;
+    }
+
+    public void setBytecodeEnabled(boolean enabled) {
+        // Testing purpose only.
+        this.bytecodeEnabled = enabled;
+    }
+
+    /**
+     * Whether requests should be executed on virtual threads, if the JVM supports them. Blocking connector actions
+     * then only park a virtual thread while waiting for the response, instead of occupying a pooled platform thread.
+     *
+     * @return true if the virtual thread mode is enabled
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    public void setVirtualThreadsEnabled(boolean enabled) {
+        // Testing purpose only.
+        this.virtualThreadsEnabled = enabled;
+    }
+
     public boolean isDebugEnabled() {
         return this.debugEnabled;
     }
@@ -56,8 +56,10 @@ public class BLangPackage implements SymbolScope, BLangSymbol, Node {
     private Map<SymbolName, BLangSymbol> symbolMap = new HashMap<>();
 
     private boolean symbolsDefined = false;
-    private PackageRepository pkgRepo;
+    private transient PackageRepository pkgRepo;
     private boolean isNative = false;
+    // Digest of the source files, which keys the cached images of the package
+    private transient byte[] sourceDigest;
 
     public BLangPackage(BLangProgram programScope) {
         this.enclosingScope = programScope;
@@ -154,6 +156,14 @@ public class BLangPackage implements SymbolScope, BLangSymbol, Node {
         this.pkgRepo = pkgRepo;
     }
 
+    public byte[] getSourceDigest() {
+        return sourceDigest;
+    }
+
+    public void setSourceDigest(byte[] sourceDigest) {
+        this.sourceDigest = sourceDigest;
+    }
+
     public void setNative(boolean isNative) {
         this.isNative = isNative;
     }
@@ -326,6 +336,25 @@ public class BLangPackage implements SymbolScope, BLangSymbol, Node {
             this.ballerinaFileList = ballerinaFileList;
         }
 
+        /**
+         * Add the constructs collected by a builder which has loaded a source file of this package. Source files can
+         * be loaded in parallel, each with its own builder; adding their builders in the order of the files builds
+         * the same package irrespective of the order in which the files were loaded.
+         *
+         * @param fileBuilder builder of a source file of this package
+         */
+        public void addPackageBuilder(PackageBuilder fileBuilder) {
+            this.importPkgMap.putAll(fileBuilder.importPkgMap);
+            this.compilationUnitList.addAll(fileBuilder.compilationUnitList);
+            this.serviceList.addAll(fileBuilder.serviceList);
+            this.connectorList.addAll(fileBuilder.connectorList);
+            this.functionList.addAll(fileBuilder.functionList);
+            this.constList.addAll(fileBuilder.constList);
+            this.structDefList.addAll(fileBuilder.structDefList);
+            this.typeMapperList.addAll(fileBuilder.typeMapperList);
+            this.ballerinaFileList.addAll(fileBuilder.ballerinaFileList);
+        }
+
         public BLangPackage build() {
             bLangPackage.compilationUnits = this.compilationUnitList.toArray(new CompilationUnit[0]);
             bLangPackage.functions = this.functionList.toArray(new Function[0]);
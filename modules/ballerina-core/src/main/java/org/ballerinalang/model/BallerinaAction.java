@@ -18,6 +18,7 @@
 
 package org.ballerinalang.model;
 
+import org.ballerinalang.bre.bytecode.CompiledCode;
 import org.ballerinalang.model.builder.CallableUnitBuilder;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.symbols.BLangSymbol;
@@ -70,6 +71,7 @@ public class BallerinaAction implements Action, SymbolScope, Node {
     // Linker related variables
     private int tempStackFrameSize;
     private boolean isFlowBuilderVisited;
+    private transient volatile CompiledCode compiledCode;
 
     private BallerinaAction(SymbolScope enclosingScope) {
         this.enclosingScope = enclosingScope;
@@ -119,6 +121,14 @@ public class BallerinaAction implements Action, SymbolScope, Node {
         this.tempStackFrameSize = stackFrameSize;
     }
 
+    public CompiledCode getCompiledCode() {
+        return compiledCode;
+    }
+
+    public void setCompiledCode(CompiledCode compiledCode) {
+        this.compiledCode = compiledCode;
+    }
+
     @Override
     public BlockStmt getCallableUnitBody() {
         return actionBody;
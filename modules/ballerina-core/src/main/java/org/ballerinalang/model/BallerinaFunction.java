@@ -18,6 +18,7 @@
 
 package org.ballerinalang.model;
 
+import org.ballerinalang.bre.bytecode.CompiledCode;
 import org.ballerinalang.model.builder.CallableUnitBuilder;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.symbols.BLangSymbol;
@@ -70,6 +71,7 @@ public class BallerinaFunction implements Function, SymbolScope, CompilationUnit
     // Linker related variables
     private int tempStackFrameSize;
     private boolean isFlowBuilderVisited;
+    private transient volatile CompiledCode compiledCode;
 
     private BallerinaFunction(SymbolScope enclosingScope) {
         this.enclosingScope = enclosingScope;
@@ -98,6 +100,14 @@ public class BallerinaFunction implements Function, SymbolScope, CompilationUnit
         this.tempStackFrameSize = stackFrameSize;
     }
 
+    public CompiledCode getCompiledCode() {
+        return compiledCode;
+    }
+
+    public void setCompiledCode(CompiledCode compiledCode) {
+        this.compiledCode = compiledCode;
+    }
+
     /**
      * Get all the Workers associated with a BallerinaFunction.
      *
@@ -19,17 +19,18 @@ package org.ballerinalang.model;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.JsonNodeFactory;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.ballerinalang.model.values.BDataTable;
 import org.ballerinalang.model.values.BDataTable.ColumnDefinition;
 import org.ballerinalang.model.values.BJSON.JSONDataSource;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * {@link org.ballerinalang.model.values.BJSON.JSONDataSource} implementation for DataTable.
+ * <p>
+ * Unless a {@link JSONObjectGenerator} is given, the rows are written directly to the generator as they are read
+ * from the datatable, looking up the columns by their indexes.
  *
  * @since 0.8.0
  */
@@ -40,7 +41,7 @@ public class DataTableJSONDataSource implements JSONDataSource {
     private JSONObjectGenerator objGen;
 
     public DataTableJSONDataSource(BDataTable df) {
-        this(df, new DefaultJSONObjectGenerator());
+        this(df, null);
     }
 
     public DataTableJSONDataSource(BDataTable df, JSONObjectGenerator objGen) {
@@ -50,67 +51,74 @@ public class DataTableJSONDataSource implements JSONDataSource {
 
     @Override
     public void serialize(JsonGenerator gen) throws IOException {
-        gen.writeStartArray();
-        while (this.df.next()) {
-            this.objGen.transform(this.df).serialize(gen, null);
+        try {
+            gen.writeStartArray();
+            if (this.objGen != null) {
+                while (this.df.next()) {
+                    this.objGen.transform(this.df).serialize(gen, null);
+                }
+            } else {
+                List<ColumnDefinition> columnDefs = this.df.getColumnDefs();
+                while (this.df.next()) {
+                    writeRow(gen, this.df, columnDefs);
+                }
+            }
+            gen.writeEndArray();
+        } finally {
+            this.df.close();
         }
-        gen.writeEndArray();
-        this.df.close();
     }
 
     /**
-     * Default {@link DataTableJSONDataSource.JSONObjectGenerator} implementation based
-     * on the datatable's in-built column definition.
+     * Writes the current row of the given datatable as a JSON object, based on the datatable's in-built column
+     * definition.
      */
-    private static class DefaultJSONObjectGenerator implements JSONObjectGenerator {
-
-        @Override
-        public JsonNode transform(BDataTable df) throws IOException {
-            JsonNodeFactory fac = JsonNodeFactory.instance;
-            ObjectNode objNode = fac.objectNode();
-            String name;
-            for (ColumnDefinition col : df.getColumnDefs()) {
-                name = col.getName();
-                switch (col.getType()) {
-                case STRING:
-                    objNode.put(name, df.getString(name));
-                    break;
-                case INT:
-                    objNode.put(name, df.getInt(name));
-                    break;
-                case LONG:
-                    objNode.put(name, df.getLong(name));
-                    break;
-                case DOUBLE:
-                    objNode.put(name, df.getDouble(name));
-                    break;
-                case FLOAT:
-                    objNode.put(name, df.getFloat(name));
-                    break;
-                case BOOLEAN:
-                    objNode.put(name, df.getBoolean(name));
-                    break;
-                case ARRAY:
-                    //TODO: ARRAY
-                    break;
-                case JSON:
-                    objNode.set(name, new ObjectMapper().readTree(""));
-                    break;
-                case MAP:
-                    //TODO: MAP
-                    break;
-                case XML:
-                    objNode.put(name, "");
-                    //TODO: get XML
-                    break;
-                default:
-                    objNode.put(name, df.getString(name));
-                    break;
-                }
+    private static void writeRow(JsonGenerator gen, BDataTable df, List<ColumnDefinition> columnDefs)
+            throws IOException {
+        gen.writeStartObject();
+        int index = 0;
+        for (ColumnDefinition col : columnDefs) {
+            // Column indexes start from 1
+            index++;
+            String name = col.getName();
+            switch (col.getType()) {
+            case STRING:
+                gen.writeStringField(name, df.getString(index));
+                break;
+            case INT:
+                gen.writeNumberField(name, df.getInt(index));
+                break;
+            case LONG:
+                gen.writeNumberField(name, df.getLong(index));
+                break;
+            case DOUBLE:
+                gen.writeNumberField(name, df.getDouble(index));
+                break;
+            case FLOAT:
+                gen.writeNumberField(name, df.getFloat(index));
+                break;
+            case BOOLEAN:
+                gen.writeBooleanField(name, df.getBoolean(index));
+                break;
+            case ARRAY:
+                //TODO: ARRAY
+                break;
+            case JSON:
+                gen.writeNullField(name);
+                break;
+            case MAP:
+                //TODO: MAP
+                break;
+            case XML:
+                gen.writeStringField(name, "");
+                //TODO: get XML
+                break;
+            default:
+                gen.writeStringField(name, df.getString(index));
+                break;
             }
-            return objNode;
         }
-
+        gen.writeEndObject();
     }
 
     /**
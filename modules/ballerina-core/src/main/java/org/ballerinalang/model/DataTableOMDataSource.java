@@ -20,13 +20,15 @@ package org.ballerinalang.model;
 import org.apache.axiom.om.ds.AbstractPushOMDataSource;
 import org.ballerinalang.model.values.BDataTable;
 
+import java.util.List;
 import java.util.Map;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 
 /**
  * This will provide custom OMDataSource implementation by wrapping BDataTable.
- * This will use to convert result set into XML stream.
+ * This will use to convert result set into XML stream. Rows are written as they are read from the
+ * datatable, looking up the columns by their indexes.
  *
  * @since 0.8.0
  */
@@ -50,60 +52,71 @@ public class DataTableOMDataSource extends AbstractPushOMDataSource {
 
     @Override
     public void serialize(XMLStreamWriter xmlStreamWriter) throws XMLStreamException {
-        xmlStreamWriter.writeStartElement(this.rootWrapper);
-        while (dataTable.next()) {
-            xmlStreamWriter.writeStartElement(this.rowWrapper);
-            for (BDataTable.ColumnDefinition col : dataTable.getColumnDefs()) {
-                boolean isArray = false;
-                xmlStreamWriter.writeStartElement(col.getName());
-                String value = null;
-                switch (col.getType()) {
-                case BOOLEAN:
-                    value = String.valueOf(dataTable.getBoolean(col.getName()));
-                    break;
-                case STRING:
-                    value = dataTable.getString(col.getName());
-                    break;
-                case INT:
-                    value = String.valueOf(dataTable.getInt(col.getName()));
-                    break;
-                case LONG:
-                    value = String.valueOf(dataTable.getLong(col.getName()));
-                    break;
-                case FLOAT:
-                    value = String.valueOf(dataTable.getFloat(col.getName()));
-                    break;
-                case DOUBLE:
-                    value = String.valueOf(dataTable.getDouble(col.getName()));
-                    break;
-                case ARRAY:
-                    isArray = true;
-                    processArray(xmlStreamWriter, col);
-                    break;
-                default:
-                    value = dataTable.getObjectAsString(col.getName());
-                    break;
-                }
-                if (!isArray) {
-                    if (value == null) {
-                        xmlStreamWriter.writeNamespace(XSI_PREFIX, XSI_NAMESPACE);
-                        xmlStreamWriter.writeAttribute(XSI_PREFIX, XSI_NAMESPACE, "nil", "true");
-                    } else {
-                        xmlStreamWriter.writeCharacters(value);
-                    }
-                }
-                xmlStreamWriter.writeEndElement();
+        try {
+            List<BDataTable.ColumnDefinition> columnDefs = dataTable.getColumnDefs();
+            xmlStreamWriter.writeStartElement(this.rootWrapper);
+            while (dataTable.next()) {
+                writeRow(xmlStreamWriter, columnDefs);
             }
             xmlStreamWriter.writeEndElement();
+        } finally {
+            dataTable.close();
         }
-        xmlStreamWriter.writeEndElement();
-        dataTable.close();
         xmlStreamWriter.flush();
     }
 
-    private void processArray(XMLStreamWriter xmlStreamWriter, BDataTable.ColumnDefinition col)
+    private void writeRow(XMLStreamWriter xmlStreamWriter, List<BDataTable.ColumnDefinition> columnDefs)
             throws XMLStreamException {
-        Map<String, Object> array = dataTable.getArray(col.getName());
+        xmlStreamWriter.writeStartElement(this.rowWrapper);
+        int index = 0;
+        for (BDataTable.ColumnDefinition col : columnDefs) {
+            // Column indexes start from 1
+            index++;
+            boolean isArray = false;
+            xmlStreamWriter.writeStartElement(col.getName());
+            String value = null;
+            switch (col.getType()) {
+            case BOOLEAN:
+                value = String.valueOf(dataTable.getBoolean(index));
+                break;
+            case STRING:
+                value = dataTable.getString(index);
+                break;
+            case INT:
+                value = String.valueOf(dataTable.getInt(index));
+                break;
+            case LONG:
+                value = String.valueOf(dataTable.getLong(index));
+                break;
+            case FLOAT:
+                value = String.valueOf(dataTable.getFloat(index));
+                break;
+            case DOUBLE:
+                value = String.valueOf(dataTable.getDouble(index));
+                break;
+            case ARRAY:
+                isArray = true;
+                processArray(xmlStreamWriter, index);
+                break;
+            default:
+                value = dataTable.getObjectAsString(index);
+                break;
+            }
+            if (!isArray) {
+                if (value == null) {
+                    xmlStreamWriter.writeNamespace(XSI_PREFIX, XSI_NAMESPACE);
+                    xmlStreamWriter.writeAttribute(XSI_PREFIX, XSI_NAMESPACE, "nil", "true");
+                } else {
+                    xmlStreamWriter.writeCharacters(value);
+                }
+            }
+            xmlStreamWriter.writeEndElement();
+        }
+        xmlStreamWriter.writeEndElement();
+    }
+
+    private void processArray(XMLStreamWriter xmlStreamWriter, int index) throws XMLStreamException {
+        Map<String, Object> array = dataTable.getArray(index);
         if (array != null && !array.isEmpty()) {
             for (Map.Entry<String, Object> values : array.entrySet()) {
                 xmlStreamWriter.writeStartElement(ARRAY_ELEMENT_NAME);
@@ -18,10 +18,12 @@
 
 package org.ballerinalang.model;
 
+import org.ballerinalang.bre.bytecode.CompiledCode;
 import org.ballerinalang.model.builder.CallableUnitBuilder;
 import org.ballerinalang.model.statements.BlockStmt;
 import org.ballerinalang.model.symbols.BLangSymbol;
 import org.ballerinalang.model.types.BType;
+import org.ballerinalang.runtime.ResourceInvocationPlan;
 import org.ballerinalang.util.exceptions.FlowBuilderException;
 
 import java.util.Collections;
@@ -67,6 +69,8 @@ public class Resource implements Node, SymbolScope, CallableUnit {
     private SymbolScope enclosingScope;
     private Map<SymbolName, BLangSymbol> symbolMap;
     private int tempStackFrameSize;
+    private transient volatile CompiledCode compiledCode;
+    private transient volatile ResourceInvocationPlan invocationPlan;
 
     private Resource(SymbolScope enclosingScope) {
         this.enclosingScope = enclosingScope;
@@ -140,6 +144,22 @@ public class Resource implements Node, SymbolScope, CallableUnit {
         this.tempStackFrameSize = stackFrameSize;
     }
 
+    public CompiledCode getCompiledCode() {
+        return compiledCode;
+    }
+
+    public void setCompiledCode(CompiledCode compiledCode) {
+        this.compiledCode = compiledCode;
+    }
+
+    public ResourceInvocationPlan getInvocationPlan() {
+        return invocationPlan;
+    }
+
+    public void setInvocationPlan(ResourceInvocationPlan invocationPlan) {
+        this.invocationPlan = invocationPlan;
+    }
+
     // Methods in CallableUnit interface
 
     @Override
@@ -48,7 +48,7 @@ import java.util.concurrent.Future;
 @SuppressWarnings("unused")
 public class Worker implements SymbolScope, CompilationUnit, CallableUnit {
 
-    private Future<BMessage> resultFuture;
+    private transient Future<BMessage> resultFuture;
     private NodeLocation location;
 
     // BLangSymbol related attributes
@@ -0,0 +1,433 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.builder;
+
+import org.ballerinalang.model.NodeLocation;
+import org.ballerinalang.util.parser.BallerinaLexer;
+import org.ballerinalang.util.parser.BallerinaParser;
+import org.ballerinalang.util.parser.antlr4.BLangAntlr4Listener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * {@code BLangModelImage} is a compact binary image of a Ballerina source file: the sequence of the
+ * {@link BLangModelBuilder} calls made by the parser for the source.
+ * <p>
+ * Replaying an image on a model builder builds the same model as parsing the source, without lexing and parsing it.
+ * Images are recorded by {@link BLangModelRecorder} when program archives are built. An image is used only if it
+ * was created from the same source, by the same image format and compiler version; otherwise the source is parsed.
+ * The format version has to be changed whenever the model builder methods change their behaviour.
+ * <p>
+ * The compiler version includes a digest of the classes of the lexer, the parser and the listener which makes the
+ * model builder calls, and of the classes recording and replaying the images. Hence images are not used across
+ * builds of the compiler which may make different calls for the same source, even if they have the same version.
+ *
+ * @since 0.8.1
+ */
+public class BLangModelImage {
+
+    private static final int MAGIC = 0x42414C4D;
+    private static final int FORMAT_VERSION = 1;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String COMPILER_VERSION = findCompilerVersion();
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    // Tags of the parameter types of the model builder methods
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_BOOLEAN = 2;
+    private static final byte TAG_INT = 3;
+    private static final byte TAG_LOCATION = 4;
+
+    private static final Map<String, Method> BUILDER_METHODS = getBuilderMethods();
+
+    // Method and arguments of each call, in the order of the calls
+    private final Method[] methods;
+    private final Object[][] args;
+
+    BLangModelImage(Method[] methods, Object[][] args) {
+        this.methods = methods;
+        this.args = args;
+    }
+
+    /**
+     * Make the calls of this image on the given model builder.
+     *
+     * @param modelBuilder model builder of the source file of this image
+     */
+    public void replay(BLangModelBuilder modelBuilder) {
+        for (int i = 0; i < methods.length; i++) {
+            try {
+                methods[i].invoke(modelBuilder, args[i]);
+            } catch (InvocationTargetException e) {
+                // Errors are reported as they are reported when the source is parsed
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of the model builder calls of this image.
+     *
+     * @return number of calls
+     */
+    public int size() {
+        return methods.length;
+    }
+
+    /**
+     * Returns the version of the compiler, which images are valid for: the implementation version and a digest of the
+     * classes which determine the model builder calls made for a source.
+     *
+     * @return version of the compiler
+     */
+    public static String getCompilerVersion() {
+        return COMPILER_VERSION;
+    }
+
+    /**
+     * Serialize this image, as an image of the given source.
+     *
+     * @param source content of the source file of this image
+     * @return binary image
+     */
+    public byte[] write(byte[] source) {
+        Map<String, Integer> stringIndexes = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        Map<Method, Integer> methodIndexes = new HashMap<>();
+        List<Method> methodList = new ArrayList<>();
+        for (int i = 0; i < methods.length; i++) {
+            if (!methodIndexes.containsKey(methods[i])) {
+                methodIndexes.put(methods[i], methodList.size());
+                methodList.add(methods[i]);
+            }
+            for (Object arg : args[i]) {
+                if (arg instanceof String) {
+                    addString((String) arg, stringIndexes, strings);
+                } else if (arg instanceof NodeLocation) {
+                    addString(((NodeLocation) arg).getPackageDirPath(), stringIndexes, strings);
+                    addString(((NodeLocation) arg).getFileName(), stringIndexes, strings);
+                }
+            }
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(outputStream)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(COMPILER_VERSION);
+            byte[] digest = digest(source);
+            out.writeInt(digest.length);
+            out.write(digest);
+
+            out.writeInt(strings.size());
+            for (String string : strings) {
+                byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+
+            out.writeInt(methodList.size());
+            for (Method method : methodList) {
+                out.writeUTF(method.getName());
+                Class<?>[] paramTypes = method.getParameterTypes();
+                out.writeByte(paramTypes.length);
+                for (Class<?> paramType : paramTypes) {
+                    out.writeByte(getTag(paramType));
+                }
+            }
+
+            out.writeInt(methods.length);
+            for (int i = 0; i < methods.length; i++) {
+                out.writeInt(methodIndexes.get(methods[i]));
+                Class<?>[] paramTypes = methods[i].getParameterTypes();
+                for (int j = 0; j < paramTypes.length; j++) {
+                    writeArg(out, getTag(paramTypes[j]), args[i][j], stringIndexes);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("error in writing model image: " + e.getMessage(), e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Read an image of the given source.
+     *
+     * @param image  binary image
+     * @param source content of the source file of the image
+     * @return image, or null if the image was not created from the given source, or by this compiler
+     */
+    public static BLangModelImage read(byte[] image, byte[] source) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(image))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION || !COMPILER_VERSION.equals(in.readUTF())) {
+                return null;
+            }
+            byte[] digest = readBytes(in);
+            if (!MessageDigest.isEqual(digest, digest(source))) {
+                return null;
+            }
+
+            String[] strings = new String[readCount(in)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = new String(readBytes(in), StandardCharsets.UTF_8);
+            }
+
+            Method[] methodTable = new Method[readCount(in)];
+            byte[][] tagTable = new byte[methodTable.length][];
+            for (int i = 0; i < methodTable.length; i++) {
+                methodTable[i] = BUILDER_METHODS.get(in.readUTF());
+                tagTable[i] = new byte[in.readByte()];
+                in.readFully(tagTable[i]);
+                if (methodTable[i] == null || !hasParamTags(methodTable[i], tagTable[i])) {
+                    // The image was created by a model builder with different methods
+                    return null;
+                }
+            }
+
+            int callCount = readCount(in);
+            Method[] methods = new Method[callCount];
+            Object[][] args = new Object[callCount][];
+            for (int i = 0; i < callCount; i++) {
+                int methodIndex = in.readInt();
+                methods[i] = methodTable[methodIndex];
+                byte[] tags = tagTable[methodIndex];
+                args[i] = new Object[tags.length];
+                for (int j = 0; j < tags.length; j++) {
+                    args[i][j] = readArg(in, tags[j], strings);
+                }
+            }
+            return new BLangModelImage(methods, args);
+        } catch (IOException | RuntimeException e) {
+            // Truncated or corrupted images are not used
+            return null;
+        }
+    }
+
+    /**
+     * Returns the model builder method which is recorded in images, with the given name.
+     *
+     * @param name name of the method
+     * @return model builder method
+     */
+    static Method getBuilderMethod(String name) {
+        Method method = BUILDER_METHODS.get(name);
+        if (method == null) {
+            throw new IllegalArgumentException("model builder method cannot be recorded: " + name);
+        }
+        return method;
+    }
+
+    private static void addString(String string, Map<String, Integer> stringIndexes, List<String> strings) {
+        if (string != null && !stringIndexes.containsKey(string)) {
+            stringIndexes.put(string, strings.size());
+            strings.add(string);
+        }
+    }
+
+    private static void writeArg(DataOutputStream out, byte tag, Object arg, Map<String, Integer> stringIndexes)
+            throws IOException {
+        switch (tag) {
+            case TAG_STRING:
+                writeStringIndex(out, (String) arg, stringIndexes);
+                break;
+            case TAG_BOOLEAN:
+                out.writeBoolean((Boolean) arg);
+                break;
+            case TAG_INT:
+                out.writeInt((Integer) arg);
+                break;
+            default:
+                NodeLocation location = (NodeLocation) arg;
+                out.writeBoolean(location != null);
+                if (location != null) {
+                    writeStringIndex(out, location.getPackageDirPath(), stringIndexes);
+                    writeStringIndex(out, location.getFileName(), stringIndexes);
+                    out.writeInt(location.getLineNumber());
+                }
+        }
+    }
+
+    private static void writeStringIndex(DataOutputStream out, String string, Map<String, Integer> stringIndexes)
+            throws IOException {
+        out.writeInt(string != null ? stringIndexes.get(string) : -1);
+    }
+
+    private static Object readArg(DataInputStream in, byte tag, String[] strings) throws IOException {
+        switch (tag) {
+            case TAG_STRING:
+                return readString(in, strings);
+            case TAG_BOOLEAN:
+                return in.readBoolean();
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LOCATION:
+                if (!in.readBoolean()) {
+                    return null;
+                }
+                String pkgDirPath = readString(in, strings);
+                String fileName = readString(in, strings);
+                return new NodeLocation(pkgDirPath, fileName, in.readInt());
+            default:
+                throw new IOException("invalid argument tag: " + tag);
+        }
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        // Each element takes at least a byte
+        int count = in.readInt();
+        if (count < 0 || count > in.available()) {
+            throw new IOException("invalid count: " + count);
+        }
+        return count;
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readCount(in)];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static String readString(DataInputStream in, String[] strings) throws IOException {
+        int index = in.readInt();
+        return index != -1 ? strings[index] : null;
+    }
+
+    private static boolean hasParamTags(Method method, byte[] tags) {
+        Class<?>[] paramTypes = method.getParameterTypes();
+        if (paramTypes.length != tags.length) {
+            return false;
+        }
+        for (int i = 0; i < paramTypes.length; i++) {
+            if (getTag(paramTypes[i]) != tags[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte getTag(Class<?> paramType) {
+        if (paramType == String.class) {
+            return TAG_STRING;
+        } else if (paramType == boolean.class) {
+            return TAG_BOOLEAN;
+        } else if (paramType == int.class) {
+            return TAG_INT;
+        } else if (paramType == NodeLocation.class) {
+            return TAG_LOCATION;
+        }
+        return 0;
+    }
+
+    private static byte[] digest(byte[] source) {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM).digest(source);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<String, Method> getBuilderMethods() {
+        // Calls of the methods which build the model from the parser events, i.e. the public void methods
+        Map<String, Method> builderMethods = new HashMap<>();
+        for (Method method : BLangModelBuilder.class.getDeclaredMethods()) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) && method.getReturnType() == void.class
+                    && hasSupportedParamTypes(method)) {
+                builderMethods.put(method.getName(), method);
+            }
+        }
+        return builderMethods;
+    }
+
+    private static boolean hasSupportedParamTypes(Method method) {
+        for (Class<?> paramType : method.getParameterTypes()) {
+            if (getTag(paramType) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String findCompilerVersion() {
+        String version = BLangModelBuilder.class.getPackage().getImplementationVersion();
+        return (version != null ? version : "unknown") + "-" + getClassDigest(BallerinaLexer.class,
+                BallerinaParser.class, BLangAntlr4Listener.class, BLangModelRecorder.class, BLangModelImage.class);
+    }
+
+    /**
+     * Returns a digest of the given classes, which tells builds of the compiler with different classes apart.
+     *
+     * @param classes classes of the compiler
+     * @return digest of the classes, or a random value if the classes cannot be read
+     */
+    public static String getClassDigest(Class<?>... classes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+            byte[] buffer = new byte[8192];
+            for (Class<?> clazz : classes) {
+                try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+                    if (in == null) {
+                        // Images of this build of the compiler cannot be told apart from those of other builds
+                        return UUID.randomUUID().toString();
+                    }
+                    int count;
+                    while ((count = in.read(buffer)) > 0) {
+                        digest.update(buffer, 0, count);
+                    }
+                }
+            }
+
+            byte[] bytes = digest.digest();
+            char[] chars = new char[bytes.length * 2];
+            for (int i = 0; i < bytes.length; i++) {
+                chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+                chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+            }
+            return new String(chars);
+        } catch (IOException e) {
+            return UUID.randomUUID().toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.model.builder;
+
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.NodeLocation;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code BLangModelRecorder} is a model builder which records the calls made by the parser, to create the
+ * {@link BLangModelImage} of a source file while building its model.
+ * <p>
+ * Only the calls made by the parser are recorded: calls the model builder makes to itself are made again when the
+ * image is replayed.
+ *
+ * @since 0.8.1
+ */
+public class BLangModelRecorder extends BLangModelBuilder {
+
+    private final List<Method> methods = new ArrayList<>();
+    private final List<Object[]> args = new ArrayList<>();
+
+    // Depth of the model builder calls which are being made
+    private int depth = 0;
+
+    public BLangModelRecorder(BLangPackage.PackageBuilder packageBuilder, String bFileName) {
+        super(packageBuilder, bFileName);
+    }
+
+    /**
+     * Returns the image of the calls recorded so far.
+     *
+     * @return model image
+     */
+    public BLangModelImage getImage() {
+        return new BLangModelImage(methods.toArray(new Method[0]), args.toArray(new Object[0][]));
+    }
+
+    private void record(Runnable call, String methodName, Object... callArgs) {
+        if (depth == 0) {
+            methods.add(BLangModelImage.getBuilderMethod(methodName));
+            args.add(callArgs);
+        }
+        depth++;
+        try {
+            call.run();
+        } finally {
+            depth--;
+        }
+    }
+
+    @Override
+    public void addPackageDcl(String pkgPath) {
+        record(() -> super.addPackageDcl(pkgPath), "addPackageDcl", pkgPath);
+    }
+
+    @Override
+    public void addImportPackage(NodeLocation location, String pkgPath, String asPkgName) {
+        record(() -> super.addImportPackage(location, pkgPath, asPkgName),
+                "addImportPackage", location, pkgPath, asPkgName);
+    }
+
+    @Override
+    public void addSimpleTypeName(NodeLocation location, String name, String pkgName, boolean isArrayType) {
+        record(() -> super.addSimpleTypeName(location, name, pkgName, isArrayType),
+                "addSimpleTypeName", location, name, pkgName, isArrayType);
+    }
+
+    @Override
+    public void addConstantDef(NodeLocation location, String name, boolean isPublic) {
+        record(() -> super.addConstantDef(location, name, isPublic), "addConstantDef", location, name, isPublic);
+    }
+
+    @Override
+    public void startStructDef(NodeLocation location) {
+        record(() -> super.startStructDef(location), "startStructDef", location);
+    }
+
+    @Override
+    public void addStructField(NodeLocation location, String fieldName) {
+        record(() -> super.addStructField(location, fieldName), "addStructField", location, fieldName);
+    }
+
+    @Override
+    public void addStructDef(NodeLocation location, String name) {
+        record(() -> super.addStructDef(location, name), "addStructDef", location, name);
+    }
+
+    @Override
+    public void startAnnotation() {
+        record(() -> super.startAnnotation(), "startAnnotation");
+    }
+
+    @Override
+    public void createAnnotationKeyValue(String key) {
+        record(() -> super.createAnnotationKeyValue(key), "createAnnotationKeyValue", key);
+    }
+
+    @Override
+    public void endAnnotation(String name, boolean valueAvailable, NodeLocation location) {
+        record(() -> super.endAnnotation(name, valueAvailable, location),
+                "endAnnotation", name, valueAvailable, location);
+    }
+
+    @Override
+    public void startTypeMapperInput() {
+        record(() -> super.startTypeMapperInput(), "startTypeMapperInput");
+    }
+
+    @Override
+    public void endTypeMapperInput() {
+        record(() -> super.endTypeMapperInput(), "endTypeMapperInput");
+    }
+
+    @Override
+    public void startParamList() {
+        record(() -> super.startParamList(), "startParamList");
+    }
+
+    @Override
+    public void endParamList() {
+        record(() -> super.endParamList(), "endParamList");
+    }
+
+    @Override
+    public void addParam(String paramName, NodeLocation location) {
+        record(() -> super.addParam(paramName, location), "addParam", paramName, location);
+    }
+
+    @Override
+    public void createReturnTypes(NodeLocation location) {
+        record(() -> super.createReturnTypes(location), "createReturnTypes", location);
+    }
+
+    @Override
+    public void createNamedReturnParam(NodeLocation location, String paramName) {
+        record(() -> super.createNamedReturnParam(location, paramName), "createNamedReturnParam", location, paramName);
+    }
+
+    @Override
+    public void startVarRefList() {
+        record(() -> super.startVarRefList(), "startVarRefList");
+    }
+
+    @Override
+    public void endVarRefList(int exprCount) {
+        record(() -> super.endVarRefList(exprCount), "endVarRefList", exprCount);
+    }
+
+    @Override
+    public void createVarRefExpr(NodeLocation location, String varName) {
+        record(() -> super.createVarRefExpr(location, varName), "createVarRefExpr", location, varName);
+    }
+
+    @Override
+    public void createMapArrayVarRefExpr(NodeLocation location, String varName) {
+        record(() -> super.createMapArrayVarRefExpr(location, varName), "createMapArrayVarRefExpr", location, varName);
+    }
+
+    @Override
+    public void createBinaryExpr(NodeLocation location, String opStr) {
+        record(() -> super.createBinaryExpr(location, opStr), "createBinaryExpr", location, opStr);
+    }
+
+    @Override
+    public void createUnaryExpr(NodeLocation location, String op) {
+        record(() -> super.createUnaryExpr(location, op), "createUnaryExpr", location, op);
+    }
+
+    @Override
+    public void createBacktickExpr(NodeLocation location, String stringContent) {
+        record(() -> super.createBacktickExpr(location, stringContent), "createBacktickExpr", location, stringContent);
+    }
+
+    @Override
+    public void startExprList() {
+        record(() -> super.startExprList(), "startExprList");
+    }
+
+    @Override
+    public void endExprList(int exprCount) {
+        record(() -> super.endExprList(exprCount), "endExprList", exprCount);
+    }
+
+    @Override
+    public void addFunctionInvocationExpr(NodeLocation location) {
+        record(() -> super.addFunctionInvocationExpr(location), "addFunctionInvocationExpr", location);
+    }
+
+    @Override
+    public void addActionInvocationExpr(NodeLocation location, String actionName) {
+        record(() -> super.addActionInvocationExpr(location, actionName),
+                "addActionInvocationExpr", location, actionName);
+    }
+
+    @Override
+    public void createTypeCastExpr(NodeLocation location) {
+        record(() -> super.createTypeCastExpr(location), "createTypeCastExpr", location);
+    }
+
+    @Override
+    public void createArrayInitExpr(NodeLocation location, boolean argsAvailable) {
+        record(() -> super.createArrayInitExpr(location, argsAvailable),
+                "createArrayInitExpr", location, argsAvailable);
+    }
+
+    @Override
+    public void createMapStructInitKeyValue(NodeLocation location) {
+        record(() -> super.createMapStructInitKeyValue(location), "createMapStructInitKeyValue", location);
+    }
+
+    @Override
+    public void endMapStructInitKeyValueList(int exprCount) {
+        record(() -> super.endMapStructInitKeyValueList(exprCount), "endMapStructInitKeyValueList", exprCount);
+    }
+
+    @Override
+    public void createRefTypeInitExpr(NodeLocation location) {
+        record(() -> super.createRefTypeInitExpr(location), "createRefTypeInitExpr", location);
+    }
+
+    @Override
+    public void createConnectorInitExpr(NodeLocation location) {
+        record(() -> super.createConnectorInitExpr(location), "createConnectorInitExpr", location);
+    }
+
+    @Override
+    public void addCallableUnitName(String pkgName, String name) {
+        record(() -> super.addCallableUnitName(pkgName, name), "addCallableUnitName", pkgName, name);
+    }
+
+    @Override
+    public void startCallableUnitBody(NodeLocation location) {
+        record(() -> super.startCallableUnitBody(location), "startCallableUnitBody", location);
+    }
+
+    @Override
+    public void endCallableUnitBody() {
+        record(() -> super.endCallableUnitBody(), "endCallableUnitBody");
+    }
+
+    @Override
+    public void startFunctionDef() {
+        record(() -> super.startFunctionDef(), "startFunctionDef");
+    }
+
+    @Override
+    public void startWorkerUnit() {
+        record(() -> super.startWorkerUnit(), "startWorkerUnit");
+    }
+
+    @Override
+    public void addFunction(NodeLocation location, String name, boolean isPublic, boolean isNative) {
+        record(() -> super.addFunction(location, name, isPublic, isNative),
+                "addFunction", location, name, isPublic, isNative);
+    }
+
+    @Override
+    public void startTypeMapperDef() {
+        record(() -> super.startTypeMapperDef(), "startTypeMapperDef");
+    }
+
+    @Override
+    public void addTypeMapper(String source, String target, String name, NodeLocation location, boolean isPublic,
+                              boolean isNative) {
+        record(() -> super.addTypeMapper(source, target, name, location, isPublic, isNative),
+                "addTypeMapper", source, target, name, location, isPublic, isNative);
+    }
+
+    @Override
+    public void startResourceDef() {
+        record(() -> super.startResourceDef(), "startResourceDef");
+    }
+
+    @Override
+    public void addResource(NodeLocation location, String name) {
+        record(() -> super.addResource(location, name), "addResource", location, name);
+    }
+
+    @Override
+    public void createWorker(String name, NodeLocation sourceLocation) {
+        record(() -> super.createWorker(name, sourceLocation), "createWorker", name, sourceLocation);
+    }
+
+    @Override
+    public void startActionDef() {
+        record(() -> super.startActionDef(), "startActionDef");
+    }
+
+    @Override
+    public void addAction(NodeLocation location, String name, boolean isNative) {
+        record(() -> super.addAction(location, name, isNative), "addAction", location, name, isNative);
+    }
+
+    @Override
+    public void startServiceDef(NodeLocation location) {
+        record(() -> super.startServiceDef(location), "startServiceDef", location);
+    }
+
+    @Override
+    public void startConnectorDef(NodeLocation location) {
+        record(() -> super.startConnectorDef(location), "startConnectorDef", location);
+    }
+
+    @Override
+    public void createService(NodeLocation location, String name) {
+        record(() -> super.createService(location, name), "createService", location, name);
+    }
+
+    @Override
+    public void createConnector(NodeLocation location, String name, boolean isNative) {
+        record(() -> super.createConnector(location, name, isNative), "createConnector", location, name, isNative);
+    }
+
+    @Override
+    public void addVariableDefinitionStmt(NodeLocation location, String varName, boolean exprAvailable) {
+        record(() -> super.addVariableDefinitionStmt(location, varName, exprAvailable),
+                "addVariableDefinitionStmt", location, varName, exprAvailable);
+    }
+
+    @Override
+    public void addCommentStmt(NodeLocation location, String comment) {
+        record(() -> super.addCommentStmt(location, comment), "addCommentStmt", location, comment);
+    }
+
+    @Override
+    public void createAssignmentStmt(NodeLocation location) {
+        record(() -> super.createAssignmentStmt(location), "createAssignmentStmt", location);
+    }
+
+    @Override
+    public void createReturnStmt(NodeLocation location) {
+        record(() -> super.createReturnStmt(location), "createReturnStmt", location);
+    }
+
+    @Override
+    public void createReplyStmt(NodeLocation location) {
+        record(() -> super.createReplyStmt(location), "createReplyStmt", location);
+    }
+
+    @Override
+    public void startWhileStmt(NodeLocation location) {
+        record(() -> super.startWhileStmt(location), "startWhileStmt", location);
+    }
+
+    @Override
+    public void createWhileStmt(NodeLocation location) {
+        record(() -> super.createWhileStmt(location), "createWhileStmt", location);
+    }
+
+    @Override
+    public void createBreakStmt(NodeLocation location) {
+        record(() -> super.createBreakStmt(location), "createBreakStmt", location);
+    }
+
+    @Override
+    public void startIfElseStmt(NodeLocation location) {
+        record(() -> super.startIfElseStmt(location), "startIfElseStmt", location);
+    }
+
+    @Override
+    public void startIfClause(NodeLocation location) {
+        record(() -> super.startIfClause(location), "startIfClause", location);
+    }
+
+    @Override
+    public void startElseIfClause(NodeLocation location) {
+        record(() -> super.startElseIfClause(location), "startElseIfClause", location);
+    }
+
+    @Override
+    public void addIfClause() {
+        record(() -> super.addIfClause(), "addIfClause");
+    }
+
+    @Override
+    public void addElseIfClause() {
+        record(() -> super.addElseIfClause(), "addElseIfClause");
+    }
+
+    @Override
+    public void startElseClause(NodeLocation location) {
+        record(() -> super.startElseClause(location), "startElseClause", location);
+    }
+
+    @Override
+    public void addElseClause() {
+        record(() -> super.addElseClause(), "addElseClause");
+    }
+
+    @Override
+    public void addIfElseStmt() {
+        record(() -> super.addIfElseStmt(), "addIfElseStmt");
+    }
+
+    @Override
+    public void startTryCatchStmt(NodeLocation location) {
+        record(() -> super.startTryCatchStmt(location), "startTryCatchStmt", location);
+    }
+
+    @Override
+    public void startCatchClause(NodeLocation location) {
+        record(() -> super.startCatchClause(location), "startCatchClause", location);
+    }
+
+    @Override
+    public void addCatchClause(NodeLocation location, String argName) {
+        record(() -> super.addCatchClause(location, argName), "addCatchClause", location, argName);
+    }
+
+    @Override
+    public void addTryCatchStmt() {
+        record(() -> super.addTryCatchStmt(), "addTryCatchStmt");
+    }
+
+    @Override
+    public void createThrowStmt(NodeLocation location) {
+        record(() -> super.createThrowStmt(location), "createThrowStmt", location);
+    }
+
+    @Override
+    public void startForkJoinStmt(NodeLocation nodeLocation) {
+        record(() -> super.startForkJoinStmt(nodeLocation), "startForkJoinStmt", nodeLocation);
+    }
+
+    @Override
+    public void startJoinClause(NodeLocation nodeLocation) {
+        record(() -> super.startJoinClause(nodeLocation), "startJoinClause", nodeLocation);
+    }
+
+    @Override
+    public void endJoinClause(String paramName, NodeLocation location) {
+        record(() -> super.endJoinClause(paramName, location), "endJoinClause", paramName, location);
+    }
+
+    @Override
+    public void createAnyJoinCondition(String joinType, String joinCount, NodeLocation location) {
+        record(() -> super.createAnyJoinCondition(joinType, joinCount, location),
+                "createAnyJoinCondition", joinType, joinCount, location);
+    }
+
+    @Override
+    public void createAllJoinCondition(String joinType) {
+        record(() -> super.createAllJoinCondition(joinType), "createAllJoinCondition", joinType);
+    }
+
+    @Override
+    public void createJoinWorkers(String workerName) {
+        record(() -> super.createJoinWorkers(workerName), "createJoinWorkers", workerName);
+    }
+
+    @Override
+    public void startTimeoutClause(NodeLocation nodeLocation) {
+        record(() -> super.startTimeoutClause(nodeLocation), "startTimeoutClause", nodeLocation);
+    }
+
+    @Override
+    public void endTimeoutClause(String paramName, NodeLocation location) {
+        record(() -> super.endTimeoutClause(paramName, location), "endTimeoutClause", paramName, location);
+    }
+
+    @Override
+    public void endForkJoinStmt() {
+        record(() -> super.endForkJoinStmt(), "endForkJoinStmt");
+    }
+
+    @Override
+    public void createFunctionInvocationStmt(NodeLocation location) {
+        record(() -> super.createFunctionInvocationStmt(location), "createFunctionInvocationStmt", location);
+    }
+
+    @Override
+    public void createWorkerInvocationStmt(String receivingMsgRef, String workerName, NodeLocation sourceLocation) {
+        record(() -> super.createWorkerInvocationStmt(receivingMsgRef, workerName, sourceLocation),
+                "createWorkerInvocationStmt", receivingMsgRef, workerName, sourceLocation);
+    }
+
+    @Override
+    public void createWorkerReplyStmt(String receivingMsgRef, String workerName, NodeLocation sourceLocation) {
+        record(() -> super.createWorkerReplyStmt(receivingMsgRef, workerName, sourceLocation),
+                "createWorkerReplyStmt", receivingMsgRef, workerName, sourceLocation);
+    }
+
+    @Override
+    public void createActionInvocationStmt(NodeLocation location, String actionName) {
+        record(() -> super.createActionInvocationStmt(location, actionName),
+                "createActionInvocationStmt", location, actionName);
+    }
+
+    @Override
+    public void createIntegerLiteral(String value, NodeLocation location) {
+        record(() -> super.createIntegerLiteral(value, location), "createIntegerLiteral", value, location);
+    }
+
+    @Override
+    public void createLongLiteral(String value, NodeLocation location) {
+        record(() -> super.createLongLiteral(value, location), "createLongLiteral", value, location);
+    }
+
+    @Override
+    public void createFloatLiteral(String value, NodeLocation location) {
+        record(() -> super.createFloatLiteral(value, location), "createFloatLiteral", value, location);
+    }
+
+    @Override
+    public void createDoubleLiteral(String value, NodeLocation location) {
+        record(() -> super.createDoubleLiteral(value, location), "createDoubleLiteral", value, location);
+    }
+
+    @Override
+    public void createStringLiteral(String value, NodeLocation location) {
+        record(() -> super.createStringLiteral(value, location), "createStringLiteral", value, location);
+    }
+
+    @Override
+    public void createBooleanLiteral(String value, NodeLocation location) {
+        record(() -> super.createBooleanLiteral(value, location), "createBooleanLiteral", value, location);
+    }
+
+    @Override
+    public void createNullLiteral(String value, NodeLocation location) {
+        record(() -> super.createNullLiteral(value, location), "createNullLiteral", value, location);
+    }
+
+    @Override
+    public void createStructFieldRefExpr(NodeLocation location) {
+        record(() -> super.createStructFieldRefExpr(location), "createStructFieldRefExpr", location);
+    }
+}
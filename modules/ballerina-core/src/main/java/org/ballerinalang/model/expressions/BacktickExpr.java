@@ -20,6 +20,7 @@ package org.ballerinalang.model.expressions;
 import org.ballerinalang.model.NodeExecutor;
 import org.ballerinalang.model.NodeLocation;
 import org.ballerinalang.model.NodeVisitor;
+import org.ballerinalang.model.util.BacktickTemplate;
 import org.ballerinalang.model.values.BValue;
 
 /**
@@ -29,6 +30,7 @@ import org.ballerinalang.model.values.BValue;
  */
 public class BacktickExpr extends RefTypeInitExpr {
     private String templateStr;
+    private transient volatile BacktickTemplate template;
 
     public BacktickExpr(NodeLocation location, String templateStr) {
         super(location, new Expression[0]);
@@ -43,6 +45,14 @@ public class BacktickExpr extends RefTypeInitExpr {
         this.argExprs = argExprs;
     }
 
+    public BacktickTemplate getTemplate() {
+        return template;
+    }
+
+    public void setTemplate(BacktickTemplate template) {
+        this.template = template;
+    }
+
     @Override
     public void accept(NodeVisitor visitor) {
         visitor.visit(this);
@@ -34,16 +34,16 @@ import static org.ballerinalang.model.Operator.LESS_EQUAL;
 public class LessEqualExpression extends BinaryCompareExpression {
 
     public static final BiFunction<BValueType, BValueType, BValueType> LESS_EQUAL_INT_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.intValue() <= rVal.intValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.intValue() <= rVal.intValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> LESS_EQUAL_LONG_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.longValue() <= rVal.longValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.longValue() <= rVal.longValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> LESS_EQUAL_FLOAT_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.floatValue() <= rVal.floatValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.floatValue() <= rVal.floatValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> LESS_EQUAL_DOUBLE_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.doubleValue() <= rVal.doubleValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.doubleValue() <= rVal.doubleValue());
 
     public LessEqualExpression(NodeLocation location, Expression lExpr, Expression rExpr) {
         super(location, lExpr, LESS_EQUAL, rExpr);
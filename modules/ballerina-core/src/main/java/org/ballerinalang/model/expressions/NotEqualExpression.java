@@ -34,22 +34,22 @@ import static org.ballerinalang.model.Operator.NOT_EQUAL;
 public class NotEqualExpression extends BinaryEqualityExpression {
 
     public static final BiFunction<BValueType, BValueType, BValueType> NOT_EQUAL_INT_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.intValue() != rVal.intValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.intValue() != rVal.intValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> NOT_EQUAL_LONG_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.longValue() != rVal.longValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.longValue() != rVal.longValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> NOT_EQUAL_FLOAT_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.floatValue() != rVal.floatValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.floatValue() != rVal.floatValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> NOT_EQUAL_DOUBLE_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.doubleValue() != rVal.doubleValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.doubleValue() != rVal.doubleValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> NOT_EQUAL_BOOLEAN_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.booleanValue() != rVal.booleanValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.booleanValue() != rVal.booleanValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> NOT_EQUAL_STRING_FUNC =
-            (lVal, rVal) -> new BBoolean(!lVal.stringValue().equals(rVal.stringValue()));
+            (lVal, rVal) -> BBoolean.valueOf(!lVal.stringValue().equals(rVal.stringValue()));
 
     public NotEqualExpression(NodeLocation location, Expression lExpr, Expression rExpr) {
         super(location, lExpr, NOT_EQUAL, rExpr);
@@ -34,7 +34,7 @@ import static org.ballerinalang.model.Operator.OR;
 public class OrExpression extends BinaryLogicalExpression {
 
     public static final BiFunction<BValueType, BValueType, BValueType> OR_FUNC =
-            (lVal, rVal) -> new BBoolean(lVal.booleanValue() || rVal.booleanValue());
+            (lVal, rVal) -> BBoolean.valueOf(lVal.booleanValue() || rVal.booleanValue());
 
     public OrExpression(NodeLocation location, Expression lExpr, Expression rExpr) {
         super(location, lExpr, OR, rExpr);
@@ -44,7 +44,7 @@ public class UnaryExpression extends AbstractExpression {
     private BiFunction<BValueType, BValueType, BValueType> evalFuncNewNew;
 
     public static final BiFunction<BValueType, BValueType, BValueType> NOT_BOOLEAN_FUNC =
-            (lVal, rVal) -> new BBoolean(!rVal.booleanValue());
+            (lVal, rVal) -> BBoolean.valueOf(!rVal.booleanValue());
 
     public static final BiFunction<BValueType, BValueType, BValueType> NEGATIVE_INT_FUNC =
             (lVal, rVal) -> new BInteger(-(rVal.intValue()));
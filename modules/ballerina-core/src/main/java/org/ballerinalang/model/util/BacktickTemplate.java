@@ -0,0 +1,196 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import org.ballerinalang.model.expressions.BacktickExpr;
+import org.ballerinalang.model.expressions.BasicLiteral;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.expressions.ReferenceExpr;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code BacktickTemplate} is the compiled form of a {@link BacktickExpr}, i.e. a json or xml literal with
+ * {@code ${var}} holes.
+ * <p>
+ * Templates are parsed once, with the holes replaced by markers, into a json or xml tree. Evaluating a template copies
+ * the tree and places the values of the holes directly into the copy, hence the template text is not concatenated
+ * and parsed again on every evaluation. Templates whose holes cannot be represented in the tree, e.g. holes within
+ * json strings, are evaluated by concatenating the literals with the values of the holes and parsing the result.
+ *
+ * @see JSONBacktickTemplate
+ * @see XMLBacktickTemplate
+ * @since 0.8.1
+ */
+public class BacktickTemplate {
+
+    // Holes are marked with their index between two private use characters, which cannot appear in names
+    static final char HOLE_MARK = '\uE000';
+
+    protected final boolean isJson;
+    protected final String[] literals;
+    protected final Expression[] holeExprs;
+
+    protected BacktickTemplate(boolean isJson, String[] literals, Expression[] holeExprs) {
+        this.isJson = isJson;
+        this.literals = literals;
+        this.holeExprs = holeExprs;
+    }
+
+    /**
+     * Returns the compiled template of the given expression, compiling it on first use.
+     *
+     * @param backtickExpr analyzed backtick expression
+     * @return compiled template
+     */
+    public static BacktickTemplate getTemplate(BacktickExpr backtickExpr) {
+        BacktickTemplate template = backtickExpr.getTemplate();
+        if (template == null) {
+            synchronized (backtickExpr) {
+                template = backtickExpr.getTemplate();
+                if (template == null) {
+                    template = compile(backtickExpr);
+                    backtickExpr.setTemplate(template);
+                }
+            }
+        }
+        return template;
+    }
+
+    /**
+     * Compile the given expression. Its argument expressions have to be resolved by the semantic analyzer.
+     *
+     * @param backtickExpr analyzed backtick expression
+     * @return compiled template
+     */
+    public static BacktickTemplate compile(BacktickExpr backtickExpr) {
+        // Argument expressions are the literals and the holes of the template, in the order of the template text
+        List<String> literalList = new ArrayList<>();
+        List<Expression> holeList = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (Expression argExpr : backtickExpr.getArgExprs()) {
+            if (argExpr instanceof BasicLiteral) {
+                literal.append(((BasicLiteral) argExpr).getBValue().stringValue());
+            } else {
+                literalList.add(literal.toString());
+                literal.setLength(0);
+                holeList.add(argExpr);
+            }
+        }
+        literalList.add(literal.toString());
+
+        String[] literals = literalList.toArray(new String[literalList.size()]);
+        Expression[] holeExprs = holeList.toArray(new Expression[holeList.size()]);
+
+        BacktickTemplate template;
+        boolean isJson = backtickExpr.getType() == BTypes.typeJSON;
+        if (isJson) {
+            template = JSONBacktickTemplate.compile(literals, holeExprs);
+        } else {
+            template = XMLBacktickTemplate.compile(literals, holeExprs);
+        }
+        return template != null ? template : new BacktickTemplate(isJson, literals, holeExprs);
+    }
+
+    /**
+     * Returns the expressions of the holes of this template. They have to be evaluated in this order and the values
+     * passed to {@link #evaluate(BValue[])}.
+     *
+     * @return expressions of the holes
+     */
+    public Expression[] getHoleExprs() {
+        return holeExprs;
+    }
+
+    /**
+     * Evaluate this template with the given values of the holes.
+     *
+     * @param holeValues values of the holes
+     * @return json or xml value
+     */
+    public BValue evaluate(BValue[] holeValues) {
+        return evaluateString(holeValues);
+    }
+
+    protected BValue evaluateString(BValue[] holeValues) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < holeValues.length; i++) {
+            builder.append(literals[i]);
+            BValue bVal = holeValues[i];
+            String strVal = bVal.stringValue();
+            if (isJson && bVal instanceof BString && holeExprs[i] instanceof ReferenceExpr) {
+                builder.append("\"").append(strVal).append("\"");
+            } else {
+                builder.append(strVal);
+            }
+        }
+        builder.append(literals[holeValues.length]);
+
+        String evaluatedString = builder.toString();
+        if (isJson) {
+            return new BJSON(evaluatedString);
+        } else {
+            return new BXML(evaluatedString);
+        }
+    }
+
+    static String getHoleMarker(int holeIndex) {
+        return HOLE_MARK + Integer.toString(holeIndex) + HOLE_MARK;
+    }
+
+    /**
+     * Returns the index of the hole marked at the given position of the given text.
+     *
+     * @param text  text with hole markers
+     * @param start position of the opening mark
+     * @return index of the hole, or -1 if the marker is malformed
+     */
+    static int getHoleIndex(String text, int start) {
+        int end = text.indexOf(HOLE_MARK, start + 1);
+        if (end <= start + 1) {
+            return -1;
+        }
+
+        int holeIndex = 0;
+        for (int i = start + 1; i < end; i++) {
+            char ch = text.charAt(i);
+            if (ch < '0' || ch > '9' || holeIndex > Integer.MAX_VALUE / 10) {
+                return -1;
+            }
+            holeIndex = holeIndex * 10 + (ch - '0');
+        }
+        return holeIndex;
+    }
+
+    /**
+     * Returns the position after the hole marker starting at the given position.
+     *
+     * @param text  text with hole markers
+     * @param start position of the opening mark
+     * @return position after the closing mark
+     */
+    static int getHoleEnd(String text, int start) {
+        return text.indexOf(HOLE_MARK, start + 1) + 1;
+    }
+}
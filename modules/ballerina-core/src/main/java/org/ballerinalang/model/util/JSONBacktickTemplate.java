@@ -0,0 +1,195 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import com.fasterxml.jackson.core.JsonParser.Feature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.expressions.ReferenceExpr;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * {@code JSONBacktickTemplate} is a json template whose holes are json values, e.g. {@code {"name": ${name}}}.
+ * <p>
+ * Holes are parsed as string values with the hole markers, and are replaced with the json values of the holes when
+ * the tree is copied. String values of variables become json strings, json values are copied and other values are
+ * converted the same way as when they are parsed as a part of the template text.
+ *
+ * @since 0.8.1
+ */
+class JSONBacktickTemplate extends BacktickTemplate {
+
+    // Same configuration as the json values
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    static {
+        OBJECT_MAPPER.configure(Feature.ALLOW_SINGLE_QUOTES, true);
+    }
+
+    private final JsonNode tree;
+
+    private JSONBacktickTemplate(String[] literals, Expression[] holeExprs, JsonNode tree) {
+        super(true, literals, holeExprs);
+        this.tree = tree;
+    }
+
+    /**
+     * Compile the given template.
+     *
+     * @param literals  literals of the template, around the holes
+     * @param holeExprs expressions of the holes
+     * @return compiled template, or null if the holes are not json values
+     */
+    static JSONBacktickTemplate compile(String[] literals, Expression[] holeExprs) {
+        StringBuilder builder = new StringBuilder();
+        char quote = 0;
+        boolean escaped = false;
+        for (int i = 0; i < literals.length; i++) {
+            String literal = literals[i];
+            builder.append(literal);
+            if (i == holeExprs.length) {
+                break;
+            }
+
+            // Find whether the hole is within a string
+            for (int j = 0; j < literal.length(); j++) {
+                char ch = literal.charAt(j);
+                if (escaped) {
+                    escaped = false;
+                } else if (quote != 0 && ch == '\\') {
+                    escaped = true;
+                } else if (ch == quote) {
+                    quote = 0;
+                } else if (quote == 0 && (ch == '"' || ch == '\'')) {
+                    quote = ch;
+                }
+            }
+            if (quote != 0) {
+                return null;
+            }
+            builder.append('"').append(getHoleMarker(i)).append('"');
+        }
+
+        JsonNode tree;
+        try {
+            tree = OBJECT_MAPPER.readTree(builder.toString());
+        } catch (Exception e) {
+            // Invalid templates are reported when they are evaluated
+            return null;
+        }
+
+        int[] holeCounts = new int[holeExprs.length];
+        if (tree == null || !collectHoles(tree, holeCounts)) {
+            return null;
+        }
+        for (int holeCount : holeCounts) {
+            if (holeCount != 1) {
+                return null;
+            }
+        }
+        return new JSONBacktickTemplate(literals, holeExprs, tree);
+    }
+
+    @Override
+    public BValue evaluate(BValue[] holeValues) {
+        return new BJSON(copy(tree, holeValues));
+    }
+
+    private JsonNode copy(JsonNode node, BValue[] holeValues) {
+        if (node.isObject()) {
+            ObjectNode objectNode = JsonNodeFactory.instance.objectNode();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                objectNode.set(field.getKey(), copy(field.getValue(), holeValues));
+            }
+            return objectNode;
+        } else if (node.isArray()) {
+            ArrayNode arrayNode = JsonNodeFactory.instance.arrayNode();
+            for (JsonNode element : node) {
+                arrayNode.add(copy(element, holeValues));
+            }
+            return arrayNode;
+        } else if (node.isTextual() && isHole(node.textValue())) {
+            int holeIndex = getHoleIndex(node.textValue(), 0);
+            return toJsonNode(holeValues[holeIndex], holeExprs[holeIndex]);
+        }
+
+        // Value nodes are immutable, hence shared by all the evaluations
+        return node;
+    }
+
+    private static JsonNode toJsonNode(BValue value, Expression holeExpr) {
+        if (value instanceof BString && holeExpr instanceof ReferenceExpr) {
+            return TextNode.valueOf(value.stringValue());
+        } else if (value instanceof BJSON) {
+            return ((BJSON) value).value().deepCopy();
+        } else if (value instanceof BInteger) {
+            return IntNode.valueOf(((BInteger) value).intValue());
+        } else if (value instanceof BBoolean) {
+            return BooleanNode.valueOf(((BBoolean) value).booleanValue());
+        }
+        return new BJSON(value.stringValue()).value();
+    }
+
+    private static boolean collectHoles(JsonNode node, int[] holeCounts) {
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                // Holes are not supported as field names
+                if (field.getKey().indexOf(HOLE_MARK) >= 0 || !collectHoles(field.getValue(), holeCounts)) {
+                    return false;
+                }
+            }
+        } else if (node.isArray()) {
+            for (JsonNode element : node) {
+                if (!collectHoles(element, holeCounts)) {
+                    return false;
+                }
+            }
+        } else if (node.isTextual() && node.textValue().indexOf(HOLE_MARK) >= 0) {
+            String text = node.textValue();
+            int holeIndex = getHoleIndex(text, 0);
+            if (!isHole(text) || holeIndex >= holeCounts.length) {
+                return false;
+            }
+            holeCounts[holeIndex]++;
+        }
+        return true;
+    }
+
+    private static boolean isHole(String text) {
+        return !text.isEmpty() && text.charAt(0) == HOLE_MARK && getHoleIndex(text, 0) >= 0 &&
+                getHoleEnd(text, 0) == text.length();
+    }
+}
@@ -20,7 +20,6 @@ package org.ballerinalang.model.util;
 
 import org.ballerinalang.util.exceptions.BallerinaException;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
@@ -30,6 +29,8 @@ import java.io.InputStream;
  */
 public class MessageUtils {
 
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
     /**
      * Convert input stream to String.
      *
@@ -37,13 +38,13 @@ public class MessageUtils {
      * @return Message payload as string
      */
     public static String getStringFromInputStream(InputStream in) {
-        BufferedInputStream bis = new BufferedInputStream(in);
         ByteArrayOutputStream bos = new ByteArrayOutputStream();
         String result;
         try {
-            int data;
-            while ((data = bis.read()) != -1) {
-                bos.write(data);
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                bos.write(buffer, 0, length);
             }
             result = bos.toString();
         } catch (IOException ioe) {
@@ -0,0 +1,239 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.model.util;
+
+import org.apache.axiom.om.OMAttribute;
+import org.apache.axiom.om.OMElement;
+import org.apache.axiom.om.OMFactory;
+import org.apache.axiom.om.OMNode;
+import org.apache.axiom.om.OMText;
+import org.apache.axiom.om.util.AXIOMUtil;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.model.values.BXML;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@code XMLBacktickTemplate} is an xml template whose holes are within the text content or the attribute values of
+ * the elements, e.g. {@code <name id="${id}">${name}</name>}.
+ * <p>
+ * Xml values of the holes are copied into the element tree, and other values are added as text. Values which would
+ * be parsed as markup or normalized when they are a part of the template text, e.g. strings with {@code '<'} or
+ * {@code '&'}, are evaluated by concatenation to keep their behaviour.
+ *
+ * @since 0.8.1
+ */
+class XMLBacktickTemplate extends BacktickTemplate {
+
+    private final OMElement tree;
+    private final boolean[] attributeHoles;
+
+    private XMLBacktickTemplate(String[] literals, Expression[] holeExprs, OMElement tree, boolean[] attributeHoles) {
+        super(false, literals, holeExprs);
+        this.tree = tree;
+        this.attributeHoles = attributeHoles;
+    }
+
+    /**
+     * Compile the given template.
+     *
+     * @param literals  literals of the template, around the holes
+     * @param holeExprs expressions of the holes
+     * @return compiled template, or null if the holes are not within text content or attribute values
+     */
+    static XMLBacktickTemplate compile(String[] literals, Expression[] holeExprs) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < holeExprs.length; i++) {
+            builder.append(literals[i]).append(getHoleMarker(i));
+        }
+        builder.append(literals[holeExprs.length]);
+
+        OMElement tree;
+        try {
+            tree = AXIOMUtil.stringToOM(builder.toString());
+            tree.build();
+        } catch (Throwable t) {
+            // Invalid templates are reported when they are evaluated
+            return null;
+        }
+
+        // Holes within names, namespace declarations, comments etc. are not counted, hence not supported
+        int[] holeCounts = new int[holeExprs.length];
+        boolean[] attributeHoles = new boolean[holeExprs.length];
+        if (!collectHoles(tree, holeCounts, attributeHoles)) {
+            return null;
+        }
+        for (int holeCount : holeCounts) {
+            if (holeCount != 1) {
+                return null;
+            }
+        }
+        return new XMLBacktickTemplate(literals, holeExprs, tree, attributeHoles);
+    }
+
+    @Override
+    public BValue evaluate(BValue[] holeValues) {
+        String[] strVals = new String[holeValues.length];
+        for (int i = 0; i < holeValues.length; i++) {
+            if (!attributeHoles[i] && holeValues[i] instanceof BXML) {
+                continue;
+            }
+            strVals[i] = holeValues[i].stringValue();
+            if (attributeHoles[i] ? !isPlainAttributeValue(strVals[i]) : !isPlainText(strVals[i])) {
+                return evaluateString(holeValues);
+            }
+        }
+
+        OMElement root = tree.cloneOMElement();
+        List<OMText> texts = new ArrayList<>();
+        substituteAttributes(root, strVals, texts);
+        OMFactory factory = root.getOMFactory();
+        for (OMText text : texts) {
+            substituteText(factory, text, holeValues, strVals);
+        }
+        return new BXML(root);
+    }
+
+    private static void substituteAttributes(OMElement element, String[] strVals, List<OMText> texts) {
+        Iterator attributes = element.getAllAttributes();
+        while (attributes.hasNext()) {
+            OMAttribute attribute = (OMAttribute) attributes.next();
+            String value = attribute.getAttributeValue();
+            if (value.indexOf(HOLE_MARK) >= 0) {
+                attribute.setAttributeValue(substitute(value, strVals));
+            }
+        }
+
+        // Texts are substituted afterwards, since it changes the children
+        Iterator children = element.getChildren();
+        while (children.hasNext()) {
+            OMNode child = (OMNode) children.next();
+            if (child instanceof OMElement) {
+                substituteAttributes((OMElement) child, strVals, texts);
+            } else if (child.getType() == OMNode.TEXT_NODE && ((OMText) child).getText().indexOf(HOLE_MARK) >= 0) {
+                texts.add((OMText) child);
+            }
+        }
+    }
+
+    private static void substituteText(OMFactory factory, OMText text, BValue[] holeValues, String[] strVals) {
+        String value = text.getText();
+        StringBuilder builder = new StringBuilder();
+        int start = 0;
+        int mark;
+        while ((mark = value.indexOf(HOLE_MARK, start)) >= 0) {
+            builder.append(value, start, mark);
+            int holeIndex = getHoleIndex(value, mark);
+            if (strVals[holeIndex] != null) {
+                builder.append(strVals[holeIndex]);
+            } else {
+                OMElement holeElement = ((BXML) holeValues[holeIndex]).value();
+                if (holeElement != null) {
+                    if (builder.length() > 0) {
+                        text.insertSiblingBefore(factory.createOMText(builder.toString()));
+                        builder.setLength(0);
+                    }
+                    text.insertSiblingBefore(holeElement.cloneOMElement());
+                }
+            }
+            start = getHoleEnd(value, mark);
+        }
+        builder.append(value, start, value.length());
+        if (builder.length() > 0) {
+            text.insertSiblingBefore(factory.createOMText(builder.toString()));
+        }
+        text.detach();
+    }
+
+    private static String substitute(String value, String[] strVals) {
+        StringBuilder builder = new StringBuilder();
+        int start = 0;
+        int mark;
+        while ((mark = value.indexOf(HOLE_MARK, start)) >= 0) {
+            builder.append(value, start, mark).append(strVals[getHoleIndex(value, mark)]);
+            start = getHoleEnd(value, mark);
+        }
+        return builder.append(value, start, value.length()).toString();
+    }
+
+    private static boolean collectHoles(OMElement element, int[] holeCounts, boolean[] attributeHoles) {
+        Iterator attributes = element.getAllAttributes();
+        while (attributes.hasNext()) {
+            String value = ((OMAttribute) attributes.next()).getAttributeValue();
+            if (!countHoles(value, holeCounts, attributeHoles, true)) {
+                return false;
+            }
+        }
+
+        Iterator children = element.getChildren();
+        while (children.hasNext()) {
+            OMNode child = (OMNode) children.next();
+            if (child instanceof OMElement) {
+                if (!collectHoles((OMElement) child, holeCounts, attributeHoles)) {
+                    return false;
+                }
+            } else if (child.getType() == OMNode.TEXT_NODE) {
+                if (!countHoles(((OMText) child).getText(), holeCounts, attributeHoles, false)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean countHoles(String value, int[] holeCounts, boolean[] attributeHoles, boolean attribute) {
+        int start = 0;
+        int mark;
+        while ((mark = value.indexOf(HOLE_MARK, start)) >= 0) {
+            // Markers may be split by the parser, e.g. between two text nodes
+            int holeIndex = getHoleIndex(value, mark);
+            if (holeIndex < 0 || holeIndex >= holeCounts.length) {
+                return false;
+            }
+            holeCounts[holeIndex]++;
+            attributeHoles[holeIndex] = attribute;
+            start = getHoleEnd(value, mark);
+        }
+        return true;
+    }
+
+    private static boolean isPlainText(String value) {
+        return value.indexOf('<') < 0 && value.indexOf('&') < 0 && value.indexOf('\r') < 0 &&
+                !value.contains("]]>");
+    }
+
+    private static boolean isPlainAttributeValue(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case '<':
+                case '&':
+                case '"':
+                case '\'':
+                case '\r':
+                case '\n':
+                case '\t':
+                    return false;
+                default:
+            }
+        }
+        return true;
+    }
+}
@@ -42,6 +42,17 @@ public final class BBoolean extends BValueType {
         this.value = value;
     }
 
+    /**
+     * Returns the shared {@code BBoolean} object of the given primitive value, so that results of comparisons and
+     * logical operators are not allocated.
+     *
+     * @param value primitive value
+     * @return {@link #TRUE} or {@link #FALSE}
+     */
+    public static BBoolean valueOf(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
     @Override
     public int intValue() {
         return 0;
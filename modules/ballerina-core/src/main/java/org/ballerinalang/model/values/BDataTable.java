@@ -143,6 +143,12 @@ public class BDataTable implements BRefType<Object> {
         return new BXML(omSourcedElement);
     }
 
+    /**
+     * Returns the definitions of the columns, in the order of the columns. The index of a column is its position
+     * in the list plus one.
+     *
+     * @return column definitions
+     */
     public List<ColumnDefinition> getColumnDefs() {
         return columnDefs;
     }
@@ -22,6 +22,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
 import org.ballerinalang.util.exceptions.BallerinaException;
@@ -30,6 +32,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 /**
  * {@code BJSON} represents a JSON value in Ballerina.
@@ -55,6 +63,16 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
     // Schema of this JSONType object model
     private JsonNode schema;
 
+    // Whether the object model may be shared with a clone, in which case it is copied before it is modified
+    private boolean shared;
+
+    // The json whose object model contains the value of this json, and its object model when this json was derived
+    private BJSON parent;
+    private JsonNode parentValue;
+
+    // The jsons derived from this json, which are moved to the copy of their elements when this json is copied
+    private List<WeakReference<BJSON>> derivedJsons;
+
     // Output stream to write message out to the socket
     private OutputStream outputStream;
 
@@ -145,6 +163,179 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
      */
     public void setValue(JsonNode value) {
         this.value = value;
+        this.shared = false;
+        this.parent = null;
+        this.parentValue = null;
+        this.derivedJsons = null;
+    }
+
+    /**
+     * Create a {@link BJSON} for an element of the object model of this json. The element is not copied, so changes
+     * made to either of them are seen by the other. This holds after this json is shared with a clone as well: the
+     * first of them to be modified copies the whole object model of this json, and the derived json is moved to the
+     * copy of its element, see {@link #mutableValue()}. Only replacing the object model of this json, or removing the
+     * element from it, ends the sharing.
+     *
+     * @param element element of the object model of this json
+     * @return json of the element
+     */
+    public BJSON derive(JsonNode element) {
+        BJSON derivedJson = new BJSON(element);
+        addDerivedJson(derivedJson);
+        return derivedJson;
+    }
+
+    /**
+     * Get the value associated with this {@link BJSON} object, to be modified. If the value is shared with a clone,
+     * it is replaced with a copy of its own first.
+     *
+     * @return JSON object associated with this {@link BJSON} object
+     */
+    public JsonNode mutableValue() {
+        if (isShared()) {
+            copyValue();
+        }
+        return value();
+    }
+
+    /**
+     * Get the value of this json, to be added to the object model of the given json. The value of a standalone json
+     * is added as it is, and this json is linked to the given json as if it was derived from it, so that they keep
+     * sharing their changes but not those of the clones of the given json. The value of a json which is shared with a
+     * clone, or which is an element of another json, is copied instead, so that changes made through the given json
+     * are not seen by the others.
+     *
+     * @param json json whose object model the value is added to
+     * @return value to be added to the object model of the given json
+     */
+    public JsonNode valueToAdd(BJSON json) {
+        json.mutableValue();
+        if (this == json || this.parent != null || isShared()) {
+            return value().deepCopy();
+        }
+        json.addDerivedJson(this);
+        return value();
+    }
+
+    private void addDerivedJson(BJSON derivedJson) {
+        derivedJson.parent = this;
+        derivedJson.parentValue = this.value();
+        if (this.derivedJsons == null) {
+            this.derivedJsons = new ArrayList<>();
+        } else {
+            // Drop the collected jsons each time the list doubles, so that a long lived json does not grow it forever
+            int size = this.derivedJsons.size();
+            if (size >= 16 && (size & (size - 1)) == 0) {
+                this.derivedJsons.removeIf(derivedJsonRef -> derivedJsonRef.get() == null);
+            }
+        }
+        this.derivedJsons.add(new WeakReference<>(derivedJson));
+    }
+
+    /**
+     * Replace the object model of this json with a copy. If this json is still an element of the json it was derived
+     * from, the object model of that json is copied instead, so that they keep sharing their changes.
+     */
+    private void copyValue() {
+        if (isLinked()) {
+            this.parent.copyValue();
+            if (isLinked()) {
+                return;
+            }
+        }
+
+        JsonNode oldValue = value();
+        if (this.derivedJsons == null) {
+            setValue(oldValue.deepCopy());
+            return;
+        }
+        Map<JsonNode, JsonNode> copies = new IdentityHashMap<>();
+        this.value = copy(oldValue, copies);
+        this.shared = false;
+        this.parent = null;
+        this.parentValue = null;
+        moveDerivedJsons(oldValue, copies);
+    }
+
+    /**
+     * Move the jsons derived from this json to the copies of their elements, after the object model of this json has
+     * been copied. The jsons whose elements are no longer in the object model are dropped.
+     *
+     * @param oldValue object model of this json before it was copied
+     * @param copies   copies of the container nodes of the old object model
+     */
+    private void moveDerivedJsons(JsonNode oldValue, Map<JsonNode, JsonNode> copies) {
+        Iterator<WeakReference<BJSON>> iterator = this.derivedJsons.iterator();
+        while (iterator.hasNext()) {
+            BJSON derivedJson = iterator.next().get();
+            JsonNode element = derivedJson != null && derivedJson.parent == this && derivedJson.parentValue == oldValue
+                    ? copies.get(derivedJson.value) : null;
+            if (element == null) {
+                iterator.remove();
+                continue;
+            }
+            JsonNode oldElement = derivedJson.value;
+            derivedJson.value = element;
+            derivedJson.shared = false;
+            derivedJson.parentValue = this.value;
+            if (derivedJson.derivedJsons != null) {
+                derivedJson.moveDerivedJsons(oldElement, copies);
+            }
+        }
+        if (this.derivedJsons.isEmpty()) {
+            this.derivedJsons = null;
+        }
+    }
+
+    /**
+     * Deep copy a json node, recording the copy of each container node. A node added at several places of the tree
+     * is copied once.
+     */
+    private static JsonNode copy(JsonNode node, Map<JsonNode, JsonNode> copies) {
+        JsonNode copy = copies.get(node);
+        if (copy != null) {
+            return copy;
+        }
+        if (node.isObject()) {
+            ObjectNode objectCopy = ((ObjectNode) node).objectNode();
+            copies.put(node, objectCopy);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                objectCopy.set(field.getKey(), copy(field.getValue(), copies));
+            }
+            return objectCopy;
+        } else if (node.isArray()) {
+            ArrayNode arrayCopy = ((ArrayNode) node).arrayNode();
+            copies.put(node, arrayCopy);
+            for (JsonNode item : node) {
+                arrayCopy.add(copy(item, copies));
+            }
+            return arrayCopy;
+        }
+        // Value nodes cannot be modified
+        return node;
+    }
+
+    /**
+     * Check whether this json is still an element of the object model of the json it was derived from, i.e. that
+     * json has not replaced its object model since.
+     */
+    private boolean isLinked() {
+        return this.parent != null && this.parent.value == this.parentValue;
+    }
+
+    /**
+     * Check whether the object model of this json may be shared with a clone, either directly or through the json it
+     * was derived from.
+     *
+     * @return true if the object model of this json may be shared
+     */
+    private boolean isShared() {
+        if (this.shared) {
+            return true;
+        }
+        return this.parent != null && (this.parent.value != this.parentValue || this.parent.isShared());
     }
 
     /**
@@ -239,17 +430,18 @@ public final class BJSON extends BallerinaMessageDataSource implements BRefType<
         }
     }
 
+    /**
+     * Returns a clone which shares the object model of this json. The object model is copied by the first of them
+     * to be modified, see {@link #mutableValue()}.
+     *
+     * @return clone of this json
+     */
     @Override
     public BallerinaMessageDataSource clone() {
-        BJSON clonedMessage = new BJSON("{}");
-        try {
-            String elementString = this.getMessageAsString();
-            JsonNode clonedContent = OBJECT_MAPPER.readTree(elementString);
-            clonedMessage.setValue(clonedContent);
-
-        } catch (Throwable t) {
-            handleJsonException("failed to clone the json message: ", t);
-        }
+        BJSON clonedMessage = new BJSON(this.value());
+        clonedMessage.schema = this.schema;
+        clonedMessage.shared = true;
+        this.shared = true;
         return clonedMessage;
     }
 
@@ -17,38 +17,56 @@
  */
 package org.ballerinalang.model.values;
 
+import java.util.AbstractSet;
 import java.util.Arrays;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * {@code MapType} represents a map.
- * @param <BString> Key
+ * <p>
+ * Entries are stored in insertion order in parallel arrays along with the hash of their keys. An open addressing
+ * table with linear probing maps the key hashes to the entry positions, hence lookups, insertions and removals take
+ * constant time on average. Removed entries leave a gap in the entry arrays which is compacted when the arrays are
+ * resized.
+ *
+ * @param <K> Key
  * @param <V> Value
  * @since 0.8.0
  */
-public class BMap<BString, V extends BValue> implements BRefType {
+public class BMap<K, V extends BValue> implements BRefType {
 
-    private int size;
     private static final int INITIAL_CAPACITY = 16;
-    private static final int MAX_CAPACITY = 1 << 16;
-    @SuppressWarnings("unchecked")
-    private MapEntry<BString, V>[] values = new MapEntry[INITIAL_CAPACITY];
+
+    // Values of the index table other than the entry positions
+    private static final int EMPTY = -1;
+    private static final int DELETED = -2;
+
+    // Placeholder for the key of a removed entry
+    private static final Object REMOVED = new Object();
+
+    private int size;
+
+    // Number of used entry slots, including the removed ones
+    private int entryCount;
+    private Object[] keys = new Object[INITIAL_CAPACITY];
+    private BValue[] values = new BValue[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+
+    // Twice the size of the entry arrays, so that the load factor never exceeds 0.5
+    private int[] index = newIndex(INITIAL_CAPACITY * 2);
 
     /**
      * Retrieve the value for the given key from map.
      * @param key key used to get the value
      * @return value
      */
-    public V get(BString key) {
-        for (int i = 0; i < size; i++) {
-            if (values[i] != null) {
-                if (values[i].getKey().equals(key)) {
-                    return values[i].getValue();
-                }
-            }
-        }
-        return null;
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int entry = findEntry(key, hash(key));
+        return entry >= 0 ? (V) values[entry] : null;
     }
 
     /**
@@ -56,29 +74,25 @@ public class BMap<BString, V extends BValue> implements BRefType {
      * @param key key related to the value
      * @param value value related to the key
      */
-    public void put(BString key, V value) {
-        boolean insert = true;
-        for (int i = 0; i < size; i++) {
-            if (values[i].getKey().equals(key)) {
-                values[i].setValue(value);
-                insert = false;
-            }
-        }
-        if (insert) {
-            ensureCapacity();
-            values[size++] = new MapEntry<>(key, value);
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int entry = findEntry(key, hash);
+        if (entry >= 0) {
+            values[entry] = value;
+            return;
         }
-    }
 
-    private void ensureCapacity() {
-        if (size == values.length) {
-            int newSize = values.length * 2;
-            if (newSize <= MAX_CAPACITY) {
-                values = Arrays.copyOf(values, newSize);
-            } else {
-                throw new RuntimeException(" Map cannot exceed the maximum size");
-            }
+        if (entryCount == keys.length) {
+            // Compact the removed entries if there are enough of them, otherwise grow
+            resize(size < keys.length / 2 ? keys.length : keys.length * 2);
         }
+
+        entry = entryCount++;
+        keys[entry] = key;
+        values[entry] = value;
+        hashes[entry] = hash;
+        insertIndex(hash, entry);
+        size++;
     }
 
     /**
@@ -93,30 +107,39 @@ public class BMap<BString, V extends BValue> implements BRefType {
      * Remove an item from the map.
      * @param key key of the item to be removed
      */
-    public void remove(BString key) {
-        for (int i = 0; i < size; i++) {
-            if (values[i].getKey().equals(key)) {
-                values[i] = null;
+    public void remove(K key) {
+        int hash = hash(key);
+        int mask = index.length - 1;
+        for (int i = hash & mask; index[i] != EMPTY; i = (i + 1) & mask) {
+            int entry = index[i];
+            if (entry >= 0 && hashes[entry] == hash && Objects.equals(keys[entry], key)) {
+                index[i] = DELETED;
+                keys[entry] = REMOVED;
+                values[entry] = null;
                 size--;
-                condenseArray(i);
+                if (size == 0) {
+                    clear();
+                }
+                return;
             }
         }
     }
 
-    private void condenseArray(int start) {
-        System.arraycopy(values, start + 1, values, start, (values.length - start - 1));
+    /**
+     * Retrieve the set of keys related to this map. The returned set is a view backed by this map and iterates the
+     * keys in insertion order.
+     * @return returns the set of keys
+     */
+    public Set<K> keySet() {
+        return new KeySet();
     }
 
     /**
-     * Retrieve the set of keys related to this map.
-     * @return returns the set of keys
+     * Returns an iterator over the keys of this map in insertion order, without copying them.
+     * @return key iterator
      */
-    public Set<BString> keySet() {
-        Set<BString> set = new HashSet<>();
-        for (int i = 0; i < size; i++) {
-            set.add(values[i].getKey());
-        }
-        return set;
+    public Iterator<K> keyIterator() {
+        return new KeyIterator();
     }
 
     /** Return true if this map is empty. */
@@ -134,27 +157,109 @@ public class BMap<BString, V extends BValue> implements BRefType {
         return null;
     }
 
-    private class MapEntry<K, V> {
-        private final K key;
-        private V value;
+    private int findEntry(Object key, int hash) {
+        int mask = index.length - 1;
+        for (int i = hash & mask; index[i] != EMPTY; i = (i + 1) & mask) {
+            int entry = index[i];
+            if (entry >= 0 && hashes[entry] == hash && Objects.equals(keys[entry], key)) {
+                return entry;
+            }
+        }
+        return EMPTY;
+    }
+
+    private void insertIndex(int hash, int entry) {
+        int mask = index.length - 1;
+        int i = hash & mask;
+        while (index[i] >= 0) {
+            i = (i + 1) & mask;
+        }
+        index[i] = entry;
+    }
 
-        MapEntry(K key, V value) {
-            this.key = key;
-            this.value = value;
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        BValue[] oldValues = values;
+        int[] oldHashes = hashes;
+        int oldEntryCount = entryCount;
+
+        keys = new Object[capacity];
+        values = new BValue[capacity];
+        hashes = new int[capacity];
+        index = newIndex(capacity * 2);
+        entryCount = 0;
+
+        for (int i = 0; i < oldEntryCount; i++) {
+            if (oldKeys[i] != REMOVED) {
+                keys[entryCount] = oldKeys[i];
+                values[entryCount] = oldValues[i];
+                hashes[entryCount] = oldHashes[i];
+                insertIndex(oldHashes[i], entryCount);
+                entryCount++;
+            }
         }
+    }
 
-        K getKey() {
-            return key;
+    private void clear() {
+        Arrays.fill(keys, 0, entryCount, null);
+        Arrays.fill(index, EMPTY);
+        entryCount = 0;
+    }
+
+    private int nextEntry(int entry) {
+        while (entry < entryCount && keys[entry] == REMOVED) {
+            entry++;
         }
+        return entry;
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        // Spread the higher bits, since only the lower bits are used to index the table
+        return h ^ (h >>> 16);
+    }
 
-        V getValue() {
-            return value;
+    private static int[] newIndex(int length) {
+        int[] index = new int[length];
+        Arrays.fill(index, EMPTY);
+        return index;
+    }
+
+    private class KeyIterator implements Iterator<K> {
+        private int entry = nextEntry(0);
+
+        @Override
+        public boolean hasNext() {
+            return entry < entryCount;
         }
 
-        void setValue(V value) {
-            this.value = value;
+        @Override
+        @SuppressWarnings("unchecked")
+        public K next() {
+            if (entry >= entryCount) {
+                throw new NoSuchElementException();
+            }
+            K key = (K) keys[entry];
+            entry = nextEntry(entry + 1);
+            return key;
         }
     }
 
-}
+    private class KeySet extends AbstractSet<K> {
 
+        @Override
+        public Iterator<K> iterator() {
+            return new KeyIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return findEntry(key, hash(key)) >= 0;
+        }
+    }
+}
@@ -17,9 +17,9 @@
 */
 package org.ballerinalang.model.values;
 
-import org.ballerinalang.model.util.MessageUtils;
 import org.ballerinalang.runtime.Constants;
 import org.ballerinalang.runtime.message.BallerinaMessageDataSource;
+import org.ballerinalang.runtime.message.ByteBufferDataSource;
 import org.ballerinalang.runtime.message.StringDataSource;
 import org.wso2.carbon.messaging.CarbonMessage;
 import org.wso2.carbon.messaging.DefaultCarbonMessage;
@@ -89,7 +89,12 @@ public final class BMessage implements BRefType<CarbonMessage> {
     }
 
     /**
-     * This method returns the already built content of this ballerina message
+     * This method returns the already built content of this ballerina message.
+     * <p>
+     * A payload received from a transport which is not yet read is kept as the byte buffer chunks it was received
+     * in, so that it can still be forwarded without being decoded. Unread payloads are forwarded by the transport
+     * as they are, without being built at all.
+     *
      * @return BallerinaMessageDataSource content of this message
      */
     public BallerinaMessageDataSource getMessageDataSource() {
@@ -97,9 +102,9 @@ public final class BMessage implements BRefType<CarbonMessage> {
                 this.value.getMessageDataSource() instanceof BallerinaMessageDataSource) {
             // this means that message value has been set from within ballerina.
             return (BallerinaMessageDataSource) this.value.getMessageDataSource();
-        } else if (!(this.value.isEmpty()) && this.value.getMessageBody() != null) {
+        } else if (!(this.value.isEmpty())) {
             // value can be set from outside ballerina. Then we read the content from carbon message and return
-                return new StringDataSource(this.value.getMessageBody().toString());
+            return buildMessageDataSource();
         } else {
             // This means an empty message and we return a message datasource with empty string
             return new StringDataSource("");
@@ -221,24 +226,40 @@ public final class BMessage implements BRefType<CarbonMessage> {
         if (this.isAlreadyRead()) {
             return this.value.getMessageDataSource().getMessageAsString();
         }
-        return MessageUtils.getStringFromInputStream(this.value.getInputStream());
+        return buildMessageDataSource().getMessageAsString();
+    }
+
+    /**
+     * Take the chunks of the payload from the carbon message, and keep them as the built payload of this message.
+     *
+     * @return built payload
+     */
+    private BallerinaMessageDataSource buildMessageDataSource() {
+        ByteBufferDataSource messageDataSource = new ByteBufferDataSource(this.value.getFullMessageBody());
+        setMessageDataSource(messageDataSource);
+        return messageDataSource;
     }
 
+    /**
+     * Returns a copy of this message. Headers are copied, while the payload is shared with the copy: a received
+     * payload is shared as its byte buffer chunks, and a json or xml payload is copied only when either message
+     * modifies it.
+     *
+     * @return copy of this message
+     */
     public BMessage clone() {
         BMessage clonedMessage = new BMessage();
-        // Clone the carbon message
-        if (this.value != null && !this.value.isEmpty()) {
-            clonedMessage.value = MessageUtil.cloneCarbonMessageWithData(this.value());
-        } else {
-            clonedMessage.setValue(MessageUtil.cloneCarbonMessageWithOutData(this.value()));
-            clonedMessage.setHeaderList(this.getHeaders());
-
+        BallerinaMessageDataSource messageDataSource = null;
+        if (this.value.getMessageDataSource() instanceof BallerinaMessageDataSource || !this.value.isEmpty()) {
+            // A received payload is built, without being decoded, so that it is not copied for each clone
+            messageDataSource = getMessageDataSource();
         }
-        // Clone the already built content
-        if (this.value.getMessageDataSource() != null &&
-                this.value.getMessageDataSource() instanceof BallerinaMessageDataSource) {
-            clonedMessage.setMessageDataSource(((BallerinaMessageDataSource) this.value.
-                    getMessageDataSource()).clone());
+        // Clone the carbon message
+        clonedMessage.setValue(MessageUtil.cloneCarbonMessageWithOutData(this.value()));
+        clonedMessage.setHeaderList(this.getHeaders());
+        // Share the already built content
+        if (messageDataSource != null) {
+            clonedMessage.setMessageDataSource(messageDataSource.clone());
         }
         return clonedMessage;
     }
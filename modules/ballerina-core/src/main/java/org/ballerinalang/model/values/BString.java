@@ -19,6 +19,8 @@ package org.ballerinalang.model.values;
 
 import org.ballerinalang.util.exceptions.BallerinaException;
 
+import java.util.Objects;
+
 /**
  * The {@code BString} represents a string in Ballerina.
  *
@@ -88,6 +90,18 @@ public final class BString extends BValueType {
 
     @Override
     public boolean equals(Object obj) {
-        return ((BString) obj).stringValue().equals(value);
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BString)) {
+            return false;
+        }
+        return Objects.equals(value, ((BString) obj).value);
+    }
+
+    @Override
+    public int hashCode() {
+        // String caches its own hash code
+        return value == null ? 0 : value.hashCode();
     }
 }
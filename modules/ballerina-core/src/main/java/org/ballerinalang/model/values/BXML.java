@@ -16,6 +16,7 @@
 
 package org.ballerinalang.model.values;
 
+import net.sf.saxon.s9api.XdmNode;
 import org.apache.axiom.om.OMElement;
 import org.apache.axiom.om.impl.builder.StAXOMBuilder;
 import org.apache.axiom.om.util.AXIOMUtil;
@@ -35,6 +36,12 @@ public final class BXML extends BallerinaMessageDataSource implements BRefType<O
     private OMElement value;
     private OutputStream outputStream;
 
+    // Saxon tree of the value, built for evaluating xpaths and discarded when the value is modified
+    private volatile XdmNode xdmNode;
+
+    // Whether the value may be shared with a clone, in which case it is copied before it is modified
+    private boolean shared;
+
     /**
      * Initialize a {@link BXML} from a XML string.
      *
@@ -100,6 +107,39 @@ public final class BXML extends BallerinaMessageDataSource implements BRefType<O
         return this.value;
     }
 
+    /**
+     * Get the value of this xml, to be modified. If the value is shared with a clone, it is replaced with a copy of
+     * its own first. The Saxon tree of the value is discarded.
+     *
+     * @return xml object of this value
+     */
+    public OMElement mutableValue() {
+        this.xdmNode = null;
+        if (this.shared) {
+            this.value = this.value.cloneOMElement();
+            this.shared = false;
+        }
+        return this.value;
+    }
+
+    /**
+     * Returns the Saxon tree of this value, if it has been built since the value was last modified.
+     *
+     * @return Saxon tree of the value, or null
+     */
+    public XdmNode getXdmNode() {
+        return xdmNode;
+    }
+
+    /**
+     * Set the Saxon tree of this value. It is discarded when the value is modified, see {@link #mutableValue()}.
+     *
+     * @param xdmNode Saxon tree of the value
+     */
+    public void setXdmNode(XdmNode xdmNode) {
+        this.xdmNode = xdmNode;
+    }
+
     @Override
     public String stringValue() {
         if (this.value != null) {
@@ -135,10 +175,24 @@ public final class BXML extends BallerinaMessageDataSource implements BRefType<O
         }
     }
 
+    /**
+     * Returns a clone which shares the value of this xml. The value is copied by the first of them to be modified,
+     * see {@link #mutableValue()}.
+     *
+     * @return clone of this xml
+     */
     @Override
     public BallerinaMessageDataSource clone() {
-        OMElement clonedContent = this.value().cloneOMElement();
-        BXML clonedMessage = new BXML(clonedContent);
+        if (this.value == null) {
+            return new BXML();
+        }
+        // Complete the deferred building of the tree, since the builder cannot be used by several threads
+        this.value.build();
+        BXML clonedMessage = new BXML(this.value);
+        // The copy has the same content, hence the same tree
+        clonedMessage.xdmNode = this.xdmNode;
+        clonedMessage.shared = true;
+        this.shared = true;
         return clonedMessage;
     }
 }
@@ -22,7 +22,9 @@ import org.ballerinalang.model.GlobalScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.ServiceLoader;
 
 /**
@@ -30,6 +32,8 @@ import java.util.ServiceLoader;
  * Constructs are loaded via java SPI. Each module implementing a native construct will register their
  * implementations as a service provider.
  * <p>
+ * The service providers are looked up once, and the same providers load the native constructs each time the global
+ * scope is populated.
  *
  * @since 0.8.0
  */
@@ -37,20 +41,35 @@ public class BuiltInNativeConstructLoader {
 
     private static final Logger log = LoggerFactory.getLogger(BuiltInNativeConstructLoader.class);
 
+    private static List<NativeConstructLoader> nativeConstructLoaders;
+
     /**
      * Load the native constructs to the provided symbol scope.
      *
      * @param globalScope   Symbol scope to load native constructs
      */
     public static void loadConstructs(GlobalScope globalScope) {
-        Iterator<NativeConstructLoader> nativeConstructLoaders =
-            ServiceLoader.load(NativeConstructLoader.class).iterator();
-        while (nativeConstructLoaders.hasNext()) {
-            NativeConstructLoader constructLoader = nativeConstructLoaders.next();
+        for (NativeConstructLoader constructLoader : getNativeConstructLoaders()) {
             constructLoader.load(globalScope);
         }
     }
 
+    /**
+     * Get the service providers of the native constructs, which are looked up on the first call.
+     *
+     * @return service providers of the native constructs
+     */
+    private static synchronized List<NativeConstructLoader> getNativeConstructLoaders() {
+        if (nativeConstructLoaders == null) {
+            List<NativeConstructLoader> constructLoaders = new ArrayList<>();
+            for (NativeConstructLoader constructLoader : ServiceLoader.load(NativeConstructLoader.class)) {
+                constructLoaders.add(constructLoader);
+            }
+            nativeConstructLoaders = Collections.unmodifiableList(constructLoaders);
+        }
+        return nativeConstructLoaders;
+    }
+
     public static void loadConstructs() {
     }
 }
@@ -76,6 +76,10 @@ public class NativeUnitProxy implements BLangSymbol, CompilationUnit {
         return nativeUnit;
     }
 
+    public boolean isLoaded() {
+        return nativeUnit != null;
+    }
+
     @Override
     public void accept(NodeVisitor visitor) {
         // do nothing
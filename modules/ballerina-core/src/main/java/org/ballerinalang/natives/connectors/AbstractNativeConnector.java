@@ -72,6 +72,27 @@ public abstract class AbstractNativeConnector extends BType implements NativeUni
      */
     public abstract AbstractNativeConnector  getInstance();
 
+    /**
+     * Returns the key which identifies the instances of this connector created with the given arguments.
+     * <p>
+     * Connectors which hold expensive resources return a key, so that a single instance is created for all the
+     * declarations with equal keys by the {@link NativeConnectorRegistry}. Such an instance is closed when none of
+     * the programs which declare it are running.
+     *
+     * @param bValueRefs arguments of the connector
+     * @return key of the instance, or null if a new instance has to be created for each declaration
+     */
+    public Object getInstanceKey(BValue[] bValueRefs) {
+        return null;
+    }
+
+    /**
+     * Release the resources held by a shared instance of this connector, once it is no longer used.
+     */
+    public void close() {
+        // do nothing
+    }
+
 
     // Methods in BLangSymbol interface
 
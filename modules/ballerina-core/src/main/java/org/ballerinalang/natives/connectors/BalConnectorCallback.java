@@ -16,28 +16,54 @@
 
 package org.ballerinalang.natives.connectors;
 
+import io.netty.util.Timeout;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.LinkedNode;
 import org.ballerinalang.model.nodes.fragments.expressions.InvokeNativeActionNode;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.runtime.DefaultBalCallback;
+import org.ballerinalang.runtime.ServerConnectorMessageHandler;
 import org.ballerinalang.runtime.threadpool.ResponseWorkerThread;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.runtime.threadpool.WorkerPoolOverloadedException;
+import org.ballerinalang.runtime.worker.WorkerScheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.wso2.carbon.messaging.CarbonMessage;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * A class used by connectors to receive response from external system and correlate request context with response.
+ * <p>
+ * A callback completes once, either when the response arrives or when its timer, see {@link #startTimer(long)},
+ * expires. Responses which arrive after the timer has expired are discarded.
  */
 public class BalConnectorCallback extends DefaultBalCallback {
 
+    private static final Logger logger = LoggerFactory.getLogger(BalConnectorCallback.class);
+
     private InvokeNativeActionNode actionNode;
 
     private Context context;
 
-    private boolean responseArrived = false;
+    private volatile boolean responseArrived = false;
+
+    private volatile BValue valueRef;
+
+    // Released once the response arrives. Unlike waiting on a monitor, this does not pin virtual threads.
+    private final CountDownLatch responseLatch = new CountDownLatch(1);
+
+    private final AtomicBoolean completed = new AtomicBoolean();
+
+    private volatile boolean timedOut = false;
+
+    private volatile long timeoutMillis;
 
-    private BValue valueRef;
+    private volatile Timeout timeout;
 
     public BalConnectorCallback(Context context) {
         super(context.getBalCallback());
@@ -54,25 +80,90 @@ public class BalConnectorCallback extends DefaultBalCallback {
         return responseArrived;
     }
 
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**
+     * Start the timer of the outbound call, on the timer shared by all the callbacks. If the response does not
+     * arrive in time, the callback completes without a response: a blocked thread is released, or the execution is
+     * continued in the non-blocking mode, and {@link #isTimedOut()} returns true.
+     *
+     * @param timeoutMillis timeout in milliseconds, which expires the call immediately if it is not positive
+     */
+    public void startTimer(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+        if (timeoutMillis <= 0) {
+            expire();
+            return;
+        }
+        timeout = ThreadPoolFactory.getInstance().getTimer()
+                .newTimeout(t -> expire(), timeoutMillis, TimeUnit.MILLISECONDS);
+        if (completed.get()) {
+            // The response arrived while the timer was being scheduled
+            timeout.cancel();
+        }
+    }
+
+    /**
+     * Block the calling thread until the response arrives or the timer expires. When called by a worker, the wait is
+     * a managed block of the {@link WorkerScheduler}.
+     *
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void awaitResponse() throws InterruptedException {
+        WorkerScheduler.await(responseLatch);
+    }
+
     public BValue getValueRef() {
         return valueRef;
     }
 
     @Override
     public void done(CarbonMessage carbonMessage) {
+        if (!completed.compareAndSet(false, true)) {
+            logger.debug("Discarding a response which arrived after the timeout");
+            return;
+        }
+        Timeout currentTimeout = timeout;
+        if (currentTimeout != null) {
+            currentTimeout.cancel();
+        }
+
         BMessage bMessage = new BMessage(carbonMessage);
         valueRef = bMessage;
         //context.getControlStack().setValue(4, valueRef);
         context.getControlStack().setReturnValue(0, valueRef);
         responseArrived = true;
+        resume(carbonMessage);
+    }
+
+    private void expire() {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+        timedOut = true;
+        // Runs on the timer thread, which only hands the execution over
+        resume(null);
+    }
+
+    private void resume(CarbonMessage carbonMessage) {
         if (isNonBlockingExecutor()) {
             // spawn a new thread to continue execution.
-            ThreadPoolFactory.getInstance().getExecutor().execute(new ResponseWorkerThread(carbonMessage, this));
+            try {
+                ThreadPoolFactory.getInstance().getResponsePool()
+                        .execute(new ResponseWorkerThread(carbonMessage, this));
+            } catch (WorkerPoolOverloadedException e) {
+                ServerConnectorMessageHandler.handleOverload(context.getServerConnectorProtocol(), null,
+                        context.getBalCallback(), e);
+            }
         } else {
             // Release Thread.
-            synchronized (context) {
-                context.notifyAll();
-            }
+            responseLatch.countDown();
         }
     }
 
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.natives.connectors;
+
+import org.ballerinalang.model.values.BValue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code NativeConnectorRegistry} creates the instances of the native connectors declared by the programs.
+ * <p>
+ * Connectors which hold expensive resources, e.g. connection pools, are shared: an instance is created for each
+ * distinct key returned by {@link AbstractNativeConnector#getInstanceKey(BValue[])}, and is reused by every
+ * declaration with the same key, however many times the declaration is executed. Shared instances are reference
+ * counted by the runtime environments of the programs which use them, and are closed when the last of those
+ * programs is stopped.
+ *
+ * @since 0.8.1
+ */
+public class NativeConnectorRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeConnectorRegistry.class);
+
+    private static NativeConnectorRegistry instance = new NativeConnectorRegistry();
+
+    private final Map<List<Object>, SharedConnector> sharedConnectors = new HashMap<>();
+
+    private NativeConnectorRegistry() {
+    }
+
+    public static NativeConnectorRegistry getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns an initialized instance of the given connector, creating it if it is not shared or not available.
+     *
+     * @param connector  native connector
+     * @param bValueRefs arguments of the connector
+     * @param owner      runtime environment of the program which declares the connector
+     * @return initialized connector instance
+     */
+    public AbstractNativeConnector getConnector(AbstractNativeConnector connector, BValue[] bValueRefs,
+                                                Object owner) {
+        Object instanceKey = connector.getInstanceKey(bValueRefs);
+        if (instanceKey == null) {
+            AbstractNativeConnector nativeConnector = connector.getInstance();
+            nativeConnector.init(bValueRefs);
+            return nativeConnector;
+        }
+
+        List<Object> key = Arrays.asList(connector.getClass(), instanceKey);
+        synchronized (this) {
+            SharedConnector sharedConnector = sharedConnectors.get(key);
+            if (sharedConnector == null) {
+                // Nothing is registered if the connector fails to initialize
+                AbstractNativeConnector nativeConnector = connector.getInstance();
+                nativeConnector.init(bValueRefs);
+                sharedConnector = new SharedConnector(nativeConnector);
+                sharedConnectors.put(key, sharedConnector);
+            }
+            sharedConnector.owners.add(owner);
+            return sharedConnector.connector;
+        }
+    }
+
+    /**
+     * Release the shared connectors used by the given owner, closing the ones which are no longer used.
+     *
+     * @param owner runtime environment of a stopped program
+     */
+    public void release(Object owner) {
+        List<AbstractNativeConnector> unusedConnectors = new ArrayList<>();
+        synchronized (this) {
+            Iterator<SharedConnector> iterator = sharedConnectors.values().iterator();
+            while (iterator.hasNext()) {
+                SharedConnector sharedConnector = iterator.next();
+                if (sharedConnector.owners.remove(owner) && sharedConnector.owners.isEmpty()) {
+                    iterator.remove();
+                    unusedConnectors.add(sharedConnector.connector);
+                }
+            }
+        }
+
+        for (AbstractNativeConnector connector : unusedConnectors) {
+            try {
+                connector.close();
+            } catch (Throwable t) {
+                logger.error("error while closing connector " + connector.getName() + ": " + t.getMessage(), t);
+            }
+        }
+    }
+
+    /**
+     * Shared connector instance and the owners which use it.
+     */
+    private static class SharedConnector {
+        private final AbstractNativeConnector connector;
+        private final Set<Object> owners = new HashSet<>();
+
+        SharedConnector(AbstractNativeConnector connector) {
+            this.connector = connector;
+        }
+    }
+}
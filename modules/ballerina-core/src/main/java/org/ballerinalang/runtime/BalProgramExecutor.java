@@ -19,35 +19,21 @@
 package org.ballerinalang.runtime;
 
 import org.ballerinalang.bre.BLangExecutor;
-import org.ballerinalang.bre.CallableUnitInfo;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.RuntimeEnvironment;
 import org.ballerinalang.bre.StackFrame;
-import org.ballerinalang.bre.StackVarLocation;
+import org.ballerinalang.bre.bytecode.BLangBytecodeExecutor;
 import org.ballerinalang.bre.nonblocking.BLangNonBlockingExecutor;
 import org.ballerinalang.bre.nonblocking.ModeResolver;
 import org.ballerinalang.bre.nonblocking.debugger.BLangExecutionDebugger;
-import org.ballerinalang.model.Annotation;
-import org.ballerinalang.model.NodeLocation;
-import org.ballerinalang.model.ParameterDef;
 import org.ballerinalang.model.Resource;
 import org.ballerinalang.model.Service;
-import org.ballerinalang.model.SymbolName;
-import org.ballerinalang.model.VariableDef;
-import org.ballerinalang.model.expressions.Expression;
 import org.ballerinalang.model.expressions.ResourceInvocationExpr;
-import org.ballerinalang.model.expressions.VariableRefExpr;
-import org.ballerinalang.model.types.BTypes;
-import org.ballerinalang.model.values.BInteger;
-import org.ballerinalang.model.values.BMessage;
-import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.util.debugger.DebugManager;
 import org.wso2.carbon.messaging.CarbonCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 
-import java.util.Map;
-
 /**
  * {@code BalProgramExecutor} is responsible for executing a BallerinaProgram.
  *
@@ -58,59 +44,20 @@ public class BalProgramExecutor {
     public static void execute(CarbonMessage cMsg, CarbonCallback callback, Resource resource, Service service,
                                Context balContext) {
 
-        balContext.setServiceInfo(
-                new CallableUnitInfo(service.getName(), service.getPackagePath(), service.getNodeLocation()));
-
+        ResourceInvocationPlan invocationPlan = ResourceInvocationPlan.getInvocationPlan(service, resource);
+        balContext.setServiceInfo(invocationPlan.getServiceInfo());
         balContext.setBalCallback(new DefaultBalCallback(callback));
-        Expression[] exprs = new Expression[resource.getParameterDefs().length];
-
-        BValue[] argValues = new BValue[resource.getParameterDefs().length];
 
-        int locationCounter = 0;
-        for (ParameterDef parameter : resource.getParameterDefs()) {
-            NodeLocation nodeLocation = parameter.getNodeLocation();
-            String parameterName = parameter.getName();
-            VariableRefExpr variableRefExpr = new VariableRefExpr(nodeLocation, parameterName);
-            StackVarLocation location = new StackVarLocation(locationCounter);
-            VariableDef variableDef = new VariableDef(nodeLocation, parameter.getType(), new SymbolName(parameterName));
-            variableRefExpr.setVariableDef(variableDef);
-            variableRefExpr.setMemoryLocation(location);
-            variableRefExpr.setType(parameter.getType());
-            exprs[locationCounter] = variableRefExpr;
-
-            // Set message as the first argument
-            if (locationCounter == 0) {
-                argValues[locationCounter] = new BMessage(cMsg);
-            } else {
-                Map<String, String> resourceArgsMap =
-                        (Map<String, String>) cMsg.getProperty(
-                                org.ballerinalang.runtime.Constants.RESOURCE_ARGS);
-
-                for (Annotation annotation : parameter.getAnnotations()) {
-                    if (resourceArgsMap.get(annotation.getValue()) != null) {
-                        // ToDo Only String and Int param types are supported.
-                        if (parameter.getType() == BTypes.typeString) {
-                            argValues[locationCounter] = new BString(resourceArgsMap.get(annotation.getValue()));
-                        } else if (parameter.getType() == BTypes.typeInt) {
-                            argValues[locationCounter] = new BInteger(Integer.parseInt(
-                                    resourceArgsMap.get(annotation.getValue())));
-                        }
-                    }
-                }
-            }
-            locationCounter++;
-        }
+        BValue[] argValues = invocationPlan.bindArguments(cMsg);
+        ResourceInvocationExpr resourceIExpr = invocationPlan.getResourceInvocationExpr();
 
         // Create the interpreter and Execute
         RuntimeEnvironment runtimeEnv = service.getBLangProgram().getRuntimeEnvironment();
 
-        SymbolName resourceSymbolName = resource.getSymbolName();
-        CallableUnitInfo resourceInfo = new CallableUnitInfo(resourceSymbolName.getName(),
-                resourceSymbolName.getName(), resource.getNodeLocation());
+        BValue[] cacheValues = new BValue[invocationPlan.getTempStackFrameSize()];
 
-        BValue[] cacheValues = new BValue[resource.getTempStackFrameSize()];
-
-        StackFrame currentStackFrame = new StackFrame(argValues, new BValue[0], cacheValues, resourceInfo);
+        StackFrame currentStackFrame = new StackFrame(argValues, new BValue[0], cacheValues,
+                invocationPlan.getResourceInfo());
         balContext.getControlStack().pushFrame(currentStackFrame);
         if (ModeResolver.getInstance().isDebugEnabled()) {
             DebugManager debugManager = DebugManager.getInstance();
@@ -119,25 +66,29 @@ public class BalProgramExecutor {
                 BLangExecutionDebugger debugger = new BLangExecutionDebugger(runtimeEnv, balContext);
                 debugManager.setDebugger(debugger);
                 balContext.setExecutor(debugger);
-                debugger.execute(new ResourceInvocationExpr(resource, exprs));
+                debugger.execute(resourceIExpr);
             } else {
                 // repeated code to make sure debugger have no impact in none debug mode.
                 if (ModeResolver.getInstance().isNonblockingEnabled()) {
                     BLangNonBlockingExecutor executor = new BLangNonBlockingExecutor(runtimeEnv, balContext);
                     balContext.setExecutor(executor);
-                    executor.execute(new ResourceInvocationExpr(resource, exprs));
+                    executor.execute(resourceIExpr);
                 } else {
                     BLangExecutor executor = new BLangExecutor(runtimeEnv, balContext);
-                    new ResourceInvocationExpr(resource, exprs).executeMultiReturn(executor);
+                    resourceIExpr.executeMultiReturn(executor);
                 }
             }
         } else if (ModeResolver.getInstance().isNonblockingEnabled()) {
             BLangNonBlockingExecutor executor = new BLangNonBlockingExecutor(runtimeEnv, balContext);
             balContext.setExecutor(executor);
-            executor.execute(new ResourceInvocationExpr(resource, exprs));
+            executor.execute(resourceIExpr);
+        } else if (ModeResolver.getInstance().isBytecodeEnabled()) {
+            BLangBytecodeExecutor executor = new BLangBytecodeExecutor(runtimeEnv, balContext);
+            executor.invokeResource(resource, argValues);
+            balContext.getControlStack().popFrame();
         } else {
             BLangExecutor executor = new BLangExecutor(runtimeEnv, balContext);
-            new ResourceInvocationExpr(resource, exprs).executeMultiReturn(executor);
+            resourceIExpr.executeMultiReturn(executor);
             balContext.getControlStack().popFrame();
         }
     }
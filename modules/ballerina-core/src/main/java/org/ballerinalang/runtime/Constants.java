@@ -25,6 +25,23 @@ public class Constants {
 
     public static final String SYS_PROP_ENABLE_NONBLOCKING = "enable.nonblocking";
 
+    public static final String SYS_PROP_ENABLE_BYTECODE = "enable.bytecode";
+
+    public static final String SYS_PROP_ENABLE_VIRTUAL_THREADS = "enable.virtualthreads";
+
+    // Sizes of the worker pools. Request pool sizes can be given per listener interface by suffixing the listener
+    // interface id, e.g. ballerina.request.threads.default
+    public static final String SYS_PROP_REQUEST_THREADS = "ballerina.request.threads";
+    public static final String SYS_PROP_REQUEST_QUEUE_SIZE = "ballerina.request.queue.size";
+    public static final String SYS_PROP_RESPONSE_THREADS = "ballerina.response.threads";
+    public static final String SYS_PROP_RESPONSE_QUEUE_SIZE = "ballerina.response.queue.size";
+
+    // Parallelism of the pool which runs workers and fork/join branches
+    public static final String SYS_PROP_WORKER_THREADS = "ballerina.worker.threads";
+
+    // Time in milliseconds a request may take, including its outbound calls. Requests have no deadline by default
+    public static final String SYS_PROP_REQUEST_TIMEOUT = "ballerina.request.timeout";
+
     // Intermediate headers added to the ballerina message
     public static final String INTERMEDIATE_HEADERS = "INTERMEDIATE_HEADERS";
 
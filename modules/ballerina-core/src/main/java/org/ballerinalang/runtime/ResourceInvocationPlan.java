@@ -0,0 +1,197 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime;
+
+import org.ballerinalang.bre.CallableUnitInfo;
+import org.ballerinalang.bre.StackVarLocation;
+import org.ballerinalang.model.Annotation;
+import org.ballerinalang.model.NodeLocation;
+import org.ballerinalang.model.ParameterDef;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.model.VariableDef;
+import org.ballerinalang.model.expressions.Expression;
+import org.ballerinalang.model.expressions.ResourceInvocationExpr;
+import org.ballerinalang.model.expressions.VariableRefExpr;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMessage;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ResourceInvocationPlan} holds everything required to invoke a resource which does not change between
+ * requests, i.e. the argument expressions, the parameter bindings and the meta info of the service and the resource.
+ * <p>
+ * A plan is created once per resource, when the service is deployed or on the first request, and is shared by all
+ * the requests dispatched to the resource. Hence it must not be modified after it is created.
+ *
+ * @since 0.8.1
+ */
+public class ResourceInvocationPlan {
+
+    private final CallableUnitInfo serviceInfo;
+    private final CallableUnitInfo resourceInfo;
+    private final ResourceInvocationExpr resourceInvocationExpr;
+    private final ParamBinder[] paramBinders;
+    private final int tempStackFrameSize;
+
+    private ResourceInvocationPlan(Service service, Resource resource) {
+        serviceInfo = new CallableUnitInfo(service.getName(), service.getPackagePath(), service.getNodeLocation());
+
+        SymbolName resourceSymbolName = resource.getSymbolName();
+        resourceInfo = new CallableUnitInfo(resourceSymbolName.getName(), resourceSymbolName.getName(),
+                resource.getNodeLocation());
+
+        ParameterDef[] parameterDefs = resource.getParameterDefs();
+        Expression[] exprs = new Expression[parameterDefs.length];
+        paramBinders = new ParamBinder[parameterDefs.length];
+        for (int i = 0; i < parameterDefs.length; i++) {
+            ParameterDef parameter = parameterDefs[i];
+            NodeLocation nodeLocation = parameter.getNodeLocation();
+            String parameterName = parameter.getName();
+            VariableRefExpr variableRefExpr = new VariableRefExpr(nodeLocation, parameterName);
+            StackVarLocation location = new StackVarLocation(i);
+            VariableDef variableDef = new VariableDef(nodeLocation, parameter.getType(), new SymbolName(parameterName));
+            variableRefExpr.setVariableDef(variableDef);
+            variableRefExpr.setMemoryLocation(location);
+            variableRefExpr.setType(parameter.getType());
+            exprs[i] = variableRefExpr;
+
+            // Message is always the first argument
+            if (i > 0) {
+                paramBinders[i] = new ParamBinder(parameter);
+            }
+        }
+
+        resourceInvocationExpr = new ResourceInvocationExpr(resource, exprs);
+        tempStackFrameSize = resource.getTempStackFrameSize();
+    }
+
+    /**
+     * Returns the invocation plan of the given resource, creating it on first use.
+     *
+     * @param service  service of the resource
+     * @param resource resource to be invoked
+     * @return invocation plan of the resource
+     */
+    public static ResourceInvocationPlan getInvocationPlan(Service service, Resource resource) {
+        ResourceInvocationPlan invocationPlan = resource.getInvocationPlan();
+        if (invocationPlan == null) {
+            synchronized (resource) {
+                invocationPlan = resource.getInvocationPlan();
+                if (invocationPlan == null) {
+                    invocationPlan = new ResourceInvocationPlan(service, resource);
+                    resource.setInvocationPlan(invocationPlan);
+                }
+            }
+        }
+        return invocationPlan;
+    }
+
+    /**
+     * Creates the invocation plans of all the resources of the given service.
+     *
+     * @param service service being deployed
+     */
+    public static void prepare(Service service) {
+        for (Resource resource : service.getResources()) {
+            getInvocationPlan(service, resource);
+        }
+    }
+
+    /**
+     * Binds the argument values of the resource from the given message.
+     *
+     * @param cMsg request message
+     * @return argument values of the resource
+     */
+    @SuppressWarnings("unchecked")
+    public BValue[] bindArguments(CarbonMessage cMsg) {
+        BValue[] argValues = new BValue[paramBinders.length];
+        if (argValues.length == 0) {
+            return argValues;
+        }
+
+        argValues[0] = new BMessage(cMsg);
+        if (argValues.length > 1) {
+            Map<String, String> resourceArgsMap =
+                    (Map<String, String>) cMsg.getProperty(org.ballerinalang.runtime.Constants.RESOURCE_ARGS);
+            for (int i = 1; i < paramBinders.length; i++) {
+                argValues[i] = paramBinders[i].bind(resourceArgsMap);
+            }
+        }
+        return argValues;
+    }
+
+    public CallableUnitInfo getServiceInfo() {
+        return serviceInfo;
+    }
+
+    public CallableUnitInfo getResourceInfo() {
+        return resourceInfo;
+    }
+
+    public ResourceInvocationExpr getResourceInvocationExpr() {
+        return resourceInvocationExpr;
+    }
+
+    public int getTempStackFrameSize() {
+        return tempStackFrameSize;
+    }
+
+    /**
+     * Binds the value of a resource parameter from the resource arguments, using the values of its annotations,
+     * e.g. {@code @http:PathParam("id")}, as the argument names.
+     */
+    private static class ParamBinder {
+        private final String[] argNames;
+        private final BType type;
+
+        ParamBinder(ParameterDef parameter) {
+            List<Annotation> annotations = parameter.getAnnotations();
+            argNames = new String[annotations.size()];
+            for (int i = 0; i < argNames.length; i++) {
+                argNames[i] = annotations.get(i).getValue();
+            }
+            type = parameter.getType();
+        }
+
+        BValue bind(Map<String, String> resourceArgsMap) {
+            BValue argValue = null;
+            for (String argName : argNames) {
+                String value = resourceArgsMap.get(argName);
+                if (value != null) {
+                    // ToDo Only String and Int param types are supported.
+                    if (type == BTypes.typeString) {
+                        argValue = new BString(value);
+                    } else if (type == BTypes.typeInt) {
+                        argValue = new BInteger(Integer.parseInt(value));
+                    }
+                }
+            }
+            return argValue;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.Resource;
 import org.ballerinalang.model.Service;
 import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
+import org.ballerinalang.runtime.threadpool.WorkerPoolOverloadedException;
 import org.ballerinalang.services.DefaultServerConnectorErrorHandler;
 import org.ballerinalang.services.ErrorHandlerUtils;
 import org.ballerinalang.services.dispatchers.DispatcherRegistry;
@@ -36,6 +37,7 @@ import org.wso2.carbon.messaging.ServerConnectorErrorHandler;
 
 import java.io.PrintStream;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * {@code ServerConnectorMessageHandler} is responsible for bridging Ballerina Program and External Server Connector.
@@ -48,10 +50,15 @@ public class ServerConnectorMessageHandler {
 
     private static PrintStream outStream = System.err;
 
+    private static final long REQUEST_TIMEOUT = Long.getLong(Constants.SYS_PROP_REQUEST_TIMEOUT, 0);
+
     public static void handleInbound(CarbonMessage cMsg, CarbonCallback callback) {
         // Create the Ballerina Context
         Context balContext = new Context(cMsg);
         balContext.setServerConnectorProtocol(cMsg.getProperty("PROTOCOL"));
+        if (REQUEST_TIMEOUT > 0) {
+            balContext.setDeadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(REQUEST_TIMEOUT));
+        }
         try {
             String protocol = (String) cMsg.getProperty(org.wso2.carbon.messaging.Constants.PROTOCOL);
             if (protocol == null) {
@@ -137,6 +144,30 @@ public class ServerConnectorMessageHandler {
 
     }
 
+    /**
+     * Handle a message which could not be processed because the worker pools are saturated. The error is passed to
+     * the error handler of the protocol as is, so that it can respond with an overload status, e.g. HTTP 503.
+     *
+     * @param protocol  protocol of the server connector
+     * @param cMsg      message which was rejected, or null if it is a response of an outbound call
+     * @param callback  callback of the server connector
+     * @param exception overload error
+     */
+    public static void handleOverload(Object protocol, CarbonMessage cMsg, CarbonCallback callback,
+                                      WorkerPoolOverloadedException exception) {
+        log.warn(exception.getMessage());
+
+        Optional<ServerConnectorErrorHandler> optionalErrorHandler =
+                BallerinaConnectorManager.getInstance().getServerConnectorErrorHandler((String) protocol);
+        try {
+            optionalErrorHandler
+                    .orElseGet(DefaultServerConnectorErrorHandler::getInstance)
+                    .handleError(exception, cMsg, callback);
+        } catch (Exception e) {
+            throw new BallerinaException("Cannot handle error using the error handler for : " + protocol, e);
+        }
+    }
+
     public static void handleErrorFromOutbound(Context balContext, Throwable throwable) {
         String errorMsg = ErrorHandlerUtils.getErrorMessage(throwable);
         String stacktrace = ErrorHandlerUtils.getServiceStackTrace(balContext, throwable);
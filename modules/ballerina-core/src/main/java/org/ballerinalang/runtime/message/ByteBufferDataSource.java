@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.runtime.message;
+
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * {@code ByteBufferDataSource} represents a payload received from a transport, as the byte buffer chunks it was
+ * received in.
+ * <p>
+ * The chunks are never modified, nor copied: the payload is serialized by writing the chunks as they are, and is
+ * decoded into a string only if the string is asked for. Clones share the chunks.
+ *
+ * @since 0.8.1
+ */
+public class ByteBufferDataSource extends BallerinaMessageDataSource {
+
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+    private final List<ByteBuffer> buffers;
+    private OutputStream outputStream;
+    private String stringValue;
+
+    /**
+     * Create a byte buffer datasource with the chunks of a payload.
+     *
+     * @param buffers Chunks of the payload, from their positions to their limits
+     */
+    public ByteBufferDataSource(List<ByteBuffer> buffers) {
+        this.buffers = buffers;
+    }
+
+    /**
+     * Returns an input stream which reads the payload from the chunks.
+     *
+     * @return Input stream of the payload
+     */
+    public InputStream getInputStream() {
+        return new ByteBufferInputStream(buffers);
+    }
+
+    /**
+     * Returns the length of the payload in bytes.
+     *
+     * @return Length of the payload
+     */
+    public int getLength() {
+        int length = 0;
+        for (ByteBuffer buffer : buffers) {
+            length += buffer.remaining();
+        }
+        return length;
+    }
+
+    @Override
+    public void serializeData() {
+        try {
+            byte[] copyBuffer = null;
+            for (ByteBuffer buffer : buffers) {
+                if (buffer.hasArray()) {
+                    this.outputStream.write(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                            buffer.remaining());
+                    continue;
+                }
+                // Direct buffers have to be copied out in bounded pieces
+                if (copyBuffer == null) {
+                    copyBuffer = new byte[COPY_BUFFER_SIZE];
+                }
+                ByteBuffer source = buffer.duplicate();
+                while (source.hasRemaining()) {
+                    int length = Math.min(source.remaining(), copyBuffer.length);
+                    source.get(copyBuffer, 0, length);
+                    this.outputStream.write(copyBuffer, 0, length);
+                }
+            }
+        } catch (IOException e) {
+            throw new BallerinaException("Error occurred during writing the message to the output stream", e);
+        }
+    }
+
+    @Override
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public String getMessageAsString() {
+        if (stringValue == null) {
+            byte[] bytes = new byte[getLength()];
+            int offset = 0;
+            for (ByteBuffer buffer : buffers) {
+                int length = buffer.remaining();
+                buffer.duplicate().get(bytes, offset, length);
+                offset += length;
+            }
+            stringValue = new String(bytes, Charset.defaultCharset());
+        }
+        return stringValue;
+    }
+
+    @Override
+    public BallerinaMessageDataSource clone() {
+        // The chunks are never modified, hence they can be shared
+        return new ByteBufferDataSource(buffers);
+    }
+
+    /**
+     * Input stream over a list of byte buffers, which does not move the positions of the buffers.
+     */
+    private static class ByteBufferInputStream extends InputStream {
+        private final List<ByteBuffer> buffers;
+        private int bufferIndex = -1;
+        private ByteBuffer current;
+
+        ByteBufferInputStream(List<ByteBuffer> buffers) {
+            this.buffers = buffers;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!nextBuffer()) {
+                return -1;
+            }
+            return current.get() & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (!nextBuffer()) {
+                return -1;
+            }
+            int readLength = Math.min(length, current.remaining());
+            current.get(bytes, offset, readLength);
+            return readLength;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return current != null ? current.remaining() : 0;
+        }
+
+        private boolean nextBuffer() {
+            while (current == null || !current.hasRemaining()) {
+                if (bufferIndex + 1 >= buffers.size()) {
+                    return false;
+                }
+                bufferIndex++;
+                current = buffers.get(bufferIndex).duplicate();
+            }
+            return true;
+        }
+    }
+}
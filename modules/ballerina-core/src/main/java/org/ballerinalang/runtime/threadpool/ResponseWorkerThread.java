@@ -45,6 +45,11 @@ public class ResponseWorkerThread extends WorkerThread {
             BException exception = null;
             try {
                 connectorCallback.getActionNode().getCallableUnit().validate(connectorCallback);
+                if (connectorCallback.isTimedOut()) {
+                    // Actions which validate only the responses are expired here
+                    exception = new BException("response was not received within the timeout of " +
+                            connectorCallback.getTimeoutMillis() + " ms");
+                }
             } catch (BallerinaException e) {
                 // Preserve original exception.
                 if (e.getBException() != null) {
@@ -18,33 +18,159 @@
 
 package org.ballerinalang.runtime.threadpool;
 
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.runtime.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
 /**
  * {@code ThreadPoolFactory} holds the thread pools in Ballerina engine.
+ * <p>
+ * Requests and responses are processed in separate lanes, so that responses of outbound calls of requests which are
+ * already being processed are not queued behind new requests. Requests are executed in a pool per listener
+ * interface, while responses share a single pool. Pools are bounded and sized using system properties, see
+ * {@link Constants#SYS_PROP_REQUEST_THREADS}, and are registered as MBeans to monitor their queues.
+ * <p>
+ * In the virtual thread mode, see {@link ModeResolver#isVirtualThreadsEnabled()}, each request is executed on a
+ * virtual thread of its own rather than on a pooled thread, hence the number of requests blocked on outbound calls is
+ * not limited by the number of platform threads. The request threads property then limits the number of requests
+ * executed at a time. If the JVM does not support virtual threads, requests are executed on pooled platform threads.
+ * <p>
+ * Timeouts of the outbound calls are tracked by a single timer wheel, shared by both lanes.
  *
  * @since 0.8.0
  */
 public class ThreadPoolFactory {
 
+    private static final Logger log = LoggerFactory.getLogger(ThreadPoolFactory.class);
+
+    private static final int DEFAULT_THREADS = 500;
+    private static final int DEFAULT_VIRTUAL_THREADS = 10000;
+    private static final int DEFAULT_QUEUE_SIZE = 10000;
+    private static final String DEFAULT_INTERFACE_ID = "default";
+    private static final String MBEAN_DOMAIN = "org.ballerinalang";
+    private static final long TIMER_TICK_MILLIS = 10;
+
     private static ThreadPoolFactory instance = new ThreadPoolFactory();
 
-    //TODO: Make the thread count configurable.
-    // Ideally number of threads need to be calculated and spawned intelligently
-    // based on the environment and runtime status (CPU Usage, memory, etc).
-    // A configuration parameter which is user configurable is also required.
-    // Issue#1929
-    private ExecutorService executorService =  Executors.newFixedThreadPool(500);
+    private final Map<String, WorkerPool> requestPools = new ConcurrentHashMap<>();
+    private final WorkerPool responsePool;
+    private final boolean virtualThreads;
+    private final Timer timer = new HashedWheelTimer(new DefaultThreadFactory("ballerina-timer", true),
+            TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS);
 
-    private ThreadPoolFactory(){};
+    private ThreadPoolFactory() {
+        boolean virtualThreadsSupported = VirtualThreadFactory.create("") != null;
+        if (ModeResolver.getInstance().isVirtualThreadsEnabled() && !virtualThreadsSupported) {
+            log.warn("virtual threads are not supported by the JVM, requests are executed on platform threads");
+        }
+        virtualThreads = ModeResolver.getInstance().isVirtualThreadsEnabled() && virtualThreadsSupported;
+
+        responsePool = new WorkerPool("response",
+                getIntProperty(Constants.SYS_PROP_RESPONSE_THREADS, DEFAULT_THREADS),
+                getIntProperty(Constants.SYS_PROP_RESPONSE_QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+        registerMBean("response", "response", responsePool);
+    }
 
     public static ThreadPoolFactory getInstance() {
         return instance;
     }
 
-    public ExecutorService getExecutor() {
-        return executorService;
+    /**
+     * Returns the pool which processes the requests received by the given listener interface.
+     *
+     * @param interfaceId listener interface id, or null if the protocol has no listener interfaces
+     * @return request worker pool
+     */
+    public WorkerPool getRequestPool(String interfaceId) {
+        String poolId = interfaceId != null ? interfaceId : DEFAULT_INTERFACE_ID;
+        return requestPools.computeIfAbsent(poolId, this::createRequestPool);
+    }
+
+    public WorkerPool getResponsePool() {
+        return responsePool;
+    }
+
+    /**
+     * Returns the timer which expires the outbound calls. Timer tasks run on the timer thread, hence they must
+     * hand any blocking work over to a worker pool.
+     *
+     * @return shared timer
+     */
+    public Timer getTimer() {
+        return timer;
     }
 
+    private WorkerPool createRequestPool(String interfaceId) {
+        // Interface specific sizes take precedence over the common ones
+        int threads = getIntProperty(Constants.SYS_PROP_REQUEST_THREADS + "." + interfaceId,
+                getIntProperty(Constants.SYS_PROP_REQUEST_THREADS,
+                        virtualThreads ? DEFAULT_VIRTUAL_THREADS : DEFAULT_THREADS));
+        int queueSize = getIntProperty(Constants.SYS_PROP_REQUEST_QUEUE_SIZE + "." + interfaceId,
+                getIntProperty(Constants.SYS_PROP_REQUEST_QUEUE_SIZE, DEFAULT_QUEUE_SIZE));
+
+        WorkerPool pool = createRequestPool("request-" + interfaceId, threads, queueSize, virtualThreads);
+        registerMBean("request", interfaceId, pool);
+        return pool;
+    }
+
+    /**
+     * Create a request pool, which executes each request on a virtual thread of its own in the virtual thread mode,
+     * or on pooled platform threads if the mode is disabled or the JVM does not support virtual threads.
+     *
+     * @param poolName       name of the pool
+     * @param threads        maximum number of requests executed at a time
+     * @param queueSize      maximum number of requests queued for a pooled thread
+     * @param virtualThreads whether requests are executed on virtual threads
+     * @return request worker pool
+     */
+    static WorkerPool createRequestPool(String poolName, int threads, int queueSize, boolean virtualThreads) {
+        if (virtualThreads) {
+            ExecutorService executor =
+                    VirtualThreadFactory.newThreadPerTaskExecutor(WorkerPool.getThreadNamePrefix(poolName));
+            if (executor != null) {
+                return new WorkerPool(poolName, threads, executor);
+            }
+        }
+        return new WorkerPool(poolName, threads, queueSize);
+    }
+
+    private static int getIntProperty(String name, int defaultValue) {
+        String value = System.getProperty(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            int intValue = Integer.parseInt(value.trim());
+            if (intValue > 0) {
+                return intValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall back to the default value
+        }
+        log.warn("invalid value '" + value + "' for " + name + ", using " + defaultValue);
+        return defaultValue;
+    }
+
+    private static void registerMBean(String lane, String name, WorkerPool pool) {
+        try {
+            ObjectName objectName = new ObjectName(MBEAN_DOMAIN + ":type=WorkerPool,lane=" + lane + ",name=" +
+                    ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(pool, objectName);
+        } catch (JMException e) {
+            log.warn("failed to register the MBean of worker pool '" + pool.getName() + "': " + e.getMessage());
+        }
+    }
 }
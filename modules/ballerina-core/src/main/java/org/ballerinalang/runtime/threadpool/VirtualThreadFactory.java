@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * {@code VirtualThreadFactory} creates factories of virtual threads, and executors which start a virtual thread per
+ * task, on JVMs which support them.
+ * <p>
+ * Virtual threads are cheap to create and are not meant to be pooled, hence tasks are executed on new threads rather
+ * than on the threads of a pool. The engine is compiled for older Java versions, hence the virtual thread API is
+ * looked up reflectively.
+ *
+ * @since 0.8.1
+ */
+public class VirtualThreadFactory {
+
+    private VirtualThreadFactory() {
+    }
+
+    /**
+     * Returns a factory of virtual threads named with the given prefix and a counter.
+     *
+     * @param namePrefix prefix of the thread names
+     * @return thread factory, or null if the JVM does not support virtual threads
+     */
+    public static ThreadFactory create(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Virtual threads are not available, or are a preview feature which is not enabled
+            return null;
+        }
+    }
+
+    /**
+     * Returns an executor which starts a new virtual thread, named with the given prefix and a counter, for each task.
+     *
+     * @param namePrefix prefix of the thread names
+     * @return thread per task executor, or null if the JVM does not support virtual threads
+     */
+    public static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory threadFactory = create(namePrefix);
+        if (threadFactory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
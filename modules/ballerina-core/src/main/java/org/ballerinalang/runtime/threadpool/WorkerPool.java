@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code WorkerPool} is a bounded pool of worker threads with a bounded queue.
+ * <p>
+ * Threads are started on demand up to the maximum and retire when idle. When all the workers are busy and the queue
+ * is full, {@link #execute(Runnable)} fails fast with a {@link WorkerPoolOverloadedException} instead of queueing
+ * more work. The queue depth, active threads and the time tasks wait in the queue are recorded and exposed through
+ * {@link WorkerPoolMXBean}.
+ * <p>
+ * A pool may instead execute each task on a thread of its own, e.g. a virtual thread, started by a thread per task
+ * executor. Such a pool has no queue: it fails fast once the maximum number of tasks are running.
+ *
+ * @since 0.8.1
+ */
+public class WorkerPool implements WorkerPoolMXBean {
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final String name;
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final Executor executor;
+    // Pooled threads, or null if tasks are executed on threads of their own
+    private final ThreadPoolExecutor threadPool;
+    // Tasks which may still be started, if tasks are executed on threads of their own
+    private final Semaphore taskPermits;
+
+    private final LongAdder completedCount = new LongAdder();
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder waitedCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    public WorkerPool(String name, int maxThreads, int queueCapacity) {
+        if (maxThreads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("invalid worker pool size for '" + name + "': threads " + maxThreads +
+                    ", queue " + queueCapacity);
+        }
+        this.name = name;
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+        this.threadPool = new ThreadPoolExecutor(maxThreads, maxThreads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new WorkerThreadFactory(name));
+        this.threadPool.allowCoreThreadTimeOut(true);
+        this.executor = threadPool;
+        this.taskPermits = null;
+    }
+
+    /**
+     * Create a pool which executes each task on a thread of its own, started by the given executor.
+     *
+     * @param name                  name of the pool
+     * @param maxTasks              maximum number of tasks which run at a time
+     * @param threadPerTaskExecutor executor which starts a thread per task
+     */
+    public WorkerPool(String name, int maxTasks, Executor threadPerTaskExecutor) {
+        if (maxTasks <= 0) {
+            throw new IllegalArgumentException("invalid worker pool size for '" + name + "': tasks " + maxTasks);
+        }
+        this.name = name;
+        this.maxThreads = maxTasks;
+        this.queueCapacity = 0;
+        this.threadPool = null;
+        this.executor = threadPerTaskExecutor;
+        this.taskPermits = new Semaphore(maxTasks);
+    }
+
+    /**
+     * Execute the given task on a worker thread.
+     *
+     * @param task task to be executed
+     * @throws WorkerPoolOverloadedException if the pool is saturated
+     */
+    public void execute(Runnable task) {
+        if (taskPermits != null && !taskPermits.tryAcquire()) {
+            rejectedCount.increment();
+            throw new WorkerPoolOverloadedException("server is overloaded, worker pool '" + name +
+                    "' is saturated", null);
+        }
+        try {
+            executor.execute(new QueuedTask(task));
+        } catch (RejectedExecutionException e) {
+            if (taskPermits != null) {
+                taskPermits.release();
+            }
+            rejectedCount.increment();
+            throw new WorkerPoolOverloadedException("server is overloaded, worker pool '" + name +
+                    "' is saturated", e);
+        }
+    }
+
+    public void shutdown() {
+        if (executor instanceof ExecutorService) {
+            ((ExecutorService) executor).shutdown();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+
+    @Override
+    public int getPoolSize() {
+        return (threadPool != null) ? threadPool.getPoolSize() : getActiveThreads();
+    }
+
+    @Override
+    public int getActiveThreads() {
+        return (threadPool != null) ? threadPool.getActiveCount() : maxThreads - taskPermits.availablePermits();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return (threadPool != null) ? threadPool.getQueue().size() : 0;
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return (threadPool != null) ? threadPool.getCompletedTaskCount() : completedCount.sum();
+    }
+
+    @Override
+    public long getRejectedTaskCount() {
+        return rejectedCount.sum();
+    }
+
+    @Override
+    public double getAverageWaitTimeMillis() {
+        long count = waitedCount.sum();
+        return count == 0 ? 0 : totalWaitNanos.sum() / (count * 1_000_000.0);
+    }
+
+    @Override
+    public long getMaxWaitTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get());
+    }
+
+    static String getThreadNamePrefix(String poolName) {
+        return "ballerina-" + poolName + "-";
+    }
+
+    private void recordWaitTime(long waitNanos) {
+        waitedCount.increment();
+        totalWaitNanos.add(waitNanos);
+        long max = maxWaitNanos.get();
+        while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = maxWaitNanos.get();
+        }
+    }
+
+    /**
+     * Wraps a task to record the time it spent in the queue.
+     */
+    private class QueuedTask implements Runnable {
+        private final Runnable task;
+        private final long queuedTime = System.nanoTime();
+
+        QueuedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            recordWaitTime(System.nanoTime() - queuedTime);
+            if (taskPermits == null) {
+                task.run();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                taskPermits.release();
+                completedCount.increment();
+            }
+        }
+    }
+
+    /**
+     * Creates named threads so that the threads of each pool are identifiable in thread dumps.
+     */
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final String namePrefix;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        WorkerThreadFactory(String poolName) {
+            this.namePrefix = getThreadNamePrefix(poolName);
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            return new Thread(runnable, namePrefix + threadCount.incrementAndGet());
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+/**
+ * {@code WorkerPoolMXBean} exposes the runtime status of a {@link WorkerPool} through JMX.
+ *
+ * @since 0.8.1
+ */
+public interface WorkerPoolMXBean {
+
+    String getName();
+
+    int getMaxThreads();
+
+    int getPoolSize();
+
+    int getActiveThreads();
+
+    int getQueueCapacity();
+
+    int getQueueDepth();
+
+    long getCompletedTaskCount();
+
+    long getRejectedTaskCount();
+
+    /**
+     * Returns the average time tasks spent in the queue before a worker picked them up.
+     *
+     * @return average wait time in milliseconds
+     */
+    double getAverageWaitTimeMillis();
+
+    long getMaxWaitTimeMillis();
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.threadpool;
+
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+/**
+ * {@code WorkerPoolOverloadedException} is thrown when a {@link WorkerPool} cannot accept more work because all of
+ * its workers are busy and its queue is full. Server connector error handlers map it to an overload response, e.g.
+ * HTTP 503.
+ *
+ * @since 0.8.1
+ */
+public class WorkerPoolOverloadedException extends BallerinaException {
+
+    public WorkerPoolOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -23,8 +23,13 @@ import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.runtime.DefaultBalCallback;
 import org.wso2.carbon.messaging.CarbonMessage;
 
+import java.util.concurrent.CountDownLatch;
+
 /**
  * {@code WorkerCallback} represents a callback which will get executed once the worker replies to the caller
+ * <p>
+ * The reply is signalled through a latch rather than the monitor of the context, hence waiting for it does not pin
+ * a virtual thread.
  *
  * @since 0.8.0
  */
@@ -32,7 +37,9 @@ public class WorkerCallback extends DefaultBalCallback {
 
     private Context context;
 
-    private BValue valueRef;
+    private volatile BValue valueRef;
+
+    private final CountDownLatch replyLatch = new CountDownLatch(1);
 
     public WorkerCallback(Context context) {
         super(context.getBalCallback());
@@ -43,15 +50,26 @@ public class WorkerCallback extends DefaultBalCallback {
         return valueRef;
     }
 
+    public boolean isReplied() {
+        return replyLatch.getCount() == 0;
+    }
+
+    /**
+     * Block the calling thread until the worker replies. When called by a worker, the wait is a managed block of the
+     * {@link WorkerScheduler}.
+     *
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public void awaitReply() throws InterruptedException {
+        WorkerScheduler.await(replyLatch);
+    }
+
     @Override
     public void done(CarbonMessage carbonMessage) {
         BMessage bMessage = new BMessage(carbonMessage);
         valueRef = bMessage;
         context.getControlStack().setReturnValue(0, valueRef);
-        synchronized (context) {
-            context.notifyAll();
-        }
+        replyLatch.countDown();
     }
 
 }
-
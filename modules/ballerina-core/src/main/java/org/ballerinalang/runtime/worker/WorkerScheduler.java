@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.runtime.worker;
+
+import org.ballerinalang.runtime.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code WorkerScheduler} runs Ballerina workers, i.e. the workers started by worker invocations and the ones forked
+ * by fork/join statements, on a single process wide {@link ForkJoinPool}.
+ * <p>
+ * The parallelism of the pool is given by the {@link Constants#SYS_PROP_WORKER_THREADS} system property and defaults
+ * to the number of processors. Tasks are run as {@link FutureTask}s so that cancelling them on a timeout interrupts
+ * the workers which are still running. Waits for the results of workers, and for the responses of the outbound calls
+ * made by workers, see {@link #await(CountDownLatch)}, are managed blocks. The pool thus starts compensating threads
+ * when more workers are blocked than it has threads, instead of starving.
+ *
+ * @since 0.8.1
+ */
+public class WorkerScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkerScheduler.class);
+
+    private static final WorkerScheduler instance = new WorkerScheduler();
+
+    private final ForkJoinPool pool;
+
+    private WorkerScheduler() {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        String threads = System.getProperty(Constants.SYS_PROP_WORKER_THREADS);
+        if (threads != null && !threads.isEmpty()) {
+            try {
+                parallelism = Math.max(1, Integer.parseInt(threads.trim()));
+            } catch (NumberFormatException e) {
+                log.warn("invalid value '" + threads + "' for " + Constants.SYS_PROP_WORKER_THREADS + ", using " +
+                        parallelism);
+            }
+        }
+        pool = new ForkJoinPool(parallelism, WorkerScheduler::newWorkerThread, null, true);
+    }
+
+    public static WorkerScheduler getInstance() {
+        return instance;
+    }
+
+    /**
+     * Submit the given worker for execution.
+     *
+     * @param task worker to be executed
+     * @param <T>  type of the result of the worker
+     * @return future of the result. Cancelling it interrupts the worker if it is running.
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        FutureTask<T> future = new FutureTask<>(task);
+        pool.execute(future);
+        return future;
+    }
+
+    /**
+     * Wait for the result of a worker submitted to this scheduler.
+     *
+     * @param future  future of the worker
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @param <T>     type of the result of the worker
+     * @return result of the worker
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException   if the worker failed
+     * @throws TimeoutException     if the worker did not complete before the timeout elapsed
+     */
+    public <T> T get(Future<T> future, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        awaitDone(future, System.nanoTime() + unit.toNanos(timeout));
+        if (!future.isDone()) {
+            throw new TimeoutException();
+        }
+        return future.get();
+    }
+
+    /**
+     * Execute the given workers and return the result of the one which completes first. The remaining workers are
+     * cancelled once a result is available or the timeout elapses.
+     *
+     * @param tasks   workers to be executed
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @param <T>     type of the results of the workers
+     * @return result of the first worker which completed successfully
+     * @throws InterruptedException if interrupted while waiting
+     * @throws ExecutionException   if all the workers failed
+     * @throws TimeoutException     if no worker completed successfully before the timeout elapsed
+     */
+    public <T> T invokeAny(List<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        BlockingQueue<Future<T>> completed = new LinkedBlockingQueue<>();
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                FutureTask<T> future = new FutureTask<T>(task) {
+                    @Override
+                    protected void done() {
+                        completed.add(this);
+                    }
+                };
+                futures.add(future);
+                pool.execute(future);
+            }
+
+            ExecutionException lastFailure = null;
+            for (int remaining = futures.size(); remaining > 0; remaining--) {
+                CompletionBlocker<T> blocker = new CompletionBlocker<>(completed, deadline);
+                ForkJoinPool.managedBlock(blocker);
+                Future<T> future = blocker.future;
+                if (future == null) {
+                    throw new TimeoutException();
+                }
+                try {
+                    return future.get();
+                } catch (ExecutionException e) {
+                    lastFailure = e;
+                }
+            }
+            throw lastFailure != null ? lastFailure : new ExecutionException("no workers to execute", null);
+        } finally {
+            cancelAll(futures);
+        }
+    }
+
+    /**
+     * Execute the given workers and wait till all of them complete or the timeout elapses. Workers which have not
+     * completed when the timeout elapses are cancelled.
+     *
+     * @param tasks   workers to be executed
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @param <T>     type of the results of the workers
+     * @return futures of the workers, in the order of the given workers
+     * @throws InterruptedException if interrupted while waiting, in which case all the workers are cancelled
+     */
+    public <T> List<Future<T>> invokeAll(List<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(submit(task));
+            }
+
+            for (Future<T> future : futures) {
+                awaitDone(future, deadline);
+                if (!future.isDone()) {
+                    break;
+                }
+            }
+            return futures;
+        } finally {
+            // Cancel the workers which did not complete within the timeout. This has no effect on completed ones.
+            cancelAll(futures);
+        }
+    }
+
+    /**
+     * Wait till the given latch is released. If the calling thread is a worker of this scheduler, the pool
+     * compensates for it while it is blocked.
+     *
+     * @param latch latch to wait for
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static void await(CountDownLatch latch) throws InterruptedException {
+        if (latch.getCount() > 0) {
+            ForkJoinPool.managedBlock(new LatchBlocker(latch));
+        }
+    }
+
+    private static void awaitDone(Future<?> future, long deadline) throws InterruptedException {
+        if (!future.isDone()) {
+            ForkJoinPool.managedBlock(new FutureBlocker(future, deadline));
+        }
+    }
+
+    private static <T> void cancelAll(List<Future<T>> futures) {
+        for (Future<T> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorkerThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("ballerina-worker-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    /**
+     * Blocks till a future is done or a deadline passes.
+     */
+    private static class FutureBlocker implements ForkJoinPool.ManagedBlocker {
+        private final Future<?> future;
+        private final long deadline;
+
+        FutureBlocker(Future<?> future, long deadline) {
+            this.future = future;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            try {
+                future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | CancellationException | TimeoutException ignore) {
+                // The caller checks the state of the future
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future.isDone() || System.nanoTime() - deadline >= 0;
+        }
+    }
+
+    /**
+     * Blocks till a latch is released.
+     */
+    private static class LatchBlocker implements ForkJoinPool.ManagedBlocker {
+        private final CountDownLatch latch;
+
+        LatchBlocker(CountDownLatch latch) {
+            this.latch = latch;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            latch.await();
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return latch.getCount() == 0;
+        }
+    }
+
+    /**
+     * Blocks till a future is available in a completion queue or a deadline passes.
+     *
+     * @param <T> type of the results of the futures
+     */
+    private static class CompletionBlocker<T> implements ForkJoinPool.ManagedBlocker {
+        private final BlockingQueue<Future<T>> completed;
+        private final long deadline;
+        private Future<T> future;
+
+        CompletionBlocker(BlockingQueue<Future<T>> completed, long deadline) {
+            this.completed = completed;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean block() throws InterruptedException {
+            if (future == null) {
+                future = completed.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return future != null || (future = completed.poll()) != null || System.nanoTime() - deadline >= 0;
+        }
+    }
+}
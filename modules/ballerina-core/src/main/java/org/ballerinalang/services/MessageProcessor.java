@@ -21,6 +21,7 @@ package org.ballerinalang.services;
 import org.ballerinalang.runtime.ServerConnectorMessageHandler;
 import org.ballerinalang.runtime.threadpool.RequestWorkerThread;
 import org.ballerinalang.runtime.threadpool.ThreadPoolFactory;
+import org.ballerinalang.runtime.threadpool.WorkerPoolOverloadedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.messaging.CarbonCallback;
@@ -44,7 +45,14 @@ public class MessageProcessor implements CarbonMessageProcessor {
             if (log.isDebugEnabled()) {
                 log.debug("ballerina received a request message");
             }
-            ThreadPoolFactory.getInstance().getExecutor().execute(new RequestWorkerThread(cMsg, carbonCallback));
+            String interfaceId = (String) cMsg.getProperty(org.wso2.carbon.messaging.Constants.LISTENER_INTERFACE_ID);
+            try {
+                ThreadPoolFactory.getInstance().getRequestPool(interfaceId)
+                        .execute(new RequestWorkerThread(cMsg, carbonCallback));
+            } catch (WorkerPoolOverloadedException e) {
+                ServerConnectorMessageHandler.handleOverload(cMsg.getProperty(
+                        org.wso2.carbon.messaging.Constants.PROTOCOL), cMsg, carbonCallback, e);
+            }
         } else {
             ServerConnectorMessageHandler.handleOutbound(cMsg, carbonCallback);
         }
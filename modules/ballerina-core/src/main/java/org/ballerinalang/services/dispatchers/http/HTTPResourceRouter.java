@@ -0,0 +1,155 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+
+package org.ballerinalang.services.dispatchers.http;
+
+import org.ballerinalang.model.Annotation;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.services.dispatchers.uri.URITemplate;
+import org.ballerinalang.services.dispatchers.uri.URITemplateException;
+import org.ballerinalang.services.dispatchers.uri.URITemplateTrie;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@code HTTPResourceRouter} holds the URI templates of the resources of a service, compiled once when the service
+ * is registered.
+ * <p>
+ * Path templates are merged into a {@link URITemplateTrie}, hence finding a resource does not depend on the number of
+ * resources in the service. Templates which cannot be represented in the trie, e.g. the ones with query parameters,
+ * are parsed once. Between the two, the resources are matched in their order in the service: a template resource
+ * declared before the resource found in the trie takes precedence over it, e.g. over a {@code /*} resource.
+ *
+ * @since 0.8.1
+ */
+public class HTTPResourceRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(HTTPResourceRouter.class);
+
+    private static final String HTTP_ANNOTATION_PREFIX = Constants.PROTOCOL_HTTP + ":";
+
+    private final URITemplateTrie<IndexedResource> pathTrie = new URITemplateTrie<>();
+    private final List<IndexedResource> templateResources = new ArrayList<>();
+
+    public HTTPResourceRouter(Service service) {
+        Resource[] resources = service.getResources();
+        for (int i = 0; i < resources.length; i++) {
+            Resource resource = resources[i];
+            String template = getPathTemplate(resource);
+            if (pathTrie.add(template, getMethods(resource), new IndexedResource(i, resource, null))) {
+                continue;
+            }
+
+            try {
+                templateResources.add(new IndexedResource(i, resource, new URITemplate(template)));
+            } catch (URITemplateException e) {
+                throw new BallerinaException("invalid uri template '" + template + "' in resource " +
+                        resource.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Find the resource matching the given request.
+     *
+     * @param method    HTTP method of the request
+     * @param subPath   request path relative to the base path of the service
+     * @param queryStr  query string of the request, or null
+     * @param variables map to which the values of the template variables are added on a match
+     * @return matching resource, or null if there is no match
+     */
+    public Resource findResource(String method, String subPath, String queryStr, Map<String, String> variables) {
+        URITemplateTrie.Match<IndexedResource> trieMatch = pathTrie.match(subPath, queryStr != null, method);
+        IndexedResource trieResource = trieMatch != null ? trieMatch.getValue() : null;
+
+        // Templates with query parameters are matched against the path along with the query string. A failed match
+        // may leave some of the variables behind, so they are collected in a map reused by all the templates.
+        String reqPath = queryStr != null ? subPath + "?" + queryStr : subPath;
+        Map<String, String> templateVariables = null;
+        for (IndexedResource templateResource : templateResources) {
+            if (trieResource != null && templateResource.index > trieResource.index) {
+                break;
+            }
+            if (templateResource.resource.getAnnotation(Constants.PROTOCOL_HTTP, method) == null) {
+                continue;
+            }
+
+            if (templateVariables == null) {
+                templateVariables = new HashMap<>();
+            } else {
+                templateVariables.clear();
+            }
+            if (templateResource.template.matches(reqPath, templateVariables)) {
+                variables.putAll(templateVariables);
+                return templateResource.resource;
+            }
+        }
+
+        if (trieResource == null) {
+            return null;
+        }
+        trieMatch.addVariables(variables);
+        return trieResource.resource;
+    }
+
+    private static String getPathTemplate(Resource resource) {
+        Annotation subPathAnnotation = resource.getAnnotation(Constants.PROTOCOL_HTTP, Constants.ANNOTATION_NAME_PATH);
+        if (subPathAnnotation != null) {
+            return subPathAnnotation.getValue();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Path not specified in the Resource, using default sub path");
+        }
+        return Constants.DEFAULT_SUB_PATH;
+    }
+
+    private static Set<String> getMethods(Resource resource) {
+        // Methods are given as http annotations, e.g. @http:GET
+        Set<String> methods = new LinkedHashSet<>();
+        for (Annotation annotation : resource.getResourceAnnotations()) {
+            String name = annotation.getName();
+            if (name.startsWith(HTTP_ANNOTATION_PREFIX)) {
+                methods.add(name.substring(HTTP_ANNOTATION_PREFIX.length()));
+            }
+        }
+        return methods;
+    }
+
+    private static class IndexedResource {
+        // Index of the resource in the service, and its template if it is not in the trie
+        private final int index;
+        private final Resource resource;
+        private final URITemplate template;
+
+        IndexedResource(int index, Resource resource, URITemplate template) {
+            this.index = index;
+            this.resource = resource;
+            this.template = template;
+        }
+    }
+}
@@ -46,6 +46,8 @@ public class HTTPServicesRegistry {
 
     // Outer Map key=interface, Inner Map key=basePath
     private final Map<String, Map<String, Service>> servicesMap = new ConcurrentHashMap<>();
+    // Compiled resource templates of the registered services
+    private final Map<Service, HTTPResourceRouter> resourceRouters = new ConcurrentHashMap<>();
     private static final HTTPServicesRegistry servicesRegistry = new HTTPServicesRegistry();
 
     private HTTPServicesRegistry() {
@@ -72,6 +74,14 @@ public class HTTPServicesRegistry {
         return servicesMap.get(interfaceId);
     }
 
+    /**
+     * @param service a registered service.
+     * @return the {@link HTTPResourceRouter} holding the compiled resource templates of the service.
+     */
+    public HTTPResourceRouter getResourceRouter(Service service) {
+        return resourceRouters.computeIfAbsent(service, HTTPResourceRouter::new);
+    }
+
     /**
      * Register a service into the map.
      * @param service requested service to register.
@@ -119,6 +129,7 @@ public class HTTPServicesRegistry {
                     "service with base path :" + basePath + " already exists in listener : " + listenerInterface);
         }
 
+        resourceRouters.put(service, new HTTPResourceRouter(service));
         servicesOnInterface.put(basePath, service);
 
         logger.info("Service deployed : " +
@@ -156,6 +167,7 @@ public class HTTPServicesRegistry {
         }
 
         Map<String, Service> servicesOnInterface = servicesMap.get(listenerInterface);
+        resourceRouters.remove(service);
         if (servicesOnInterface != null) {
             servicesOnInterface.remove(basePath);
             if (servicesOnInterface.isEmpty()) {
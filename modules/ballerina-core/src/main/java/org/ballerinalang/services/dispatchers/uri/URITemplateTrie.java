@@ -0,0 +1,332 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+
+package org.ballerinalang.services.dispatchers.uri;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code URITemplateTrie} is a prefix tree of path templates, keyed by path segments.
+ * <p>
+ * Each node has literal children keyed by the segment, a single variable child matching any segment, and the values
+ * of the templates ending at the node keyed by the method. A template ending with a {@code /*} segment matches any
+ * remainder of the path. Lookup walks the segments of the path, preferring literal over variable segments and
+ * variable segments over wildcards, so its cost depends on the length of the path and not on the number of
+ * templates.
+ * <p>
+ * Only templates made of literal segments, whole segment simple variables such as {@code {id}} and a trailing
+ * wildcard are supported. Templates with query parts or other expressions are rejected by {@link #add} and have to
+ * be matched using {@link URITemplate}.
+ *
+ * @param <T> type of the values
+ * @since 0.8.1
+ */
+public class URITemplateTrie<T> {
+
+    private static final char[] RESERVED = new char[] {
+            ':', '/', '?', '#', '[', ']', '@', '!', '$', '&', '\'', '(', ')', '*', '+', ',', ';', '='
+    };
+
+    private static final String WILDCARD = "*";
+
+    private final TrieNode<T> root = new TrieNode<>();
+
+    /**
+     * Add the given value under the given path template for each of the given methods. If a value already exists for
+     * the same template and method, the existing one is kept.
+     *
+     * @param template path template
+     * @param methods  methods handled by the value
+     * @param value    value to be returned on a match
+     * @return false if the template cannot be represented in the trie
+     */
+    public boolean add(String template, Collection<String> methods, T value) {
+        List<String> segments = splitTemplate(template);
+        if (segments == null) {
+            return false;
+        }
+
+        TrieNode<T> node = root;
+        List<String> variableNames = new ArrayList<>();
+        List<Integer> variableSegments = new ArrayList<>();
+        boolean wildcard = false;
+        for (int i = 0; i < segments.size(); i++) {
+            String segment = segments.get(i);
+            if (WILDCARD.equals(segment)) {
+                wildcard = true;
+            } else if (segment.startsWith("{")) {
+                variableNames.add(segment.substring(1, segment.length() - 1));
+                variableSegments.add(i);
+                if (node.variableChild == null) {
+                    node.variableChild = new TrieNode<>();
+                }
+                node = node.variableChild;
+            } else {
+                if (node.literalChildren == null) {
+                    node.literalChildren = new HashMap<>();
+                }
+                node = node.literalChildren.computeIfAbsent(segment, key -> new TrieNode<>());
+            }
+        }
+
+        int[] segmentIndexes = new int[variableSegments.size()];
+        for (int i = 0; i < segmentIndexes.length; i++) {
+            segmentIndexes[i] = variableSegments.get(i);
+        }
+        Entry<T> entry = new Entry<>(value, variableNames.toArray(new String[variableNames.size()]), segmentIndexes);
+
+        Map<String, Entry<T>> entries;
+        if (wildcard) {
+            if (node.wildcardEntries == null) {
+                node.wildcardEntries = new HashMap<>();
+            }
+            entries = node.wildcardEntries;
+        } else {
+            if (node.entries == null) {
+                node.entries = new HashMap<>();
+            }
+            entries = node.entries;
+        }
+
+        for (String method : methods) {
+            entries.putIfAbsent(method, entry);
+        }
+        return true;
+    }
+
+    /**
+     * Find the value of the template matching the given path and method.
+     *
+     * @param path      request path, without the query string
+     * @param hasQuery  whether the request has a query string. Only wildcard templates match such requests.
+     * @param method    request method
+     * @param variables map to which the values of the template variables are added on a match
+     * @return matching value, or null if there is no match
+     */
+    public T find(String path, boolean hasQuery, String method, Map<String, String> variables) {
+        Match<T> match = match(path, hasQuery, method);
+        if (match == null) {
+            return null;
+        }
+
+        match.addVariables(variables);
+        return match.getValue();
+    }
+
+    /**
+     * Find the template matching the given path and method, without binding its variables. The values of the
+     * variables are only decoded when {@link Match#addVariables} is called, hence a caller which may discard the match
+     * does not need a map for them.
+     *
+     * @param path     request path, without the query string
+     * @param hasQuery whether the request has a query string. Only wildcard templates match such requests.
+     * @param method   request method
+     * @return match, or null if there is no match
+     */
+    public Match<T> match(String path, boolean hasQuery, String method) {
+        String[] segments = splitPath(path);
+        Entry<T> entry = find(root, segments, 0, hasQuery, method);
+        return entry != null ? new Match<>(entry, segments) : null;
+    }
+
+    private Entry<T> find(TrieNode<T> node, String[] segments, int index, boolean hasQuery, String method) {
+        Entry<T> entry;
+        if (index == segments.length) {
+            if (!hasQuery && node.entries != null && (entry = node.entries.get(method)) != null) {
+                return entry;
+            }
+            return node.wildcardEntries != null ? node.wildcardEntries.get(method) : null;
+        }
+
+        String segment = segments[index];
+        TrieNode<T> child;
+        if (node.literalChildren != null && (child = node.literalChildren.get(segment)) != null &&
+                (entry = find(child, segments, index + 1, hasQuery, method)) != null) {
+            return entry;
+        }
+
+        if (node.variableChild != null && isVariableValue(segment) &&
+                (entry = find(node.variableChild, segments, index + 1, hasQuery, method)) != null) {
+            return entry;
+        }
+
+        return node.wildcardEntries != null ? node.wildcardEntries.get(method) : null;
+    }
+
+    /**
+     * Split the given template into segments.
+     *
+     * @param template path template
+     * @return segments, or null if the template is not supported
+     */
+    private static List<String> splitTemplate(String template) {
+        if (!template.startsWith("/") || template.indexOf('?') >= 0 || template.indexOf('#') >= 0) {
+            return null;
+        }
+
+        String[] segments = splitPath(template);
+        List<String> segmentList = new ArrayList<>(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            boolean valid;
+            if (WILDCARD.equals(segment)) {
+                valid = i == segments.length - 1;
+            } else if (segment.startsWith("{")) {
+                valid = segment.endsWith("}") && isVariableName(segment.substring(1, segment.length() - 1));
+            } else {
+                valid = segment.indexOf('{') < 0 && segment.indexOf('}') < 0 && segment.indexOf('*') < 0;
+            }
+
+            if (!valid) {
+                return null;
+            }
+            segmentList.add(segment);
+        }
+        return segmentList;
+    }
+
+    private static String[] splitPath(String path) {
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.length();
+        if (end > start && path.charAt(end - 1) == '/') {
+            end--;
+        }
+        if (end <= start) {
+            return new String[0];
+        }
+
+        int count = 1;
+        for (int i = start; i < end; i++) {
+            if (path.charAt(i) == '/') {
+                count++;
+            }
+        }
+
+        String[] segments = new String[count];
+        int segmentStart = start;
+        int segment = 0;
+        for (int i = start; i < end; i++) {
+            if (path.charAt(i) == '/') {
+                segments[segment++] = path.substring(segmentStart, i);
+                segmentStart = i + 1;
+            }
+        }
+        segments[segment] = path.substring(segmentStart, end);
+        return segments;
+    }
+
+    private static boolean isVariableName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < name.length(); i++) {
+            char ch = name.charAt(i);
+            if (!((ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') ||
+                    (ch >= '0' && ch <= '9') || ch == '.' || ch == '-' || ch == '_')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVariableValue(String segment) {
+        if (segment.isEmpty()) {
+            return false;
+        }
+
+        for (int i = 0; i < segment.length(); i++) {
+            char ch = segment.charAt(i);
+            for (char reservedChar : RESERVED) {
+                if (ch == reservedChar) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String decodeValue(String value) {
+        if (value.indexOf('%') < 0) {
+            return value;
+        }
+
+        try {
+            return URLDecoder.decode(value, QueryParamProcessor.ENCODING);
+        } catch (UnsupportedEncodingException e) {
+            throw new RuntimeException("Error while decoding value: " + value, e);
+        }
+    }
+
+    private static class TrieNode<T> {
+        private Map<String, TrieNode<T>> literalChildren;
+        private TrieNode<T> variableChild;
+
+        // Values of the templates ending at this node and of the ones ending with a wildcard after this node
+        private Map<String, Entry<T>> entries;
+        private Map<String, Entry<T>> wildcardEntries;
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final String[] variableNames;
+        private final int[] variableSegments;
+
+        Entry(T value, String[] variableNames, int[] variableSegments) {
+            this.value = value;
+            this.variableNames = variableNames;
+            this.variableSegments = variableSegments;
+        }
+    }
+
+    /**
+     * Template matched by a path, along with the segments of the path.
+     *
+     * @param <T> type of the values
+     */
+    public static class Match<T> {
+        private final Entry<T> entry;
+        private final String[] segments;
+
+        private Match(Entry<T> entry, String[] segments) {
+            this.entry = entry;
+            this.segments = segments;
+        }
+
+        public T getValue() {
+            return entry.value;
+        }
+
+        /**
+         * Add the values of the template variables to the given map.
+         *
+         * @param variables map to which the values are added
+         */
+        public void addVariables(Map<String, String> variables) {
+            for (int i = 0; i < entry.variableNames.length; i++) {
+                variables.put(entry.variableNames[i], decodeValue(segments[entry.variableSegments[i]]));
+            }
+        }
+    }
+}
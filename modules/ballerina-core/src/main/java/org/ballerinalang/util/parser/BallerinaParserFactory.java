@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.parser;
+
+import org.antlr.v4.runtime.BailErrorStrategy;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.atn.PredictionMode;
+
+/**
+ * {@code BallerinaParserFactory} creates the lexers and parsers for Ballerina source files.
+ * <p>
+ * Source files are parsed in two stages. The first parser uses SLL prediction, which never falls back to full
+ * context prediction, and bails out on the first syntax error. It parses almost all the valid source files. Only if
+ * it fails, the tokens are parsed again by a parser with full LL prediction and {@link BallerinaParserErrorStrategy},
+ * which reports the syntax errors.
+ * <p>
+ * All the lexers and parsers created by this factory share the DFA and prediction context caches of the grammar, so
+ * the predictions cached while parsing a source file are reused for the next ones, whichever stage cached them.
+ *
+ * @since 0.8.1
+ */
+public class BallerinaParserFactory {
+
+    private static BallerinaParserFactory instance = new BallerinaParserFactory();
+
+    private BallerinaParserFactory() {
+    }
+
+    public static BallerinaParserFactory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Create a token stream which tokenizes the given source.
+     *
+     * @param input source to tokenize
+     * @return token stream of the source
+     */
+    public CommonTokenStream createTokenStream(CharStream input) {
+        return new CommonTokenStream(new BallerinaLexer(input));
+    }
+
+    /**
+     * Create a parser for the first stage: SLL prediction, bailing out on the first syntax error with a
+     * {@link org.antlr.v4.runtime.misc.ParseCancellationException}, without reporting it.
+     *
+     * @param tokenStream tokens to parse
+     * @return parser for the first stage
+     */
+    public BallerinaParser createSLLParser(TokenStream tokenStream) {
+        BallerinaParser ballerinaParser = new BallerinaParser(tokenStream);
+        ballerinaParser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        ballerinaParser.setErrorHandler(new BailErrorStrategy());
+        ballerinaParser.removeErrorListeners();
+        return ballerinaParser;
+    }
+
+    /**
+     * Create a parser for the second stage: full LL prediction, reporting syntax errors with
+     * {@link BallerinaParserErrorStrategy}. The token stream is rewound, so that the tokens consumed by a failed
+     * first stage are parsed again.
+     *
+     * @param tokenStream tokens to parse
+     * @return parser for the second stage
+     */
+    public BallerinaParser createLLParser(TokenStream tokenStream) {
+        tokenStream.seek(0);
+        BallerinaParser ballerinaParser = new BallerinaParser(tokenStream);
+        ballerinaParser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        ballerinaParser.setErrorHandler(new BallerinaParserErrorStrategy());
+        return ballerinaParser;
+    }
+}
@@ -23,34 +23,172 @@ import org.antlr.v4.runtime.misc.ParseCancellationException;
 import org.ballerinalang.model.BLangPackage;
 import org.ballerinalang.model.BallerinaFile;
 import org.ballerinalang.model.builder.BLangModelBuilder;
+import org.ballerinalang.model.builder.BLangModelImage;
+import org.ballerinalang.model.builder.BLangModelRecorder;
 import org.ballerinalang.util.exceptions.ParserException;
-import org.ballerinalang.util.parser.BallerinaLexer;
 import org.ballerinalang.util.parser.BallerinaParser;
-import org.ballerinalang.util.parser.BallerinaParserErrorStrategy;
+import org.ballerinalang.util.parser.BallerinaParserFactory;
 import org.ballerinalang.util.parser.antlr4.BLangAntlr4Listener;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.function.Function;
 
 /**
  *
  */
 public class BLangFiles {
 
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+
+    public static BallerinaFile loadFile(String sourceFileName,
+                                         Path packagePath,
+                                         InputStream inputStream,
+                                         BLangPackage.PackageBuilder packageBuilder) {
+
+        Path sourceFilePath = getSourceFilePath(sourceFileName, packagePath);
+        BLangModelBuilder bLangModelBuilder = parse(sourceFilePath, inputStream, packageBuilder,
+                fileBuilder -> new BLangModelBuilder(fileBuilder, sourceFileName));
+        return bLangModelBuilder.build();
+    }
+
+    /**
+     * Load a source file by replaying its model image, or by parsing it if the image was not created from this
+     * source, or by this compiler.
+     *
+     * @param sourceFileName name of the source file
+     * @param packagePath    path of the package of the source file
+     * @param inputStream    input stream of the source file
+     * @param imageStream    input stream of the model image of the source file, or null if there is no image
+     * @param packageBuilder builder of the package of the source file
+     * @return model of the source file
+     */
     public static BallerinaFile loadFile(String sourceFileName,
                                          Path packagePath,
                                          InputStream inputStream,
+                                         InputStream imageStream,
                                          BLangPackage.PackageBuilder packageBuilder) {
+        if (imageStream == null) {
+            return loadFile(sourceFileName, packagePath, inputStream, packageBuilder);
+        }
+
+        Path sourceFilePath = getSourceFilePath(sourceFileName, packagePath);
+        byte[] source = readFully(inputStream, sourceFilePath);
+        BLangModelImage modelImage = BLangModelImage.read(readFully(imageStream, sourceFilePath), source);
+        if (modelImage == null) {
+            return loadFile(sourceFileName, packagePath, new ByteArrayInputStream(source), packageBuilder);
+        }
+
+        BLangModelBuilder bLangModelBuilder = new BLangModelBuilder(packageBuilder, sourceFileName);
+        modelImage.replay(bLangModelBuilder);
+        return bLangModelBuilder.build();
+    }
 
-        Path sourceFilePath;
+    /**
+     * Load a source file by replaying its model image in the given cache, or by parsing it and caching its model image
+     * if the cache has no image for this source.
+     *
+     * @param sourceFileName name of the source file
+     * @param packagePath    path of the package of the source file
+     * @param inputStream    input stream of the source file
+     * @param modelCache     cache of the model images of source files
+     * @param packageBuilder builder of the package of the source file
+     * @return model of the source file
+     */
+    public static BallerinaFile loadFile(String sourceFileName,
+                                         Path packagePath,
+                                         InputStream inputStream,
+                                         BLangModelCache modelCache,
+                                         BLangPackage.PackageBuilder packageBuilder) {
+        Path sourceFilePath = getSourceFilePath(sourceFileName, packagePath);
+        byte[] source = readFully(inputStream, sourceFilePath);
+        byte[] image = modelCache.get(sourceFilePath, source);
+        BLangModelImage modelImage = (image != null) ? BLangModelImage.read(image, source) : null;
+        if (modelImage != null) {
+            BLangModelBuilder bLangModelBuilder = new BLangModelBuilder(packageBuilder, sourceFileName);
+            modelImage.replay(bLangModelBuilder);
+            return bLangModelBuilder.build();
+        }
+
+        BLangModelRecorder modelRecorder = parse(sourceFilePath, new ByteArrayInputStream(source), packageBuilder,
+                fileBuilder -> new BLangModelRecorder(fileBuilder, sourceFileName));
+        modelCache.put(sourceFilePath, source, modelRecorder.getImage().write(source));
+        return modelRecorder.build();
+    }
+
+    /**
+     * Parse a source file and create its model image.
+     *
+     * @param sourceFileName name of the source file
+     * @param packagePath    path of the package of the source file
+     * @param source         content of the source file
+     * @param packageBuilder builder of the package of the source file
+     * @return binary model image of the source file
+     */
+    public static byte[] createModelImage(String sourceFileName,
+                                          Path packagePath,
+                                          byte[] source,
+                                          BLangPackage.PackageBuilder packageBuilder) {
+        Path sourceFilePath = getSourceFilePath(sourceFileName, packagePath);
+        BLangModelRecorder modelRecorder = parse(sourceFilePath, new ByteArrayInputStream(source), packageBuilder,
+                fileBuilder -> new BLangModelRecorder(fileBuilder, sourceFileName));
+        return modelRecorder.getImage().write(source);
+    }
+
+    /**
+     * Returns the model image of a source file from the given cache, or parses the source file and caches its model
+     * image if the cache has no image for this source.
+     *
+     * @param sourceFileName name of the source file
+     * @param packagePath    path of the package of the source file
+     * @param source         content of the source file
+     * @param modelCache     cache of the model images of source files
+     * @param packageBuilder builder of the package of the source file
+     * @return binary model image of the source file
+     */
+    public static byte[] createModelImage(String sourceFileName,
+                                          Path packagePath,
+                                          byte[] source,
+                                          BLangModelCache modelCache,
+                                          BLangPackage.PackageBuilder packageBuilder) {
+        Path sourceFilePath = getSourceFilePath(sourceFileName, packagePath);
+        byte[] image = modelCache.get(sourceFilePath, source);
+        if (image != null && BLangModelImage.read(image, source) != null) {
+            return image;
+        }
+
+        image = createModelImage(sourceFileName, packagePath, source, packageBuilder);
+        modelCache.put(sourceFilePath, source, image);
+        return image;
+    }
+
+    private static Path getSourceFilePath(String sourceFileName, Path packagePath) {
         if (packagePath == null || packagePath.toString().equals(".")) {
-            sourceFilePath = Paths.get(sourceFileName);
-        } else {
-            sourceFilePath = packagePath.resolve(sourceFileName);
+            return Paths.get(sourceFileName);
         }
+        return packagePath.resolve(sourceFileName);
+    }
 
+    /**
+     * Parse a source file, with SLL prediction first and with full LL prediction if that fails in any way. The model
+     * is built while parsing, hence the first stage builds into a package builder of its own, which is added to the
+     * given one only if the stage succeeds.
+     *
+     * @param sourceFilePath      path of the source file
+     * @param inputStream         input stream of the source file
+     * @param packageBuilder      builder of the package of the source file
+     * @param modelBuilderFactory creates the model builder of a stage, for the given package builder
+     * @param <T>                 type of the model builder
+     * @return model builder of the stage which parsed the source file
+     */
+    private static <T extends BLangModelBuilder> T parse(Path sourceFilePath,
+                                                         InputStream inputStream,
+                                                         BLangPackage.PackageBuilder packageBuilder,
+                                                         Function<BLangPackage.PackageBuilder, T> modelBuilderFactory) {
         try {
             ANTLRInputStream antlrInputStream = new ANTLRInputStream(inputStream);
 
@@ -58,17 +196,29 @@ public class BLangFiles {
             // This is required by the parser-error strategy.
             antlrInputStream.name = sourceFilePath.toString();
 
-            BallerinaLexer ballerinaLexer = new BallerinaLexer(antlrInputStream);
-            CommonTokenStream ballerinaToken = new CommonTokenStream(ballerinaLexer);
+            BallerinaParserFactory parserFactory = BallerinaParserFactory.getInstance();
+            CommonTokenStream ballerinaToken = parserFactory.createTokenStream(antlrInputStream);
 
-            BallerinaParser ballerinaParser = new BallerinaParser(ballerinaToken);
-            ballerinaParser.setErrorHandler(new BallerinaParserErrorStrategy());
+            BLangPackage.PackageBuilder fileBuilder =
+                    new BLangPackage.PackageBuilder((BLangPackage) packageBuilder.getCurrentScope());
+            T bLangModelBuilder = modelBuilderFactory.apply(fileBuilder);
+            BallerinaParser ballerinaParser = parserFactory.createSLLParser(ballerinaToken);
+            ballerinaParser.addParseListener(new BLangAntlr4Listener(bLangModelBuilder, sourceFilePath));
+            try {
+                ballerinaParser.compilationUnit();
+                packageBuilder.addPackageBuilder(fileBuilder);
+                return bLangModelBuilder;
+            } catch (RuntimeException e) {
+                // Either a syntax error, one of the rare inputs which need full context prediction, or an error of
+                // the model builder while building the constructs parsed so far. The file builder is discarded and
+                // the second stage parses the tokens again, which raises the genuine errors.
+            }
 
-            BLangModelBuilder bLangModelBuilder = new BLangModelBuilder(packageBuilder, sourceFileName);
-            BLangAntlr4Listener antlr4Listener = new BLangAntlr4Listener(bLangModelBuilder, sourceFilePath);
-            ballerinaParser.addParseListener(antlr4Listener);
+            bLangModelBuilder = modelBuilderFactory.apply(packageBuilder);
+            ballerinaParser = parserFactory.createLLParser(ballerinaToken);
+            ballerinaParser.addParseListener(new BLangAntlr4Listener(bLangModelBuilder, sourceFilePath));
             ballerinaParser.compilationUnit();
-            return bLangModelBuilder.build();
+            return bLangModelBuilder;
 
         } catch (IOException e) {
             throw new IllegalStateException("error in reading source file '" +
@@ -78,4 +228,26 @@ public class BLangFiles {
             throw new ParserException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Read the content of a source file.
+     *
+     * @param inputStream    stream of the source file
+     * @param sourceFilePath path of the source file, for errors
+     * @return content of the source file
+     */
+    public static byte[] readFully(InputStream inputStream, Path sourceFilePath) {
+        try {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[READ_BUFFER_SIZE];
+            int length;
+            while ((length = inputStream.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+            return outputStream.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("error in reading source file '" +
+                    sourceFilePath + "': " + e.getMessage());
+        }
+    }
 }
@@ -23,6 +23,7 @@ import org.ballerinalang.bre.Context;
 import org.ballerinalang.bre.RuntimeEnvironment;
 import org.ballerinalang.bre.StackFrame;
 import org.ballerinalang.bre.StackVarLocation;
+import org.ballerinalang.bre.bytecode.BLangBytecodeExecutor;
 import org.ballerinalang.bre.nonblocking.BLangNonBlockingExecutor;
 import org.ballerinalang.bre.nonblocking.ModeResolver;
 import org.ballerinalang.model.BLangProgram;
@@ -156,6 +157,13 @@ public class BLangFunctions {
                 result[i] = bContext.getControlStack().getCurrentFrame().tempValues[funcIExpr.getTempOffset() + i];
             }
             return result;
+        } else if (ModeResolver.getInstance().isBytecodeEnabled()) {
+            StackFrame stackFrame = new StackFrame(argValues, returnValues, functionInfo);
+            bContext.getControlStack().pushFrame(stackFrame);
+
+            BLangBytecodeExecutor executor = new BLangBytecodeExecutor(runtimeEnv, bContext);
+            executor.execute(function);
+            return returnValues;
         } else {
             StackFrame stackFrame = new StackFrame(argValues, returnValues, functionInfo);
             bContext.getControlStack().pushFrame(stackFrame);
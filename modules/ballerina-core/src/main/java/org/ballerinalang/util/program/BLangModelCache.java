@@ -0,0 +1,395 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.NativeUnit;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.model.builder.BLangModelImage;
+import org.ballerinalang.model.symbols.BLangSymbol;
+import org.ballerinalang.natives.NativeUnitProxy;
+import org.ballerinalang.util.repository.BLangProgramArchive;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code BLangModelCache} is an on-disk cache of the model images of source files, so that source files which have
+ * not changed since a previous build are loaded without being parsed, and of the images of analyzed packages, so that
+ * packages which have not changed are not analyzed again.
+ * <p>
+ * Model images are keyed by the version of the compiler, the path of the source file within its package repository
+ * and the content of the source file. An image is thus never used for a source file which has changed, or by another
+ * compiler. Package images, see {@link BLangPackageImage}, are keyed by the version of the compiler, the path of the
+ * package, the content of its source files and the signatures of the packages it depends on. The signature of a
+ * package covers its source files and the signatures of its own dependencies, and the symbols of native packages.
+ * A package is thus analyzed again when any package it depends on, directly or not, has changed.
+ * The cache is shared by concurrent builds: images are written to temporary files, which are then moved into place.
+ * <p>
+ * The cache is bounded. An image is kept for a maximum time since it was last used, and the least recently used
+ * images are removed when the size of the cache exceeds its maximum size. The cache is pruned once by each instance,
+ * when it caches its first image.
+ *
+ * @since 0.8.1
+ */
+public class BLangModelCache {
+
+    public static final String SYS_PROP_BUILD_CACHE = "ballerina.build.cache";
+    public static final long DEFAULT_MAX_CACHE_SIZE = 256L * 1024 * 1024;
+    public static final long DEFAULT_MAX_IMAGE_AGE = TimeUnit.DAYS.toMillis(30);
+
+    private static final Logger logger = LoggerFactory.getLogger(BLangModelCache.class);
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final String TEMP_FILE_EXT = ".tmp";
+    private static final String PACKAGE_IMAGE_EXT = ".bpi";
+
+    // Temporary files older than this are left behind by failed builds
+    private static final long MAX_TEMP_FILE_AGE = TimeUnit.HOURS.toMillis(1);
+
+    private Path cacheDirPath;
+    private long maxCacheSize;
+    private long maxImageAge;
+    private final AtomicBoolean pruned = new AtomicBoolean();
+
+    public BLangModelCache(Path cacheDirPath) {
+        this(cacheDirPath, DEFAULT_MAX_CACHE_SIZE, DEFAULT_MAX_IMAGE_AGE);
+    }
+
+    /**
+     * Create a cache with the given bounds.
+     *
+     * @param cacheDirPath directory of the cache
+     * @param maxCacheSize maximum total size of the images in bytes
+     * @param maxImageAge  maximum time since an image was last used, in milliseconds
+     */
+    public BLangModelCache(Path cacheDirPath, long maxCacheSize, long maxImageAge) {
+        this.cacheDirPath = cacheDirPath;
+        this.maxCacheSize = maxCacheSize;
+        this.maxImageAge = maxImageAge;
+    }
+
+    /**
+     * Returns the directory of the cache shared by the builds of a user, which is given by the
+     * {@link #SYS_PROP_BUILD_CACHE} system property and defaults to '.ballerina/cache' in the home directory.
+     *
+     * @return directory of the cache
+     */
+    public static Path getDefaultCacheDirPath() {
+        String cacheDir = System.getProperty(SYS_PROP_BUILD_CACHE);
+        if (cacheDir != null && !cacheDir.trim().isEmpty()) {
+            return Paths.get(cacheDir.trim());
+        }
+        return Paths.get(System.getProperty("user.home"), ".ballerina", "cache");
+    }
+
+    /**
+     * Returns the cached model image of a source file.
+     *
+     * @param sourceFilePath path of the source file within its package repository
+     * @param source         content of the source file
+     * @return model image of the source file, or null if it is not cached
+     */
+    public byte[] get(Path sourceFilePath, byte[] source) {
+        return readImage(getImagePath(sourceFilePath, source));
+    }
+
+    /**
+     * Cache the model image of a source file. Failures to write the image are logged, and otherwise ignored.
+     *
+     * @param sourceFilePath path of the source file within its package repository
+     * @param source         content of the source file
+     * @param image          model image of the source file
+     */
+    public void put(Path sourceFilePath, byte[] source, byte[] image) {
+        writeImage(getImagePath(sourceFilePath, source), image);
+    }
+
+    /**
+     * Returns the cached image of an analyzed package.
+     *
+     * @param bLangPackage package, which is not analyzed yet
+     * @return image of the package, or null if it is not cached
+     */
+    public byte[] getPackageImage(BLangPackage bLangPackage) {
+        Path imagePath = getPackageImagePath(bLangPackage);
+        return (imagePath != null) ? readImage(imagePath) : null;
+    }
+
+    /**
+     * Cache the image of an analyzed package. Failures to write the image are logged, and otherwise ignored.
+     *
+     * @param bLangPackage package
+     * @param image        image of the package
+     */
+    public void putPackageImage(BLangPackage bLangPackage, byte[] image) {
+        Path imagePath = getPackageImagePath(bLangPackage);
+        if (imagePath != null) {
+            writeImage(imagePath, image);
+        }
+    }
+
+    private byte[] readImage(Path imagePath) {
+        try {
+            byte[] image = Files.readAllBytes(imagePath);
+            touch(imagePath);
+            return image;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("error reading cached image '" + imagePath + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeImage(Path imagePath, byte[] image) {
+        Path tempPath = null;
+        try {
+            Files.createDirectories(cacheDirPath);
+            tempPath = Files.createTempFile(cacheDirPath, imagePath.getFileName().toString(), TEMP_FILE_EXT);
+            Files.write(tempPath, image);
+            try {
+                Files.move(tempPath, imagePath, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, imagePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.warn("error caching image '" + imagePath + "': " + e.getMessage());
+            if (tempPath != null) {
+                try {
+                    Files.deleteIfExists(tempPath);
+                } catch (IOException ignore) {
+                }
+            }
+        }
+
+        if (pruned.compareAndSet(false, true)) {
+            prune();
+        }
+    }
+
+    /**
+     * Remove the images which have not been used for longer than the maximum image age, and then the least recently
+     * used images till the size of the cache does not exceed the maximum size. Failures to remove an image are
+     * logged, and otherwise ignored.
+     */
+    public void prune() {
+        List<Path> imagePaths = new ArrayList<>();
+        Map<Path, BasicFileAttributes> imageAttrs = new HashMap<>();
+        long now = System.currentTimeMillis();
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(cacheDirPath)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+                BasicFileAttributes attrs;
+                try {
+                    attrs = Files.readAttributes(path, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    // Removed by a concurrent build
+                    continue;
+                }
+                if (fileName.endsWith(BLangProgramArchive.MODEL_IMAGE_EXT) || fileName.endsWith(PACKAGE_IMAGE_EXT)) {
+                    imagePaths.add(path);
+                    imageAttrs.put(path, attrs);
+                } else if (fileName.endsWith(TEMP_FILE_EXT) &&
+                        now - attrs.lastModifiedTime().toMillis() > MAX_TEMP_FILE_AGE) {
+                    delete(path);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("error pruning image cache '" + cacheDirPath + "': " + e.getMessage());
+            return;
+        }
+
+        // Most recently used first
+        imagePaths.sort(Comparator.comparing((Path path) -> imageAttrs.get(path).lastModifiedTime()).reversed());
+        long cacheSize = 0;
+        for (Path imagePath : imagePaths) {
+            BasicFileAttributes attrs = imageAttrs.get(imagePath);
+            cacheSize += attrs.size();
+            if (cacheSize > maxCacheSize || now - attrs.lastModifiedTime().toMillis() > maxImageAge) {
+                delete(imagePath);
+            }
+        }
+    }
+
+    private static void touch(Path imagePath) {
+        try {
+            Files.setLastModifiedTime(imagePath, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignore) {
+            // The image is then removed a little earlier than it would be otherwise
+        }
+    }
+
+    private static void delete(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("error removing cached image '" + path + "': " + e.getMessage());
+        }
+    }
+
+    private Path getImagePath(Path sourceFilePath, byte[] source) {
+        MessageDigest digest = createDigest();
+        digest.update(BLangModelImage.getCompilerVersion().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(sourceFilePath.toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(source);
+        return cacheDirPath.resolve(toHex(digest.digest()) + BLangProgramArchive.MODEL_IMAGE_EXT);
+    }
+
+    private Path getPackageImagePath(BLangPackage bLangPackage) {
+        if (BLangModelGraph.isNativePackage(bLangPackage)) {
+            return null;
+        }
+        byte[] signature = getSignature(bLangPackage, new IdentityHashMap<>());
+        if (signature == null) {
+            return null;
+        }
+
+        MessageDigest digest = createDigest();
+        digest.update(BLangPackageImage.getCompilerVersion().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(signature);
+        return cacheDirPath.resolve(toHex(digest.digest()) + PACKAGE_IMAGE_EXT);
+    }
+
+    /**
+     * Returns the signature of a package, or null if the package has no source digest, i.e. it was loaded without a
+     * cache.
+     */
+    private static byte[] getSignature(BLangPackage bLangPackage, Map<BLangPackage, byte[]> signatures) {
+        if (signatures.containsKey(bLangPackage)) {
+            return signatures.get(bLangPackage);
+        }
+
+        MessageDigest digest = createDigest();
+        update(digest, bLangPackage.getPackagePath());
+        boolean nativePackage = BLangModelGraph.isNativePackage(bLangPackage);
+        if (nativePackage) {
+            updateNativeSymbols(digest, bLangPackage);
+        } else if (bLangPackage.getSourceDigest() == null) {
+            signatures.put(bLangPackage, null);
+            return null;
+        }
+        if (bLangPackage.getSourceDigest() != null) {
+            digest.update(bLangPackage.getSourceDigest());
+        }
+
+        for (BLangPackage dependentPkg : bLangPackage.getDependentPackages()) {
+            byte[] dependentSignature = getSignature(dependentPkg, signatures);
+            if (dependentSignature == null) {
+                signatures.put(bLangPackage, null);
+                return null;
+            }
+            digest.update(dependentSignature);
+        }
+
+        byte[] signature = digest.digest();
+        signatures.put(bLangPackage, signature);
+        return signature;
+    }
+
+    private static void updateNativeSymbols(MessageDigest digest, BLangPackage bLangPackage) {
+        // Native constructs are not in the source files, hence the signature covers their names and types
+        List<Map.Entry<SymbolName, BLangSymbol>> symbols = new ArrayList<>(bLangPackage.getSymbolMap().entrySet());
+        symbols.sort(Comparator.comparing(entry -> entry.getKey().toString()));
+        for (Map.Entry<SymbolName, BLangSymbol> symbol : symbols) {
+            update(digest, symbol.getKey().toString());
+            Object value = symbol.getValue();
+            if (value instanceof NativeUnitProxy) {
+                NativeUnit nativeUnit = ((NativeUnitProxy) value).load();
+                value = nativeUnit;
+                update(digest, Arrays.toString(nativeUnit.getArgumentTypeNames()));
+                update(digest, Arrays.toString(nativeUnit.getReturnParamTypeNames()));
+            }
+            update(digest, value.getClass().getName());
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Returns the digest of the content of a source file.
+     *
+     * @param source content of the source file
+     * @return digest of the source file
+     */
+    static byte[] digest(byte[] source) {
+        return createDigest().digest(source);
+    }
+
+    /**
+     * Returns the digest of the source files of a package.
+     *
+     * @param fileDigests digests of the source files of the package, by their names
+     * @return digest of the package
+     */
+    static byte[] digest(Map<String, byte[]> fileDigests) {
+        MessageDigest digest = createDigest();
+        for (Map.Entry<String, byte[]> fileDigest : new TreeMap<>(fileDigests).entrySet()) {
+            update(digest, fileDigest.getKey());
+            digest.update(fileDigest.getValue());
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_DIGITS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+}
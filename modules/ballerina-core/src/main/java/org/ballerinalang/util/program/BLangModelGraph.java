@@ -0,0 +1,1022 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.GlobalScope;
+import org.ballerinalang.model.NativeUnit;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.model.SymbolScope;
+import org.ballerinalang.model.symbols.BLangSymbol;
+import org.ballerinalang.model.types.BArrayType;
+import org.ballerinalang.model.types.BType;
+import org.ballerinalang.model.types.BTypes;
+import org.ballerinalang.model.types.SimpleTypeName;
+import org.ballerinalang.model.types.TypeConstants;
+import org.ballerinalang.natives.NativePackageProxy;
+import org.ballerinalang.natives.NativeUnitProxy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code BLangModelGraph} writes the graph of the model objects of a package, and reads it back into a package of
+ * another program.
+ * <p>
+ * Objects of the model classes are written field by field, and collections element by element. Fields which are
+ * static or transient are not written, hence the caches of the runtime are marked transient. Objects outside the
+ * package are written as references, which are resolved in the program the graph is read into: the global scope,
+ * the program, packages, symbols defined in the scopes of other packages or the global scope, and constants, e.g.
+ * lambdas held by static fields. Graphs with any other object cannot be written.
+ * <p>
+ * The fields of each class are written along with the first object of the class, and the graph is not read if they
+ * are not the same as the fields of the class which is loaded.
+ *
+ * @since 0.8.1
+ */
+final class BLangModelGraph {
+
+    // Tags of the values in a graph
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_REF = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_BOOLEAN = 3;
+    private static final byte TAG_BYTE = 4;
+    private static final byte TAG_CHAR = 5;
+    private static final byte TAG_SHORT = 6;
+    private static final byte TAG_INT = 7;
+    private static final byte TAG_LONG = 8;
+    private static final byte TAG_FLOAT = 9;
+    private static final byte TAG_DOUBLE = 10;
+    private static final byte TAG_ENUM = 11;
+    private static final byte TAG_CLASS = 12;
+    private static final byte TAG_GLOBAL = 13;
+    private static final byte TAG_PROGRAM = 14;
+    private static final byte TAG_PACKAGE = 15;
+    private static final byte TAG_SYMBOL = 16;
+    private static final byte TAG_ARRAY_TYPE = 17;
+    private static final byte TAG_CONSTANT = 18;
+    private static final byte TAG_OBJECT = 19;
+    private static final byte TAG_ARRAY = 20;
+    private static final byte TAG_LIST = 21;
+    private static final byte TAG_MAP = 22;
+    private static final byte TAG_SET = 23;
+
+    private static final String MODEL_PACKAGE_PREFIX = "org.ballerinalang.";
+    private static final String LAMBDA_CLASS_MARKER = "$$Lambda";
+
+    // Collections are written as their elements, rather than as the fields of their implementations
+    private static final List<Class<?>> LIST_CLASSES = Arrays.asList(ArrayList.class, LinkedList.class);
+    private static final List<Class<?>> MAP_CLASSES = Arrays.asList(HashMap.class, LinkedHashMap.class);
+    private static final List<Class<?>> SET_CLASSES = Arrays.asList(HashSet.class, LinkedHashSet.class);
+
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Map<Object, Field>> CONSTANTS = new ConcurrentHashMap<>();
+
+    // Objects are read without calling their constructors
+    private static final Object UNSAFE;
+    private static final Method ALLOCATE_INSTANCE;
+
+    static {
+        Object unsafe = null;
+        Method allocateInstance = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field unsafeField = unsafeClass.getDeclaredField("theUnsafe");
+            unsafeField.setAccessible(true);
+            unsafe = unsafeField.get(null);
+            allocateInstance = unsafeClass.getMethod("allocateInstance", Class.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Graphs cannot be read on this JVM
+        }
+        UNSAFE = unsafe;
+        ALLOCATE_INSTANCE = allocateInstance;
+    }
+
+    private BLangModelGraph() {
+    }
+
+    /**
+     * Write the graph of the model objects of a package.
+     *
+     * @param bLangPackage package which is the root of the graph
+     * @param bLangProgram program of the package
+     * @return writer, which holds the graph and the objects written as a part of it
+     * @throws GraphException if the graph has an object which cannot be written
+     */
+    static Writer write(BLangPackage bLangPackage, BLangProgram bLangProgram) throws GraphException {
+        Writer writer = new Writer(bLangPackage, bLangProgram);
+        writer.write();
+        return writer;
+    }
+
+    /**
+     * Read the graph of the model objects of a package. The fields of the package are returned, rather than set, so
+     * that the package is left as it is if the graph cannot be read.
+     *
+     * @param graph        graph of the package
+     * @param bLangPackage package which is the root of the graph
+     * @param bLangProgram program of the package
+     * @return reader, which holds the values of the fields of the package and the objects read
+     * @throws GraphException if the graph cannot be read into the given program
+     */
+    static Reader read(ByteBuffer graph, BLangPackage bLangPackage, BLangProgram bLangProgram) throws GraphException {
+        if (ALLOCATE_INSTANCE == null) {
+            throw new GraphException("objects cannot be allocated on this JVM");
+        }
+        Reader reader = new Reader(graph, bLangPackage, bLangProgram);
+        try {
+            reader.read();
+        } catch (RuntimeException e) {
+            // Truncated or corrupted graphs, or graphs of other versions of the model classes
+            throw new GraphException("invalid graph: " + e.getMessage(), e);
+        }
+        return reader;
+    }
+
+    /**
+     * Returns the package with the given path, which is visible to a program.
+     *
+     * @param bLangProgram program
+     * @param pkgPath      path of the package
+     * @return package, or null if there is no such package
+     */
+    static BLangPackage resolvePackage(BLangProgram bLangProgram, String pkgPath) {
+        BLangSymbol symbol = bLangProgram.resolve(new SymbolName(pkgPath));
+        if (symbol instanceof NativePackageProxy) {
+            return ((NativePackageProxy) symbol).load();
+        }
+        return symbol instanceof BLangPackage ? (BLangPackage) symbol : null;
+    }
+
+    /**
+     * Returns whether a package is a native package, i.e. one which is loaded from the global scope.
+     *
+     * @param bLangPackage package
+     * @return true if the package is a native package
+     */
+    static boolean isNativePackage(BLangPackage bLangPackage) {
+        BLangSymbol symbol = GlobalScope.getInstance().resolve(new SymbolName(bLangPackage.getPackagePath()));
+        return symbol instanceof NativePackageProxy && ((NativePackageProxy) symbol).load() == bLangPackage;
+    }
+
+    static Field[] getFields(Class<?> clazz) {
+        return FIELDS.computeIfAbsent(clazz, BLangModelGraph::findFields);
+    }
+
+    private static Field[] findFields(Class<?> clazz) {
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+        }
+        // The order of the declared fields is not specified, hence they are sorted
+        fields.sort(Comparator.comparing((Field field) -> field.getDeclaringClass().getName())
+                .thenComparing(Field::getName));
+        return fields.toArray(new Field[fields.size()]);
+    }
+
+    private static boolean isModelClass(Class<?> clazz) {
+        if (clazz == Object.class) {
+            return true;
+        }
+        if (clazz.isSynthetic() || clazz.isEnum() || clazz.isArray() || BLangProgram.class.isAssignableFrom(clazz)
+                || GlobalScope.class.isAssignableFrom(clazz) || NativeUnit.class.isAssignableFrom(clazz)
+                || NativeUnitProxy.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        for (Class<?> current = clazz; current != Object.class; current = current.getSuperclass()) {
+            if (!current.getName().startsWith(MODEL_PACKAGE_PREFIX)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte getCollectionTag(Class<?> clazz) {
+        if (LIST_CLASSES.contains(clazz)) {
+            return TAG_LIST;
+        } else if (MAP_CLASSES.contains(clazz)) {
+            return TAG_MAP;
+        } else if (SET_CLASSES.contains(clazz)) {
+            return TAG_SET;
+        }
+        return TAG_NULL;
+    }
+
+    private static boolean hasFields(Class<?> clazz) {
+        return !clazz.isArray() && getCollectionTag(clazz) == TAG_NULL;
+    }
+
+    private static Field findConstant(Object value) {
+        Class<?> clazz = value.getClass();
+        String className = clazz.getName();
+        int lambdaIndex = className.indexOf(LAMBDA_CLASS_MARKER);
+        Class<?> ownerClass;
+        if (lambdaIndex > 0) {
+            // Lambdas are held by the static fields of the classes they are defined in
+            try {
+                ownerClass = Class.forName(className.substring(0, lambdaIndex), false, clazz.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                return null;
+            }
+        } else if (className.startsWith(MODEL_PACKAGE_PREFIX)) {
+            ownerClass = clazz;
+        } else if (className.startsWith(Collections.class.getName() + "$")) {
+            ownerClass = Collections.class;
+        } else {
+            return null;
+        }
+        return CONSTANTS.computeIfAbsent(ownerClass, BLangModelGraph::findConstants).get(value);
+    }
+
+    private static Map<Object, Field> findConstants(Class<?> clazz) {
+        Map<Object, Field> constants = new IdentityHashMap<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers) || field.getType().isPrimitive()) {
+                continue;
+            }
+            try {
+                if (!Modifier.isPublic(modifiers) || !Modifier.isPublic(clazz.getModifiers())) {
+                    field.setAccessible(true);
+                }
+                Object constant = field.get(null);
+                if (constant != null && !constants.containsKey(constant)) {
+                    constants.put(constant, field);
+                }
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Fields which are not accessible are not used as constants
+            }
+        }
+        return constants;
+    }
+
+    private static Object lookupSymbol(Object scope, String name, String pkgPath) {
+        if (!(scope instanceof SymbolScope)) {
+            return null;
+        }
+        Map<SymbolName, BLangSymbol> symbolMap = ((SymbolScope) scope).getSymbolMap();
+        Object symbol = (symbolMap != null) ? symbolMap.get(new SymbolName(name, pkgPath)) : null;
+        return (symbol instanceof NativeUnitProxy) ? ((NativeUnitProxy) symbol).load() : symbol;
+    }
+
+    private static boolean isArrayTypeSymbol(Object symbol, Object scope, SymbolName name) {
+        return symbol instanceof BArrayType && name.getName().endsWith(TypeConstants.ARRAY_TNAME)
+                && ((BArrayType) symbol).getElementType().getSymbolScope() == scope;
+    }
+
+    /**
+     * Symbol defined in a scope outside the package of a graph.
+     */
+    private static class SymbolRef {
+        private final Object scope;
+        private final SymbolName name;
+        private final BLangPackage bLangPackage;
+
+        SymbolRef(Object scope, SymbolName name, BLangPackage bLangPackage) {
+            this.scope = scope;
+            this.name = name;
+            this.bLangPackage = bLangPackage;
+        }
+    }
+
+    /**
+     * {@code Writer} writes a graph, in the order of the first references to the objects. Objects are numbered in
+     * that order, and later references refer to their numbers.
+     */
+    static class Writer {
+        private final BLangPackage root;
+        private final BLangProgram bLangProgram;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        private final Map<Object, SymbolRef> symbolRefs = new IdentityHashMap<>();
+        private final Map<Object, Integer> objectIds = new IdentityHashMap<>();
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private final Map<Class<?>, Integer> classIds = new HashMap<>();
+        private final Deque<Object> pendingObjects = new ArrayDeque<>();
+        private final List<Object> objects = new ArrayList<>();
+        private int objectCount;
+
+        Writer(BLangPackage root, BLangProgram bLangProgram) {
+            this.root = root;
+            this.bLangProgram = bLangProgram;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+
+        /**
+         * Returns the objects of the model classes which are written as a part of the graph.
+         *
+         * @return objects written
+         */
+        List<Object> getObjects() {
+            return objects;
+        }
+
+        private void write() throws GraphException {
+            indexScope(GlobalScope.getInstance(), GlobalScope.getInstance().getSymbolMap(), null);
+            for (BLangSymbol symbol : bLangProgram.getSymbolMap().values()) {
+                if (symbol instanceof BLangPackage) {
+                    BLangPackage bLangPackage = (BLangPackage) symbol;
+                    indexScope(bLangPackage, bLangPackage.getSymbolMap(), bLangPackage);
+                }
+            }
+
+            try {
+                objectIds.put(root, objectCount++);
+                writeClass(root.getClass());
+                writeFields(root);
+                while (!pendingObjects.isEmpty()) {
+                    writeBody(pendingObjects.poll());
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void indexScope(Object scope, Map<SymbolName, BLangSymbol> symbolMap, BLangPackage bLangPackage) {
+            if (symbolMap == null) {
+                return;
+            }
+            for (Map.Entry<SymbolName, BLangSymbol> entry : symbolMap.entrySet()) {
+                Object symbol = entry.getValue();
+                if (symbol instanceof NativeUnitProxy) {
+                    // Native constructs which are not loaded are not referred to by the model
+                    if (!((NativeUnitProxy) symbol).isLoaded()) {
+                        continue;
+                    }
+                    symbol = ((NativeUnitProxy) symbol).load();
+                }
+                if (symbol == null || symbol instanceof BLangPackage || symbolRefs.containsKey(symbol)) {
+                    continue;
+                }
+                symbolRefs.put(symbol, new SymbolRef(scope, entry.getKey(), bLangPackage));
+                if (symbol instanceof SymbolScope) {
+                    indexScope(symbol, ((SymbolScope) symbol).getSymbolMap(), bLangPackage);
+                }
+            }
+        }
+
+        private void writeValue(Object value) throws IOException, GraphException {
+            if (value == null) {
+                out.writeByte(TAG_NULL);
+                return;
+            }
+
+            if (value instanceof String) {
+                Integer stringId = stringIds.get(value);
+                if (stringId != null) {
+                    out.writeByte(TAG_REF);
+                    out.writeInt(stringId);
+                } else {
+                    stringIds.put((String) value, objectCount++);
+                    out.writeByte(TAG_STRING);
+                    writeString((String) value);
+                }
+                return;
+            }
+
+            if (writeBoxedValue(value)) {
+                return;
+            }
+            if (value instanceof Enum) {
+                out.writeByte(TAG_ENUM);
+                writeString(((Enum<?>) value).getDeclaringClass().getName());
+                writeString(((Enum<?>) value).name());
+                return;
+            }
+            if (value instanceof Class) {
+                out.writeByte(TAG_CLASS);
+                writeString(((Class<?>) value).getName());
+                return;
+            }
+
+            Integer objectId = objectIds.get(value);
+            if (objectId != null) {
+                out.writeByte(TAG_REF);
+                out.writeInt(objectId);
+                return;
+            }
+            objectIds.put(value, objectCount++);
+            writeObject(value);
+        }
+
+        private void writeObject(Object value) throws IOException, GraphException {
+            SymbolRef symbolRef = symbolRefs.get(value);
+            Class<?> clazz = value.getClass();
+            Field constant;
+            if (value == GlobalScope.getInstance()) {
+                out.writeByte(TAG_GLOBAL);
+
+            } else if (value == bLangProgram) {
+                out.writeByte(TAG_PROGRAM);
+
+            } else if (value instanceof BLangPackage) {
+                String pkgPath = ((BLangPackage) value).getPackagePath();
+                if (resolvePackage(bLangProgram, pkgPath) != value) {
+                    throw new GraphException("package is not a part of the program: " + pkgPath);
+                }
+                out.writeByte(TAG_PACKAGE);
+                writeString(pkgPath);
+
+            } else if (symbolRef != null && symbolRef.bLangPackage != root) {
+                SymbolName name = symbolRef.name;
+                if (lookupSymbol(symbolRef.scope, name.getName(), name.getPkgPath()) != value) {
+                    throw new GraphException("symbol cannot be resolved: " + name);
+                }
+                if (isArrayTypeSymbol(value, symbolRef.scope, name)) {
+                    // Array types are defined when they are used, hence they may not be defined in the program yet
+                    out.writeByte(TAG_ARRAY_TYPE);
+                    writeValue(((BArrayType) value).getElementType());
+                } else {
+                    out.writeByte(TAG_SYMBOL);
+                    writeValue(symbolRef.scope);
+                }
+                writeString(name.getName());
+                writeString(name.getPkgPath());
+
+            } else if ((constant = findConstant(value)) != null) {
+                out.writeByte(TAG_CONSTANT);
+                writeString(constant.getDeclaringClass().getName());
+                writeString(constant.getName());
+
+            } else if (clazz.isArray()) {
+                out.writeByte(TAG_ARRAY);
+                writeClass(clazz);
+                out.writeInt(Array.getLength(value));
+                pendingObjects.add(value);
+
+            } else if (getCollectionTag(clazz) != TAG_NULL) {
+                out.writeByte(getCollectionTag(clazz));
+                writeClass(clazz);
+                pendingObjects.add(value);
+
+            } else if (isModelClass(clazz)) {
+                out.writeByte(TAG_OBJECT);
+                writeClass(clazz);
+                pendingObjects.add(value);
+
+            } else {
+                throw new GraphException("object cannot be written: " + clazz.getName());
+            }
+        }
+
+        private void writeBody(Object value) throws IOException, GraphException {
+            Class<?> clazz = value.getClass();
+            if (clazz.isArray()) {
+                Class<?> componentType = clazz.getComponentType();
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    if (componentType.isPrimitive()) {
+                        writePrimitive(componentType, Array.get(value, i));
+                    } else {
+                        writeValue(Array.get(value, i));
+                    }
+                }
+
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+
+            } else if (value instanceof Collection) {
+                Collection<?> collection = (Collection<?>) value;
+                out.writeInt(collection.size());
+                for (Object element : collection) {
+                    writeValue(element);
+                }
+
+            } else {
+                objects.add(value);
+                writeFields(value);
+            }
+        }
+
+        private void writeFields(Object value) throws IOException, GraphException {
+            for (Field field : getFields(value.getClass())) {
+                try {
+                    if (field.getType().isPrimitive()) {
+                        writePrimitive(field.getType(), field.get(value));
+                    } else {
+                        writeValue(field.get(value));
+                    }
+                } catch (IllegalAccessException e) {
+                    throw new GraphException("field cannot be read: " + field, e);
+                }
+            }
+        }
+
+        private void writeClass(Class<?> clazz) throws IOException {
+            Integer classId = classIds.get(clazz);
+            if (classId != null) {
+                out.writeInt(classId);
+                return;
+            }
+
+            // Classes are written along with their first objects
+            classIds.put(clazz, classIds.size());
+            out.writeInt(classIds.size() - 1);
+            writeString(clazz.getName());
+            if (hasFields(clazz)) {
+                Field[] fields = getFields(clazz);
+                out.writeInt(fields.length);
+                for (Field field : fields) {
+                    writeString(field.getDeclaringClass().getName());
+                    writeString(field.getName());
+                    writeString(field.getType().getName());
+                }
+            }
+        }
+
+        private boolean writeBoxedValue(Object value) throws IOException {
+            if (value instanceof Boolean) {
+                out.writeByte(TAG_BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Byte) {
+                out.writeByte(TAG_BYTE);
+                out.writeByte((Byte) value);
+            } else if (value instanceof Character) {
+                out.writeByte(TAG_CHAR);
+                out.writeChar((Character) value);
+            } else if (value instanceof Short) {
+                out.writeByte(TAG_SHORT);
+                out.writeShort((Short) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(TAG_INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(TAG_LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Float) {
+                out.writeByte(TAG_FLOAT);
+                out.writeFloat((Float) value);
+            } else if (value instanceof Double) {
+                out.writeByte(TAG_DOUBLE);
+                out.writeDouble((Double) value);
+            } else {
+                return false;
+            }
+            return true;
+        }
+
+        private void writePrimitive(Class<?> type, Object value) throws IOException {
+            if (type == boolean.class) {
+                out.writeBoolean((Boolean) value);
+            } else if (type == byte.class) {
+                out.writeByte((Byte) value);
+            } else if (type == char.class) {
+                out.writeChar((Character) value);
+            } else if (type == short.class) {
+                out.writeShort((Short) value);
+            } else if (type == int.class) {
+                out.writeInt((Integer) value);
+            } else if (type == long.class) {
+                out.writeLong((Long) value);
+            } else if (type == float.class) {
+                out.writeFloat((Float) value);
+            } else {
+                out.writeDouble((Double) value);
+            }
+        }
+
+        private void writeString(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    /**
+     * {@code Reader} reads a graph in the order it is written.
+     */
+    static class Reader {
+        private final ByteBuffer graph;
+        private final BLangPackage root;
+        private final BLangProgram bLangProgram;
+
+        private final List<Object> objectsById = new ArrayList<>();
+        private final List<Class<?>> classes = new ArrayList<>();
+        private final Deque<Object> pendingObjects = new ArrayDeque<>();
+        private final List<Object> objects = new ArrayList<>();
+        // Maps and sets are filled once all the objects are read, since their elements are hashed
+        private final List<Object> hashedCollections = new ArrayList<>();
+        private final List<Object[]> hashedElements = new ArrayList<>();
+        private Object[] rootValues;
+
+        Reader(ByteBuffer graph, BLangPackage root, BLangProgram bLangProgram) {
+            this.graph = graph;
+            this.root = root;
+            this.bLangProgram = bLangProgram;
+        }
+
+        /**
+         * Returns the objects of the model classes which are read as a part of the graph.
+         *
+         * @return objects read
+         */
+        List<Object> getObjects() {
+            return objects;
+        }
+
+        /**
+         * Set the fields of the package which is the root of the graph.
+         */
+        void setRootFields() {
+            Field[] fields = getFields(root.getClass());
+            for (int i = 0; i < fields.length; i++) {
+                setField(fields[i], root, rootValues[i]);
+            }
+        }
+
+        private void read() throws GraphException {
+            objectsById.add(root);
+            if (readClass() != root.getClass()) {
+                throw new GraphException("package has a different class");
+            }
+            Field[] fields = getFields(root.getClass());
+            rootValues = new Object[fields.length];
+            for (int i = 0; i < fields.length; i++) {
+                Class<?> type = fields[i].getType();
+                rootValues[i] = type.isPrimitive() ? readPrimitive(type) : readValue();
+            }
+            while (!pendingObjects.isEmpty()) {
+                readBody(pendingObjects.poll());
+            }
+            fillHashedCollections();
+            if (graph.hasRemaining()) {
+                throw new GraphException("graph has trailing data");
+            }
+        }
+
+        private Object readValue() throws GraphException {
+            byte tag = graph.get();
+            switch (tag) {
+                case TAG_NULL:
+                    return null;
+                case TAG_REF:
+                    return objectsById.get(graph.getInt());
+                case TAG_STRING:
+                    String string = readString().intern();
+                    objectsById.add(string);
+                    return string;
+                case TAG_BOOLEAN:
+                    return graph.get() != 0;
+                case TAG_BYTE:
+                    return graph.get();
+                case TAG_CHAR:
+                    return graph.getChar();
+                case TAG_SHORT:
+                    return graph.getShort();
+                case TAG_INT:
+                    return graph.getInt();
+                case TAG_LONG:
+                    return graph.getLong();
+                case TAG_FLOAT:
+                    return graph.getFloat();
+                case TAG_DOUBLE:
+                    return graph.getDouble();
+                case TAG_ENUM:
+                    return readEnum(loadClass(readString()), readString());
+                case TAG_CLASS:
+                    return loadClass(readString());
+                default:
+                    int objectId = objectsById.size();
+                    objectsById.add(null);
+                    Object value = readObject(tag);
+                    objectsById.set(objectId, value);
+                    return value;
+            }
+        }
+
+        private Object readObject(byte tag) throws GraphException {
+            Class<?> clazz;
+            Object value;
+            switch (tag) {
+                case TAG_GLOBAL:
+                    return GlobalScope.getInstance();
+
+                case TAG_PROGRAM:
+                    return bLangProgram;
+
+                case TAG_PACKAGE:
+                    String pkgPath = readString();
+                    value = resolvePackage(bLangProgram, pkgPath);
+                    if (value == null) {
+                        throw new GraphException("package is not a part of the program: " + pkgPath);
+                    }
+                    return value;
+
+                case TAG_SYMBOL:
+                    Object scope = readValue();
+                    String name = readString();
+                    value = lookupSymbol(scope, name, readString());
+                    if (value == null) {
+                        throw new GraphException("symbol cannot be resolved: " + name);
+                    }
+                    return value;
+
+                case TAG_ARRAY_TYPE:
+                    return readArrayType();
+
+                case TAG_CONSTANT:
+                    return readConstant(loadClass(readString()), readString());
+
+                case TAG_ARRAY:
+                    clazz = readClass();
+                    if (!clazz.isArray()) {
+                        throw new GraphException("class is not an array class: " + clazz.getName());
+                    }
+                    value = Array.newInstance(clazz.getComponentType(), readCount());
+                    pendingObjects.add(value);
+                    return value;
+
+                case TAG_LIST:
+                case TAG_MAP:
+                case TAG_SET:
+                    clazz = readClass();
+                    if (getCollectionTag(clazz) != tag) {
+                        throw new GraphException("class is not a collection class: " + clazz.getName());
+                    }
+                    try {
+                        value = clazz.newInstance();
+                    } catch (InstantiationException | IllegalAccessException e) {
+                        throw new GraphException("collection cannot be created: " + clazz.getName(), e);
+                    }
+                    pendingObjects.add(value);
+                    return value;
+
+                case TAG_OBJECT:
+                    clazz = readClass();
+                    if (!isModelClass(clazz)) {
+                        throw new GraphException("object cannot be read: " + clazz.getName());
+                    }
+                    value = allocate(clazz);
+                    pendingObjects.add(value);
+                    return value;
+
+                default:
+                    throw new GraphException("invalid tag: " + tag);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void readBody(Object value) throws GraphException {
+            Class<?> clazz = value.getClass();
+            if (clazz.isArray()) {
+                Class<?> componentType = clazz.getComponentType();
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    Array.set(value, i, componentType.isPrimitive() ? readPrimitive(componentType) : readValue());
+                }
+
+            } else if (value instanceof List) {
+                int size = readCount();
+                List<Object> list = (List<Object>) value;
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue());
+                }
+
+            } else if (value instanceof Map || value instanceof Set) {
+                int size = readCount();
+                Object[] elements = new Object[value instanceof Map ? size * 2 : size];
+                for (int i = 0; i < elements.length; i++) {
+                    elements[i] = readValue();
+                }
+                hashedCollections.add(value);
+                hashedElements.add(elements);
+
+            } else {
+                objects.add(value);
+                for (Field field : getFields(clazz)) {
+                    Class<?> type = field.getType();
+                    setField(field, value, type.isPrimitive() ? readPrimitive(type) : readValue());
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fillHashedCollections() {
+            for (int i = 0; i < hashedCollections.size(); i++) {
+                Object collection = hashedCollections.get(i);
+                Object[] elements = hashedElements.get(i);
+                if (collection instanceof Map) {
+                    Map<Object, Object> map = (Map<Object, Object>) collection;
+                    for (int j = 0; j < elements.length; j += 2) {
+                        map.put(elements[j], elements[j + 1]);
+                    }
+                } else {
+                    Collections.addAll((Set<Object>) collection, elements);
+                }
+            }
+        }
+
+        private Object readArrayType() throws GraphException {
+            Object elementType = readValue();
+            String name = readString();
+            String pkgPath = readString();
+            if (!(elementType instanceof BType) || !name.endsWith(TypeConstants.ARRAY_TNAME)) {
+                throw new GraphException("invalid array type: " + name);
+            }
+
+            // Defines the array type in the scope of its element type, unless it is defined already
+            String elementTypeName = name.substring(0, name.length() - TypeConstants.ARRAY_TNAME.length());
+            BType arrayType = BTypes.resolveType(new SimpleTypeName(elementTypeName, pkgPath, true),
+                    ((BType) elementType).getSymbolScope(), null);
+            if (!(arrayType instanceof BArrayType) || ((BArrayType) arrayType).getElementType() != elementType) {
+                throw new GraphException("array type cannot be resolved: " + name);
+            }
+            return arrayType;
+        }
+
+        private Class<?> readClass() throws GraphException {
+            int classId = graph.getInt();
+            if (classId >= 0 && classId < classes.size()) {
+                return classes.get(classId);
+            } else if (classId != classes.size()) {
+                throw new GraphException("invalid class: " + classId);
+            }
+
+            Class<?> clazz = loadClass(readString());
+            if (hasFields(clazz)) {
+                Field[] fields = getFields(clazz);
+                if (readCount() != fields.length) {
+                    throw new GraphException("class has different fields: " + clazz.getName());
+                }
+                for (Field field : fields) {
+                    if (!field.getDeclaringClass().getName().equals(readString())
+                            || !field.getName().equals(readString())
+                            || !field.getType().getName().equals(readString())) {
+                        throw new GraphException("class has different fields: " + clazz.getName());
+                    }
+                }
+            }
+            classes.add(clazz);
+            return clazz;
+        }
+
+        private Object readPrimitive(Class<?> type) {
+            if (type == boolean.class) {
+                return graph.get() != 0;
+            } else if (type == byte.class) {
+                return graph.get();
+            } else if (type == char.class) {
+                return graph.getChar();
+            } else if (type == short.class) {
+                return graph.getShort();
+            } else if (type == int.class) {
+                return graph.getInt();
+            } else if (type == long.class) {
+                return graph.getLong();
+            } else if (type == float.class) {
+                return graph.getFloat();
+            } else {
+                return graph.getDouble();
+            }
+        }
+
+        private int readCount() throws GraphException {
+            // Each element takes at least a byte
+            int count = graph.getInt();
+            if (count < 0 || count > graph.remaining()) {
+                throw new GraphException("invalid count: " + count);
+            }
+            return count;
+        }
+
+        private String readString() throws GraphException {
+            int length = graph.getInt();
+            if (length == -1) {
+                return null;
+            }
+            if (length < 0 || length > graph.remaining()) {
+                throw new GraphException("invalid string length: " + length);
+            }
+            byte[] utf8 = new byte[length];
+            graph.get(utf8);
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+
+        private static Class<?> loadClass(String className) throws GraphException {
+            try {
+                return Class.forName(className, false, BLangModelGraph.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError e) {
+                throw new GraphException("class cannot be loaded: " + className, e);
+            }
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Object readEnum(Class<?> clazz, String name) throws GraphException {
+            if (!clazz.isEnum()) {
+                throw new GraphException("class is not an enum: " + clazz.getName());
+            }
+            return Enum.valueOf((Class) clazz, name);
+        }
+
+        private static Object readConstant(Class<?> clazz, String name) throws GraphException {
+            try {
+                Field field = clazz.getDeclaredField(name);
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers)) {
+                    throw new GraphException("field is not a constant: " + name);
+                }
+                if (!Modifier.isPublic(modifiers) || !Modifier.isPublic(clazz.getModifiers())) {
+                    field.setAccessible(true);
+                }
+                return field.get(null);
+            } catch (NoSuchFieldException | IllegalAccessException e) {
+                throw new GraphException("constant cannot be read: " + clazz.getName() + "." + name, e);
+            }
+        }
+
+        private static Object allocate(Class<?> clazz) throws GraphException {
+            if (clazz == Object.class) {
+                return new Object();
+            }
+            try {
+                return ALLOCATE_INSTANCE.invoke(UNSAFE, clazz);
+            } catch (ReflectiveOperationException e) {
+                throw new GraphException("object cannot be allocated: " + clazz.getName(), e);
+            }
+        }
+
+        private static void setField(Field field, Object object, Object value) {
+            try {
+                field.set(object, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("field cannot be set: " + field, e);
+            }
+        }
+    }
+
+    /**
+     * Thrown when a graph cannot be written or read.
+     */
+    static class GraphException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        GraphException(String message) {
+            super(message);
+        }
+
+        GraphException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
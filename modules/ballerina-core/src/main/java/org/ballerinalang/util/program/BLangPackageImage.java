@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.bre.ConstantLocation;
+import org.ballerinalang.bre.ServiceVarLocation;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.builder.BLangModelImage;
+import org.ballerinalang.util.semantics.SemanticAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@code BLangPackageImage} is a binary image of the analyzed model of a package: the graph of its model objects,
+ * as written by {@link BLangModelGraph}.
+ * <p>
+ * Reading an image into a package gives the same model as analyzing the package, without parsing or analyzing its
+ * source files again. The packages it depends on have to be a part of the program it is read into. An image is used
+ * only if it was created by the same image format and compiler version; otherwise the package is analyzed. The
+ * compiler version includes a digest of the semantic analyzer, and the model classes are checked field by field.
+ * <p>
+ * The constants and service variables of a package take a range of the static memory of its program. An image may
+ * be read into a program in which the range of the package starts at another address, in which case the static
+ * memory locations are relocated.
+ *
+ * @since 0.8.1
+ */
+public class BLangPackageImage {
+
+    private static final Logger logger = LoggerFactory.getLogger(BLangPackageImage.class);
+
+    private static final int MAGIC = 0x42414C50;
+    private static final int FORMAT_VERSION = 1;
+    private static final String COMPILER_VERSION = BLangModelImage.getCompilerVersion() + "-" +
+            BLangModelImage.getClassDigest(SemanticAnalyzer.class, BLangModelGraph.class, BLangPackageImage.class);
+
+    private static final Field CONSTANT_ADDRESS = getAddressField(ConstantLocation.class);
+    private static final Field SERVICE_VAR_ADDRESS = getAddressField(ServiceVarLocation.class);
+
+    private BLangPackageImage() {
+    }
+
+    /**
+     * Returns the version of the compiler, which images are valid for.
+     *
+     * @return version of the compiler
+     */
+    public static String getCompilerVersion() {
+        return COMPILER_VERSION;
+    }
+
+    /**
+     * Create the image of an analyzed package.
+     *
+     * @param bLangPackage package
+     * @param bLangProgram program of the package
+     * @return binary image, or null if the package cannot be imaged
+     */
+    public static byte[] write(BLangPackage bLangPackage, BLangProgram bLangProgram) {
+        return write(bLangPackage, bLangProgram, -1, 0);
+    }
+
+    /**
+     * Create the image of an analyzed package, which takes the given range of the static memory of its program.
+     *
+     * @param bLangPackage   package
+     * @param bLangProgram   program of the package
+     * @param staticMemBase  first address of the static memory of the package, or -1 if it is not known
+     * @param staticMemSize  size of the static memory of the package
+     * @return binary image, or null if the package cannot be imaged
+     */
+    public static byte[] write(BLangPackage bLangPackage, BLangProgram bLangProgram, int staticMemBase,
+                               int staticMemSize) {
+        if (!bLangPackage.isSymbolsDefined()) {
+            return null;
+        }
+
+        BLangModelGraph.Writer graphWriter;
+        try {
+            graphWriter = BLangModelGraph.write(bLangPackage, bLangProgram);
+        } catch (BLangModelGraph.GraphException e) {
+            logger.debug("package '" + bLangPackage.getPackagePath() + "' cannot be imaged: " + e.getMessage());
+            return null;
+        }
+
+        // Range of the static memory locations in the image
+        int minAddress = Integer.MAX_VALUE;
+        int maxAddress = -1;
+        for (Object object : graphWriter.getObjects()) {
+            if (object instanceof ConstantLocation || object instanceof ServiceVarLocation) {
+                int address = getAddress(object);
+                minAddress = Math.min(minAddress, address);
+                maxAddress = Math.max(maxAddress, address);
+            }
+        }
+        if (maxAddress == -1) {
+            minAddress = Math.max(staticMemBase, 0);
+        } else if (staticMemBase != -1 && (minAddress < staticMemBase || maxAddress >= staticMemBase + staticMemSize)) {
+            // Locations in the static memory of other packages are not relocated along with those of this package
+            logger.debug("package '" + bLangPackage.getPackagePath() + "' cannot be imaged: static memory " +
+                    "locations outside the package");
+            return null;
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(outputStream)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, COMPILER_VERSION);
+            writeString(out, bLangPackage.getPackagePath());
+            out.writeInt(staticMemBase != -1 ? staticMemBase : minAddress);
+            out.writeInt(staticMemBase != -1 ? staticMemSize : maxAddress + 1 - minAddress);
+            out.write(graphWriter.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("error in writing package image: " + e.getMessage(), e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Read an image into a package, which takes the same range of the static memory of its program as the package
+     * of the image.
+     *
+     * @param image        binary image
+     * @param bLangPackage package, which is left as it is if the image cannot be read
+     * @param bLangProgram program of the package
+     * @return size of the static memory of the package, or -1 if the image cannot be read into the package
+     */
+    public static int read(ByteBuffer image, BLangPackage bLangPackage, BLangProgram bLangProgram) {
+        return read(image, bLangPackage, bLangProgram, -1);
+    }
+
+    /**
+     * Read an image into a package, relocating the static memory of the package to start at the given address.
+     *
+     * @param image         binary image
+     * @param bLangPackage  package, which is left as it is if the image cannot be read
+     * @param bLangProgram  program of the package
+     * @param staticMemBase first address of the static memory of the package, or -1 to keep the addresses
+     * @return size of the static memory of the package, or -1 if the image cannot be read into the package
+     */
+    public static int read(ByteBuffer image, BLangPackage bLangPackage, BLangProgram bLangProgram,
+                           int staticMemBase) {
+        try {
+            if (image.getInt() != MAGIC || image.getInt() != FORMAT_VERSION
+                    || !COMPILER_VERSION.equals(readString(image))
+                    || !bLangPackage.getPackagePath().equals(readString(image))) {
+                return -1;
+            }
+            int imageStaticMemBase = image.getInt();
+            int staticMemSize = image.getInt();
+
+            BLangModelGraph.Reader graphReader = BLangModelGraph.read(image.slice(), bLangPackage, bLangProgram);
+            int offset = staticMemBase != -1 ? staticMemBase - imageStaticMemBase : 0;
+            if (offset != 0) {
+                relocate(graphReader.getObjects(), offset);
+            }
+            graphReader.setRootFields();
+            return staticMemSize;
+        } catch (BLangModelGraph.GraphException | RuntimeException e) {
+            logger.debug("image of package '" + bLangPackage.getPackagePath() + "' cannot be read: " +
+                    e.getMessage());
+            return -1;
+        }
+    }
+
+    private static void relocate(List<Object> objects, int offset) {
+        for (Object object : objects) {
+            if (object instanceof ConstantLocation || object instanceof ServiceVarLocation) {
+                Field addressField = (object instanceof ConstantLocation) ? CONSTANT_ADDRESS : SERVICE_VAR_ADDRESS;
+                try {
+                    addressField.setInt(object, addressField.getInt(object) + offset);
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
+    private static int getAddress(Object location) {
+        return (location instanceof ConstantLocation) ? ((ConstantLocation) location).getStaticMemAddrOffset() :
+                ((ServiceVarLocation) location).getStaticMemAddrOffset();
+    }
+
+    private static Field getAddressField(Class<?> locationClass) {
+        try {
+            Field addressField = locationClass.getDeclaredField("staticMemAddrOffset");
+            addressField.setAccessible(true);
+            return addressField;
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("invalid string length: " + length);
+        }
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
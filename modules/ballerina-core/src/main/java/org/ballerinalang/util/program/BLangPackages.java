@@ -27,16 +27,29 @@ import org.ballerinalang.natives.NativePackageProxy;
 import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.repository.PackageRepository;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
  * This class contains a set of static methods to operate on {@code BLangPackage} objects. This class contains methods
  * to load packages or files from the given package repository.
+ * <p>
+ * The source files of a package, and the packages it imports, are parsed in parallel on the common fork/join pool.
  *
  * @since 0.8.0
  */
@@ -45,35 +58,79 @@ public class BLangPackages {
     public static BLangPackage loadPackage(Path packagePath,
                                            PackageRepository packageRepo,
                                            BLangProgram bLangProgram) {
-        return loadPackage(packagePath, packageRepo, bLangProgram, new LinkedHashSet<>());
+        return loadPackage(packagePath, packageRepo, bLangProgram, null);
     }
 
-    private static BLangPackage loadPackage(Path packagePath,
-                                            PackageRepository packageRepo,
-                                            BLangProgram bLangProgram,
-                                            LinkedHashSet<SymbolName> currentDepPath) {
-
-        // Load package details (input streams of source files) from the given package repository
-        PackageRepository.PackageSource pkgSource = packageRepo.loadPackage(packagePath);
-        if (pkgSource.getSourceFileStreamMap().isEmpty()) {
-            throw new RuntimeException("no bal files in the package: " + packagePath.toString());
-        }
-
-        String pkgPathStr = getPackagePathFromPath(packagePath);
-        BLangPackage.PackageBuilder packageBuilder =
-                new BLangPackage.PackageBuilder(pkgPathStr, pkgSource.getPackageRepository(), bLangProgram);
-
-        return loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
+    /**
+     * Load a package and its dependencies, loading the source files which have not changed from their model images
+     * in the given cache.
+     *
+     * @param packagePath  path of the package
+     * @param packageRepo  repository of the package
+     * @param bLangProgram program the package belongs to
+     * @param modelCache   cache of the model images of source files, or null to parse all the source files
+     * @return loaded package
+     */
+    public static BLangPackage loadPackage(Path packagePath,
+                                           PackageRepository packageRepo,
+                                           BLangProgram bLangProgram,
+                                           BLangModelCache modelCache) {
+        BLangPackage.PackageBuilder packageBuilder = parsePackage(packagePath, packageRepo, bLangProgram, modelCache);
+        return loadPackageInternal(packageBuilder, bLangProgram, new LinkedHashSet<>(), modelCache);
     }
 
     public static BLangPackage loadFile(Path filePath, PackageRepository packageRepo, BLangProgram bLangProgram) {
+        return loadFile(filePath, packageRepo, bLangProgram, null);
+    }
+
+    /**
+     * Load a source file and its dependencies, loading the source files which have not changed from their model
+     * images in the given cache.
+     *
+     * @param filePath     path of the source file
+     * @param packageRepo  repository of the source file
+     * @param bLangProgram program the source file belongs to
+     * @param modelCache   cache of the model images of source files, or null to parse all the source files
+     * @return package of the source file
+     */
+    public static BLangPackage loadFile(Path filePath,
+                                        PackageRepository packageRepo,
+                                        BLangProgram bLangProgram,
+                                        BLangModelCache modelCache) {
         PackageRepository.PackageSource pkgSource = packageRepo.loadFile(filePath);
-        BLangPackage.PackageBuilder packageBuilder =
-                new BLangPackage.PackageBuilder(".", pkgSource.getPackageRepository(), bLangProgram);
+        BLangPackage bLangPackage = new BLangPackage(".", pkgSource.getPackageRepository(), bLangProgram);
+        BLangPackage.PackageBuilder packageBuilder = parseSourceFiles(pkgSource, bLangPackage, modelCache);
 
         LinkedHashSet<SymbolName> currentDepPath = new LinkedHashSet<>();
         // Resolve dependent packages of this package
-        return loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
+        return loadPackageInternal(packageBuilder, bLangProgram, currentDepPath, modelCache);
+    }
+
+    /**
+     * Load a native package and its dependencies, unless it is loaded already.
+     *
+     * @param pkgPath      path of the native package
+     * @param bLangProgram program the package belongs to
+     * @param modelCache   cache of the model images of source files, or null to parse all the source files
+     * @return loaded package
+     */
+    public static BLangPackage loadNativePackage(String pkgPath,
+                                                 BLangProgram bLangProgram,
+                                                 BLangModelCache modelCache) {
+        SymbolName packageName = new SymbolName(pkgPath);
+        BLangPackage bLangPackage = (BLangPackage) bLangProgram.resolve(packageName);
+        if (bLangPackage == null) {
+            throw new BallerinaException("native package not found: " + pkgPath);
+        } else if (!(bLangPackage instanceof NativePackageProxy)) {
+            return bLangPackage;
+        }
+
+        BLangPackage nativePackage = ((NativePackageProxy) bLangPackage).load();
+        BLangPackage.PackageBuilder packageBuilder = parseSourceFiles(nativePackage.getPackageRepository()
+                .loadPackage(getPathFromPackagePath(pkgPath)), nativePackage, modelCache);
+        nativePackage = loadPackageInternal(packageBuilder, bLangProgram, new LinkedHashSet<>(), modelCache);
+        bLangProgram.define(packageName, nativePackage);
+        return nativePackage;
     }
 
     public static Path getPathFromPackagePath(String packagePath) {
@@ -100,18 +157,78 @@ public class BLangPackages {
         return strBuilder.toString();
     }
 
-    private static BLangPackage loadPackageInternal(PackageRepository.PackageSource pkgSource,
-                                                    BLangPackage.PackageBuilder packageBuilder,
-                                                    BLangProgram bLangProgram,
-                                                    LinkedHashSet<SymbolName> currentDepPath) {
+    private static BLangPackage.PackageBuilder parsePackage(Path packagePath,
+                                                            PackageRepository packageRepo,
+                                                            BLangProgram bLangProgram,
+                                                            BLangModelCache modelCache) {
+
+        // Load package details (input streams of source files) from the given package repository
+        PackageRepository.PackageSource pkgSource = packageRepo.loadPackage(packagePath);
+        if (pkgSource.getSourceFileStreamMap().isEmpty()) {
+            throw new RuntimeException("no bal files in the package: " + packagePath.toString());
+        }
+
+        String pkgPathStr = getPackagePathFromPath(packagePath);
+        BLangPackage bLangPackage = new BLangPackage(pkgPathStr, pkgSource.getPackageRepository(), bLangProgram);
+        return parseSourceFiles(pkgSource, bLangPackage, modelCache);
+    }
 
+    /**
+     * Parse the source files of a package in parallel, each into a builder of its own, and add the builders to a
+     * package builder in the order of the files. Errors are reported for the first failing file in that order, as
+     * when the files are parsed one after the other.
+     *
+     * @param pkgSource    source files of the package
+     * @param bLangPackage package the source files belong to
+     * @param modelCache   cache of the model images of source files, or null
+     * @return package builder with the constructs of all the source files
+     */
+    private static BLangPackage.PackageBuilder parseSourceFiles(PackageRepository.PackageSource pkgSource,
+                                                                BLangPackage bLangPackage,
+                                                                BLangModelCache modelCache) {
         Path packagePath = pkgSource.getPackagePath();
         String pkgPathStr = getPackagePathFromPath(packagePath);
-        packageBuilder.setBallerinaFileList(pkgSource.getSourceFileStreamMap().entrySet()
+        PackageRepository packageRepo = pkgSource.getPackageRepository();
+
+        // Digests of the source files, which key the cached images of the package
+        Map<String, byte[]> fileDigests = new ConcurrentHashMap<>();
+        List<CompletableFuture<BLangPackage.PackageBuilder>> fileBuilders = pkgSource.getSourceFileStreamMap()
+                .entrySet()
                 .stream()
-                .map(entry -> BLangFiles.loadFile(entry.getKey(), packagePath, entry.getValue(), packageBuilder))
-                .peek(bFile -> validatePackagePathInFile(pkgPathStr, packagePath, bFile))
-                .collect(Collectors.toList()));
+                .map(entry -> submit(() -> {
+                    BLangPackage.PackageBuilder fileBuilder = new BLangPackage.PackageBuilder(bLangPackage);
+                    String fileName = entry.getKey();
+                    InputStream sourceStream = entry.getValue();
+                    if (modelCache != null) {
+                        byte[] source = BLangFiles.readFully(sourceStream, packagePath.resolve(fileName));
+                        fileDigests.put(fileName, BLangModelCache.digest(source));
+                        sourceStream = new ByteArrayInputStream(source);
+                    }
+                    // Images in the repository, i.e. in program archives, take precedence over the cached ones
+                    InputStream imageStream = packageRepo.loadModelImage(packagePath, fileName);
+                    BallerinaFile bFile = (imageStream == null && modelCache != null) ?
+                            BLangFiles.loadFile(fileName, packagePath, sourceStream, modelCache, fileBuilder) :
+                            BLangFiles.loadFile(fileName, packagePath, sourceStream, imageStream, fileBuilder);
+                    validatePackagePathInFile(pkgPathStr, packagePath, bFile);
+                    fileBuilder.addBallerinaFile(bFile);
+                    return fileBuilder;
+                }))
+                .collect(Collectors.toList());
+
+        BLangPackage.PackageBuilder packageBuilder = new BLangPackage.PackageBuilder(bLangPackage);
+        for (CompletableFuture<BLangPackage.PackageBuilder> fileBuilder : fileBuilders) {
+            packageBuilder.addPackageBuilder(join(fileBuilder));
+        }
+        if (modelCache != null) {
+            bLangPackage.setSourceDigest(BLangModelCache.digest(fileDigests));
+        }
+        return packageBuilder;
+    }
+
+    private static BLangPackage loadPackageInternal(BLangPackage.PackageBuilder packageBuilder,
+                                                    BLangProgram bLangProgram,
+                                                    LinkedHashSet<SymbolName> currentDepPath,
+                                                    BLangModelCache modelCache) {
 
         BLangPackage bLangPackage = packageBuilder.build();
         // Check for a dependency cycle
@@ -122,7 +239,7 @@ public class BLangPackages {
         // Mark the node in the current path
         currentDepPath.add(bLangPackage.getSymbolName());
         // Resolve dependent packages of this package
-        BLangPackage result = resolveDependencies(bLangPackage, bLangProgram, currentDepPath);
+        BLangPackage result = resolveDependencies(bLangPackage, bLangProgram, currentDepPath, modelCache);
         // Remove the node marking from the current path
         currentDepPath.remove(bLangPackage.getSymbolName());
         return result;
@@ -140,39 +257,31 @@ public class BLangPackages {
     }
 
     private static BLangPackage resolveDependencies(BLangPackage parentPackage, BLangProgram bLangProgram,
-                                                    LinkedHashSet<SymbolName> currentDepPath) {
-        for (ImportPackage importPackage : parentPackage.getImportPackages()) {
+                                                    LinkedHashSet<SymbolName> currentDepPath,
+                                                    BLangModelCache modelCache) {
+        // Parse the dependent packages which are not loaded yet in parallel. They are still built, checked for
+        // cycles and defined one after the other, in the order of the imports.
+        ImportPackage[] importPackages = parentPackage.getImportPackages();
+        List<CompletableFuture<BLangPackage.PackageBuilder>> parsedPackages = new ArrayList<>(importPackages.length);
+        for (ImportPackage importPackage : importPackages) {
+            parsedPackages.add(parseDependency(importPackage, parentPackage, bLangProgram, modelCache));
+        }
+        // Parsing reads the program scope, hence wait for all the packages before defining any of them
+        CompletableFuture.allOf(parsedPackages.stream()
+                .filter(Objects::nonNull)
+                .toArray(CompletableFuture[]::new))
+                .exceptionally(e -> null)
+                .join();
 
-            // Check whether this package is already resolved.
-            BLangPackage dependentPkg = (BLangPackage) bLangProgram.resolve(importPackage.getSymbolName());
-            Path packagePath = getPathFromPackagePath(importPackage.getSymbolName().getName());
-
-            if (dependentPkg != null && dependentPkg instanceof NativePackageProxy) {
-                dependentPkg = ((NativePackageProxy) dependentPkg).load();
-                PackageRepository.PackageSource pkgSource =
-                        dependentPkg.getPackageRepository().loadPackage(packagePath);
-
-                BLangPackage.PackageBuilder packageBuilder = new BLangPackage.PackageBuilder(dependentPkg);
-                dependentPkg = loadPackageInternal(pkgSource, packageBuilder, bLangProgram, currentDepPath);
-
-            } else if (dependentPkg == null) {
-
-                // Remove redundant stuff using the Paths and Files API
-                // This builder or loader should throw an error if the package cannot be found.
-                // 1) If the parent package is loaded from the program repository (current directory), then follow this
-                //    search order:
-                //      i) Search the program repository
-                //      ii) Search the system repository
-                //      iii) Search the personal/user repository
-                // 2) If the parent is loaded from the system directory, then all the children should be
-                //    available in the system repository.  DO NOT Search other repositories.
-                // 3) If the parent is loaded from the personal/user repository, then use following search order:
-                //      i) Search the system repository
-                //      ii) Search the personal/user repository
-                // 4) None of the above applies if the package name starts with 'ballerina'
-                dependentPkg = loadPackage(packagePath, parentPackage.getPackageRepository(),
-                        bLangProgram, currentDepPath);
+        for (int i = 0; i < importPackages.length; i++) {
+            ImportPackage importPackage = importPackages[i];
 
+            // Check whether this package is already resolved, e.g. while resolving a previous import. Packages
+            // parsed for imports resolved in the meantime are discarded.
+            BLangPackage dependentPkg = (BLangPackage) bLangProgram.resolve(importPackage.getSymbolName());
+            if (dependentPkg == null || dependentPkg instanceof NativePackageProxy) {
+                dependentPkg = loadPackageInternal(join(parsedPackages.get(i)), bLangProgram, currentDepPath,
+                        modelCache);
             }
 
             // Define package in the program scope
@@ -183,6 +292,63 @@ public class BLangPackages {
         return parentPackage;
     }
 
+    private static CompletableFuture<BLangPackage.PackageBuilder> parseDependency(ImportPackage importPackage,
+                                                                                  BLangPackage parentPackage,
+                                                                                  BLangProgram bLangProgram,
+                                                                                  BLangModelCache modelCache) {
+        BLangPackage dependentPkg = (BLangPackage) bLangProgram.resolve(importPackage.getSymbolName());
+        Path packagePath = getPathFromPackagePath(importPackage.getSymbolName().getName());
+
+        if (dependentPkg != null && dependentPkg instanceof NativePackageProxy) {
+            BLangPackage nativePackage = ((NativePackageProxy) dependentPkg).load();
+            return submit(() -> parseSourceFiles(nativePackage.getPackageRepository().loadPackage(packagePath),
+                    nativePackage, modelCache));
+
+        } else if (dependentPkg == null) {
+
+            // Remove redundant stuff using the Paths and Files API
+            // This builder or loader should throw an error if the package cannot be found.
+            // 1) If the parent package is loaded from the program repository (current directory), then follow this
+            //    search order:
+            //      i) Search the program repository
+            //      ii) Search the system repository
+            //      iii) Search the personal/user repository
+            // 2) If the parent is loaded from the system directory, then all the children should be
+            //    available in the system repository.  DO NOT Search other repositories.
+            // 3) If the parent is loaded from the personal/user repository, then use following search order:
+            //      i) Search the system repository
+            //      ii) Search the personal/user repository
+            // 4) None of the above applies if the package name starts with 'ballerina'
+            PackageRepository packageRepo = parentPackage.getPackageRepository();
+            return submit(() -> parsePackage(packagePath, packageRepo, bLangProgram, modelCache));
+        }
+
+        return null;
+    }
+
+    /**
+     * Run a parsing task on the common fork/join pool. Tasks which wait for other tasks, e.g. a package waiting for
+     * its source files, do not starve the pool, since joins of {@link CompletableFuture}s are managed blocks.
+     */
+    private static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, ForkJoinPool.commonPool());
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Rethrow the error of the task as it is, so that it reads the same as when parsing sequentially
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
     private static String generateDepCycleString(LinkedHashSet<SymbolName> currentPath, BLangPackage targetPack) {
         StringBuilder builder = new StringBuilder();
         Iterator<SymbolName> itr = currentPath.iterator();
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.util.program;
+
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.SymbolName;
+import org.ballerinalang.util.repository.BLangProgramArchive;
+import org.ballerinalang.util.repository.PackageRepository;
+import org.ballerinalang.util.semantics.SemanticAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * {@code BLangProgramImage} is a binary image of an analyzed program, which is stored in its program archive.
+ * <p>
+ * The image holds the images of the packages of the program, see {@link BLangPackageImage}, in the order they are
+ * analyzed, i.e. the packages they depend on first. Native packages are not imaged, they are loaded and analyzed
+ * as when the program is analyzed from its source files. The image is stored uncompressed as the first entry of
+ * the archive, so that it is mapped from the archive file rather than read. An image is used only if its checksum
+ * matches, and it was created by the same image format and compiler version; otherwise the program is analyzed
+ * from the source files in the archive.
+ *
+ * @since 0.8.1
+ */
+public class BLangProgramImage {
+
+    private static final Logger logger = LoggerFactory.getLogger(BLangProgramImage.class);
+
+    private static final int MAGIC = 0x42414C49;
+    private static final int FORMAT_VERSION = 1;
+
+    // Local file header of a zip entry
+    private static final int ZIP_LOCAL_HEADER_SIGNATURE = 0x04034b50;
+    private static final int ZIP_LOCAL_HEADER_SIZE = 30;
+    private static final int ZIP_DATA_DESCRIPTOR_FLAG = 0x08;
+    private static final int ZIP_STORED = 0;
+
+    private BLangProgramImage() {
+    }
+
+    /**
+     * Create the image of an analyzed program.
+     *
+     * @param bLangProgram program
+     * @return binary image, or null if the program cannot be imaged
+     */
+    public static byte[] write(BLangProgram bLangProgram) {
+        BLangPackage[] entryPackages = getEntryPackages(bLangProgram);
+        List<BLangPackage> nativePackages = new ArrayList<>();
+        List<BLangPackage> bLangPackages = new ArrayList<>();
+        Set<BLangPackage> visitedPackages = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (BLangPackage entryPackage : entryPackages) {
+            addPackage(entryPackage, visitedPackages, nativePackages, bLangPackages);
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(outputStream)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            BLangPackageImage.writeString(out, BLangPackageImage.getCompilerVersion());
+            BLangPackageImage.writeString(out, bLangProgram.getProgramCategory().name());
+            out.writeInt(bLangProgram.getSizeOfStaticMem());
+
+            out.writeInt(nativePackages.size());
+            for (BLangPackage nativePackage : nativePackages) {
+                // Native packages are analyzed when the program is loaded, hence they cannot take static memory
+                if (!nativePackage.isSymbolsDefined() || nativePackage.getConsts().length > 0) {
+                    logger.debug("program cannot be imaged: native package '" + nativePackage.getPackagePath() +
+                            "' has static memory");
+                    return null;
+                }
+                BLangPackageImage.writeString(out, nativePackage.getPackagePath());
+            }
+
+            out.writeInt(bLangPackages.size());
+            for (BLangPackage bLangPackage : bLangPackages) {
+                byte[] packageImage = BLangPackageImage.write(bLangPackage, bLangProgram);
+                if (packageImage == null) {
+                    return null;
+                }
+                BLangPackageImage.writeString(out, bLangPackage.getPackagePath());
+                out.writeInt(packageImage.length);
+                out.write(packageImage);
+            }
+
+            out.writeInt(entryPackages.length);
+            for (BLangPackage entryPackage : entryPackages) {
+                BLangPackageImage.writeString(out, entryPackage.getPackagePath());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("error in writing program image: " + e.getMessage(), e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Map the image of the program in a program archive.
+     *
+     * @param archivePath path of the program archive
+     * @return image, or null if the archive has no image, or it is corrupted
+     */
+    public static ByteBuffer map(Path archivePath) {
+        try (FileChannel channel = FileChannel.open(archivePath, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, ZIP_LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            if (header == null || header.getInt(0) != ZIP_LOCAL_HEADER_SIGNATURE) {
+                return null;
+            }
+            int flags = header.getShort(6) & 0xFFFF;
+            int method = header.getShort(8) & 0xFFFF;
+            long crc = header.getInt(14) & 0xFFFFFFFFL;
+            long compressedSize = header.getInt(18) & 0xFFFFFFFFL;
+            long size = header.getInt(22) & 0xFFFFFFFFL;
+            int nameLength = header.getShort(26) & 0xFFFF;
+            int extraLength = header.getShort(28) & 0xFFFF;
+            if (method != ZIP_STORED || (flags & ZIP_DATA_DESCRIPTOR_FLAG) != 0 || compressedSize != size) {
+                return null;
+            }
+
+            ByteBuffer name = read(channel, ZIP_LOCAL_HEADER_SIZE, nameLength);
+            if (name == null || !BLangProgramArchive.PROGRAM_IMAGE_FILE_PATH.equals(
+                    new String(name.array(), StandardCharsets.UTF_8))) {
+                // Archives built by older versions have no images
+                return null;
+            }
+            long offset = ZIP_LOCAL_HEADER_SIZE + nameLength + extraLength;
+            if (offset + size > channel.size()) {
+                return null;
+            }
+
+            ByteBuffer image = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+            CRC32 imageCrc = new CRC32();
+            imageCrc.update(image.duplicate());
+            return imageCrc.getValue() == crc ? image : null;
+        } catch (IOException e) {
+            logger.debug("error mapping program image of '" + archivePath + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Read an image into a program. The packages of the program are defined in the program, and the native
+     * packages are loaded and analyzed.
+     *
+     * @param image        binary image
+     * @param bLangProgram program, which is left without the packages of the image if it cannot be read
+     * @param packageRepo  repository of the packages of the program, i.e. the program archive
+     * @param modelCache   cache of the model images of source files of native packages, or null
+     * @return entry packages of the program, or null if the image cannot be read into the program
+     */
+    public static BLangPackage[] read(ByteBuffer image, BLangProgram bLangProgram, PackageRepository packageRepo,
+                                      BLangModelCache modelCache) {
+        List<SymbolName> packageNames = new ArrayList<>();
+        try {
+            if (image.getInt() != MAGIC || image.getInt() != FORMAT_VERSION
+                    || !BLangPackageImage.getCompilerVersion().equals(BLangPackageImage.readString(image))
+                    || !bLangProgram.getProgramCategory().name().equals(BLangPackageImage.readString(image))) {
+                return null;
+            }
+            int sizeOfStaticMem = image.getInt();
+
+            int nativePackageCount = image.getInt();
+            for (int i = 0; i < nativePackageCount; i++) {
+                BLangPackage nativePackage = BLangPackages.loadNativePackage(BLangPackageImage.readString(image),
+                        bLangProgram, modelCache);
+                if (!nativePackage.isSymbolsDefined()) {
+                    nativePackage.accept(new SemanticAnalyzer(bLangProgram));
+                }
+            }
+
+            int packageCount = image.getInt();
+            for (int i = 0; i < packageCount; i++) {
+                String pkgPath = BLangPackageImage.readString(image);
+                int imageLength = image.getInt();
+                ByteBuffer packageImage = image.slice();
+                packageImage.limit(imageLength);
+                image.position(image.position() + imageLength);
+
+                BLangPackage bLangPackage = new BLangPackage(pkgPath, packageRepo, bLangProgram);
+                if (BLangPackageImage.read(packageImage, bLangPackage, bLangProgram) == -1) {
+                    undefinePackages(bLangProgram, packageNames);
+                    return null;
+                }
+                SymbolName packageName = new SymbolName(pkgPath);
+                bLangProgram.define(packageName, bLangPackage);
+                packageNames.add(packageName);
+            }
+
+            BLangPackage[] entryPackages = new BLangPackage[image.getInt()];
+            for (int i = 0; i < entryPackages.length; i++) {
+                entryPackages[i] = (BLangPackage) bLangProgram.getSymbolMap().get(
+                        new SymbolName(BLangPackageImage.readString(image)));
+            }
+
+            bLangProgram.setSizeOfStaticMem(sizeOfStaticMem);
+            return entryPackages;
+        } catch (RuntimeException e) {
+            logger.debug("program image cannot be read: " + e.getMessage());
+            undefinePackages(bLangProgram, packageNames);
+            return null;
+        }
+    }
+
+    private static BLangPackage[] getEntryPackages(BLangProgram bLangProgram) {
+        if (bLangProgram.getProgramCategory() == BLangProgram.Category.MAIN_PROGRAM) {
+            return new BLangPackage[]{bLangProgram.getMainPackage()};
+        } else if (bLangProgram.getProgramCategory() == BLangProgram.Category.SERVICE_PROGRAM) {
+            return bLangProgram.getServicePackages();
+        }
+        return bLangProgram.getLibraryPackages();
+    }
+
+    private static void addPackage(BLangPackage bLangPackage, Set<BLangPackage> visitedPackages,
+                                   List<BLangPackage> nativePackages, List<BLangPackage> bLangPackages) {
+        if (!visitedPackages.add(bLangPackage)) {
+            return;
+        }
+        for (BLangPackage dependentPkg : bLangPackage.getDependentPackages()) {
+            addPackage(dependentPkg, visitedPackages, nativePackages, bLangPackages);
+        }
+        if (BLangModelGraph.isNativePackage(bLangPackage)) {
+            nativePackages.add(bLangPackage);
+        } else {
+            bLangPackages.add(bLangPackage);
+        }
+    }
+
+    private static void undefinePackages(BLangProgram bLangProgram, List<SymbolName> packageNames) {
+        for (SymbolName packageName : packageNames) {
+            bLangProgram.getSymbolMap().remove(packageName);
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                return null;
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -32,10 +32,12 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -50,9 +52,14 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
     public static final String BAL_VERSION_TEXT = "ballerina-version: 0.8.0";
     public static final String MAIN_PACKAGE_LINE_PREFIX = "main-function";
     public static final String SERVICE_PACKAGE_PREFIX = "services";
+    // Model images are stored next to their source files, see BLangModelImage
+    public static final String MODEL_IMAGE_EXT = ".bim";
+    // Image of the analyzed program, see BLangProgramImage
+    public static final String PROGRAM_IMAGE_FILE_PATH = BAL_INF_DIR_NAME + "/program.bpi";
 
     private Path archivePath;
     private Map<String, List<Path>> packageFilesMap;
+    private Set<String> modelImagePaths;
     private FileSystem zipFS;
     private String[] entryPoints;
     private BLangProgram.Category programCategory;
@@ -110,6 +117,14 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
         return new PackageSource(Paths.get("."), fileStreamMap, this);
     }
 
+    @Override
+    public InputStream loadModelImage(Path packageDirPath, String fileName) {
+        Path imagePath = packageDirPath.toString().equals(".") ? zipFS.getPath("/", fileName + MODEL_IMAGE_EXT) :
+                zipFS.getPath("/", packageDirPath.toString(), fileName + MODEL_IMAGE_EXT);
+        // Archives built by older versions have no images
+        return modelImagePaths.contains(imagePath.toString()) ? getInputStream(imagePath) : null;
+    }
+
     @Override
     public void close() throws Exception {
         if (zipFS != null) {
@@ -131,6 +146,7 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
     private void processArchive() throws IOException {
         final Path rootPathInArchive = zipFS.getPath("/");
         List<Path> filePathList = new ArrayList<>();
+        Set<String> imagePaths = new HashSet<>();
 
         Files.walkFileTree(rootPathInArchive, new SimpleFileVisitor<Path>() {
             @Override
@@ -142,6 +158,8 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
 
                 if (filePath.getFileName().toString().endsWith(BLangPrograms.BSOURCE_FILE_EXT)) {
                     filePathList.add(filePath);
+                } else if (filePath.getFileName().toString().endsWith(MODEL_IMAGE_EXT)) {
+                    imagePaths.add(filePath.toString());
                 }
 
                 return FileVisitResult.CONTINUE;
@@ -154,6 +172,7 @@ public class BLangProgramArchive extends PackageRepository implements AutoClosea
 
         packageFilesMap = filePathList.stream()
                 .collect(Collectors.groupingBy(path -> path.getParent().toString()));
+        modelImagePaths = imagePaths;
     }
 
     private void readBallerinaConfEntry(Path filePath) {
@@ -21,34 +21,55 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 /**
  * Represents a repository contains built in ballerina packages.
+ * <p>
+ * The source files of the packages are listed by the package index, which is generated along with the provider of
+ * the packages. The jars containing built in packages are opened once, and their source files are read directly from
+ * the cached jar. Jars without a package index are scanned to find the source files of a package. Jars which are not
+ * plain files, e.g. jars nested in another jar, are read as a stream through their URL instead.
  *
  * @since 0.8.0
  */
 public class BuiltinPackageRepository extends PackageRepository {
 
-    private Class<?> nativePackageProvider;
+    public static final String PACKAGE_INDEX_FILE = "packages.index";
+
     private static final String BASE_DIR = "META-INF" + File.separator + "natives" + File.separator;
     private static final String BAL_FILE_EXT = ".bal";
     private static final String NATIVE_BAL_FILE = "natives.bal";
     private static final String FALSE = "false";
-    private boolean skipNatives = true;
+    private static final char ENTRY_SEPARATOR = '/';
+    private static final String FILE_PROTOCOL = "file";
 
-    private String packageDirPath;
+    // Jars and package indexes of the repositories, by the location of the repository
+    private static final Map<String, ZipFile> jarFiles = new ConcurrentHashMap<>();
+    private static final Map<String, Optional<Map<String, List<String>>>> packageIndexes = new ConcurrentHashMap<>();
+
+    private Class<?> nativePackageProvider;
+    private boolean skipNatives = true;
 
     public BuiltinPackageRepository(Class providerClass) {
         this.nativePackageProvider = providerClass;
@@ -63,17 +84,22 @@ public class BuiltinPackageRepository extends PackageRepository {
             skipNatives = false;
         }
         
-        this.packageDirPath = packageDirPath.toString();
         Map<String, InputStream> sourceFileStreamMap = new HashMap<String, InputStream>();
         ClassLoader classLoader = nativePackageProvider.getClassLoader();
+        URL repoUrl = nativePackageProvider.getProtectionDomain().getCodeSource().getLocation();
 
         // Get the names of the source files in the package
-        List<String> fileNames = getFileNames(classLoader);
+        List<String> fileNames = getFileNames(repoUrl, packageDirPath.toString());
 
         // Read all resources as input streams and create the package source 
         for (String fileName : fileNames) {
-            InputStream balSourceStream = classLoader.getResourceAsStream(BASE_DIR + packageDirPath.toString()
-                    + File.separator + fileName);
+            String resourcePath = BASE_DIR + packageDirPath.toString() + File.separator + fileName;
+            InputStream balSourceStream;
+            if (isJar(repoUrl)) {
+                balSourceStream = getJarEntryStream(repoUrl, resourcePath, packageDirPath.toString());
+            } else {
+                balSourceStream = classLoader.getResourceAsStream(resourcePath);
+            }
             sourceFileStreamMap.put(fileName, balSourceStream);
         }
         return new PackageSource(packageDirPath, sourceFileStreamMap, this);
@@ -82,26 +108,112 @@ public class BuiltinPackageRepository extends PackageRepository {
     /**
      * Get all the file names listed under the package.
      *
-     * @param classLoader Class loader of the package provider class
-     * @return
+     * @param repoUrl        URL of the repo source
+     * @param packageDirPath Path of the package directory
+     * @return List of source files in the package
      */
-    private List<String> getFileNames(ClassLoader classLoader) {
-        URL repoUrl = nativePackageProvider.getProtectionDomain().getCodeSource().getLocation();
+    private List<String> getFileNames(URL repoUrl, String packageDirPath) {
+        Optional<Map<String, List<String>>> packageIndex = getPackageIndex(repoUrl, packageDirPath);
+        if (packageIndex.isPresent()) {
+            List<String> fileNames = new ArrayList<String>();
+            for (String fileName : packageIndex.get().getOrDefault(toEntryName(packageDirPath),
+                    Collections.emptyList())) {
+                if (skipNatives && fileName.endsWith(NATIVE_BAL_FILE)) {
+                    continue;
+                }
+                fileNames.add(fileName);
+            }
+            return fileNames;
+        }
+
         String pkgRelPath = BASE_DIR + packageDirPath;
         if (isJar(repoUrl)) {
-            return getPackageNamesFromJar(repoUrl, pkgRelPath);
+            return getPackageNamesFromJar(repoUrl, pkgRelPath, packageDirPath);
         } else {
-            return getPackageNamesFromClassPath(pkgRelPath);
+            return getPackageNamesFromClassPath(pkgRelPath, packageDirPath);
+        }
+    }
+
+    /**
+     * Get the package index of the repository, which maps the directory of each package to the names of its source
+     * files. The index is read once, and is empty if the repository has no package index.
+     *
+     * @param repoUrl        URL of the repo source
+     * @param packageDirPath Path of the package directory
+     * @return package index of the repository
+     */
+    private Optional<Map<String, List<String>>> getPackageIndex(URL repoUrl, String packageDirPath) {
+        return packageIndexes.computeIfAbsent(repoUrl.toString(), key -> {
+            String indexEntryName = toEntryName(BASE_DIR + PACKAGE_INDEX_FILE);
+            try {
+                if (!isJar(repoUrl)) {
+                    try (InputStream indexStream = new URL(repoUrl, indexEntryName).openStream()) {
+                        return Optional.of(readPackageIndex(indexStream));
+                    } catch (FileNotFoundException e) {
+                        return Optional.empty();
+                    }
+                }
+
+                ZipFile jarFile = getJarFile(repoUrl, packageDirPath);
+                if (jarFile != null) {
+                    ZipEntry indexEntry = jarFile.getEntry(indexEntryName);
+                    if (indexEntry == null) {
+                        return Optional.empty();
+                    }
+                    try (InputStream indexStream = jarFile.getInputStream(indexEntry)) {
+                        return Optional.of(readPackageIndex(indexStream));
+                    }
+                }
+
+                try (ZipInputStream jarInputStream = new ZipInputStream(repoUrl.openStream())) {
+                    ZipEntry entry;
+                    while ((entry = jarInputStream.getNextEntry()) != null) {
+                        if (entry.getName().equals(indexEntryName)) {
+                            return Optional.of(readPackageIndex(jarInputStream));
+                        }
+                    }
+                    return Optional.empty();
+                }
+            } catch (IOException e) {
+                throw new BallerinaException("error while loading built-in package '" + packageDirPath + "'. "
+                        + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Read a package index, which lists the paths of the source files relative to the base directory of the
+     * repository, one path per line.
+     *
+     * @param indexStream package index
+     * @return names of the source files, by the directory of their package
+     * @throws IOException if the package index cannot be read
+     */
+    private static Map<String, List<String>> readPackageIndex(InputStream indexStream) throws IOException {
+        Map<String, List<String>> packageIndex = new HashMap<String, List<String>>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(indexStream, StandardCharsets.UTF_8));
+        String filePath;
+        while ((filePath = reader.readLine()) != null) {
+            filePath = filePath.trim();
+            if (filePath.isEmpty()) {
+                continue;
+            }
+            int separatorIndex = filePath.lastIndexOf(ENTRY_SEPARATOR);
+            String packageDir = separatorIndex < 0 ? "" : filePath.substring(0, separatorIndex);
+            packageIndex.computeIfAbsent(packageDir, dir -> new ArrayList<String>())
+                    .add(filePath.substring(separatorIndex + 1));
         }
+        return packageIndex;
     }
 
     /**
      * Get package names from the class path.
      *
-     * @param pkgRelPath Relative path of the from the class path
+     * @param pkgRelPath     Relative path of the from the class path
+     * @param packageDirPath Path of the package directory
      * @return List of source files in the package
      */
-    private List<String> getPackageNamesFromClassPath(String pkgRelPath) {
+    private List<String> getPackageNamesFromClassPath(String pkgRelPath, String packageDirPath) {
         List<String> fileNames = new ArrayList<String>();
         BufferedReader reader = null;
         try {
@@ -111,6 +223,10 @@ public class BuiltinPackageRepository extends PackageRepository {
                 reader = new BufferedReader(new InputStreamReader(fileNamesStream));
                 String fileName;
                 while ((fileName = reader.readLine()) != null) {
+                    // Skip the directories of sub packages
+                    if (!fileName.endsWith(BAL_FILE_EXT)) {
+                        continue;
+                    }
                     if (skipNatives && fileName.endsWith(NATIVE_BAL_FILE)) {
                         continue;
                     }
@@ -134,42 +250,119 @@ public class BuiltinPackageRepository extends PackageRepository {
     /**
      * Get package names from the jar.
      *
-     * @param repoUrl    URL of the repo source (url of the jar)
-     * @param pkgRelPath Relative path of the from root of the jar
+     * @param repoUrl        URL of the repo source (url of the jar)
+     * @param pkgRelPath     Relative path of the from root of the jar
+     * @param packageDirPath Path of the package directory
      * @return List of source files in the package
      */
-    private List<String> getPackageNamesFromJar(URL repoUrl, String pkgRelPath) {
+    private List<String> getPackageNamesFromJar(URL repoUrl, String pkgRelPath, String packageDirPath) {
         List<String> fileNames = new ArrayList<String>();
-        ZipInputStream jarInputStream = null;
-        ZipEntry fileNameEntry;
-        try {
-            jarInputStream = new ZipInputStream(repoUrl.openStream());
-            while ((fileNameEntry = jarInputStream.getNextEntry()) != null) {
-                String filePath = fileNameEntry.getName();
-                if (filePath.startsWith(pkgRelPath) && filePath.endsWith(BAL_FILE_EXT)) {
-                    if (skipNatives && filePath.endsWith(NATIVE_BAL_FILE)) {
-                        continue;
-                    }
-                    // get only the file name 
-                    String fileName = Paths.get(pkgRelPath).relativize(Paths.get(filePath)).toString();
-                    fileNames.add(fileName);
-                }
+        String pkgEntryPrefix = toEntryName(pkgRelPath) + ENTRY_SEPARATOR;
+        ZipFile jarFile = getJarFile(repoUrl, packageDirPath);
+        if (jarFile != null) {
+            Enumeration<? extends ZipEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                addFileName(fileNames, pkgEntryPrefix, entries.nextElement().getName());
             }
-        } catch (Exception e) {
+            return fileNames;
+        }
+
+        try (ZipInputStream jarInputStream = new ZipInputStream(repoUrl.openStream())) {
+            ZipEntry entry;
+            while ((entry = jarInputStream.getNextEntry()) != null) {
+                addFileName(fileNames, pkgEntryPrefix, entry.getName());
+            }
+        } catch (IOException e) {
             throw new BallerinaException("error while loading built-in package '" + packageDirPath + "'. "
                     + e.getMessage());
-        } finally {
-            if (jarInputStream != null) {
-                try {
-                    jarInputStream.close();
-                } catch (IOException ignore) {
-                }
-            }
         }
-
         return fileNames;
     }
 
+    /**
+     * Add the name of the given jar entry, if it is a source file directly in the package.
+     *
+     * @param fileNames      names of the source files in the package
+     * @param pkgEntryPrefix entry name prefix of the package directory
+     * @param filePath       name of the jar entry
+     */
+    private void addFileName(List<String> fileNames, String pkgEntryPrefix, String filePath) {
+        if (!filePath.startsWith(pkgEntryPrefix) || !filePath.endsWith(BAL_FILE_EXT)) {
+            return;
+        }
+
+        // get only the file name, skipping the files of sub packages
+        String fileName = filePath.substring(pkgEntryPrefix.length());
+        if (fileName.indexOf(ENTRY_SEPARATOR) >= 0) {
+            return;
+        }
+        if (skipNatives && fileName.endsWith(NATIVE_BAL_FILE)) {
+            return;
+        }
+        fileNames.add(fileName);
+    }
+
+    /**
+     * Get an input stream of a resource in the jar.
+     *
+     * @param repoUrl        URL of the repo source (url of the jar)
+     * @param resourcePath   Relative path of the resource from root of the jar
+     * @param packageDirPath Path of the package directory
+     * @return Input stream of the resource, or null if the jar has no such resource
+     */
+    private InputStream getJarEntryStream(URL repoUrl, String resourcePath, String packageDirPath) {
+        ZipFile jarFile = getJarFile(repoUrl, packageDirPath);
+        if (jarFile == null) {
+            return nativePackageProvider.getClassLoader().getResourceAsStream(resourcePath);
+        }
+
+        ZipEntry entry = jarFile.getEntry(toEntryName(resourcePath));
+        if (entry == null) {
+            return null;
+        }
+        try {
+            return jarFile.getInputStream(entry);
+        } catch (IOException e) {
+            throw new BallerinaException("error while loading built-in package '" + packageDirPath + "'. "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Get the jar of the repository. Each jar is opened once, and is kept open to read the source files of all its
+     * packages.
+     *
+     * @param repoUrl        URL of the repo source (url of the jar)
+     * @param packageDirPath Path of the package directory
+     * @return jar of the repository, or null if the jar is not a plain file
+     */
+    private static ZipFile getJarFile(URL repoUrl, String packageDirPath) {
+        if (!FILE_PROTOCOL.equals(repoUrl.getProtocol())) {
+            return null;
+        }
+
+        return jarFiles.computeIfAbsent(repoUrl.toString(), key -> {
+            Path jarPath;
+            try {
+                jarPath = Paths.get(repoUrl.toURI());
+            } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+                // Not mapped to a file, hence the jar is read through its URL
+                return null;
+            }
+
+            try {
+                return new ZipFile(jarPath.toFile());
+            } catch (IOException e) {
+                throw new BallerinaException("error while loading built-in package '" + packageDirPath + "'. "
+                        + e.getMessage());
+            }
+        });
+    }
+
+    private static String toEntryName(String path) {
+        return path.replace(File.separatorChar, ENTRY_SEPARATOR);
+    }
+
     /**
      * Check whether the given url represent a jar.
      *
@@ -17,6 +17,8 @@
 */
 package org.ballerinalang.util.repository;
 
+import org.ballerinalang.model.builder.BLangModelImage;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
@@ -39,6 +41,17 @@ public abstract class PackageRepository {
 
     public abstract PackageSource loadFile(Path filePath);
 
+    /**
+     * Returns the model image of a source file, see {@link BLangModelImage}.
+     *
+     * @param packageDirPath path of the package of the source file, or "." for a source file without a package
+     * @param fileName       name of the source file
+     * @return input stream of the model image, or null if the repository has no image of the source file
+     */
+    public InputStream loadModelImage(Path packageDirPath, String fileName) {
+        return null;
+    }
+
     protected PackageSource loadPackageFromDirectory(Path packageDirPath, Path baseDirPath) {
         Map<String, InputStream> fileStreamMap;
         try {
@@ -120,6 +120,7 @@ import org.ballerinalang.model.types.TypeConstants;
 import org.ballerinalang.model.types.TypeEdge;
 import org.ballerinalang.model.types.TypeLattice;
 import org.ballerinalang.model.types.TypeVertex;
+import org.ballerinalang.model.util.BacktickTemplate;
 import org.ballerinalang.model.util.LangModelUtils;
 import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
@@ -129,7 +130,10 @@ import org.ballerinalang.util.exceptions.BLangExceptionHelper;
 import org.ballerinalang.util.exceptions.LinkerException;
 import org.ballerinalang.util.exceptions.SemanticErrors;
 import org.ballerinalang.util.exceptions.SemanticException;
+import org.ballerinalang.util.program.BLangModelCache;
+import org.ballerinalang.util.program.BLangPackageImage;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -158,9 +162,24 @@ public class SemanticAnalyzer implements NodeVisitor {
 
     private int whileStmtCount = 0;
     private SymbolScope currentScope;
+    private BLangProgram programScope;
+    private BLangModelCache modelCache;
 
     public SemanticAnalyzer(BLangProgram programScope) {
+        this(programScope, null);
+    }
+
+    /**
+     * Create an analyzer which reads the packages which have not changed since a previous build from their images in
+     * the given cache, and caches the images of the packages it analyzes.
+     *
+     * @param programScope program to analyze
+     * @param modelCache   cache of the images of analyzed packages, or null to analyze all the packages
+     */
+    public SemanticAnalyzer(BLangProgram programScope, BLangModelCache modelCache) {
         currentScope = programScope;
+        this.programScope = programScope;
+        this.modelCache = modelCache;
     }
 
     @Override
@@ -196,6 +215,18 @@ public class SemanticAnalyzer implements NodeVisitor {
             dependentPkg.accept(this);
         }
 
+        // The static memory of a package follows the one of the packages analyzed before it
+        int staticMemBase = staticMemAddrOffset + 1;
+        if (modelCache != null) {
+            byte[] image = modelCache.getPackageImage(bLangPackage);
+            int staticMemSize = (image != null) ?
+                    BLangPackageImage.read(ByteBuffer.wrap(image), bLangPackage, programScope, staticMemBase) : -1;
+            if (staticMemSize != -1) {
+                staticMemAddrOffset += staticMemSize;
+                return;
+            }
+        }
+
         currentScope = bLangPackage;
         currentPkg = bLangPackage.getPackagePath();
         packageTypeLattice = bLangPackage.getTypeLattice();
@@ -213,6 +244,14 @@ public class SemanticAnalyzer implements NodeVisitor {
         }
 
         bLangPackage.setSymbolsDefined(true);
+
+        if (modelCache != null) {
+            byte[] image = BLangPackageImage.write(bLangPackage, programScope, staticMemBase,
+                    staticMemAddrOffset + 1 - staticMemBase);
+            if (image != null) {
+                modelCache.putPackageImage(bLangPackage, image);
+            }
+        }
     }
 
     @Override
@@ -1612,6 +1651,7 @@ public class SemanticAnalyzer implements NodeVisitor {
         }
 
         backtickExpr.setArgsExprs(argExprList.toArray(new Expression[argExprList.size()]));
+        backtickExpr.setTemplate(BacktickTemplate.compile(backtickExpr));
     }
 
     @Override
@@ -18,7 +18,9 @@
 package org.ballerinalang;
 
 import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.testng.annotations.AfterTest;
 import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
 /**
@@ -26,10 +28,18 @@ import org.testng.annotations.Parameters;
  */
 public class TestConfigurationUtil {
 
-    @Parameters("enableNonBlocking")
+    @Parameters({"enableNonBlocking", "enableBytecode"})
     @BeforeTest
-    public void configureTestExecutor(String enableNonBlocking) {
+    public void configureTestExecutor(String enableNonBlocking, @Optional("false") String enableBytecode) {
         ModeResolver.getInstance().setNonblockingEnabled(Boolean.valueOf(enableNonBlocking));
+        ModeResolver.getInstance().setBytecodeEnabled(Boolean.valueOf(enableBytecode));
+    }
+
+    @AfterTest
+    public void resetTestExecutor() {
+        // Restore the default executor, so that the following tests do not run in the mode of this test
+        ModeResolver.getInstance().setNonblockingEnabled(false);
+        ModeResolver.getInstance().setBytecodeEnabled(false);
     }
 
 }
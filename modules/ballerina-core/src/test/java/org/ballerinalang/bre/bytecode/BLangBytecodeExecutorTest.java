@@ -0,0 +1,173 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.bre.bytecode;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.Function;
+import org.ballerinalang.model.values.BArray;
+import org.ballerinalang.model.values.BBoolean;
+import org.ballerinalang.model.values.BDouble;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests the code generated by the {@link BLangCodeGenerator} and its execution on the {@link BLangBytecodeExecutor}.
+ * Each function is also run on the AST executor to compare the results.
+ *
+ * @since 0.8.1
+ */
+public class BLangBytecodeExecutorTest {
+
+    private BLangProgram bLangProgram;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = BTestUtils.parseBalFile("lang/bytecode/bytecode.bal");
+    }
+
+    @Test(description = "Test local variables of int type held in primitive registers")
+    public void testIntRegisters() {
+        BValue[] returns = invoke("sum", new BInteger(10));
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 45);
+
+        CompiledCode compiledCode = getCompiledCode("sum");
+        Assert.assertEquals(compiledCode.getPrimitiveLocals().length, 3);
+        for (int kind : compiledCode.getPrimitiveLocalKinds()) {
+            Assert.assertEquals(kind, CompiledCode.INT_KIND);
+        }
+        Assert.assertTrue(compiledCode.getLongRegisterCount() >= 3);
+        Assert.assertEquals(compiledCode.getDoubleRegisterCount(), 0);
+        Assert.assertTrue(getUseSets(compiledCode).isEmpty(), "No statement should be delegated");
+    }
+
+    @Test(description = "Test local variables of double and boolean types held in primitive registers")
+    public void testDoubleAndBooleanRegisters() {
+        BValue[] returns = invoke("average", new BInteger(4));
+        Assert.assertEquals(((BDouble) returns[0]).doubleValue(), 2.0d);
+        Assert.assertTrue(((BBoolean) returns[1]).booleanValue());
+
+        CompiledCode compiledCode = getCompiledCode("average");
+        Assert.assertTrue(compiledCode.getLongRegisterCount() > 0);
+        Assert.assertTrue(compiledCode.getDoubleRegisterCount() > 0);
+    }
+
+    @Test(description = "Test a delegated statement which reads a primitive local variable in a loop")
+    public void testDelegatedStmtInLoop() {
+        BValue[] returns = invoke("fillArray", new BInteger(3));
+        BArray values = (BArray) returns[0];
+        Assert.assertEquals(values.size(), 3);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(((BInteger) values.get(i)).intValue(), i * 2);
+        }
+        Assert.assertEquals(((BInteger) returns[1]).intValue(), 7);
+
+        // Only the loop variable is moved around the array element assignment
+        List<int[]> useSets = getUseSets(getCompiledCode("fillArray"));
+        Assert.assertEquals(useSets.size(), 1);
+        Assert.assertEquals(useSets.get(0).length, 1);
+    }
+
+    @Test(description = "Test a delegated statement which writes primitive local variables")
+    public void testDelegatedStmtWritingLocals() {
+        BValue[] returns = invoke("countInTry", new BInteger(4));
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 14);
+
+        // Variables defined within the try block are not moved
+        List<int[]> useSets = getUseSets(getCompiledCode("countInTry"));
+        Assert.assertEquals(useSets.size(), 1);
+        Assert.assertEquals(useSets.get(0).length, 2);
+    }
+
+    @Test(description = "Test break statements in nested while loops")
+    public void testNestedLoops() {
+        BValue[] returns = invoke("nestedLoops", new BInteger(5));
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 10);
+
+        returns = invoke("nestedLoops", new BInteger(0));
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 0);
+    }
+
+    @Test(description = "Test the modes in which primitive registers are used, and the shared boolean results")
+    public void testBytecodeMode() {
+        ModeResolver modeResolver = ModeResolver.getInstance();
+        boolean bytecodeEnabled = modeResolver.isBytecodeEnabled();
+        try {
+            // Primitive registers are used only in the bytecode mode
+            modeResolver.setBytecodeEnabled(true);
+            Assert.assertTrue(getCompiledCode("average").getLongRegisterCount() > 0);
+            BValue[] returns = BLangFunctions.invoke(bLangProgram, "average", new BValue[] { new BInteger(4) });
+            Assert.assertSame(returns[1], BBoolean.TRUE);
+
+            // The AST executor allocates no results of logical operators either
+            modeResolver.setBytecodeEnabled(false);
+            returns = BLangFunctions.invoke(bLangProgram, "average", new BValue[] { new BInteger(3) });
+            Assert.assertSame(returns[1], BBoolean.FALSE);
+        } finally {
+            modeResolver.setBytecodeEnabled(bytecodeEnabled);
+        }
+    }
+
+    private BValue[] invoke(String functionName, BValue... args) {
+        ModeResolver modeResolver = ModeResolver.getInstance();
+        boolean bytecodeEnabled = modeResolver.isBytecodeEnabled();
+        try {
+            modeResolver.setBytecodeEnabled(false);
+            BValue[] expected = BLangFunctions.invoke(bLangProgram, functionName, args);
+
+            modeResolver.setBytecodeEnabled(true);
+            BValue[] returns = BLangFunctions.invoke(bLangProgram, functionName, args);
+
+            Assert.assertEquals(returns.length, expected.length);
+            for (int i = 0; i < returns.length; i++) {
+                Assert.assertEquals(returns[i].stringValue(), expected[i].stringValue(),
+                        "Result of the bytecode interpreter differs from the AST executor");
+            }
+            return returns;
+        } finally {
+            modeResolver.setBytecodeEnabled(bytecodeEnabled);
+        }
+    }
+
+    private CompiledCode getCompiledCode(String functionName) {
+        for (Function function : bLangProgram.getLibraryPackages()[0].getFunctions()) {
+            if (function.getName().equals(functionName)) {
+                return BLangCodeGenerator.getCompiledCode(function);
+            }
+        }
+        throw new IllegalArgumentException("Function '" + functionName + "' is not defined");
+    }
+
+    private static List<int[]> getUseSets(CompiledCode compiledCode) {
+        List<int[]> useSets = new ArrayList<>();
+        for (Object constant : compiledCode.getConstants()) {
+            if (constant instanceof int[]) {
+                useSets.add((int[]) constant);
+            }
+        }
+        return useSets;
+    }
+}
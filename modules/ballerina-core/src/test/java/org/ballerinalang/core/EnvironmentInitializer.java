@@ -26,6 +26,7 @@ import org.ballerinalang.model.Service;
 import org.ballerinalang.model.builder.BLangExecutionFlowBuilder;
 import org.ballerinalang.natives.BuiltInNativeConstructLoader;
 import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
+import org.ballerinalang.natives.connectors.NativeConnectorRegistry;
 import org.ballerinalang.services.MessageProcessor;
 import org.ballerinalang.services.dispatchers.DispatcherRegistry;
 
@@ -69,6 +70,7 @@ public class EnvironmentInitializer {
                 });
             }
         }
+        NativeConnectorRegistry.getInstance().release(bLangProgram.getRuntimeEnvironment());
     }
 
 }
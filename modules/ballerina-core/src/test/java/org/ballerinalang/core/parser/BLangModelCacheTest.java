@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.core.parser;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.ballerinalang.util.exceptions.SemanticException;
+import org.ballerinalang.util.program.BLangModelCache;
+import org.ballerinalang.util.repository.BLangProgramArchive;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test loading source files from the model images, and packages from the package images, in a build cache.
+ */
+public class BLangModelCacheTest {
+
+    private Path programDirPath;
+    private Path cacheDirPath;
+
+    @BeforeMethod
+    public void setup() throws IOException {
+        programDirPath = Paths.get(BLangModelCacheTest.class.getProtectionDomain().getCodeSource().getLocation()
+                .getPath());
+        cacheDirPath = Files.createTempDirectory("bal-cache");
+    }
+
+    @AfterMethod
+    public void cleanup() throws IOException {
+        for (Path imagePath : listImages()) {
+            Files.delete(imagePath);
+        }
+        Files.delete(cacheDirPath);
+    }
+
+    @Test(description = "Test the keys of the cached model images")
+    public void testImageKeys() {
+        BLangModelCache modelCache = new BLangModelCache(cacheDirPath);
+        byte[] source = "function main(string[] args) {}".getBytes(StandardCharsets.UTF_8);
+        byte[] image = {1, 2, 3};
+        Assert.assertNull(modelCache.get(Paths.get("main.bal"), source));
+
+        modelCache.put(Paths.get("main.bal"), source, image);
+        Assert.assertEquals(modelCache.get(Paths.get("main.bal"), source), image);
+        Assert.assertNull(modelCache.get(Paths.get("main.bal"), "function main() {}".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertNull(modelCache.get(Paths.get("other.bal"), source));
+    }
+
+    @Test(description = "Test loading a program from the cached model images of its source files")
+    public void testLoadProgram() throws IOException {
+        CountingModelCache modelCache = new CountingModelCache(cacheDirPath);
+        assertCalculate(loadProgram(modelCache));
+        List<Path> imagePaths = listImages(BLangProgramArchive.MODEL_IMAGE_EXT);
+        Assert.assertFalse(imagePaths.isEmpty());
+        Assert.assertEquals(modelCache.putCount.get(), imagePaths.size());
+
+        // Source files are now loaded from their images, hence no images are cached
+        modelCache.putCount.set(0);
+        assertCalculate(loadProgram(modelCache));
+        Assert.assertEquals(modelCache.putCount.get(), 0);
+        Assert.assertEquals(listImages(BLangProgramArchive.MODEL_IMAGE_EXT), imagePaths);
+
+        // Images which cannot be read are replaced
+        for (Path imagePath : imagePaths) {
+            Files.write(imagePath, new byte[]{1, 2, 3});
+        }
+        assertCalculate(loadProgram(modelCache));
+        Assert.assertTrue(Files.size(imagePaths.get(0)) > 3);
+    }
+
+    @Test(description = "Test loading the packages of a program from their cached images")
+    public void testLoadPackageImages() throws IOException {
+        Path sourceDirPath = Files.createTempDirectory("bal-program");
+        try {
+            Files.createDirectories(sourceDirPath.resolve("lib"));
+            writeSource(sourceDirPath.resolve("lib/lib.bal"), "package lib;", "",
+                    "const int base = 10;", "",
+                    "function value() (int) {", "    return base;", "}");
+            writeSource(sourceDirPath.resolve("main.bal"), "import lib;", "",
+                    "const int offset = 1;", "",
+                    "function getValue() (int) {", "    return lib:value() + offset;", "}");
+
+            CountingModelCache modelCache = new CountingModelCache(cacheDirPath);
+            assertGetValue(loadProgram(modelCache, sourceDirPath), 11);
+            Assert.assertEquals(modelCache.packagePutCount.get(), 2);
+            Assert.assertEquals(listImages(".bpi").size(), 2);
+
+            // Neither of the packages has changed, hence both are read from their images
+            modelCache.packagePutCount.set(0);
+            assertGetValue(loadProgram(modelCache, sourceDirPath), 11);
+            Assert.assertEquals(modelCache.packagePutCount.get(), 0);
+            Assert.assertEquals(modelCache.packageHitCount.get(), 2);
+
+            // Only the changed package is analyzed again
+            writeSource(sourceDirPath.resolve("main.bal"), "import lib;", "",
+                    "const int offset = 2;", "",
+                    "function getValue() (int) {", "    return lib:value() + offset;", "}");
+            assertGetValue(loadProgram(modelCache, sourceDirPath), 12);
+            Assert.assertEquals(modelCache.packagePutCount.get(), 1);
+
+            // Packages are analyzed again when a package they depend on has changed
+            writeSource(sourceDirPath.resolve("lib/lib.bal"), "package lib;", "",
+                    "function value() (string) {", "    return \"10\";", "}");
+            try {
+                loadProgram(modelCache, sourceDirPath);
+                Assert.fail("semantic error expected");
+            } catch (SemanticException e) {
+                Assert.assertTrue(e.getMessage().contains("main.bal"), e.getMessage());
+            }
+        } finally {
+            Files.deleteIfExists(sourceDirPath.resolve("lib/lib.bal"));
+            Files.deleteIfExists(sourceDirPath.resolve("lib"));
+            Files.deleteIfExists(sourceDirPath.resolve("main.bal"));
+            Files.deleteIfExists(sourceDirPath);
+        }
+    }
+
+    @Test(description = "Test removing the least recently used images from the cache")
+    public void testPrune() throws IOException {
+        BLangModelCache modelCache = new BLangModelCache(cacheDirPath, 250, TimeUnit.DAYS.toMillis(1));
+        List<Path> imagePaths = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            List<Path> previousImagePaths = listImages();
+            modelCache.put(Paths.get("file" + i + ".bal"), getSource(i), new byte[100]);
+            List<Path> newImagePaths = listImages();
+            newImagePaths.removeAll(previousImagePaths);
+            Assert.assertEquals(newImagePaths.size(), 1);
+            imagePaths.add(newImagePaths.get(0));
+        }
+
+        // The image of the first file was last used two days ago, and the one of the third file is used now
+        long now = System.currentTimeMillis();
+        setLastModifiedTime(imagePaths.get(0), now - TimeUnit.DAYS.toMillis(2));
+        setLastModifiedTime(imagePaths.get(1), now - TimeUnit.HOURS.toMillis(1));
+        setLastModifiedTime(imagePaths.get(2), now - TimeUnit.HOURS.toMillis(3));
+        setLastModifiedTime(imagePaths.get(3), now - TimeUnit.HOURS.toMillis(2));
+        Assert.assertNotNull(modelCache.get(Paths.get("file2.bal"), getSource(2)));
+
+        // The first image is too old, and the cache only has room for the two most recently used ones
+        modelCache.prune();
+        Assert.assertEquals(listImages().size(), 2);
+        Assert.assertNull(modelCache.get(Paths.get("file0.bal"), getSource(0)));
+        Assert.assertNotNull(modelCache.get(Paths.get("file1.bal"), getSource(1)));
+        Assert.assertNotNull(modelCache.get(Paths.get("file2.bal"), getSource(2)));
+        Assert.assertNull(modelCache.get(Paths.get("file3.bal"), getSource(3)));
+    }
+
+    private static void setLastModifiedTime(Path imagePath, long time) throws IOException {
+        Files.setLastModifiedTime(imagePath, FileTime.fromMillis(time));
+    }
+
+    private static byte[] getSource(int file) {
+        return ("function f" + file + "() {}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void writeSource(Path sourceFilePath, String... lines) throws IOException {
+        Files.write(sourceFilePath, Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    private BLangProgram loadProgram(BLangModelCache modelCache) {
+        return loadProgram(modelCache, programDirPath, "lang/program/model-image.bal");
+    }
+
+    private static BLangProgram loadProgram(BLangModelCache modelCache, Path sourceDirPath) {
+        return loadProgram(modelCache, sourceDirPath, "main.bal");
+    }
+
+    private static BLangProgram loadProgram(BLangModelCache modelCache, Path sourceDirPath, String sourcePath) {
+        return new BLangProgramLoader().setModelCache(modelCache).loadLibrary(sourceDirPath, Paths.get(sourcePath));
+    }
+
+    private static void assertCalculate(BLangProgram bLangProgram) {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "calculate", new BValue[]{new BInteger(5)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 27);
+    }
+
+    private static void assertGetValue(BLangProgram bLangProgram, int value) {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "getValue");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), value);
+    }
+
+    private List<Path> listImages() throws IOException {
+        try (Stream<Path> paths = Files.list(cacheDirPath)) {
+            return paths.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private List<Path> listImages(String extension) throws IOException {
+        return listImages().stream()
+                .filter(path -> path.toString().endsWith(extension))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Cache which counts the images put into it, and the package images taken from it.
+     */
+    private static class CountingModelCache extends BLangModelCache {
+        private final AtomicInteger putCount = new AtomicInteger();
+        private final AtomicInteger packagePutCount = new AtomicInteger();
+        private final AtomicInteger packageHitCount = new AtomicInteger();
+
+        CountingModelCache(Path cacheDirPath) {
+            super(cacheDirPath);
+        }
+
+        @Override
+        public void put(Path sourceFilePath, byte[] source, byte[] image) {
+            putCount.incrementAndGet();
+            super.put(sourceFilePath, source, image);
+        }
+
+        @Override
+        public byte[] getPackageImage(BLangPackage bLangPackage) {
+            byte[] image = super.getPackageImage(bLangPackage);
+            if (image != null) {
+                packageHitCount.incrementAndGet();
+            }
+            return image;
+        }
+
+        @Override
+        public void putPackageImage(BLangPackage bLangPackage, byte[] image) {
+            packagePutCount.incrementAndGet();
+            super.putPackageImage(bLangPackage, image);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.core.parser;
+
+import org.ballerinalang.BLangProgramArchiveBuilder;
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.BallerinaFile;
+import org.ballerinalang.model.ConstDef;
+import org.ballerinalang.model.Function;
+import org.ballerinalang.model.StructDef;
+import org.ballerinalang.model.builder.BLangModelBuilder;
+import org.ballerinalang.model.builder.BLangModelImage;
+import org.ballerinalang.model.builder.BLangModelRecorder;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFiles;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.ballerinalang.util.program.BLangProgramImage;
+import org.ballerinalang.util.program.BLangPrograms;
+import org.ballerinalang.util.repository.BLangProgramArchive;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.zip.ZipFile;
+
+/**
+ * Test loading source files from their model images.
+ */
+public class BLangModelImageTest {
+
+    private static final String SOURCE_FILE_NAME = "model-image.bal";
+
+    private Path programDirPath;
+    private byte[] source;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        programDirPath = Paths.get(BLangModelImageTest.class.getProtectionDomain().getCodeSource().getLocation()
+                .getPath());
+        source = Files.readAllBytes(programDirPath.resolve("lang/program/" + SOURCE_FILE_NAME));
+    }
+
+    @Test(description = "Test replaying the model image of a source file")
+    public void testReplayModelImage() {
+        BLangProgram bLangProgram = createProgram();
+        byte[] image = BLangFiles.createModelImage(SOURCE_FILE_NAME, Paths.get("."), source,
+                createPackageBuilder(bLangProgram));
+        Assert.assertTrue(BLangModelImage.read(image, source).size() > 0);
+
+        BallerinaFile parsedFile = BLangFiles.loadFile(SOURCE_FILE_NAME, Paths.get("."),
+                new ByteArrayInputStream(source), createPackageBuilder(bLangProgram));
+        BallerinaFile replayedFile = BLangFiles.loadFile(SOURCE_FILE_NAME, Paths.get("."),
+                new ByteArrayInputStream(source), new ByteArrayInputStream(image), createPackageBuilder(bLangProgram));
+
+        Assert.assertEquals(getFunctionNames(replayedFile), getFunctionNames(parsedFile));
+        Assert.assertEquals(getUnits(replayedFile, Function.class)[1].getNodeLocation(),
+                getUnits(parsedFile, Function.class)[1].getNodeLocation());
+        Assert.assertEquals(getUnits(replayedFile, StructDef.class).length,
+                getUnits(parsedFile, StructDef.class).length);
+        Assert.assertEquals(getUnits(replayedFile, ConstDef.class).length, getUnits(parsedFile, ConstDef.class).length);
+        Assert.assertEquals(replayedFile.getImportPackages().length, parsedFile.getImportPackages().length);
+    }
+
+    @Test(description = "Test parsing a source file which has changed after its model image was created")
+    public void testStaleModelImage() {
+        BLangProgram bLangProgram = createProgram();
+        byte[] image = BLangFiles.createModelImage(SOURCE_FILE_NAME, Paths.get("."), source,
+                createPackageBuilder(bLangProgram));
+        byte[] changedSource = new String(source, StandardCharsets.UTF_8).replace("getName", "getFullName")
+                .getBytes(StandardCharsets.UTF_8);
+        Assert.assertNull(BLangModelImage.read(image, changedSource));
+        Assert.assertNull(BLangModelImage.read(Arrays.copyOf(image, image.length / 2), source));
+
+        BallerinaFile bFile = BLangFiles.loadFile(SOURCE_FILE_NAME, Paths.get("."),
+                new ByteArrayInputStream(changedSource), new ByteArrayInputStream(image),
+                createPackageBuilder(bLangProgram));
+        Assert.assertTrue(Arrays.asList(getFunctionNames(bFile)).contains("getFullName"));
+    }
+
+    @Test(description = "Test that the recorder records every call of the model builder")
+    public void testRecorderCoverage() {
+        // Calls which build the model from the parser events, i.e. the public void methods
+        for (Method method : BLangModelBuilder.class.getDeclaredMethods()) {
+            int modifiers = method.getModifiers();
+            if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers) || method.getReturnType() != void.class) {
+                continue;
+            }
+            try {
+                BLangModelRecorder.class.getDeclaredMethod(method.getName(), method.getParameterTypes());
+            } catch (NoSuchMethodException e) {
+                Assert.fail("model builder method '" + method.getName() + "' is not recorded");
+            }
+        }
+    }
+
+    @Test(description = "Test loading a program archive with model images")
+    public void testProgramArchive() throws IOException {
+        Path archiveDirPath = Files.createTempDirectory("bal-archive");
+        Path archivePath = archiveDirPath.resolve("model-image.blz");
+        try {
+            buildArchive(archivePath);
+            try (ZipFile zipFile = new ZipFile(archivePath.toFile())) {
+                Assert.assertNotNull(zipFile.getEntry(SOURCE_FILE_NAME + ".bim"));
+                Assert.assertNotNull(zipFile.getEntry(BLangProgramArchive.PROGRAM_IMAGE_FILE_PATH));
+            }
+
+            BLangProgram archivedProgram = new BLangProgramLoader().loadLibrary(archiveDirPath, archivePath);
+            BValue[] returns = BLangFunctions.invoke(archivedProgram, "calculate", new BValue[]{new BInteger(5)});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 27);
+        } finally {
+            Files.deleteIfExists(archivePath);
+            Files.deleteIfExists(archiveDirPath);
+        }
+    }
+
+    @Test(description = "Test reading the image of the analyzed program in a program archive")
+    public void testProgramImage() throws IOException {
+        Path archiveDirPath = Files.createTempDirectory("bal-archive");
+        Path archivePath = archiveDirPath.resolve("model-image.blz");
+        try {
+            buildArchive(archivePath);
+            ByteBuffer programImage = BLangProgramImage.map(archivePath);
+            Assert.assertNotNull(programImage);
+
+            BLangProgram bLangProgram = new BLangProgram(BLangPrograms.populateGlobalScope(),
+                    BLangProgram.Category.LIBRARY_PROGRAM);
+            BLangPackage[] bLangPackages = BLangProgramImage.read(programImage.duplicate(), bLangProgram, null, null);
+            Assert.assertNotNull(bLangPackages);
+            Assert.assertTrue(bLangPackages[0].isSymbolsDefined());
+            Assert.assertEquals(bLangProgram.getSizeOfStaticMem(), 1);
+            bLangProgram.addLibraryPackage(bLangPackages[0]);
+            BValue[] returns = BLangFunctions.invoke(bLangProgram, "getName");
+            Assert.assertEquals(returns[0].stringValue(), "Jack Smith");
+
+            // Images are read only into programs of the same category
+            BLangProgram mainProgram = createProgram();
+            Assert.assertNull(BLangProgramImage.read(programImage.duplicate(), mainProgram, null, null));
+            Assert.assertTrue(mainProgram.getPackages().length == 0);
+        } finally {
+            Files.deleteIfExists(archivePath);
+            Files.deleteIfExists(archiveDirPath);
+        }
+    }
+
+    @Test(description = "Test loading a program archive with a corrupted program image from its source files")
+    public void testCorruptedProgramImage() throws IOException {
+        Path archiveDirPath = Files.createTempDirectory("bal-archive");
+        Path archivePath = archiveDirPath.resolve("model-image.blz");
+        try {
+            buildArchive(archivePath);
+            // The image is the first entry, right after its local header
+            byte[] archive = Files.readAllBytes(archivePath);
+            int imageOffset = 30 + BLangProgramArchive.PROGRAM_IMAGE_FILE_PATH.length() + 16;
+            archive[imageOffset] ^= 0xFF;
+            Files.write(archivePath, archive);
+            Assert.assertNull(BLangProgramImage.map(archivePath));
+
+            BLangProgram archivedProgram = new BLangProgramLoader().loadLibrary(archiveDirPath, archivePath);
+            BValue[] returns = BLangFunctions.invoke(archivedProgram, "calculate", new BValue[]{new BInteger(5)});
+            Assert.assertEquals(((BInteger) returns[0]).intValue(), 27);
+        } finally {
+            Files.deleteIfExists(archivePath);
+            Files.deleteIfExists(archiveDirPath);
+        }
+    }
+
+    private void buildArchive(Path archivePath) {
+        BLangProgram bLangProgram = new BLangProgramLoader().loadLibrary(programDirPath,
+                Paths.get("lang/program/" + SOURCE_FILE_NAME));
+        new BLangProgramArchiveBuilder().build(bLangProgram, archivePath.toString());
+    }
+
+    private static BLangProgram createProgram() {
+        return new BLangProgram(BLangPrograms.populateGlobalScope(), BLangProgram.Category.MAIN_PROGRAM);
+    }
+
+    private static BLangPackage.PackageBuilder createPackageBuilder(BLangProgram bLangProgram) {
+        return new BLangPackage.PackageBuilder(".", null, bLangProgram);
+    }
+
+    private static String[] getFunctionNames(BallerinaFile bFile) {
+        return Arrays.stream(getUnits(bFile, Function.class)).map(Function::getName).toArray(String[]::new);
+    }
+
+    private static <T> T[] getUnits(BallerinaFile bFile, Class<T> unitClass) {
+        return Arrays.stream(bFile.getCompilationUnits())
+                .filter(unitClass::isInstance)
+                .map(unitClass::cast)
+                .toArray(size -> (T[]) Array.newInstance(unitClass, size));
+    }
+}
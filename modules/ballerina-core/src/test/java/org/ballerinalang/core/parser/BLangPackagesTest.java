@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.core.parser;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.Function;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Test loading packages, whose source files are parsed in parallel.
+ */
+public class BLangPackagesTest {
+
+    private Path programDirPath;
+
+    @BeforeClass
+    public void setup() {
+        programDirPath = Paths.get(BLangPackagesTest.class.getProtectionDomain().getCodeSource().getLocation()
+                .getPath());
+    }
+
+    @Test(description = "Test loading a package with several source files and an imported package")
+    public void testLoadPackage() {
+        BLangProgram bLangProgram = loadPackage("lang/program/parallel/app");
+        String[] functionNames = getFunctionNames(bLangProgram);
+        Assert.assertEquals(functionNames.length, 3);
+
+        // The package is built the same way, whichever file is parsed first
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(getFunctionNames(loadPackage("lang/program/parallel/app")), functionNames);
+        }
+
+        // Functions are invoked in the library package of a program
+        BLangProgram libraryProgram = new BLangProgramLoader().loadLibrary(programDirPath,
+                Paths.get("lang/program/parallel/app"));
+        BValue[] returns = BLangFunctions.invoke(libraryProgram, "calculate", new BValue[]{new BInteger(3)});
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 13);
+    }
+
+    @Test(description = "Test loading a package with a source file of another package",
+            expectedExceptions = BallerinaException.class,
+            expectedExceptionsMessageRegExp = "incorrect package in '.*other.bal': " +
+                    "expected 'lang.program.parallel.invalid', found 'lang.program.parallel.app'")
+    public void testIncorrectPackage() {
+        loadPackage("lang/program/parallel/invalid");
+    }
+
+    private BLangProgram loadPackage(String packagePath) {
+        return new BLangProgramLoader().loadMain(programDirPath, Paths.get(packagePath));
+    }
+
+    private static String[] getFunctionNames(BLangProgram bLangProgram) {
+        return Arrays.stream(bLangProgram.getMainPackage().getFunctions()).map(Function::getName)
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.core.parser;
+
+import org.antlr.v4.runtime.ANTLRInputStream;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.BallerinaFile;
+import org.ballerinalang.model.BallerinaFunction;
+import org.ballerinalang.util.exceptions.ParserException;
+import org.ballerinalang.util.parser.BallerinaParser;
+import org.ballerinalang.util.parser.BallerinaParserFactory;
+import org.ballerinalang.util.program.BLangFiles;
+import org.ballerinalang.util.program.BLangPrograms;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Test the two parsing stages of source files.
+ */
+public class BallerinaParserFactoryTest {
+
+    private static final String INVALID_FILE_NAME = "SemicolonMissingMainFunc.bal";
+    private static final String INVALID_FILE_MESSAGE = INVALID_FILE_NAME + ":7:1: missing ';' before 'reply'";
+
+    private final BallerinaParserFactory parserFactory = BallerinaParserFactory.getInstance();
+    private byte[] validSource;
+    private byte[] invalidSource;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        Path programDirPath = Paths.get(BallerinaParserFactoryTest.class.getProtectionDomain().getCodeSource()
+                .getLocation().getPath());
+        validSource = Files.readAllBytes(programDirPath.resolve("lang/program/model-image.bal"));
+        invalidSource = Files.readAllBytes(programDirPath.resolve("samples/parser/invalidSyntax/" +
+                INVALID_FILE_NAME));
+    }
+
+    @Test(description = "Test parsing a valid source file in the first stage")
+    public void testSLLParser() throws IOException {
+        CommonTokenStream tokenStream = createTokenStream(validSource, "model-image.bal");
+        BallerinaParser ballerinaParser = parserFactory.createSLLParser(tokenStream);
+        ballerinaParser.compilationUnit();
+        Assert.assertEquals(ballerinaParser.getCurrentToken().getType(), Token.EOF);
+    }
+
+    @Test(description = "Test parsing an invalid source file in the second stage, after the first stage failed")
+    public void testLLParserAfterSLLFailure() throws IOException {
+        CommonTokenStream tokenStream = createTokenStream(invalidSource, INVALID_FILE_NAME);
+        try {
+            parserFactory.createSLLParser(tokenStream).compilationUnit();
+            Assert.fail("First stage should bail out on the syntax error");
+        } catch (ParseCancellationException e) {
+            // Expected
+        }
+
+        try {
+            parserFactory.createLLParser(tokenStream).compilationUnit();
+            Assert.fail("Second stage should report the syntax error");
+        } catch (ParseCancellationException e) {
+            Assert.assertEquals(e.getMessage(), INVALID_FILE_MESSAGE);
+        }
+    }
+
+    @Test(description = "Test loading a valid source file")
+    public void testLoadValidFile() {
+        BallerinaFile bFile = BLangFiles.loadFile("model-image.bal", Paths.get("."),
+                new ByteArrayInputStream(validSource), createPackageBuilder());
+        long functionCount = Arrays.stream(bFile.getCompilationUnits())
+                .filter(compilationUnit -> compilationUnit instanceof BallerinaFunction)
+                .count();
+        Assert.assertEquals(functionCount, 3);
+    }
+
+    @Test(description = "Test the syntax error message of an invalid source file",
+            expectedExceptions = {ParserException.class},
+            expectedExceptionsMessageRegExp = INVALID_FILE_MESSAGE)
+    public void testLoadInvalidFile() {
+        BLangFiles.loadFile(INVALID_FILE_NAME, Paths.get("."), new ByteArrayInputStream(invalidSource),
+                createPackageBuilder());
+    }
+
+    @Test(description = "Test an error of the model builder raised while the first stage parses a source file",
+            expectedExceptions = {RuntimeException.class},
+            expectedExceptionsMessageRegExp = "null values are not yet supported in Ballerina in null-literal.bal:2")
+    public void testModelBuilderErrorInSLLStage() {
+        String source = "function test() (string) {\n    string s = null;\n    return s;\n}\n";
+        BLangFiles.loadFile("null-literal.bal", Paths.get("."),
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)), createPackageBuilder());
+    }
+
+    private CommonTokenStream createTokenStream(byte[] source, String sourceName) throws IOException {
+        ANTLRInputStream antlrInputStream = new ANTLRInputStream(new ByteArrayInputStream(source));
+        antlrInputStream.name = sourceName;
+        return parserFactory.createTokenStream(antlrInputStream);
+    }
+
+    private static BLangPackage.PackageBuilder createPackageBuilder() {
+        BLangProgram bLangProgram = new BLangProgram(BLangPrograms.populateGlobalScope(),
+                BLangProgram.Category.MAIN_PROGRAM);
+        return new BLangPackage.PackageBuilder(".", null, bLangProgram);
+    }
+}
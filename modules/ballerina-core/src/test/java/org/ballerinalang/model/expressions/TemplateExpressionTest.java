@@ -173,4 +173,24 @@ public class TemplateExpressionTest {
                 + "\"boolStrIndex0\":\"true\",\"boolStrIndex1\":\"false\"}";
         Assert.assertEquals(returns[0].stringValue(), expected);
     }
+
+    @Test(description = "Test XML backtick expression with attribute and element variable references")
+    public void testBacktickXMLAttributeAndElement() {
+        BValue[] args = { new BString("1"), new BString("John")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "backtickXMLAttributeAndElementTest", args);
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertSame(returns[0].getClass(), BXML.class);
+        Assert.assertEquals(returns[0].stringValue(), "<person id=\"1\">Name: <name>John</name></person>");
+        Assert.assertEquals(returns[1].stringValue(), "<person id=\"John\">Name: <name>John</name></person>");
+    }
+
+    @Test(description = "Test JSON backtick expression with nested JSON variable references")
+    public void testBacktickJSONNested() {
+        BValue[] args = { new BString("John")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "backtickJSONNestedTest", args);
+        Assert.assertEquals(returns.length, 2);
+        Assert.assertSame(returns[0].getClass(), BJSON.class);
+        Assert.assertEquals(returns[0].stringValue(), "{\"person\":{\"name\":\"John\"},\"tags\":[\"a\",\"John\"]}");
+        Assert.assertEquals(returns[1].stringValue(), "{\"person\":{\"name\":\"John\"},\"tags\":[\"b\",\"John\"]}");
+    }
 }
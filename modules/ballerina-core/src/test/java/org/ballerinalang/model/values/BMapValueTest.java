@@ -20,9 +20,13 @@ package org.ballerinalang.model.values;
 import org.testng.annotations.Test;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 /**
  * Test class for ballerina map.
@@ -71,4 +75,50 @@ public class BMapValueTest   {
         map.remove(new BString("Chanaka"));
         assertEquals(map.size(), 101);
     }
+
+    @Test
+    public void testBMapBeyondInitialLimit() {
+        BMap<BString, BInteger> map = new BMap<>();
+        int count = (1 << 16) + 100;
+        for (int i = 0; i < count; i++) {
+            map.put(new BString("key" + i), new BInteger(i));
+        }
+        assertEquals(map.size(), count);
+        assertEquals(map.get(new BString("key65600")), new BInteger(65600));
+        assertNull(map.get(new BString("key" + count)));
+    }
+
+    @Test
+    public void testBMapInsertionOrder() {
+        BMap<BString, BInteger> map = new BMap<>();
+        for (int i = 0; i < 40; i++) {
+            map.put(new BString(String.valueOf(i)), new BInteger(i));
+        }
+        for (int i = 0; i < 40; i += 2) {
+            map.remove(new BString(String.valueOf(i)));
+        }
+        // Re-inserting an existing key keeps its position
+        map.put(new BString("1"), new BInteger(100));
+        map.put(new BString("0"), new BInteger(0));
+
+        Iterator<BString> keys = map.keyIterator();
+        for (int i = 1; i < 40; i += 2) {
+            assertEquals(keys.next().stringValue(), String.valueOf(i));
+        }
+        assertEquals(keys.next().stringValue(), "0");
+        assertFalse(keys.hasNext());
+
+        assertEquals(map.size(), 21);
+        assertEquals(map.get(new BString("1")), new BInteger(100));
+        assertNull(map.get(new BString("2")));
+        assertTrue(map.keySet().contains(new BString("39")));
+        assertFalse(map.keySet().contains(new BString("38")));
+    }
+
+    @Test
+    public void testBStringHashCode() {
+        assertEquals(new BString("Chanaka").hashCode(), new BString("Chanaka").hashCode());
+        assertEquals(new BString("Chanaka"), new BString("Chanaka"));
+        assertFalse(new BString("Chanaka").equals(new BInteger(1)));
+    }
 }
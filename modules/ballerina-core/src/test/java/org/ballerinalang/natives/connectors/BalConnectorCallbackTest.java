@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.natives.connectors;
+
+import org.ballerinalang.bre.Context;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test the timeouts of the outbound calls made through connector callbacks.
+ */
+public class BalConnectorCallbackTest {
+
+    @Test(description = "Test releasing a blocked call when its timer expires")
+    public void testTimeout() throws InterruptedException {
+        BalConnectorCallback callback = new BalConnectorCallback(new Context());
+        callback.startTimer(50);
+        callback.awaitResponse();
+        Assert.assertTrue(callback.isTimedOut());
+        Assert.assertEquals(callback.getTimeoutMillis(), 50);
+
+        // A late response is discarded
+        callback.done(new DefaultCarbonMessage());
+        Assert.assertFalse(callback.isResponseArrived());
+        Assert.assertNull(callback.getValueRef());
+    }
+
+    @Test(description = "Test expiring a call immediately when there is no time left")
+    public void testExpiredTimeout() throws InterruptedException {
+        BalConnectorCallback callback = new BalConnectorCallback(new Context());
+        callback.startTimer(0);
+        callback.awaitResponse();
+        Assert.assertTrue(callback.isTimedOut());
+    }
+
+    @Test(description = "Test shortening the timeouts of the calls to the deadline of the context")
+    public void testDeadline() {
+        Context context = new Context();
+        Assert.assertEquals(context.getTimeout(1000, TimeUnit.MILLISECONDS), 1000);
+
+        context.setDeadline(System.nanoTime() + TimeUnit.SECONDS.toNanos(10));
+        Assert.assertEquals(context.getTimeout(1000, TimeUnit.MILLISECONDS), 1000);
+        Assert.assertTrue(context.getTimeout(60000, TimeUnit.MILLISECONDS) <= 10000);
+
+        context.setDeadline(System.nanoTime() - 1);
+        Assert.assertTrue(context.getTimeout(1000, TimeUnit.MILLISECONDS) <= 0);
+    }
+}
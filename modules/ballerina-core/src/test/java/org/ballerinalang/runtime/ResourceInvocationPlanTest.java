@@ -0,0 +1,107 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.core.EnvironmentInitializer;
+import org.ballerinalang.core.utils.MessageUtils;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.model.util.Services;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMessage;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.services.dispatchers.DispatcherRegistry;
+import org.ballerinalang.services.dispatchers.http.Constants;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+/**
+ * Test binding the arguments of the resources dispatched to, through their cached invocation plans.
+ */
+public class ResourceInvocationPlanTest {
+
+    private BLangProgram bLangProgram;
+
+    @BeforeClass
+    public void setup() {
+        bLangProgram = EnvironmentInitializer.setup("lang/service/resourceArgs.bal");
+    }
+
+    @Test(description = "Test binding path and query parameters")
+    public void testPathAndQueryParams() {
+        CarbonMessage cMsg = MessageUtils.generateHTTPMessage("/orders/ORD123?item=book", "GET");
+        ResourceInvocationPlan invocationPlan = dispatch(cMsg, "order");
+        BValue[] argValues = invocationPlan.bindArguments(cMsg);
+        Assert.assertEquals(argValues.length, 3);
+        Assert.assertTrue(argValues[0] instanceof BMessage);
+        Assert.assertSame(((BMessage) argValues[0]).value(), cMsg);
+        Assert.assertEquals(argValues[1], new BString("ORD123"));
+        Assert.assertEquals(argValues[2], new BString("book"));
+
+        // The plan is shared by the requests, while the arguments are bound for each request
+        cMsg = MessageUtils.generateHTTPMessage("/orders/ORD456?item=pen", "GET");
+        Assert.assertSame(dispatch(cMsg, "order"), invocationPlan);
+        argValues = invocationPlan.bindArguments(cMsg);
+        Assert.assertEquals(argValues[1], new BString("ORD456"));
+        Assert.assertEquals(argValues[2], new BString("pen"));
+    }
+
+    @Test(description = "Test converting the parameters of int type")
+    public void testIntParams() {
+        CarbonMessage cMsg = MessageUtils.generateHTTPMessage("/orders/count/5/total?step=2", "GET");
+        BValue[] argValues = dispatch(cMsg, "count").bindArguments(cMsg);
+        Assert.assertTrue(argValues[1] instanceof BInteger);
+        Assert.assertEquals(((BInteger) argValues[1]).intValue(), 5);
+        Assert.assertTrue(argValues[2] instanceof BInteger);
+        Assert.assertEquals(((BInteger) argValues[2]).intValue(), 2);
+
+        // The resource is invoked with the bound arguments
+        cMsg = MessageUtils.generateHTTPMessage("/orders/count/5/total?step=2", "GET");
+        Assert.assertNotNull(Services.invoke(cMsg));
+    }
+
+    @Test(description = "Test a query parameter which is not given in the request")
+    public void testMissingQueryParam() {
+        // Query parameters which are not bound to the resource are ignored
+        CarbonMessage cMsg = MessageUtils.generateHTTPMessage("/orders/count/5/total?size=2", "GET");
+        BValue[] argValues = dispatch(cMsg, "count").bindArguments(cMsg);
+        Assert.assertEquals(((BInteger) argValues[1]).intValue(), 5);
+        Assert.assertNull(argValues[2]);
+    }
+
+    @AfterClass
+    public void tearDown() {
+        EnvironmentInitializer.cleanup(bLangProgram);
+    }
+
+    private static ResourceInvocationPlan dispatch(CarbonMessage cMsg, String resourceName) {
+        Context balContext = new Context(cMsg);
+        Service service = DispatcherRegistry.getInstance().getServiceDispatcher(Constants.PROTOCOL_HTTP)
+                .findService(cMsg, null, balContext);
+        Resource resource = DispatcherRegistry.getInstance().getResourceDispatcher(Constants.PROTOCOL_HTTP)
+                .findResource(service, cMsg, null, balContext);
+        Assert.assertEquals(resource.getName(), resourceName);
+        return ResourceInvocationPlan.getInvocationPlan(service, resource);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.threadpool;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test class for the bounded worker pools used to process requests and responses.
+ */
+public class WorkerPoolTest {
+
+    @Test
+    public void testOverloadRejection() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("test-overload", 1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(2);
+        try {
+            pool.execute(() -> {
+                started.countDown();
+                await(release);
+                completed.countDown();
+            });
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // The only worker is busy, hence the next task is queued and the one after is rejected
+            pool.execute(completed::countDown);
+            Assert.assertEquals(pool.getActiveThreads(), 1);
+            Assert.assertEquals(pool.getQueueDepth(), 1);
+            try {
+                pool.execute(completed::countDown);
+                Assert.fail("task was accepted by a saturated pool");
+            } catch (WorkerPoolOverloadedException e) {
+                Assert.assertEquals(pool.getRejectedTaskCount(), 1);
+            }
+
+            release.countDown();
+            Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+            Assert.assertTrue(pool.getMaxWaitTimeMillis() >= 0);
+            Assert.assertTrue(pool.getAverageWaitTimeMillis() >= 0);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRequestPoolPerInterface() {
+        ThreadPoolFactory factory = ThreadPoolFactory.getInstance();
+        Assert.assertSame(factory.getRequestPool("test-interface"), factory.getRequestPool("test-interface"));
+        Assert.assertSame(factory.getRequestPool(null), factory.getRequestPool("default"));
+        Assert.assertNotSame(factory.getRequestPool("test-interface"), factory.getRequestPool(null));
+        Assert.assertNotSame(factory.getRequestPool(null), factory.getResponsePool());
+    }
+
+    @Test
+    public void testThreadPerTaskRejection() throws InterruptedException {
+        WorkerPool pool = new WorkerPool("test-per-task", 2, runnable -> new Thread(runnable).start());
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch completed = new CountDownLatch(3);
+        Runnable blocked = () -> {
+            started.countDown();
+            await(release);
+            completed.countDown();
+        };
+        try {
+            pool.execute(blocked);
+            pool.execute(blocked);
+            Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // Tasks are not queued, hence the task after the maximum number of running tasks is rejected
+            Assert.assertEquals(pool.getActiveThreads(), 2);
+            Assert.assertEquals(pool.getQueueCapacity(), 0);
+            Assert.assertEquals(pool.getQueueDepth(), 0);
+            try {
+                pool.execute(completed::countDown);
+                Assert.fail("task was accepted by a saturated pool");
+            } catch (WorkerPoolOverloadedException e) {
+                Assert.assertEquals(pool.getRejectedTaskCount(), 1);
+            }
+
+            // Completed tasks release their slots
+            release.countDown();
+            waitForCompletedTasks(pool, 2);
+            Assert.assertEquals(pool.getActiveThreads(), 0);
+            pool.execute(completed::countDown);
+            Assert.assertTrue(completed.await(10, TimeUnit.SECONDS));
+            waitForCompletedTasks(pool, 3);
+            Assert.assertEquals(pool.getMaxThreads(), 2);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testVirtualThreadRequestPool() throws Exception {
+        boolean virtualThreadsSupported = VirtualThreadFactory.create("") != null;
+        Assert.assertEquals(virtualThreadsSupported, isVirtualThreadsSupported());
+
+        WorkerPool pool = ThreadPoolFactory.createRequestPool("test-virtual", 4, 8, true);
+        CountDownLatch executed = new CountDownLatch(1);
+        Thread[] thread = new Thread[1];
+        try {
+            pool.execute(() -> {
+                thread[0] = Thread.currentThread();
+                executed.countDown();
+            });
+            Assert.assertTrue(executed.await(10, TimeUnit.SECONDS));
+            Assert.assertEquals(pool.getMaxThreads(), 4);
+            Assert.assertTrue(thread[0].getName().startsWith(WorkerPool.getThreadNamePrefix("test-virtual")));
+            if (virtualThreadsSupported) {
+                // Each request runs on a virtual thread of its own
+                Assert.assertEquals(pool.getQueueCapacity(), 0);
+                Assert.assertTrue(isVirtual(thread[0]));
+            } else {
+                // Requests fall back to pooled platform threads, e.g. on Java 17
+                Assert.assertEquals(pool.getQueueCapacity(), 8);
+                Assert.assertEquals(pool.getPoolSize(), 1);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static boolean isVirtualThreadsSupported() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) throws ReflectiveOperationException {
+        return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+
+    private static void waitForCompletedTasks(WorkerPool pool, long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pool.getCompletedTaskCount() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(pool.getCompletedTaskCount(), count);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
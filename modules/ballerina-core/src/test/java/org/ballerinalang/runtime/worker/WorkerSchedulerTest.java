@@ -0,0 +1,134 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.runtime.worker;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.bre.StackFrame;
+import org.ballerinalang.model.values.BMessage;
+import org.ballerinalang.model.values.BValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Test class for the shared scheduler which runs workers and fork/join branches.
+ */
+public class WorkerSchedulerTest {
+
+    private final WorkerScheduler scheduler = WorkerScheduler.getInstance();
+
+    @Test
+    public void testInvokeAllTimeout() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        List<Callable<String>> tasks = Arrays.asList(() -> "fast", () -> {
+            try {
+                Thread.sleep(60000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return "slow";
+        });
+
+        List<Future<String>> futures = scheduler.invokeAll(tasks, 500, TimeUnit.MILLISECONDS);
+        Assert.assertFalse(futures.get(0).isCancelled());
+        Assert.assertTrue(futures.get(1).isCancelled());
+        // Cancelling a timed out worker interrupts it
+        Assert.assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testInvokeAny() throws Exception {
+        List<Callable<String>> tasks = Arrays.asList(() -> {
+            throw new IllegalStateException("failed");
+        }, () -> "done");
+        Assert.assertEquals(scheduler.invokeAny(tasks, 10, TimeUnit.SECONDS), "done");
+    }
+
+    @Test(expectedExceptions = TimeoutException.class)
+    public void testInvokeAnyTimeout() throws Exception {
+        List<Callable<String>> tasks = Arrays.asList(() -> {
+            Thread.sleep(60000);
+            return "slow";
+        });
+        scheduler.invokeAny(tasks, 200, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testNestedWorkers() throws Exception {
+        // Workers waiting for other workers must not starve the pool
+        int count = Runtime.getRuntime().availableProcessors() * 4;
+        Callable<String> outer = () -> scheduler.get(scheduler.submit(() -> "inner"), 10, TimeUnit.SECONDS);
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(outer);
+        }
+        for (Future<String> future : scheduler.invokeAll(tasks, 20, TimeUnit.SECONDS)) {
+            Assert.assertEquals(future.get(), "inner");
+        }
+    }
+
+    @Test
+    public void testBlockedWorkers() throws Exception {
+        // Workers blocked on latches, e.g. waiting for the responses of outbound calls, must not starve the pool.
+        // None of the latches is released before all the workers are running.
+        int count = Runtime.getRuntime().availableProcessors() + 8;
+        CountDownLatch arrived = new CountDownLatch(count);
+        Callable<String> blocked = () -> {
+            arrived.countDown();
+            WorkerScheduler.await(arrived);
+            return "released";
+        };
+        List<Callable<String>> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(blocked);
+        }
+        for (Future<String> future : scheduler.invokeAll(tasks, 20, TimeUnit.SECONDS)) {
+            Assert.assertFalse(future.isCancelled());
+            Assert.assertEquals(future.get(), "released");
+        }
+    }
+
+    @Test
+    public void testWorkerReply() throws Exception {
+        BValue[] returnVals = new BValue[1];
+        Context context = new Context();
+        context.getControlStack().pushFrame(new StackFrame(new BValue[0], returnVals));
+        WorkerCallback callback = new WorkerCallback(context);
+        Assert.assertFalse(callback.isReplied());
+
+        // The reply is awaited on a worker while it is sent from another
+        Future<BValue> reply = scheduler.submit(() -> {
+            callback.awaitReply();
+            return callback.getValueRef();
+        });
+        callback.done(new DefaultCarbonMessage());
+        BValue value = scheduler.get(reply, 10, TimeUnit.SECONDS);
+        Assert.assertTrue(callback.isReplied());
+        Assert.assertTrue(value instanceof BMessage);
+        Assert.assertSame(returnVals[0], value);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.services.dispatchers.http;
+
+import org.ballerinalang.core.utils.BTestUtils;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.Service;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for the order in which the resources of a service are matched, between the resources routed through
+ * the path template trie and the ones with query templates.
+ */
+public class HTTPResourceRouterTest {
+
+    private HTTPResourceRouter wildcardFirstRouter;
+    private HTTPResourceRouter templateFirstRouter;
+
+    @BeforeClass
+    public void setup() {
+        BLangProgram bLangProgram = BTestUtils.parseBalFile("lang/service/resourceOrder.bal");
+        for (BLangPackage servicePackage : bLangProgram.getPackages()) {
+            for (Service service : servicePackage.getServices()) {
+                if ("WildcardFirst".equals(service.getName())) {
+                    wildcardFirstRouter = new HTTPResourceRouter(service);
+                } else if ("TemplateFirst".equals(service.getName())) {
+                    templateFirstRouter = new HTTPResourceRouter(service);
+                }
+            }
+        }
+    }
+
+    @Test(description = "Test a wildcard resource declared before a resource with a query template")
+    public void testWildcardDeclaredFirst() {
+        Resource resource = wildcardFirstRouter.findResource("GET", "/products/PID123", "regID=RID123",
+                new HashMap<>());
+        Assert.assertEquals(resource.getName(), "fallback");
+    }
+
+    @Test(description = "Test a resource with a query template declared before a wildcard resource")
+    public void testTemplateDeclaredFirst() {
+        Map<String, String> variables = new HashMap<>();
+        Resource resource = templateFirstRouter.findResource("GET", "/products/PID123", "regID=RID123", variables);
+        Assert.assertEquals(resource.getName(), "product");
+        Assert.assertEquals(variables.get("productId"), "PID123");
+        Assert.assertEquals(variables.get("regID"), "RID123");
+
+        resource = templateFirstRouter.findResource("GET", "/products/PID123", "param=value", new HashMap<>());
+        Assert.assertEquals(resource.getName(), "fallback");
+    }
+
+    @Test(description = "Test a resource in the trie which matches before a resource with a query template")
+    public void testTrieResourceDeclaredAfterTemplate() {
+        Map<String, String> variables = new HashMap<>();
+        Resource resource = templateFirstRouter.findResource("GET", "/products/latest", null, variables);
+        Assert.assertEquals(resource.getName(), "latest");
+        Assert.assertTrue(variables.isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.services.dispatchers.uri;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Test class for the path template trie used in HTTP resource dispatching.
+ */
+public class URITemplateTrieTest {
+
+    private URITemplateTrie<String> trie;
+
+    @BeforeClass
+    public void setup() {
+        trie = new URITemplateTrie<>();
+        Assert.assertTrue(trie.add("/products/{productId}/{regId}", Collections.singleton("GET"), "T1"));
+        Assert.assertTrue(trie.add("/products2/{productId}/{regId}/item", Collections.singleton("GET"), "T2"));
+        Assert.assertTrue(trie.add("/products3/{productId}/{regId}/*", Collections.singleton("GET"), "T3"));
+        Assert.assertTrue(trie.add("/products/latest/{regId}", Arrays.asList("GET", "POST"), "T6"));
+        Assert.assertTrue(trie.add("/echo", Collections.singleton("POST"), "T7"));
+        Assert.assertTrue(trie.add("/*", Collections.singleton("PUT"), "T8"));
+
+        Assert.assertFalse(trie.add("/products/{productId}?regID={regID}", Collections.singleton("GET"), "T4"));
+        Assert.assertFalse(trie.add("/products/id{productId}", Collections.singleton("GET"), "T5"));
+    }
+
+    @Test
+    public void testVariableMatch() {
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertEquals(trie.find("/products/PID123/RID123", false, "GET", variables), "T1");
+        Assert.assertEquals(variables.get("productId"), "PID123");
+        Assert.assertEquals(variables.get("regId"), "RID123");
+
+        variables = new HashMap<>();
+        Assert.assertEquals(trie.find("/products2/PID%20125/RID125/item/", false, "GET", variables), "T2");
+        Assert.assertEquals(variables.get("productId"), "PID 125");
+    }
+
+    @Test
+    public void testLiteralPreferredOverVariable() {
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertEquals(trie.find("/products/latest/RID123", false, "POST", variables), "T6");
+        Assert.assertEquals(variables.get("regId"), "RID123");
+
+        // Falls back to the variable branch for methods of the literal branch which are not handled
+        Assert.assertEquals(trie.find("/products/latest/RID123", false, "GET", new HashMap<>()), "T6");
+        Assert.assertEquals(trie.find("/products/oldest/RID123", false, "GET", new HashMap<>()), "T1");
+    }
+
+    @Test
+    public void testWildcardMatch() {
+        Map<String, String> variables = new HashMap<>();
+        Assert.assertEquals(trie.find("/products3/PID125/RID125/xyz", true, "GET", variables), "T3");
+        Assert.assertEquals(variables.get("regId"), "RID125");
+        Assert.assertEquals(trie.find("/products3/PID125/RID125", false, "GET", new HashMap<>()), "T3");
+        Assert.assertEquals(trie.find("/any/path", true, "PUT", new HashMap<>()), "T8");
+    }
+
+    @Test
+    public void testNoMatch() {
+        Assert.assertNull(trie.find("/products", false, "GET", new HashMap<>()));
+        Assert.assertNull(trie.find("/products/PID123", false, "GET", new HashMap<>()));
+        Assert.assertNull(trie.find("/products/PID123/", false, "GET", new HashMap<>()));
+        Assert.assertNull(trie.find("/products/PID123/RID123/ID", false, "GET", new HashMap<>()));
+        Assert.assertNull(trie.find("/products/PID123/RID123", true, "GET", new HashMap<>()));
+        Assert.assertNull(trie.find("/products/PID;123/RID123", false, "GET", new HashMap<>()));
+        Assert.assertNull(trie.find("/echo", false, "GET", new HashMap<>()));
+    }
+}
@@ -0,0 +1,256 @@
+/*
+*  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.util.repository;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Test loading built-in packages from jars and directories, with and without a package index.
+ */
+public class BuiltinPackageRepositoryTest {
+
+    private static final String BASE_ENTRY = "META-INF/natives/";
+    private static final String PACKAGE_DIR = "ballerina/lang/foo";
+    private static final String PROVIDER_ENTRY = Provider.class.getName().replace('.', '/') + ".class";
+
+    private Path tempDirPath;
+    private Map<String, byte[]> entries;
+
+    @BeforeClass
+    public void setup() throws IOException {
+        tempDirPath = Files.createTempDirectory("bal-builtin-repo");
+
+        entries = new HashMap<>();
+        entries.put(PROVIDER_ENTRY, readFully(BuiltinPackageRepositoryTest.class.getClassLoader()
+                .getResourceAsStream(PROVIDER_ENTRY)));
+        addSourceFile(PACKAGE_DIR + "/foo.bal");
+        addSourceFile(PACKAGE_DIR + "/extra.bal");
+        // Files of a sub package, and of a package sharing the same name prefix
+        addSourceFile(PACKAGE_DIR + "/sub/bar.bal");
+        addSourceFile("ballerina/lang/foobar/foobar.bal");
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException {
+        try (Stream<Path> paths = Files.walk(tempDirPath)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test(description = "Test loading a package listed by the package index of a jar")
+    public void testJarWithIndex() throws Exception {
+        Path jarPath = createJar("index.jar", true);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jarPath.toUri().toURL()}, null)) {
+            // Only the files listed by the index are loaded
+            assertPackage(classLoader.loadClass(Provider.class.getName()), "foo.bal");
+        }
+    }
+
+    @Test(description = "Test loading a package from a jar without a package index")
+    public void testJarWithoutIndex() throws Exception {
+        Path jarPath = createJar("noindex.jar", false);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{jarPath.toUri().toURL()}, null)) {
+            assertPackage(classLoader.loadClass(Provider.class.getName()), "extra.bal", "foo.bal");
+        }
+    }
+
+    @Test(description = "Test loading a package listed by the package index of a jar nested in another jar")
+    public void testNestedJarWithIndex() throws Exception {
+        assertPackage(loadFromNestedJar("nested-index.jar", true), "foo.bal");
+    }
+
+    @Test(description = "Test loading a package from a jar nested in another jar, without a package index")
+    public void testNestedJarWithoutIndex() throws Exception {
+        assertPackage(loadFromNestedJar("nested-noindex.jar", false), "extra.bal", "foo.bal");
+    }
+
+    @Test(description = "Test loading a package listed by the package index of a directory")
+    public void testDirectoryWithIndex() throws Exception {
+        Path dirPath = createDirectory("index", true);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{dirPath.toUri().toURL()}, null)) {
+            assertPackage(classLoader.loadClass(Provider.class.getName()), "foo.bal");
+        }
+    }
+
+    @Test(description = "Test loading a package from a directory without a package index")
+    public void testDirectoryWithoutIndex() throws Exception {
+        Path dirPath = createDirectory("noindex", false);
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{dirPath.toUri().toURL()}, null)) {
+            assertPackage(classLoader.loadClass(Provider.class.getName()), "extra.bal", "foo.bal");
+        }
+    }
+
+    private void assertPackage(Class<?> providerClass, String... expectedFileNames) throws IOException {
+        BuiltinPackageRepository repository = new BuiltinPackageRepository(providerClass);
+        Map<String, InputStream> sourceFiles = repository.loadPackage(Paths.get(PACKAGE_DIR))
+                .getSourceFileStreamMap();
+        Assert.assertEquals(new TreeSet<>(sourceFiles.keySet()), new TreeSet<>(Arrays.asList(expectedFileNames)));
+
+        for (Map.Entry<String, InputStream> sourceFile : sourceFiles.entrySet()) {
+            Assert.assertNotNull(sourceFile.getValue(), sourceFile.getKey());
+            try (InputStream inputStream = sourceFile.getValue()) {
+                Assert.assertEquals(readFully(inputStream), entries.get(BASE_ENTRY + PACKAGE_DIR + "/" +
+                        sourceFile.getKey()));
+            }
+        }
+    }
+
+    /**
+     * Defines the provider class with the given jar nested in another jar as its code source, which cannot be
+     * mapped to a file.
+     */
+    private Class<?> loadFromNestedJar(String jarName, boolean withIndex) throws IOException {
+        Path jarPath = createJar(jarName, withIndex);
+        Path outerJarPath = tempDirPath.resolve("outer-" + jarName);
+        try (ZipOutputStream outputStream = new ZipOutputStream(Files.newOutputStream(outerJarPath))) {
+            outputStream.putNextEntry(new ZipEntry("lib/" + jarName));
+            outputStream.write(Files.readAllBytes(jarPath));
+            outputStream.closeEntry();
+        }
+
+        URL nestedJarUrl = new URL("jar:" + outerJarPath.toUri() + "!/lib/" + jarName);
+        return new NestedJarClassLoader(nestedJarUrl).loadProvider();
+    }
+
+    private Path createJar(String jarName, boolean withIndex) throws IOException {
+        Path jarPath = tempDirPath.resolve(jarName);
+        try (ZipOutputStream outputStream = new ZipOutputStream(Files.newOutputStream(jarPath))) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                outputStream.putNextEntry(new ZipEntry(entry.getKey()));
+                outputStream.write(entry.getValue());
+                outputStream.closeEntry();
+            }
+            if (withIndex) {
+                outputStream.putNextEntry(new ZipEntry(BASE_ENTRY + BuiltinPackageRepository.PACKAGE_INDEX_FILE));
+                outputStream.write(getIndex());
+                outputStream.closeEntry();
+            }
+        }
+        return jarPath;
+    }
+
+    private Path createDirectory(String dirName, boolean withIndex) throws IOException {
+        Path dirPath = tempDirPath.resolve(dirName);
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+            Path filePath = dirPath.resolve(entry.getKey());
+            Files.createDirectories(filePath.getParent());
+            Files.write(filePath, entry.getValue());
+        }
+        if (withIndex) {
+            Files.write(dirPath.resolve(BASE_ENTRY + BuiltinPackageRepository.PACKAGE_INDEX_FILE), getIndex());
+        }
+        return dirPath;
+    }
+
+    private static byte[] getIndex() {
+        // The index leaves out extra.bal, to tell whether it is used
+        String index = PACKAGE_DIR + "/foo.bal\n" + PACKAGE_DIR + "/sub/bar.bal\n" +
+                "ballerina/lang/foobar/foobar.bal\n";
+        return index.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void addSourceFile(String filePath) {
+        String source = "// " + filePath + "\n";
+        entries.put(BASE_ENTRY + filePath, source.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] readFully(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int length;
+        while ((length = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, length);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Provider of the built-in packages in the test jars.
+     */
+    public static class Provider {
+    }
+
+    /**
+     * Class loader which reads classes and resources from a jar nested in another jar, as done by the loaders of
+     * executable jars.
+     */
+    private static class NestedJarClassLoader extends ClassLoader {
+
+        private final URL jarUrl;
+
+        NestedJarClassLoader(URL jarUrl) {
+            super(null);
+            this.jarUrl = jarUrl;
+        }
+
+        Class<?> loadProvider() throws IOException {
+            byte[] classBytes = readEntry(PROVIDER_ENTRY);
+            ProtectionDomain protectionDomain = new ProtectionDomain(new CodeSource(jarUrl, (Certificate[]) null),
+                    null);
+            return defineClass(Provider.class.getName(), classBytes, 0, classBytes.length, protectionDomain);
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            try {
+                byte[] bytes = readEntry(name);
+                return bytes != null ? new ByteArrayInputStream(bytes) : null;
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        private byte[] readEntry(String name) throws IOException {
+            try (ZipInputStream inputStream = new ZipInputStream(jarUrl.openStream())) {
+                ZipEntry entry;
+                while ((entry = inputStream.getNextEntry()) != null) {
+                    if (entry.getName().equals(name)) {
+                        return readFully(inputStream);
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+function sum(int n) (int) {
+    int i = 0;
+    int total = 0;
+    while (i < n) {
+        total = total + i;
+        i = i + 1;
+    }
+    return total;
+}
+
+function average(int n) (double, boolean) {
+    int i = 0;
+    double total = 0.0d;
+    double value = 1.0d;
+    boolean even = true;
+    while (i < n) {
+        total = total + value;
+        value = value + 1.0d;
+        even = !even;
+        i = i + 1;
+    }
+    return total / value, even;
+}
+
+function fillArray(int n) (int[], int) {
+    int[] values = [];
+    int i = 0;
+    int unused = 7;
+    while (i < n) {
+        values[i] = i * 2;
+        i = i + 1;
+    }
+    return values, unused;
+}
+
+function countInTry(int n) (int) {
+    int count = 0;
+    int i = 0;
+    while (i < n) {
+        try {
+            int step = 1;
+            count = count + step;
+            if (i == 2) {
+                exception e = {};
+                throw e;
+            }
+        } catch (exception e) {
+            count = count + 10;
+        }
+        i = i + 1;
+    }
+    return count;
+}
+
+function nestedLoops(int n) (int) {
+    int i = 0;
+    int count = 0;
+    while (i < n) {
+        int j = 0;
+        while (true) {
+            if (j >= i) {
+                break;
+            }
+            count = count + 1;
+            j = j + 1;
+        }
+        i = i + 1;
+    }
+    return count;
+}
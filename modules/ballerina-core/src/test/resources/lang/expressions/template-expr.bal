@@ -101,3 +101,25 @@ function backtickJSONBooleanIntegerValuesAsStrings()(json) {
     msg = `{"intStrIndex0":${intStrArray[0]},"intStrIndex1":${intStrArray[1]},"boolStrIndex0":${boolStrArray[0]}, "boolStrIndex1":${boolStrArray[1]}}`;
     return msg;
 }
+
+function backtickXMLAttributeAndElementTest(string id, string name)(xml, xml) {
+    xml inner;
+    xml first;
+    xml second;
+
+    inner = `<name>${name}</name>`;
+    first = `<person id="${id}">Name: ${inner}</person>`;
+    second = `<person id="${name}">Name: ${inner}</person>`;
+    return first, second;
+}
+
+function backtickJSONNestedTest(string name)(json, json) {
+    json inner;
+    json first;
+    json second;
+
+    inner = `{"name":${name}}`;
+    first = `{"person":${inner},"tags":["a", ${name}]}`;
+    second = `{"person":${inner},"tags":["b", ${name}]}`;
+    return first, second;
+}
@@ -0,0 +1,30 @@
+const int base = 10;
+
+struct Person {
+    string name;
+    int age;
+}
+
+function main(string[] args) {
+    int sum = calculate(5);
+}
+
+function calculate(int count) (int) {
+    Person p = {name:"Jack", age:count};
+    int sum = base;
+    int i = 0;
+    while (i < p.age) {
+        if (i > 2) {
+            sum = sum + i * 2;
+        } else {
+            sum = sum + i;
+        }
+        i = i + 1;
+    }
+    return sum;
+}
+
+function getName() (string) {
+    Person p = {name:"Jack", age:25};
+    return p.name + " " + "Smith";
+}
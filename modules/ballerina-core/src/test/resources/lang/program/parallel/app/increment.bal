@@ -0,0 +1,5 @@
+package lang.program.parallel.app;
+
+function increment(int value) (int) {
+    return value + 1;
+}
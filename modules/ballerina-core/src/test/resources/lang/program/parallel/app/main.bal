@@ -0,0 +1,10 @@
+package lang.program.parallel.app;
+
+import lang.program.parallel.math;
+
+function main(string[] args) {
+}
+
+function calculate(int value) (int) {
+    return math:square(value) + increment(value);
+}
@@ -0,0 +1,4 @@
+package lang.program.parallel.invalid;
+
+function main(string[] args) {
+}
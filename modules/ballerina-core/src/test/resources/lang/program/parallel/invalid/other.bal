@@ -0,0 +1,5 @@
+package lang.program.parallel.app;
+
+function other() (int) {
+    return 1;
+}
@@ -0,0 +1,5 @@
+package lang.program.parallel.math;
+
+function square(int value) (int) {
+    return value * value;
+}
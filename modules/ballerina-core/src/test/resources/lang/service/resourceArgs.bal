@@ -0,0 +1,16 @@
+@http:BasePath ("/orders")
+service Orders {
+
+    @http:GET
+    @http:Path ("/{orderId}?item={item}")
+    resource order (message m, @http:PathParam ("orderId") string orderId, @http:QueryParam ("item") string item) {
+        reply m;
+    }
+
+    @http:GET
+    @http:Path ("/count/{count}/*")
+    resource count (message m, @http:PathParam ("count") int count, @http:QueryParam ("step") int step) {
+        int total = count + step;
+        reply m;
+    }
+}
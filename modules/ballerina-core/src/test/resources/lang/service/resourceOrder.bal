@@ -0,0 +1,37 @@
+@http:BasePath ("/wildcardFirst")
+service WildcardFirst {
+
+    @http:GET
+    @http:Path ("/*")
+    resource fallback (message m) {
+        reply m;
+    }
+
+    @http:GET
+    @http:Path ("/products/{productId}?regID={regID}")
+    resource product (message m, @http:PathParam ("productId") string prdID, @http:QueryParam ("regID") string rID) {
+        reply m;
+    }
+}
+
+@http:BasePath ("/templateFirst")
+service TemplateFirst {
+
+    @http:GET
+    @http:Path ("/products/{productId}?regID={regID}")
+    resource product (message m, @http:PathParam ("productId") string prdID, @http:QueryParam ("regID") string rID) {
+        reply m;
+    }
+
+    @http:GET
+    @http:Path ("/products/latest")
+    resource latest (message m) {
+        reply m;
+    }
+
+    @http:GET
+    @http:Path ("/*")
+    resource fallback (message m) {
+        reply m;
+    }
+}
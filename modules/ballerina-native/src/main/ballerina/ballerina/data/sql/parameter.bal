@@ -4,4 +4,8 @@ struct Parameter {
 	string sqlType;
 	string value;
 	int direction;
+}
+
+struct ParameterRow {
+	Parameter[] parameters;
 }
\ No newline at end of file
@@ -54,6 +54,15 @@ public final class Constants {
         public static final String DATASOURCE = "dataSource.";
     }
 
+    /**
+     * Constants for SQL connector configurations, other than the pool configurations.
+     */
+    public static final class ConnectorProperties {
+
+        public static final String MAX_BATCH_SIZE = "maxBatchSize";
+        public static final String FETCH_SIZE = "fetchSize";
+    }
+
     /**
      * Constants for SQL DataTypes.
      */
@@ -34,8 +34,11 @@ import org.ballerinalang.util.exceptions.BallerinaException;
 import org.osgi.service.component.annotations.Component;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Native SQL Connector.
@@ -55,7 +58,15 @@ public class SQLConnector extends AbstractNativeConnector {
     public static final String CONNECTOR_PACKAGE = "ballerina.data.sql";
     public static final String CONNECTOR_NAME = "ClientConnector";
 
+    // Maximum number of prepared statements cached for each connection of the pool
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
     private HikariDataSource hikariDataSource;
+    private StatementCache statementCache;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private int fetchSize;
 
     public SQLConnector(SymbolScope enclosingScope) {
         super(enclosingScope);
@@ -73,6 +84,36 @@ public class SQLConnector extends AbstractNativeConnector {
         return new SQLConnector(symbolScope);
     }
 
+    /**
+     * Declarations with the same options share an instance, hence a connection pool. Options are compared by their
+     * string values, so that e.g. {@code "maximumPoolSize": 5} and {@code "maximumPoolSize": "5"} are the same.
+     */
+    @Override
+    public Object getInstanceKey(BValue[] bValueRefs) {
+        BMap options = (BMap) bValueRefs[0];
+        if (options == null) {
+            return null;
+        }
+
+        Map<String, String> normalizedOptions = new TreeMap<>();
+        Set<BString> keySet = options.keySet();
+        for (BString key : keySet) {
+            BValue value = options.get(key);
+            normalizedOptions.put(key.stringValue(), value != null ? value.stringValue() : null);
+        }
+        return normalizedOptions;
+    }
+
+    @Override
+    public void close() {
+        if (statementCache != null) {
+            statementCache.clear();
+        }
+        if (hikariDataSource != null) {
+            hikariDataSource.close();
+        }
+    }
+
     public Connection getSQLConnection() {
         try {
            return  hikariDataSource.getConnection();
@@ -82,6 +123,45 @@ public class SQLConnector extends AbstractNativeConnector {
         }
     }
 
+    /**
+     * Returns a prepared statement of the given query. Statements are cached if
+     * {@link #isStatementCacheEnabled()}, in which case they must not be closed.
+     *
+     * @param conn  connection of this connector
+     * @param query sql query
+     * @return prepared statement of the query
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement getPreparedStatement(Connection conn, String query) throws SQLException {
+        if (statementCache != null) {
+            return statementCache.prepareStatement(conn, query);
+        }
+        return conn.prepareStatement(query);
+    }
+
+    public boolean isStatementCacheEnabled() {
+        return statementCache != null;
+    }
+
+    /**
+     * Returns the maximum number of rows sent to the database in a single batch by the batch update action.
+     *
+     * @return maximum batch size
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Returns the number of rows fetched from the database at a time by the queries, or 0 to use the default of
+     * the driver.
+     *
+     * @return fetch size of the queries
+     */
+    public int getFetchSize() {
+        return fetchSize;
+    }
+
     private void buildDataSource(BMap options) {
         try {
             HikariConfig config = new HikariConfig();
@@ -89,136 +169,136 @@ public class SQLConnector extends AbstractNativeConnector {
             BValue value = options.get(key);
             if (value != null) {
                 config.setDataSourceClassName(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.JDBC_URL);
             value = options.get(key);
             if (value != null) {
                 config.setJdbcUrl(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.USER_NAME);
             value = options.get(key);
             if (value != null) {
                 config.setUsername(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.PASSWORD);
             value = options.get(key);
             if (value != null) {
                 config.setPassword(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.AUTO_COMMIT);
             value = options.get(key);
             if (value != null) {
                 config.setAutoCommit(Boolean.parseBoolean(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.CONNECTION_TIMEOUT);
             value = options.get(key);
             if (value != null) {
                 config.setConnectionTimeout(Long.parseLong(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.IDLE_TIMEOUT);
             value = options.get(key);
             if (value != null) {
                 config.setIdleTimeout(Long.parseLong(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.MAX_LIFETIME);
             value = options.get(key);
             if (value != null) {
                 config.setMaxLifetime(Long.parseLong(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.CONNECTION_TEST_QUERY);
             value = options.get(key);
             if (value != null) {
                 config.setConnectionTestQuery(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.MINIMUM_IDLE);
             value = options.get(key);
             if (value != null) {
                 config.setMinimumIdle(Integer.parseInt(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.MAXIMUM_POOL_SIZE);
             value = options.get(key);
             if (value != null) {
                 config.setMaximumPoolSize(Integer.parseInt(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.POOOL_NAME);
             value = options.get(key);
             if (value != null) {
                 config.setPoolName(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.ISOLATE_INTERNAL_QUERIES);
             value = options.get(key);
             if (value != null) {
                 config.setIsolateInternalQueries(Boolean.parseBoolean(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.ALLOW_POOL_SUSPENSION);
             value = options.get(key);
             if (value != null) {
                 config.setAllowPoolSuspension(Boolean.parseBoolean(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.READ_ONLY);
             value = options.get(key);
             if (value != null) {
                 config.setReadOnly(Boolean.parseBoolean(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.REGISTER_MBEANS);
             value = options.get(key);
             if (value != null) {
                 config.setRegisterMbeans(Boolean.parseBoolean(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.CATALOG);
             value = options.get(key);
             if (value != null) {
                 config.setCatalog(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.CONNECTION_INIT_SQL);
             value = options.get(key);
             if (value != null) {
                 config.setConnectionInitSql(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.DRIVER_CLASSNAME);
             value = options.get(key);
             if (value != null) {
                 config.setDriverClassName(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.TRANSACTION_ISOLATION);
             value = options.get(key);
             if (value != null) {
                 config.setTransactionIsolation(value.stringValue());
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.VALIDATION_TIMEOUT);
             value = options.get(key);
             if (value != null) {
                 config.setValidationTimeout(Long.parseLong(value.stringValue()));
-                options.remove(key);
             }
             key = new BString(Constants.PoolProperties.LEAK_DETECTION_THRESHOLD);
             value = options.get(key);
             if (value != null) {
                 config.setLeakDetectionThreshold(Long.parseLong(value.stringValue()));
-                options.remove(key);
+            }
+            key = new BString(Constants.ConnectorProperties.MAX_BATCH_SIZE);
+            value = options.get(key);
+            if (value != null) {
+                maxBatchSize = Integer.parseInt(value.stringValue());
+                if (maxBatchSize <= 0) {
+                    throw new BallerinaException("invalid " + Constants.ConnectorProperties.MAX_BATCH_SIZE + ": " +
+                            maxBatchSize);
+                }
+            }
+            key = new BString(Constants.ConnectorProperties.FETCH_SIZE);
+            value = options.get(key);
+            if (value != null) {
+                fetchSize = Integer.parseInt(value.stringValue());
+                if (fetchSize < 0) {
+                    throw new BallerinaException("invalid " + Constants.ConnectorProperties.FETCH_SIZE + ": " +
+                            fetchSize);
+                }
             }
             setDataSourceProperties(options, config);
             hikariDataSource = new HikariDataSource(config);
+            // Cached statements are not known to the pool, hence the pool cannot roll back their transactions
+            if (config.isAutoCommit()) {
+                statementCache = new StatementCache(STATEMENT_CACHE_SIZE);
+            }
         } catch (Throwable t) {
             String errorMessage = "error in sql connector configuration";
             if (t.getCause() != null) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.data.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code StatementCache} caches the prepared statements of the connections of a connection pool, keyed by their
+ * queries.
+ * <p>
+ * Statements are prepared on the physical connections, since the statements of the pooled connections are closed
+ * when the connections are returned to the pool. A physical connection, hence its statements, is used by a single
+ * thread at a time. Cached statements are closed when they are evicted, or by the driver when their connection is
+ * closed by the pool.
+ *
+ * @since 0.8.1
+ */
+public class StatementCache {
+
+    private final int maxStatementsPerConnection;
+
+    private final Map<Connection, Map<String, PreparedStatement>> connectionStatements = new IdentityHashMap<>();
+
+    public StatementCache(int maxStatementsPerConnection) {
+        this.maxStatementsPerConnection = maxStatementsPerConnection;
+    }
+
+    /**
+     * Returns a prepared statement of the given query, with its parameters cleared. The statement must not be
+     * closed by the caller.
+     *
+     * @param conn  pooled connection
+     * @param query sql query
+     * @return prepared statement of the query
+     * @throws SQLException if the statement cannot be prepared
+     */
+    public PreparedStatement prepareStatement(Connection conn, String query) throws SQLException {
+        Connection physicalConn = conn.unwrap(Connection.class);
+        Map<String, PreparedStatement> statements;
+        synchronized (connectionStatements) {
+            statements = connectionStatements.get(physicalConn);
+            if (statements == null) {
+                // New physical connections are created when the old ones are retired by the pool
+                removeClosedConnections();
+                statements = createStatementMap();
+                connectionStatements.put(physicalConn, statements);
+            }
+        }
+
+        PreparedStatement stmt = statements.get(query);
+        if (stmt == null || stmt.isClosed()) {
+            stmt = physicalConn.prepareStatement(query);
+            statements.put(query, stmt);
+        } else {
+            stmt.clearParameters();
+        }
+        return stmt;
+    }
+
+    /**
+     * Close all the cached statements.
+     */
+    public void clear() {
+        synchronized (connectionStatements) {
+            for (Map<String, PreparedStatement> statements : connectionStatements.values()) {
+                statements.values().forEach(StatementCache::closeStatement);
+            }
+            connectionStatements.clear();
+        }
+    }
+
+    private Map<String, PreparedStatement> createStatementMap() {
+        return new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > maxStatementsPerConnection) {
+                    closeStatement(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private void removeClosedConnections() {
+        Iterator<Connection> iterator = connectionStatements.keySet().iterator();
+        while (iterator.hasNext()) {
+            Connection conn = iterator.next();
+            try {
+                if (conn.isClosed()) {
+                    iterator.remove();
+                }
+            } catch (SQLException e) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static void closeStatement(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException ignore) { /* ignore */ }
+    }
+}
@@ -25,9 +25,9 @@ import org.ballerinalang.model.values.BInteger;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BStruct;
 import org.ballerinalang.model.values.BValue;
-import org.ballerinalang.nativeimpl.connectors.data.sql.Constants;
 import org.ballerinalang.nativeimpl.connectors.data.sql.SQLConnector;
 import org.ballerinalang.nativeimpl.connectors.data.sql.SQLDataIterator;
+import org.ballerinalang.nativeimpl.lang.utils.LRUCache;
 import org.ballerinalang.natives.connectors.AbstractNativeAction;
 import org.ballerinalang.util.exceptions.BallerinaException;
 
@@ -42,7 +42,7 @@ import java.sql.Statement;
 import java.sql.Types;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Locale;
+import java.util.Objects;
 
 /**
  * {@code AbstractSQLAction} is the base class for all SQL Connector Action.
@@ -51,6 +51,10 @@ import java.util.Locale;
  */
 public abstract class AbstractSQLAction extends AbstractNativeAction {
 
+    private static final int BINDER_CACHE_SIZE = 512;
+
+    // Parameter binders of the queries, shared by all the connectors
+    private static final LRUCache<String, QueryBinders> BINDER_CACHE = new LRUCache<>(BINDER_CACHE_SIZE);
 
     protected void executeQuery(Context context, SQLConnector connector, String query, BArray parameters) {
         Connection conn = null;
@@ -58,14 +62,16 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         ResultSet rs = null;
         try {
             conn = connector.getSQLConnection();
-            stmt = conn.prepareStatement(query);
-            createProcessedStatement(stmt, parameters);
+            stmt = connector.getPreparedStatement(conn, query);
+            createProcessedStatement(stmt, query, parameters);
+            setFetchSize(connector, stmt);
             rs = stmt.executeQuery();
-            BDataTable datatable = new BDataTable(new SQLDataIterator(conn, stmt, rs), new HashMap<>(),
+            BDataTable datatable = new BDataTable(
+                    new SQLDataIterator(conn, getStatementToClose(connector, stmt), rs), new HashMap<>(),
                     getColumnDefinitions(rs));
             context.getControlStack().setReturnValue(0, datatable);
         } catch (SQLException e) {
-            SQLConnectorUtils.cleanupConnection(rs, stmt, conn);
+            SQLConnectorUtils.cleanupConnection(rs, getStatementToClose(connector, stmt), conn);
             throw new BallerinaException("execute query failed: " + e.getMessage(), e);
         }
     }
@@ -76,15 +82,15 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         ResultSet rs = null;
         try {
             conn = connector.getSQLConnection();
-            stmt = conn.prepareStatement(query);
-            createProcessedStatement(stmt, parameters);
+            stmt = connector.getPreparedStatement(conn, query);
+            createProcessedStatement(stmt, query, parameters);
             int count = stmt.executeUpdate();
             BInteger updatedCount = new BInteger(count);
             context.getControlStack().setReturnValue(0, updatedCount);
         } catch (SQLException e) {
             throw new BallerinaException("execute update failed: " + e.getMessage(), e);
         } finally {
-            SQLConnectorUtils.cleanupConnection(rs, stmt, conn);
+            SQLConnectorUtils.cleanupConnection(rs, getStatementToClose(connector, stmt), conn);
         }
     }
 
@@ -108,7 +114,7 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
             } else {
                 stmt = conn.prepareStatement(query, Statement.RETURN_GENERATED_KEYS);
             }
-            createProcessedStatement(stmt, parameters);
+            createProcessedStatement(stmt, query, parameters);
             int count = stmt.executeUpdate();
             BInteger updatedCount = new BInteger(count);
             context.getControlStack().setReturnValue(0, updatedCount);
@@ -124,6 +130,55 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         }
     }
 
+    protected void executeBatchUpdate(Context context, SQLConnector connector, String query, BArray rows) {
+        Connection conn = null;
+        PreparedStatement stmt = null;
+        boolean autoCommit = false;
+        try {
+            conn = connector.getSQLConnection();
+            // All the rows are updated in a single transaction
+            autoCommit = conn.getAutoCommit();
+            if (autoCommit) {
+                conn.setAutoCommit(false);
+            }
+            stmt = conn.prepareStatement(query);
+
+            int rowCount = rows.size();
+            int maxBatchSize = connector.getMaxBatchSize();
+            BArray<BInteger> updatedCounts = new BArray<>(BInteger.class);
+            for (int batchStart = 0; batchStart < rowCount; batchStart += maxBatchSize) {
+                int batchEnd = Math.min(batchStart + maxBatchSize, rowCount);
+                for (int index = batchStart; index < batchEnd; index++) {
+                    BStruct row = (BStruct) rows.get(index);
+                    createProcessedStatement(stmt, query, (BArray) row.getValue(0));
+                    stmt.addBatch();
+                }
+                int[] counts = stmt.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    updatedCounts.add(batchStart + i, new BInteger(counts[i]));
+                }
+            }
+
+            if (autoCommit) {
+                conn.commit();
+            }
+            context.getControlStack().setReturnValue(0, updatedCounts);
+        } catch (SQLException e) {
+            rollback(conn, autoCommit);
+            throw new BallerinaException("execute batch update failed: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            rollback(conn, autoCommit);
+            throw e;
+        } finally {
+            if (autoCommit) {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException ignore) { /* ignore */ }
+            }
+            SQLConnectorUtils.cleanupConnection(null, stmt, conn);
+        }
+    }
+
     protected void executeProcedure(Context context, SQLConnector connector, String query, BArray parameters) {
         Connection conn = null;
         CallableStatement stmt = null;
@@ -131,7 +186,8 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         try {
             conn = connector.getSQLConnection();
             stmt = conn.prepareCall(query);
-            createProcessedStatement(stmt, parameters);
+            createProcessedStatement(stmt, query, parameters);
+            setFetchSize(connector, stmt);
             boolean hasResult = stmt.execute();
             if (hasResult) {
                 rs = stmt.getResultSet(); //TODO:How to return next result sets
@@ -147,6 +203,23 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         }
     }
 
+    private static void setFetchSize(SQLConnector connector, Statement stmt) throws SQLException {
+        // Rows of the result are fetched as the datatable is iterated, a fetch size at a time
+        int fetchSize = connector.getFetchSize();
+        if (fetchSize > 0) {
+            stmt.setFetchSize(fetchSize);
+        }
+    }
+
+    private static void rollback(Connection conn, boolean autoCommit) {
+        // Only the transaction started by the batch update is rolled back
+        if (autoCommit) {
+            try {
+                conn.rollback();
+            } catch (SQLException ignore) { /* ignore */ }
+        }
+    }
+
     private ArrayList<BDataTable.ColumnDefinition> getColumnDefinitions(ResultSet rs) throws SQLException {
         ArrayList<BDataTable.ColumnDefinition> columnDefs = new ArrayList<BDataTable.ColumnDefinition>();
         ResultSetMetaData rsMetaData = rs.getMetaData();
@@ -206,78 +279,62 @@ public abstract class AbstractSQLAction extends AbstractNativeAction {
         return generatredKeys;
     }
 
-    private void createProcessedStatement(PreparedStatement stmt, BArray params) {
+    private void createProcessedStatement(PreparedStatement stmt, String query, BArray params) {
         int paramCount = params.size();
+        BStruct[] paramValues = new BStruct[paramCount];
         for (int index = 0; index < paramCount; index++) {
-            BStruct paramValue = (BStruct) params.get(index);
-            String sqlType = paramValue.getValue(0).stringValue();
+            paramValues[index] = (BStruct) params.get(index);
+        }
+
+        QueryBinders queryBinders = BINDER_CACHE.get(query);
+        if (queryBinders == null || !queryBinders.isCompatible(paramValues)) {
+            queryBinders = new QueryBinders(paramValues);
+            BINDER_CACHE.put(query, queryBinders);
+        }
+
+        for (int index = 0; index < paramCount; index++) {
+            BStruct paramValue = paramValues[index];
             BValue value = paramValue.getValue(1);
             int direction = Integer.parseInt(paramValue.getValue(2).stringValue());
-            setParameter(stmt, sqlType, value, direction, index);
+            queryBinders.binders[index].bind(stmt, value, index, direction);
         }
     }
 
-    private void setParameter(PreparedStatement stmt, String sqlType, BValue value, int direction, int index) {
-        if (sqlType == null || sqlType.isEmpty()) {
-            SQLConnectorUtils.setStringValue(stmt, value, index, direction, Types.VARCHAR);
-        } else {
-            String sqlDataType = sqlType.toUpperCase(Locale.getDefault());
-            switch (sqlDataType) {
-            case Constants.SQLDataTypes.INTEGER:
-                SQLConnectorUtils.setIntValue(stmt, value, index, direction, Types.INTEGER);
-                break;
-            case Constants.SQLDataTypes.STRING:
-            case Constants.SQLDataTypes.UUID:
-            case Constants.SQLDataTypes.INETADDRESS:
-            case Constants.SQLDataTypes.VARCHAR:
-                SQLConnectorUtils.setStringValue(stmt, value, index, direction, Types.VARCHAR);
-                break;
-            case Constants.SQLDataTypes.DOUBLE:
-                SQLConnectorUtils.setDoubleValue(stmt, value, index, direction, Types.DOUBLE);
-                break;
-            case Constants.SQLDataTypes.NUMERIC:
-            case Constants.SQLDataTypes.DECIMAL:
-                SQLConnectorUtils.setNumericValue(stmt, value, index, direction, Types.NUMERIC);
-                break;
-            case Constants.SQLDataTypes.BIT:
-            case Constants.SQLDataTypes.BOOLEAN:
-                SQLConnectorUtils.setBooleanValue(stmt, value, index, direction, Types.BIT);
-                break;
-            case Constants.SQLDataTypes.TINYINT:
-                SQLConnectorUtils.setTinyIntValue(stmt, value, index, direction, Types.TINYINT);
-                break;
-            case Constants.SQLDataTypes.SMALLINT:
-                SQLConnectorUtils.setSmallIntValue(stmt, value, index, direction, Types.SMALLINT);
-                break;
-            case Constants.SQLDataTypes.BIGINT:
-            case Constants.SQLDataTypes.VARINT:
-                SQLConnectorUtils.setBigIntValue(stmt, value, index, direction, Types.BIGINT);
-                break;
-            case Constants.SQLDataTypes.REAL:
-            case Constants.SQLDataTypes.FLOAT:
-                SQLConnectorUtils.setRealValue(stmt, value, index, direction, Types.FLOAT);
-                break;
-            case Constants.SQLDataTypes.DATE:
-                SQLConnectorUtils.setDateValue(stmt, value, index, direction, Types.DATE);
-                break;
-            case Constants.SQLDataTypes.TIMESTAMP:
-                SQLConnectorUtils.setTimeStampValue(stmt, value, index, direction, Types.TIMESTAMP);
-                break;
-            case Constants.SQLDataTypes.TIME:
-                SQLConnectorUtils.setTimeValue(stmt, value, index, direction, Types.TIME);
-                break;
-            case Constants.SQLDataTypes.BINARY:
-                SQLConnectorUtils.setBinaryValue(stmt, value, index, direction, Types.BINARY);
-                break;
-            case Constants.SQLDataTypes.BLOB:
-                SQLConnectorUtils.setBlobValue(stmt, value, index, direction, Types.BLOB);
-                break;
-            case Constants.SQLDataTypes.CLOB:
-                SQLConnectorUtils.setClobValue(stmt, value, index, direction, Types.CLOB);
-                break;
-            default:
-                throw new BallerinaException("Unsupported datatype as input parameter: " + sqlType + " index:" + index);
+    private static Statement getStatementToClose(SQLConnector connector, PreparedStatement stmt) {
+        // Cached statements are closed with their connections
+        return connector.isStatementCacheEnabled() ? null : stmt;
+    }
+
+    /**
+     * Parameter binders of a query, compiled from the sql types of its parameters.
+     */
+    private static class QueryBinders {
+        private final String[] sqlTypes;
+        private final ParameterBinder[] binders;
+
+        QueryBinders(BStruct[] paramValues) {
+            sqlTypes = new String[paramValues.length];
+            binders = new ParameterBinder[paramValues.length];
+            for (int index = 0; index < paramValues.length; index++) {
+                sqlTypes[index] = paramValues[index].getValue(0).stringValue();
+                binders[index] = ParameterBinder.forType(sqlTypes[index], index);
+            }
+        }
+
+        /**
+         * Returns whether the given parameters have the sql types of these binders. The same query may be used with
+         * parameters of different types.
+         */
+        boolean isCompatible(BStruct[] paramValues) {
+            if (paramValues.length != sqlTypes.length) {
+                return false;
+            }
+            for (int index = 0; index < paramValues.length; index++) {
+                if (!Objects.equals(sqlTypes[index], paramValues[index].getValue(0).stringValue())) {
+                    return false;
+                }
             }
+            return true;
         }
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors.data.sql.client;
+
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.connectors.data.sql.Constants;
+import org.ballerinalang.util.exceptions.BallerinaException;
+
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Locale;
+
+/**
+ * {@code ParameterBinder} sets the value of a query parameter of a given sql type to a statement.
+ *
+ * @since 0.8.1
+ */
+@FunctionalInterface
+interface ParameterBinder {
+
+    /**
+     * Set a parameter value to the given statement.
+     *
+     * @param stmt      prepared statement
+     * @param value     parameter value
+     * @param index     index of the parameter, starting from 0
+     * @param direction direction of the parameter, one of {@link Constants.QueryParamDirection}
+     */
+    void bind(PreparedStatement stmt, BValue value, int index, int direction);
+
+    /**
+     * Returns the binder of the given sql type.
+     *
+     * @param sqlType sql type of the parameter, as given in the {@code sql:Parameter}
+     * @param index   index of the parameter, starting from 0
+     * @return binder of the sql type
+     */
+    static ParameterBinder forType(String sqlType, int index) {
+        if (sqlType == null || sqlType.isEmpty()) {
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setStringValue(stmt, value, i, direction,
+                    Types.VARCHAR);
+        }
+
+        String sqlDataType = sqlType.toUpperCase(Locale.getDefault());
+        switch (sqlDataType) {
+        case Constants.SQLDataTypes.INTEGER:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setIntValue(stmt, value, i, direction,
+                    Types.INTEGER);
+        case Constants.SQLDataTypes.STRING:
+        case Constants.SQLDataTypes.UUID:
+        case Constants.SQLDataTypes.INETADDRESS:
+        case Constants.SQLDataTypes.VARCHAR:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setStringValue(stmt, value, i, direction,
+                    Types.VARCHAR);
+        case Constants.SQLDataTypes.DOUBLE:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setDoubleValue(stmt, value, i, direction,
+                    Types.DOUBLE);
+        case Constants.SQLDataTypes.NUMERIC:
+        case Constants.SQLDataTypes.DECIMAL:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setNumericValue(stmt, value, i, direction,
+                    Types.NUMERIC);
+        case Constants.SQLDataTypes.BIT:
+        case Constants.SQLDataTypes.BOOLEAN:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setBooleanValue(stmt, value, i, direction,
+                    Types.BIT);
+        case Constants.SQLDataTypes.TINYINT:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setTinyIntValue(stmt, value, i, direction,
+                    Types.TINYINT);
+        case Constants.SQLDataTypes.SMALLINT:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setSmallIntValue(stmt, value, i, direction,
+                    Types.SMALLINT);
+        case Constants.SQLDataTypes.BIGINT:
+        case Constants.SQLDataTypes.VARINT:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setBigIntValue(stmt, value, i, direction,
+                    Types.BIGINT);
+        case Constants.SQLDataTypes.REAL:
+        case Constants.SQLDataTypes.FLOAT:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setRealValue(stmt, value, i, direction,
+                    Types.FLOAT);
+        case Constants.SQLDataTypes.DATE:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setDateValue(stmt, value, i, direction,
+                    Types.DATE);
+        case Constants.SQLDataTypes.TIMESTAMP:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setTimeStampValue(stmt, value, i, direction,
+                    Types.TIMESTAMP);
+        case Constants.SQLDataTypes.TIME:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setTimeValue(stmt, value, i, direction,
+                    Types.TIME);
+        case Constants.SQLDataTypes.BINARY:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setBinaryValue(stmt, value, i, direction,
+                    Types.BINARY);
+        case Constants.SQLDataTypes.BLOB:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setBlobValue(stmt, value, i, direction,
+                    Types.BLOB);
+        case Constants.SQLDataTypes.CLOB:
+            return (stmt, value, i, direction) -> SQLConnectorUtils.setClobValue(stmt, value, i, direction,
+                    Types.CLOB);
+        default:
+            throw new BallerinaException("Unsupported datatype as input parameter: " + sqlType + " index:" + index);
+        }
+    }
+}
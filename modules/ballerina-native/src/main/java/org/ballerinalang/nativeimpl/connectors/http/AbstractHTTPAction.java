@@ -20,6 +20,7 @@ package org.ballerinalang.nativeimpl.connectors.http;
 
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.Connector;
+import org.ballerinalang.model.values.BConnector;
 import org.ballerinalang.model.values.BException;
 import org.ballerinalang.model.values.BMessage;
 import org.ballerinalang.model.values.BValue;
@@ -36,6 +37,7 @@ import org.wso2.carbon.messaging.exceptions.ClientConnectorException;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.concurrent.TimeUnit;
 
 import static org.ballerinalang.runtime.Constants.BALLERINA_VERSION;
 
@@ -48,9 +50,6 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
     private static final String BALLERINA_USER_AGENT;
 
-    /* Application level timeout */
-    private static final long SENDER_TIMEOUT = 180000; // TODO: Make this configurable with endpoint timeout impl
-
     static {
         String version = System.getProperty(BALLERINA_VERSION);
         if (version != null) {
@@ -67,45 +66,22 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
             cMsg.setEndOfMsgAdded(true);
         }
 
-        String uri = null;
         try {
-            uri = ((ClientConnector) connector).getServiceUri() + path;
-
-            URL url = new URL(uri);
-            String host = url.getHost();
-            int port = 80;
-            if (url.getPort() != -1) {
-                port = url.getPort();
-            } else if (url.getProtocol().equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
-                port = 443;
-            }
-
-            cMsg.setProperty(Constants.HOST, host);
-            cMsg.setProperty(Constants.PORT, port);
-            String toPath = url.getPath();
-            String query = url.getQuery();
-            if (query != null) {
-                toPath = toPath + "?" + query;
-            }
-            cMsg.setProperty(Constants.TO, toPath);
-
-            cMsg.setProperty(Constants.PROTOCOL, url.getProtocol());
-            if (port != 80) {
-                cMsg.getHeaders().set(Constants.HOST, host + ":" + port);
+            ClientConnector clientConnector = (ClientConnector) connector;
+            String toPath = clientConnector.getRequestPath(path);
+            if (toPath != null) {
+                // Only the path is appended to the endpoint resolved by the connector
+                cMsg.setProperty(Constants.HOST, clientConnector.getHost());
+                cMsg.setProperty(Constants.PORT, clientConnector.getPort());
+                cMsg.setProperty(Constants.TO, toPath);
+                cMsg.setProperty(Constants.PROTOCOL, clientConnector.getProtocol());
+                cMsg.getHeaders().set(Constants.HOST, clientConnector.getHostHeader());
             } else {
-                cMsg.getHeaders().set(Constants.HOST, host);
-            }
-
-            //Set User-Agent Header
-            Object headerObj = cMsg.getProperty(org.ballerinalang.runtime.Constants.INTERMEDIATE_HEADERS);
-
-            if (headerObj == null) {
-                headerObj = new Headers();
-                cMsg.setProperty(org.ballerinalang.runtime.Constants.INTERMEDIATE_HEADERS, headerObj);
+                setEndpoint(cMsg, new URL(clientConnector.getServiceUri() + path));
             }
-            Headers headers = (Headers) headerObj;
 
-            if (!headers.contains(Constants.USER_AGENT_HEADER)) { // If User-Agent is not already set from program
+            //Set User-Agent Header, unless it is already set from program
+            if (!hasHeader(cMsg, Constants.USER_AGENT_HEADER)) {
                 cMsg.setHeader(Constants.USER_AGENT_HEADER, BALLERINA_USER_AGENT);
             }
 
@@ -117,6 +93,41 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
 
     }
 
+    private static boolean hasHeader(CarbonMessage cMsg, String name) {
+        if (cMsg.getHeader(name) != null) {
+            return true;
+        }
+        // Intermediate headers are looked up only if the message has them, they are not created for each request
+        Object headers = cMsg.getProperty(org.ballerinalang.runtime.Constants.INTERMEDIATE_HEADERS);
+        return headers instanceof Headers && ((Headers) headers).contains(name);
+    }
+
+    private static void setEndpoint(CarbonMessage cMsg, URL url) {
+        String host = url.getHost();
+        int port = 80;
+        if (url.getPort() != -1) {
+            port = url.getPort();
+        } else if (url.getProtocol().equalsIgnoreCase(Constants.PROTOCOL_HTTPS)) {
+            port = 443;
+        }
+
+        cMsg.setProperty(Constants.HOST, host);
+        cMsg.setProperty(Constants.PORT, port);
+        String toPath = url.getPath();
+        String query = url.getQuery();
+        if (query != null) {
+            toPath = toPath + "?" + query;
+        }
+        cMsg.setProperty(Constants.TO, toPath);
+
+        cMsg.setProperty(Constants.PROTOCOL, url.getProtocol());
+        if (port != 80) {
+            cMsg.getHeaders().set(Constants.HOST, host + ":" + port);
+        } else {
+            cMsg.getHeaders().set(Constants.HOST, host);
+        }
+    }
+
     protected BValue executeAction(Context context, CarbonMessage message) {
 
         try {
@@ -128,22 +139,14 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
                 throw new BallerinaException("Http client connector is not available");
             }
 
+            long timeout = getTimeout(context);
             clientConnector.send(message, balConnectorCallback);
+            balConnectorCallback.startTimer(timeout);
 
             // Wait till Response comes
-            long startTime = System.currentTimeMillis();
-            while (!balConnectorCallback.isResponseArrived()) {
-                synchronized (context) {
-                    if (!balConnectorCallback.isResponseArrived()) {
-                        logger.debug("Waiting for a response");
-                        context.wait(SENDER_TIMEOUT);
-                        if (System.currentTimeMillis() >= (startTime + SENDER_TIMEOUT)) {
-                            throw new RuntimeException("response was not received within sender timeout of " +
-                                                       SENDER_TIMEOUT / 1000 + " seconds");
-                        }
-                    }
-                }
-            }
+            logger.debug("Waiting for a response");
+            balConnectorCallback.awaitResponse();
+            handleTimeout(balConnectorCallback);
             handleTransportException(balConnectorCallback.getValueRef());
             return balConnectorCallback.getValueRef();
         } catch (ClientConnectorException e) {
@@ -163,11 +166,15 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         if (clientConnector == null) {
             throw new BallerinaException("Http client connector is not available");
         }
+        long timeout = getTimeout(context);
         clientConnector.send(message, balConnectorCallback);
+        // The execution is continued by the timer if the response does not arrive in time
+        balConnectorCallback.startTimer(timeout);
     }
 
     @Override
     public void validate(BalConnectorCallback callback) {
+        handleTimeout(callback);
         handleTransportException(callback.getValueRef());
     }
 
@@ -176,6 +183,27 @@ public abstract class AbstractHTTPAction extends AbstractNativeAction {
         return true;
     }
 
+    /**
+     * Returns the timeout of the connector of the action, shortened to the deadline of the request if there is one.
+     * Requests are not sent once the deadline has passed.
+     */
+    private long getTimeout(Context context) {
+        ClientConnector connector = (ClientConnector) ((BConnector) getArgument(context, 0)).value();
+        long timeout = context.getTimeout(connector.getTimeout(), TimeUnit.MILLISECONDS);
+        if (timeout <= 0) {
+            throw new BallerinaException("deadline of the request has passed");
+        }
+        return timeout;
+    }
+
+    private void handleTimeout(BalConnectorCallback callback) {
+        if (callback.isTimedOut()) {
+            String msg = "response was not received within the timeout of " + callback.getTimeoutMillis() + " ms";
+            BException exception = new BException(msg, Constants.HTTP_CLIENT_EXCEPTION_CATEGORY);
+            throw new BallerinaException(msg, exception);
+        }
+    }
+
     private void handleTransportException(BValue valueRef) {
         if (valueRef instanceof BMessage) {
             BMessage bMsg = (BMessage) valueRef;
@@ -17,6 +17,8 @@ package org.ballerinalang.nativeimpl.connectors.http;
 
 import org.ballerinalang.model.SymbolScope;
 import org.ballerinalang.model.types.TypeEnum;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
@@ -24,9 +26,17 @@ import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaConnector;
 import org.ballerinalang.natives.connectors.AbstractNativeConnector;
 import org.osgi.service.component.annotations.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.net.URL;
 
 /**
  * Native HTTP Connector.
+ * <p>
+ * The service uri may be followed by a map of options, e.g. the timeout of the requests in milliseconds:
+ * {@code create http:ClientConnector("http://localhost:9090", {"timeOut" : 30000})}.
  */
 @BallerinaConnector(
         packageName = ClientConnector.CONNECTOR_PACKAGE,
@@ -42,6 +52,8 @@ import org.osgi.service.component.annotations.Component;
 value = "Native HTTP Client Connector") })
 public class ClientConnector extends AbstractNativeConnector {
 
+    private static final Logger logger = LoggerFactory.getLogger(ClientConnector.class);
+
     public ClientConnector(SymbolScope enclosingScope) {
         super(enclosingScope);
     }
@@ -51,10 +63,21 @@ public class ClientConnector extends AbstractNativeConnector {
 
     private String serviceUri;
 
+    // Endpoint of the service uri, resolved once for all the requests
+    private String host;
+    private int port;
+    private String protocol;
+    private String hostHeader;
+    private String basePath;
+
+    private long timeout = Constants.DEFAULT_CLIENT_TIMEOUT;
+
     @Override
     public boolean init(BValue[] bValueRefs) {
-        if (bValueRefs != null && bValueRefs.length == 1) {
+        if (bValueRefs != null && bValueRefs.length >= 1) {
             serviceUri = bValueRefs[0].stringValue();
+            resolveEndpoint();
+            resolveTimeout(bValueRefs.length > 1 && bValueRefs[1] instanceof BMap ? (BMap) bValueRefs[1] : null);
         }
         return true;
     }
@@ -69,6 +92,109 @@ public class ClientConnector extends AbstractNativeConnector {
         return serviceUri;
     }
 
+    public String getHost() {
+        return host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public String getProtocol() {
+        return protocol;
+    }
+
+    /**
+     * Returns the value of the host header of the requests, i.e. the host and the port unless it is 80.
+     *
+     * @return host header value
+     */
+    public String getHostHeader() {
+        return hostHeader;
+    }
+
+    /**
+     * Returns the timeout of the requests, as given in the options of the connector, or else as configured for the
+     * endpoint or for all the endpoints.
+     *
+     * @return timeout in milliseconds
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns the request path, with its query, of the given path relative to the service uri.
+     *
+     * @param path path relative to the service uri
+     * @return request path, or null if the path has to be resolved with the service uri as a url
+     */
+    public String getRequestPath(String path) {
+        if (basePath == null || path.indexOf('#') >= 0) {
+            return null;
+        }
+        if (basePath.isEmpty() && !path.isEmpty() && path.charAt(0) != '/' && path.charAt(0) != '?') {
+            // The path would be a part of the authority of the url
+            return null;
+        }
+        return basePath + path;
+    }
+
+    private void resolveEndpoint() {
+        try {
+            URL url = new URL(serviceUri);
+            host = url.getHost();
+            protocol = url.getProtocol();
+            port = url.getPort();
+            if (port == -1) {
+                port = protocol.equalsIgnoreCase(Constants.PROTOCOL_HTTPS) ? 443 : 80;
+            }
+            hostHeader = port != 80 ? host + ":" + port : host;
+            // Service uris with a query or a fragment are resolved with the path of each request
+            if (url.getQuery() == null && url.getRef() == null) {
+                basePath = url.getPath();
+            }
+        } catch (MalformedURLException ignore) {
+            // The error is reported by each request, when the path is resolved with the service uri
+        }
+    }
+
+    private void resolveTimeout(BMap options) {
+        timeout = getTimeoutProperty(Constants.SYS_PROP_CLIENT_TIMEOUT, Constants.DEFAULT_CLIENT_TIMEOUT);
+        if (host != null) {
+            // Endpoint specific timeouts take precedence over the common one
+            timeout = getTimeoutProperty(Constants.SYS_PROP_CLIENT_TIMEOUT + "." + host + ":" + port, timeout);
+        }
+        if (options != null) {
+            // The timeout of the connector takes precedence over the configured ones
+            BValue value = options.get(new BString(Constants.CLIENT_OPTION_TIMEOUT));
+            if (value != null) {
+                timeout = getTimeout(value.stringValue(), Constants.CLIENT_OPTION_TIMEOUT, timeout);
+            }
+        }
+    }
+
+    private static long getTimeoutProperty(String name, long defaultValue) {
+        return getTimeout(System.getProperty(name), name, defaultValue);
+    }
+
+    private static long getTimeout(String value, String name, long defaultValue) {
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+
+        try {
+            long longValue = Long.parseLong(value.trim());
+            if (longValue > 0) {
+                return longValue;
+            }
+        } catch (NumberFormatException e) {
+            // Fall back to the default value
+        }
+        logger.warn("invalid value '" + value + "' for " + name + ", using " + defaultValue);
+        return defaultValue;
+    }
+
     public boolean equals(Object obj) {
         return super.equals(obj);
     }
@@ -45,6 +45,14 @@ public class Constants {
     public static final String USER_AGENT_HEADER = "User-Agent";
     public static final String REQUEST_URL = "REQUEST_URL";
 
+    // Timeout of the client connector requests in milliseconds, given in the options of the connector, e.g.
+    // create http:ClientConnector("http://localhost:9090", {"timeOut" : 30000})
+    public static final String CLIENT_OPTION_TIMEOUT = "timeOut";
+    // Default timeout of the client connectors which have no timeout option. Defaults can be given per endpoint by
+    // suffixing the host and the port of the endpoint, e.g. ballerina.http.client.timeout.localhost:9090
+    public static final String SYS_PROP_CLIENT_TIMEOUT = "ballerina.http.client.timeout";
+    public static final long DEFAULT_CLIENT_TIMEOUT = 180000;
+
 
     public static final String HTTP_METHOD_GET = "GET";
     public static final String HTTP_METHOD_POST = "POST";
@@ -19,51 +19,166 @@
 
 package org.ballerinalang.nativeimpl.lang.jsons;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
-import com.jayway.jsonpath.spi.json.JsonProvider;
 import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
-import com.jayway.jsonpath.spi.mapper.MappingProvider;
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.nativeimpl.lang.utils.LRUCache;
 import org.ballerinalang.natives.AbstractNativeFunction;
 
+import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.Set;
+import java.util.List;
 
 /**
- * Test Class for Testing Ballerina Service.
+ * Base class of the native functions which evaluate jsonpaths on json values.
+ * <p>
+ * Jsonpaths are compiled once and cached in a process wide LRU cache keyed by the path, and are evaluated with a
+ * single Jackson configuration shared by all the functions. Reads of simple paths made of property names and array
+ * indexes, e.g. {@code $.order.items[0].id}, walk the json tree directly without the jsonpath engine. Values are
+ * modified through {@link BJSON#mutableValue()}, so that the clones which share them are not affected.
  */
 public abstract class AbstractJSONFunction extends AbstractNativeFunction {
 
+    private static final int PATH_CACHE_SIZE = 512;
+
+    // Configure jayway jsonpath with Jackson provider
+    private static final Configuration JSON_PATH_CONFIG = Configuration.builder()
+            .jsonProvider(new JacksonJsonNodeJsonProvider())
+            .mappingProvider(new JacksonMappingProvider())
+            .options(EnumSet.noneOf(Option.class))
+            .build();
+
+    private static final LRUCache<String, CompiledPath> PATH_CACHE = new LRUCache<>(PATH_CACHE_SIZE);
+
     /**
-     * Create a JSON function.
+     * Evaluate the given jsonpath on a json value.
+     *
+     * @param json     json value
+     * @param jsonPath jsonpath to evaluate
+     * @param <T>      expected type of the result
+     * @return matching element, or the result of the function of the path
      */
-    public AbstractJSONFunction() {
-        super();
-        // Configure jayway jsonpath with Jackson provider
-        Configuration.setDefaults(new JacksonDefaultConfiguration());
+    @SuppressWarnings("unchecked")
+    protected static <T> T read(JsonNode json, String jsonPath) {
+        CompiledPath compiledPath = getCompiledPath(jsonPath);
+        if (compiledPath.tokens != null) {
+            JsonNode element = compiledPath.walk(json);
+            if (element != null) {
+                return (T) element;
+            }
+            // Let the jsonpath engine report the missing element
+        }
+        return compiledPath.path.read(json, JSON_PATH_CONFIG);
+    }
+
+    protected static void set(BJSON json, String jsonPath, Object value) {
+        getCompiledPath(jsonPath).path.set(json.mutableValue(), value, JSON_PATH_CONFIG);
+    }
+
+    protected static void add(BJSON json, String jsonPath, Object value) {
+        getCompiledPath(jsonPath).path.add(json.mutableValue(), value, JSON_PATH_CONFIG);
+    }
+
+    protected static void put(BJSON json, String jsonPath, String key, Object value) {
+        getCompiledPath(jsonPath).path.put(json.mutableValue(), key, value, JSON_PATH_CONFIG);
+    }
+
+    protected static void delete(BJSON json, String jsonPath) {
+        getCompiledPath(jsonPath).path.delete(json.mutableValue(), JSON_PATH_CONFIG);
+    }
+
+    protected static void renameKey(BJSON json, String jsonPath, String oldKey, String newKey) {
+        getCompiledPath(jsonPath).path.renameKey(json.mutableValue(), oldKey, newKey, JSON_PATH_CONFIG);
+    }
+
+    private static CompiledPath getCompiledPath(String jsonPath) {
+        // Invalid paths are not cached, since compiling them throws
+        return PATH_CACHE.computeIfAbsent(jsonPath, path -> new CompiledPath(JsonPath.compile(path),
+                parseSimplePath(path)));
     }
 
     /**
-     * Set Jackson provider as the default configuration for Jayway.
+     * Parse a jsonpath made of property names and array indexes, i.e. {@code $(.name|[index])*}.
+     *
+     * @param jsonPath jsonpath to parse
+     * @return property names and array indexes of the path, or null if it is not a simple path
      */
-    private static class JacksonDefaultConfiguration implements Configuration.Defaults {
-        private final JsonProvider jsonProvider = new JacksonJsonNodeJsonProvider();
-        private final MappingProvider mappingProvider = new JacksonMappingProvider();
+    static Object[] parseSimplePath(String jsonPath) {
+        if (jsonPath.isEmpty() || jsonPath.charAt(0) != '$') {
+            return null;
+        }
 
-        @Override
-        public JsonProvider jsonProvider() {
-            return jsonProvider;
+        List<Object> tokens = new ArrayList<>();
+        int i = 1;
+        int length = jsonPath.length();
+        while (i < length) {
+            char ch = jsonPath.charAt(i);
+            int start = i + 1;
+            int end = start;
+            if (ch == '.') {
+                while (end < length && isNameChar(jsonPath.charAt(end))) {
+                    end++;
+                }
+                if (end == start) {
+                    return null;
+                }
+                tokens.add(jsonPath.substring(start, end));
+                i = end;
+            } else if (ch == '[') {
+                while (end < length && Character.isDigit(jsonPath.charAt(end))) {
+                    end++;
+                }
+                // Indexes with more than 9 digits may overflow
+                if (end == start || end - start > 9 || end == length || jsonPath.charAt(end) != ']') {
+                    return null;
+                }
+                tokens.add(Integer.parseInt(jsonPath.substring(start, end)));
+                i = end + 1;
+            } else {
+                return null;
+            }
         }
+        return tokens.toArray();
+    }
+
+    private static boolean isNameChar(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
+
+    /**
+     * Compiled jsonpath, with its tokens if it is a simple path.
+     */
+    private static class CompiledPath {
+        private final JsonPath path;
+        private final Object[] tokens;
 
-        @Override
-        public MappingProvider mappingProvider() {
-            return mappingProvider;
+        CompiledPath(JsonPath path, Object[] tokens) {
+            this.path = path;
+            this.tokens = tokens;
         }
 
-        @Override
-        public Set<Option> options() {
-            return EnumSet.noneOf(Option.class);
+        /**
+         * Walk the tokens of the path from the given node.
+         *
+         * @param node root node
+         * @return matching node, or null if the path does not match an element
+         */
+        JsonNode walk(JsonNode node) {
+            for (Object token : tokens) {
+                if (token instanceof String) {
+                    node = node.isObject() ? node.get((String) token) : null;
+                } else {
+                    node = node.isArray() ? node.get((Integer) token) : null;
+                }
+                if (node == null) {
+                    return null;
+                }
+            }
+            return node;
         }
     }
 }
@@ -19,10 +19,8 @@
 package org.ballerinalang.nativeimpl.lang.jsons;
 
 import com.jayway.jsonpath.InvalidPathException;
-import com.jayway.jsonpath.JsonPath;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.WriteContext;
 import org.ballerinalang.bre.Context;
 import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BJSON;
@@ -70,8 +68,7 @@ public class Rename extends AbstractJSONFunction {
             String newKey = getArgument(ctx, 3).stringValue();
             
             // Rename the element key
-            WriteContext jsonCtx = JsonPath.parse(json.value());
-            jsonCtx.renameKey(jsonPath, oldKey, newKey);
+            renameKey(json, jsonPath, oldKey, newKey);
         } catch (PathNotFoundException e) {
             ErrorHandler.handleNonExistingJsonpPath(OPERATION, jsonPath, e);
         } catch (InvalidPathException e) {
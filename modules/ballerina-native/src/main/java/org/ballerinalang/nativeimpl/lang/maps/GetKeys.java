@@ -31,7 +31,7 @@ import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
 
-import java.util.Set;
+import java.util.Iterator;
 
 /**
  * Native function to get key arrays from the map.
@@ -52,13 +52,13 @@ import java.util.Set;
         value = "A string array of keys contained in the specified map ") })
 public class GetKeys extends AbstractNativeFunction {
 
+    @SuppressWarnings("unchecked")
     public BValue[] execute(Context ctx) {
-        BMap map = (BMap) getArgument(ctx, 0);
-        Set<BString> keySet = map.keySet();
+        BMap<BString, BValue> map = (BMap<BString, BValue>) getArgument(ctx, 0);
         BArray<BString> keyArray = new BArray<>(BString.class);
-        int i = 0;
-        for (BString key : keySet) {
-            keyArray.add(i++, key);
+        Iterator<BString> keys = map.keyIterator();
+        for (int i = 0; keys.hasNext(); i++) {
+            keyArray.add(i, keys.next());
         }
         return getBValues(keyArray);
     }
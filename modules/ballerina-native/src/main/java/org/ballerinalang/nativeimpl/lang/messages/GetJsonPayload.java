@@ -30,6 +30,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.runtime.message.ByteBufferDataSource;
 import org.wso2.carbon.messaging.MessageDataSource;
 
 /**
@@ -63,6 +64,9 @@ public class GetJsonPayload extends AbstractNativeFunction {
                 MessageDataSource payload = msg.getMessageDataSource();
                 if (payload instanceof BJSON) {
                     result = (BJSON) payload;
+                } else if (payload instanceof ByteBufferDataSource) {
+                    // build the JSON from the received bytes, without decoding them into a string first
+                    result = new BJSON(((ByteBufferDataSource) payload).getInputStream());
                 } else {
                     // else, build the JSON from the string representation of the payload.
                     result = new BJSON(msg.getMessageDataSource().getMessageAsString());
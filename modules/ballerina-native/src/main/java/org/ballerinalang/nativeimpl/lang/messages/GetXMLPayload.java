@@ -28,6 +28,7 @@ import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
 import org.ballerinalang.natives.annotations.BallerinaFunction;
 import org.ballerinalang.natives.annotations.ReturnType;
+import org.ballerinalang.runtime.message.ByteBufferDataSource;
 import org.wso2.carbon.messaging.MessageDataSource;
 
 /**
@@ -62,6 +63,9 @@ public class GetXMLPayload extends AbstractNativeFunction {
                 if (payload instanceof BXML) {
                     // if the payload is already xml, return it as it is.
                     result = (BXML) payload;
+                } else if (payload instanceof ByteBufferDataSource) {
+                    // build the xml from the received bytes, without decoding them into a string first
+                    result = new BXML(((ByteBufferDataSource) payload).getInputStream());
                 } else {
                     // else, build the xml from the string representation of the payload.
                     result = new BXML(msg.getMessageDataSource().getMessageAsString());
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.lang.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@code LRUCache} is a thread safe, bounded cache which evicts the least recently used entry when it is full.
+ * <p>
+ * It is meant for caching compiled artifacts, e.g. compiled expressions keyed by their source, which are shared by
+ * all the invocations of the native functions.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ * @since 0.8.1
+ */
+public class LRUCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    /**
+     * Create a cache with the given maximum number of entries.
+     *
+     * @param maxSize maximum number of entries
+     */
+    public LRUCache(int maxSize) {
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    /**
+     * Returns the cached value of the given key, creating and caching it if it is not available.
+     * <p>
+     * Values are created without holding the lock of the cache, hence the same value may be created concurrently by
+     * more than one thread, in which case the last one is cached.
+     *
+     * @param key     key of the value
+     * @param factory creates the value of the key. Exceptions thrown by it are propagated and nothing is cached.
+     * @return cached value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+        V value = get(key);
+        if (value == null) {
+            value = factory.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+}
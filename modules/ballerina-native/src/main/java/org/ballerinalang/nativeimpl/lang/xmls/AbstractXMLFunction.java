@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.lang.xmls;
+
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XPathCompiler;
+import net.sf.saxon.s9api.XPathExecutable;
+import net.sf.saxon.s9api.XPathSelector;
+import net.sf.saxon.s9api.XdmNode;
+import net.sf.saxon.s9api.XdmValue;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BXML;
+import org.ballerinalang.nativeimpl.lang.utils.LRUCache;
+import org.ballerinalang.natives.AbstractNativeFunction;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Base class of the native functions which evaluate xpaths on xml values.
+ * <p>
+ * Xpaths are evaluated with Saxon, using a single processor shared by all the functions. Xpaths are compiled once
+ * and cached in a process wide LRU cache keyed by the xpath and its namespaces. The Saxon tree of an xml value is
+ * built on its first evaluation and kept with the value, until the value is modified through
+ * {@link BXML#mutableValue()}.
+ *
+ * @since 0.8.1
+ */
+public abstract class AbstractXMLFunction extends AbstractNativeFunction {
+
+    private static final int XPATH_CACHE_SIZE = 512;
+
+    private static final Processor PROCESSOR = new Processor(false);
+
+    private static final LRUCache<XPathKey, XPathExecutable> XPATH_CACHE = new LRUCache<>(XPATH_CACHE_SIZE);
+
+    /**
+     * Evaluate the given xpath on an xml value.
+     *
+     * @param xml        xml value
+     * @param xPath      xpath to evaluate
+     * @param namespaces namespaces of the xpath, keyed by their prefixes. May be null.
+     * @return result of the xpath
+     * @throws SaxonApiException if the xpath is invalid or its evaluation fails
+     */
+    protected static XdmValue evaluate(BXML xml, String xPath, BMap<BString, BString> namespaces)
+            throws SaxonApiException {
+        XPathSelector selector = getXPathExecutable(xPath, namespaces).load();
+        selector.setContextItem(getXdmNode(xml));
+        return selector.evaluate();
+    }
+
+    private static XdmNode getXdmNode(BXML xml) throws SaxonApiException {
+        XdmNode xdmNode = xml.getXdmNode();
+        if (xdmNode == null) {
+            // Concurrent evaluations may build the tree more than once, which is harmless since it is immutable
+            xdmNode = PROCESSOR.newDocumentBuilder().build(xml.value().getSAXSource(true));
+            xml.setXdmNode(xdmNode);
+        }
+        return xdmNode;
+    }
+
+    private static XPathExecutable getXPathExecutable(String xPath, BMap<BString, BString> namespaces)
+            throws SaxonApiException {
+        Map<String, String> namespaceMap = Collections.emptyMap();
+        if (namespaces != null && !namespaces.isEmpty()) {
+            namespaceMap = new HashMap<>();
+            for (BString prefix : namespaces.keySet()) {
+                namespaceMap.put(prefix.stringValue(), namespaces.get(prefix).stringValue());
+            }
+        }
+
+        XPathKey key = new XPathKey(xPath, namespaceMap);
+        XPathExecutable executable = XPATH_CACHE.get(key);
+        if (executable == null) {
+            // Invalid xpaths are not cached, since compiling them throws
+            XPathCompiler xPathCompiler = PROCESSOR.newXPathCompiler();
+            for (Map.Entry<String, String> namespace : namespaceMap.entrySet()) {
+                xPathCompiler.declareNamespace(namespace.getKey(), namespace.getValue());
+            }
+            executable = xPathCompiler.compile(xPath);
+            XPATH_CACHE.put(key, executable);
+        }
+        return executable;
+    }
+
+    /**
+     * Key of a compiled xpath, i.e. the xpath and its namespaces.
+     */
+    private static final class XPathKey {
+        private final String xPath;
+        private final Map<String, String> namespaces;
+
+        XPathKey(String xPath, Map<String, String> namespaces) {
+            this.xPath = xPath;
+            this.namespaces = namespaces;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof XPathKey)) {
+                return false;
+            }
+            XPathKey other = (XPathKey) obj;
+            return xPath.equals(other.xPath) && namespaces.equals(other.namespaces);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * xPath.hashCode() + namespaces.hashCode();
+        }
+    }
+}
@@ -28,7 +28,6 @@ import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -66,7 +65,7 @@ import java.util.List;
         value = "Name of the attribute to be added") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "value",
         value = "Attribute value") })
-public class AddAttribute extends AbstractNativeFunction {
+public class AddAttribute extends AbstractXMLFunction {
     
     private static final String OPERATION = "add attribute to xml";
 
@@ -85,7 +84,7 @@ public class AddAttribute extends AbstractNativeFunction {
             
             // Setting the value to XML
             AXIOMXPath axiomxPath = new AXIOMXPath(xPath);
-            Object result = axiomxPath.evaluate(xml.value());
+            Object result = axiomxPath.evaluate(xml.mutableValue());
             if (result instanceof ArrayList) {
                 List<?> macthingElements = (List<?>) result;
                 if (macthingElements.isEmpty()) {
@@ -29,7 +29,6 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -71,7 +70,7 @@ import java.util.List;
         value = "Attribute value") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "namespaces",
         value = "A map object consisting of namespaces") })
-public class AddAttributeWithNamespaces extends AbstractNativeFunction {
+public class AddAttributeWithNamespaces extends AbstractXMLFunction {
 
     private static final String OPERATION = "add attribute to xml";
 
@@ -97,7 +96,7 @@ public class AddAttributeWithNamespaces extends AbstractNativeFunction {
                 }
             }
 
-            Object result = axiomxPath.evaluate(xml.value());
+            Object result = axiomxPath.evaluate(xml.mutableValue());
             if (result instanceof ArrayList) {
                 List<?> macthingElements = (List<?>) result;
                 if (macthingElements.isEmpty()) {
@@ -29,7 +29,6 @@ import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -64,7 +63,7 @@ import java.util.List;
         value = "An XPath") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "value",
         value = "An XML value") })
-public class AddElement extends AbstractNativeFunction {
+public class AddElement extends AbstractXMLFunction {
 
     private static final String OPERATION = "add element to xml";
 
@@ -82,7 +81,7 @@ public class AddElement extends AbstractNativeFunction {
 
             // Setting the value to XML
             AXIOMXPath axiomxPath = new AXIOMXPath(xPath);
-            Object result = axiomxPath.evaluate(xml.value());
+            Object result = axiomxPath.evaluate(xml.mutableValue());
             if (result instanceof ArrayList) {
                 List<?> macthingElements = (List<?>) result;
                 if (macthingElements.isEmpty()) {
@@ -30,7 +30,6 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -69,7 +68,7 @@ import java.util.List;
         value = "An XML value") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "namespaces",
         value = "A map object consisting of namespaces") })
-public class AddElementWithNamespaces extends AbstractNativeFunction {
+public class AddElementWithNamespaces extends AbstractXMLFunction {
 
     private static final String OPERATION = "add element to xml";
 
@@ -94,7 +93,7 @@ public class AddElementWithNamespaces extends AbstractNativeFunction {
                 }
             }
 
-            Object result = axiomxPath.evaluate(xml.value());
+            Object result = axiomxPath.evaluate(xml.mutableValue());
             if (result instanceof ArrayList) {
                 List<?> macthingElements = (List<?>) result;
                 if (macthingElements.isEmpty()) {
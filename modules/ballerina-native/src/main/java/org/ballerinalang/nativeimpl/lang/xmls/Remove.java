@@ -25,7 +25,6 @@ import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -52,7 +51,7 @@ import java.util.List;
         value = "An XML object") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "xPath",
         value = "An XPath") })
-public class Remove extends AbstractNativeFunction {
+public class Remove extends AbstractXMLFunction {
     
     private static final String OPERATION = "remove element from xml";
 
@@ -65,7 +64,7 @@ public class Remove extends AbstractNativeFunction {
 
             // Setting the value to XML
             AXIOMXPath axiomxPath = new AXIOMXPath(xPath);
-            Object ob = axiomxPath.evaluate(xml.value());
+            Object ob = axiomxPath.evaluate(xml.mutableValue());
             if (ob instanceof ArrayList) {
                 List<?> list = (List<?>) ob;
 
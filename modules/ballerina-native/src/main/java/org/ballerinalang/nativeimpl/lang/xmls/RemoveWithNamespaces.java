@@ -26,7 +26,6 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -56,7 +55,7 @@ import java.util.List;
         value = "An XPath") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "namespaces",
         value = "A map object consisting of namespaces") })
-public class RemoveWithNamespaces extends AbstractNativeFunction {
+public class RemoveWithNamespaces extends AbstractXMLFunction {
 
     private static final String OPERATION = "remove element from xml";
 
@@ -75,7 +74,7 @@ public class RemoveWithNamespaces extends AbstractNativeFunction {
                     axiomxPath.addNamespace(entry.stringValue(), namespaces.get(entry).stringValue());
                 }
             }
-            Object ob = axiomxPath.evaluate(xml.value());
+            Object ob = axiomxPath.evaluate(xml.mutableValue());
             if (ob instanceof ArrayList) {
                 List<?> list = (List<?>) ob;
 
@@ -29,7 +29,6 @@ import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -66,7 +65,7 @@ import java.util.List;
         value = "An XPath") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "nameSpaces",
         value = "A string value") })
-public class SetString extends AbstractNativeFunction {
+public class SetString extends AbstractXMLFunction {
     
     private static final String OPERATION = "set string in xml";
 
@@ -88,7 +87,7 @@ public class SetString extends AbstractNativeFunction {
 
                 }
             }*/
-            Object ob = axiomxPath.evaluate(xml.value());
+            Object ob = axiomxPath.evaluate(xml.mutableValue());
             if (ob instanceof ArrayList) {
                 List list = (List) ob;
                 for (Object obj : list) {
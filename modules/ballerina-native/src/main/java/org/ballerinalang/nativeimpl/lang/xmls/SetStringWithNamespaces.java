@@ -29,7 +29,6 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -68,7 +67,7 @@ import java.util.List;
         value = "A string value") })
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "namespaces",
         value = "A map object consisting of namespaces") })
-public class SetStringWithNamespaces extends AbstractNativeFunction {
+public class SetStringWithNamespaces extends AbstractXMLFunction {
 
     private static final String OPERATION = "set string in xml";
 
@@ -89,7 +88,7 @@ public class SetStringWithNamespaces extends AbstractNativeFunction {
                     axiomxPath.addNamespace(entry.stringValue(), namespaces.get(entry).stringValue());
                 }
             }
-            Object ob = axiomxPath.evaluate(xml.value());
+            Object ob = axiomxPath.evaluate(xml.mutableValue());
             if (ob instanceof ArrayList) {
                 List list = (List) ob;
                 for (Object obj : list) {
@@ -27,7 +27,6 @@ import org.ballerinalang.model.types.TypeEnum;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.lang.utils.ErrorHandler;
-import org.ballerinalang.natives.AbstractNativeFunction;
 import org.ballerinalang.natives.annotations.Argument;
 import org.ballerinalang.natives.annotations.Attribute;
 import org.ballerinalang.natives.annotations.BallerinaAnnotation;
@@ -63,7 +62,7 @@ import java.util.List;
 @BallerinaAnnotation(annotationName = "Param", attributes = {@Attribute(name = "value",
         value = "An XML value") })
 
-public class SetXML extends AbstractNativeFunction {
+public class SetXML extends AbstractXMLFunction {
 
     private static final String OPERATION = "set element in xml";
 
@@ -81,7 +80,7 @@ public class SetXML extends AbstractNativeFunction {
 
             // Setting the value to XML
             AXIOMXPath axiomxPath = new AXIOMXPath(xPath);
-            Object ob = axiomxPath.evaluate(xml.value());
+            Object ob = axiomxPath.evaluate(xml.mutableValue());
             if (ob instanceof ArrayList) {
                 List<?> list = (List<?>) ob;
                 for (Object obj : list) {
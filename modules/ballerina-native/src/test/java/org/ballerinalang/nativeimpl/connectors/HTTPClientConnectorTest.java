@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.nativeimpl.connectors;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.Connector;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.connectors.http.AbstractHTTPAction;
+import org.ballerinalang.nativeimpl.connectors.http.ClientConnector;
+import org.ballerinalang.nativeimpl.connectors.http.Constants;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+import org.wso2.carbon.messaging.Headers;
+
+/**
+ * Test the endpoint resolved by the HTTP client connector, and the requests prepared for it.
+ */
+public class HTTPClientConnectorTest {
+
+    @Test(description = "Test resolving the request paths against a service uri with a base path")
+    public void testRequestPath() {
+        ClientConnector connector = createConnector("http://localhost:9090/base");
+        Assert.assertEquals(connector.getHost(), "localhost");
+        Assert.assertEquals(connector.getPort(), 9090);
+        Assert.assertEquals(connector.getProtocol(), "http");
+        Assert.assertEquals(connector.getHostHeader(), "localhost:9090");
+        Assert.assertEquals(connector.getRequestPath("/echo?name=ballerina"), "/base/echo?name=ballerina");
+        Assert.assertEquals(connector.getRequestPath(""), "/base");
+        Assert.assertNull(connector.getRequestPath("/echo#fragment"));
+    }
+
+    @Test(description = "Test resolving the default ports and the request paths against a service uri without a path")
+    public void testDefaultPorts() {
+        ClientConnector connector = createConnector("https://localhost");
+        Assert.assertEquals(connector.getPort(), 443);
+        Assert.assertEquals(connector.getHostHeader(), "localhost:443");
+        Assert.assertEquals(connector.getRequestPath("/echo"), "/echo");
+        Assert.assertNull(connector.getRequestPath("echo"));
+
+        connector = createConnector("http://localhost");
+        Assert.assertEquals(connector.getPort(), 80);
+        Assert.assertEquals(connector.getHostHeader(), "localhost");
+    }
+
+    @Test(description = "Test a service uri which is not a valid url")
+    public void testMalformedServiceUri() {
+        ClientConnector connector = createConnector("localhost:9090");
+        Assert.assertNull(connector.getRequestPath("/echo"));
+    }
+
+    @Test(description = "Test resolving the timeouts configured for all the endpoints and for an endpoint")
+    public void testTimeout() {
+        Assert.assertEquals(createConnector("http://localhost:9090").getTimeout(), Constants.DEFAULT_CLIENT_TIMEOUT);
+
+        String endpointProperty = Constants.SYS_PROP_CLIENT_TIMEOUT + ".localhost:9091";
+        try {
+            System.setProperty(Constants.SYS_PROP_CLIENT_TIMEOUT, "30000");
+            System.setProperty(endpointProperty, "5000");
+            Assert.assertEquals(createConnector("http://localhost:9090/base").getTimeout(), 30000);
+            Assert.assertEquals(createConnector("http://localhost:9091/base").getTimeout(), 5000);
+
+            System.setProperty(endpointProperty, "invalid");
+            Assert.assertEquals(createConnector("http://localhost:9091/base").getTimeout(), 30000);
+
+            // The timeout option of the connector takes precedence over the properties
+            System.setProperty(endpointProperty, "5000");
+            Assert.assertEquals(createConnector("http://localhost:9091/base", new BInteger(1000)).getTimeout(), 1000);
+            Assert.assertEquals(createConnector("http://localhost:9090/base", new BString("2000")).getTimeout(), 2000);
+            Assert.assertEquals(createConnector("http://localhost:9091/base", new BString("invalid")).getTimeout(),
+                    5000);
+            BValue[] args = new BValue[] { new BString("http://localhost:9091/base"), new BMap<BString, BValue>() };
+            ClientConnector connector = new ClientConnector(null);
+            connector.init(args);
+            Assert.assertEquals(connector.getTimeout(), 5000);
+        } finally {
+            System.clearProperty(Constants.SYS_PROP_CLIENT_TIMEOUT);
+            System.clearProperty(endpointProperty);
+        }
+    }
+
+    @Test(description = "Test setting the User-Agent header of the requests unless it is already set")
+    public void testUserAgent() {
+        ClientConnector connector = createConnector("http://localhost:9090/base");
+        CarbonMessage cMsg = new DefaultCarbonMessage();
+        new TestAction().prepareRequest(connector, "/echo", cMsg);
+        Assert.assertTrue(cMsg.getHeader(Constants.USER_AGENT_HEADER).startsWith("ballerina"));
+        Assert.assertEquals(cMsg.getProperty(Constants.TO), "/base/echo");
+        Assert.assertNull(cMsg.getProperty(org.ballerinalang.runtime.Constants.INTERMEDIATE_HEADERS));
+
+        cMsg = new DefaultCarbonMessage();
+        cMsg.setHeader(Constants.USER_AGENT_HEADER, "client");
+        new TestAction().prepareRequest(connector, "/echo", cMsg);
+        Assert.assertEquals(cMsg.getHeader(Constants.USER_AGENT_HEADER), "client");
+
+        Headers headers = new Headers();
+        headers.set(Constants.USER_AGENT_HEADER, "client");
+        cMsg = new DefaultCarbonMessage();
+        cMsg.setProperty(org.ballerinalang.runtime.Constants.INTERMEDIATE_HEADERS, headers);
+        new TestAction().prepareRequest(connector, "/echo", cMsg);
+        Assert.assertNull(cMsg.getHeader(Constants.USER_AGENT_HEADER));
+    }
+
+    private static ClientConnector createConnector(String serviceUri) {
+        ClientConnector connector = new ClientConnector(null);
+        connector.init(new BValue[] { new BString(serviceUri) });
+        return connector;
+    }
+
+    private static ClientConnector createConnector(String serviceUri, BValue timeout) {
+        BMap<BString, BValue> options = new BMap<>();
+        options.put(new BString(Constants.CLIENT_OPTION_TIMEOUT), timeout);
+        ClientConnector connector = new ClientConnector(null);
+        connector.init(new BValue[] { new BString(serviceUri), options });
+        return connector;
+    }
+
+    private static class TestAction extends AbstractHTTPAction {
+
+        @Override
+        public BValue execute(Context context) {
+            return null;
+        }
+
+        @Override
+        protected void prepareRequest(Connector connector, String path, CarbonMessage cMsg) {
+            super.prepareRequest(connector, path, cMsg);
+        }
+    }
+}
@@ -18,11 +18,16 @@
 package org.ballerinalang.nativeimpl.connectors;
 
 import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.values.BArray;
 import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
 import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.nativeimpl.connectors.data.sql.SQLConnector;
 import org.ballerinalang.nativeimpl.util.BTestUtils;
 import org.ballerinalang.nativeimpl.util.SQLDBUtils;
+import org.ballerinalang.natives.connectors.NativeConnectorRegistry;
+import org.ballerinalang.util.exceptions.BallerinaException;
 import org.ballerinalang.util.program.BLangFunctions;
 import org.testng.Assert;
 import org.testng.annotations.AfterSuite;
@@ -30,6 +35,8 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.sql.Connection;
+import java.sql.SQLException;
 
 /**
  * Test class for SQL Connector test.
@@ -123,6 +130,24 @@ public class SQLConnectorTest {
         Assert.assertEquals(retValue.stringValue(), expected);
     }
 
+    @Test
+    public void testBatchUpdate() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testBatchUpdate");
+        BArray retValue = (BArray) returns[0];
+        Assert.assertEquals(retValue.size(), 3);
+        for (int i = 0; i < retValue.size(); i++) {
+            Assert.assertEquals(((BInteger) retValue.get(i)).intValue(), 1);
+        }
+    }
+
+    @Test(description = "Test executing a query repeatedly, with cached statements and parameter binders")
+    public void testRepeatedQueryParameters() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testRepeatedQueryParameters");
+        BString retValue = (BString) returns[0];
+        final String expected = "PeterPeterPeter";
+        Assert.assertEquals(retValue.stringValue(), expected);
+    }
+
     @Test
     public void testInsertTableDataWithParameters() {
         BValue[] returns = BLangFunctions.invoke(bLangProgram, "testInsertTableDataWithParameters");
@@ -130,6 +155,44 @@ public class SQLConnectorTest {
         Assert.assertEquals(retValue.intValue(), 1);
     }
 
+    @Test(description = "Test sharing the connection pool of connectors declared with the same options")
+    public void testSharedConnectionPool() throws SQLException {
+        BMap<BString, BValue> options = new BMap<>();
+        options.put(new BString("jdbcUrl"), new BString("jdbc:hsqldb:file:./target/tempdb/" + DB_NAME));
+        options.put(new BString("username"), new BString("SA"));
+        options.put(new BString("password"), new BString(""));
+        options.put(new BString("poolName"), new BString("SharedConnectionPoolTest"));
+        options.put(new BString("maximumPoolSize"), new BInteger(1));
+        BMap<BString, BValue> sameOptions = new BMap<>();
+        for (BString key : options.keySet()) {
+            sameOptions.put(key, options.get(key));
+        }
+        sameOptions.put(new BString("maximumPoolSize"), new BString("1"));
+
+        Object owner = new Object();
+        Object otherOwner = new Object();
+        SQLConnector connector = new SQLConnector(null);
+        NativeConnectorRegistry registry = NativeConnectorRegistry.getInstance();
+        SQLConnector instance = (SQLConnector) registry.getConnector(connector, new BValue[]{options}, owner);
+        Assert.assertSame(registry.getConnector(connector, new BValue[]{sameOptions}, owner), instance);
+        Assert.assertSame(registry.getConnector(connector, new BValue[]{options}, otherOwner), instance);
+
+        // The pool is closed once it is released by all the owners
+        registry.release(owner);
+        try (Connection connection = instance.getSQLConnection()) {
+            Assert.assertNotNull(connection);
+        }
+        registry.release(otherOwner);
+        try {
+            instance.getSQLConnection();
+            Assert.fail("connection pool is not closed");
+        } catch (BallerinaException e) {
+            // expected
+        }
+        Assert.assertNotSame(registry.getConnector(connector, new BValue[]{options}, owner), instance);
+        registry.release(owner);
+    }
+
 
     @AfterSuite
     public void cleanup() {
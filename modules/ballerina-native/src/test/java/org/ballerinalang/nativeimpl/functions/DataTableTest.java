@@ -93,6 +93,18 @@ public class DataTableTest {
                         + "\"DOUBLE_TYPE\":2.139095039E9,\"BOOLEAN_TYPE\":true,\"STRING_TYPE\":\"Hello\"}]");
     }
 
+    @Test(description = "Check toJson methods with a fetch size smaller than the result.")
+    public void testToJsonWithFetchSize() {
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "toJsonWithFetchSize");
+
+        Assert.assertEquals(returns.length, 1);
+        Assert.assertTrue(returns[0] instanceof BJSON);
+        // All the rows are read, one per fetch
+        Assert.assertEquals(returns[0].stringValue(),
+                "[{\"INT_TYPE\":1,\"STRING_TYPE\":\"Hello\"},{\"INT_TYPE\":2,\"STRING_TYPE\":\"World\"},"
+                        + "{\"INT_TYPE\":3,\"STRING_TYPE\":\"Ballerina\"}]");
+    }
+
     @Test(description = "Check toXml methods with wrapper element.")
     public void testToXmlWithWrapper() {
         BValue[] returns = BLangFunctions.invoke(bLangProgram, "toXmlWithWrapper");
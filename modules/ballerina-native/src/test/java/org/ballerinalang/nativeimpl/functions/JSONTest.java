@@ -67,6 +67,19 @@ public class JSONTest {
         Assert.assertEquals(returns[0].stringValue(), "Jack");
     }
 
+    @Test(description = "Get a string in a valid jsonpath with array indexes")
+    public void testGetStringWithArrayIndex() {
+        BValue[] args = {new BJSON(jsonElementArray), new BString("$.persons[1].fname")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "getString", args);
+        Assert.assertEquals(returns[0].stringValue(), "Peter");
+
+        // Evaluate the cached path on another json
+        args = new BValue[]{new BJSON("{'persons':[{'fname':'Jos'}, {'fname':'Anne'}]}"),
+                new BString("$.persons[1].fname")};
+        returns = BLangFunctions.invoke(bLangProgram, "getString", args);
+        Assert.assertEquals(returns[0].stringValue(), "Anne");
+    }
+
     @Test(description = "Get an integer in a valid jsonpath")
     public void testGetInt() {
         BValue[] args = {new BJSON(json1), new BString("$.age")};
@@ -83,6 +96,96 @@ public class JSONTest {
         Assert.assertEquals(getJsonAsString(returns[0]), "{\"fname\":\"Jack\",\"lname\":\"Taylor\"}");
     }
 
+    @Test(description = "Modify a json element got from a clone of a json")
+    public void testSetInJSONOfClone() {
+        BJSON json = new BJSON(json1);
+        BJSON clonedJson = (BJSON) json.clone();
+        BValue[] args = {clonedJson, new BString("$.name")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "getJson", args);
+
+        args = new BValue[]{returns[0], new BString("$.fname"), new BString("Jill")};
+        returns = BLangFunctions.invoke(bLangProgram, "setString", args);
+        Assert.assertEquals(returns[0].stringValue(), "Jill");
+
+        final String expected = "{\"name\":{\"fname\":\"Jack\",\"lname\":\"Taylor\"},\"state\":\"CA\",\"age\":20}";
+        Assert.assertEquals(json.stringValue(), expected);
+        Assert.assertEquals(clonedJson.stringValue(), expected);
+    }
+
+    @Test(description = "Modify a json element got from a json, and then clone the json")
+    public void testSetInJSONBeforeClone() {
+        BJSON json = new BJSON(json1);
+        BValue[] args = {json, new BString("$.name")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "getJson", args);
+        BValue name = returns[0];
+
+        // Until the json is cloned, the element is modified in place
+        args = new BValue[]{name, new BString("$.fname"), new BString("Jill")};
+        BLangFunctions.invoke(bLangProgram, "setString", args);
+        Assert.assertEquals(json.value().get("name").get("fname").asText(), "Jill");
+
+        // After the json is cloned, the element is still modified along with the json, but not with the clone
+        BJSON clonedJson = (BJSON) json.clone();
+        args = new BValue[]{name, new BString("$.fname"), new BString("Anne")};
+        BLangFunctions.invoke(bLangProgram, "setString", args);
+        Assert.assertEquals(clonedJson.value().get("name").get("fname").asText(), "Jill");
+        Assert.assertEquals(json.value().get("name").get("fname").asText(), "Anne");
+
+        args = new BValue[]{json, new BString("$.name.lname"), new BString("Roy")};
+        BLangFunctions.invoke(bLangProgram, "setString", args);
+        Assert.assertEquals(((BJSON) name).value().get("lname").asText(), "Roy");
+        Assert.assertEquals(clonedJson.value().get("name").get("lname").asText(), "Taylor");
+    }
+
+    @Test(description = "Add a json element got from a clone of a json to other jsons, and modify it there")
+    public void testAddJSONOfClone() {
+        BJSON json = new BJSON(json1);
+        BJSON clonedJson = (BJSON) json.clone();
+        BValue[] args = {clonedJson, new BString("$.name")};
+        BValue name = BLangFunctions.invoke(bLangProgram, "getJson", args)[0];
+
+        BJSON persons = new BJSON(jsonElementArray);
+        args = new BValue[]{persons, new BString("$.persons"), name};
+        BLangFunctions.invoke(bLangProgram, "addElementToArray", args);
+        args = new BValue[]{persons, new BString("$.persons[2].fname"), new BString("Jill")};
+        BLangFunctions.invoke(bLangProgram, "setString", args);
+
+        BJSON item = new BJSON(json2);
+        args = new BValue[]{item, new BString("$.item"), new BString("owner"), name};
+        BLangFunctions.invoke(bLangProgram, "addElementToObject", args);
+        args = new BValue[]{item, new BString("$.item.owner.fname"), new BString("Anne")};
+        BLangFunctions.invoke(bLangProgram, "setString", args);
+
+        BJSON state = new BJSON(json1);
+        args = new BValue[]{state, new BString("$.state"), name};
+        BLangFunctions.invoke(bLangProgram, "setJson", args);
+        args = new BValue[]{state, new BString("$.state.fname"), new BString("Mary")};
+        BLangFunctions.invoke(bLangProgram, "setString", args);
+
+        Assert.assertEquals(persons.value().get("persons").get(2).get("fname").asText(), "Jill");
+        Assert.assertEquals(item.value().get("item").get("owner").get("fname").asText(), "Anne");
+        Assert.assertEquals(state.value().get("state").get("fname").asText(), "Mary");
+        final String expected = "{\"name\":{\"fname\":\"Jack\",\"lname\":\"Taylor\"},\"state\":\"CA\",\"age\":20}";
+        Assert.assertEquals(json.stringValue(), expected);
+        Assert.assertEquals(clonedJson.stringValue(), expected);
+        Assert.assertEquals(name.stringValue(), "{\"fname\":\"Jack\",\"lname\":\"Taylor\"}");
+    }
+
+    @Test(description = "Add a json to another json, clone that json, and modify the added json")
+    public void testAddJSONBeforeClone() {
+        BJSON person = new BJSON("{'fname':'Jos','lname':'Allen'}");
+        BJSON persons = new BJSON(jsonElementArray);
+        BValue[] args = {persons, new BString("$.persons"), person};
+        BLangFunctions.invoke(bLangProgram, "addElementToArray", args);
+
+        // The added json is modified along with the json it was added to, but not with its clone
+        BJSON clonedPersons = (BJSON) persons.clone();
+        args = new BValue[]{person, new BString("$.fname"), new BString("Jill")};
+        BLangFunctions.invoke(bLangProgram, "setString", args);
+        Assert.assertEquals(persons.value().get("persons").get(2).get("fname").asText(), "Jill");
+        Assert.assertEquals(clonedPersons.value().get("persons").get(2).get("fname").asText(), "Jos");
+    }
+
     @Test(description = "Get a float in a valid jsonpath")
     public void testGetFloat() {
         BValue[] args = {new BJSON(json2), new BString("$.item.price")};
@@ -166,6 +269,12 @@ public class JSONTest {
         Assert.assertEquals(returns[0], null);
     }
 
+    @Test(description = "Get a value in a non-existing array index", expectedExceptions = BallerinaException.class)
+    public void testGetNonExistingArrayIndex() {
+        BValue[] args = {new BJSON(jsonElementArray), new BString("$.persons[2].fname")};
+        BLangFunctions.invoke(bLangProgram, "getString", args);
+    }
+
     @Test(description = "Get a value using a malformed jsonpath", expectedExceptions = {BallerinaException.class})
     public void testGetValueFromInvalidJsonpath() {
         BValue[] args = {new BJSON(json1), new BString("$/wrong/path.")};
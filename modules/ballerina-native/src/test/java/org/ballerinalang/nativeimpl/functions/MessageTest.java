@@ -17,6 +17,7 @@
 */
 package org.ballerinalang.nativeimpl.functions;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.ballerinalang.model.BLangProgram;
 import org.ballerinalang.model.values.BJSON;
 import org.ballerinalang.model.values.BMessage;
@@ -24,6 +25,7 @@ import org.ballerinalang.model.values.BString;
 import org.ballerinalang.model.values.BValue;
 import org.ballerinalang.model.values.BXML;
 import org.ballerinalang.nativeimpl.util.BTestUtils;
+import org.ballerinalang.runtime.message.ByteBufferDataSource;
 import org.ballerinalang.runtime.message.StringDataSource;
 import org.ballerinalang.util.program.BLangFunctions;
 import org.testng.Assert;
@@ -59,6 +61,20 @@ public class MessageTest {
         Assert.assertEquals(returns[0].stringValue(), payload);
     }
 
+    @Test(description = "Test reading a received payload as a string, then as json, from its byte buffers")
+    public void testGetJSONPayloadAfterStringValue() {
+        DefaultCarbonMessage carbonMsg = new DefaultCarbonMessage();
+        final String payload = "{\"name\":\"Jack\",\"address\":\"WSO2\"}";
+        carbonMsg.setStringMessageBody(payload);
+        BMessage message = new BMessage(carbonMsg);
+        Assert.assertEquals(message.stringValue(), payload);
+        Assert.assertTrue(message.getMessageDataSource() instanceof ByteBufferDataSource);
+
+        BValue[] args = { message };
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "testGetJSONPayload", args);
+        Assert.assertEquals(returns[0].stringValue(), payload);
+    }
+
     @Test
     public void testSetJSONPayload() {
         DefaultCarbonMessage carbonMsg = new DefaultCarbonMessage();
@@ -193,6 +209,21 @@ public class MessageTest {
         Assert.assertEquals(FunctionUtils.getReturnBValue(bContext).intValue(), 1);*/
     }
 
+    @Test(description = "Test cloning a message, sharing its json payload until the payload is modified")
+    public void testCloneWithJsonPayload() {
+        final String payload = "{\"name\":\"Jack\",\"address\":\"WSO2\"}";
+        BMessage message = new BMessage(new DefaultCarbonMessage());
+        message.setMessageDataSource(new BJSON(payload));
+        BMessage clonedMessage = message.clone();
+        BJSON json = (BJSON) message.getMessageDataSource();
+        BJSON clonedJson = (BJSON) clonedMessage.getMessageDataSource();
+        Assert.assertSame(clonedJson.value(), json.value());
+
+        ((ObjectNode) clonedJson.mutableValue()).put("name", "Jill");
+        Assert.assertEquals(json.stringValue(), payload);
+        Assert.assertEquals(clonedJson.stringValue(), "{\"name\":\"Jill\",\"address\":\"WSO2\"}");
+    }
+
     @Test
     public void testGetStringValue() {
         MapCarbonMessage carbonMsg = new MapCarbonMessage();
@@ -146,6 +146,15 @@ public class XMLTest {
                 "</name><address>wso2</address></person></persons>");
     }
 
+    @Test(description = "Test evaluating an xpath on a xml value after it is modified")
+    public void testGetStringAfterSetString() {
+        BValue[] args = {new BXML(s1), new BString("/persons/person/name/text()"), new BString("Peter")};
+        BValue[] returns = BLangFunctions.invoke(bLangProgram, "getStringAfterSet", args);
+
+        Assert.assertEquals(returns[0].stringValue(), "Jack");
+        Assert.assertEquals(returns[1].stringValue(), "Peter");
+    }
+
     @Test
     public void testSetStringToNonExistingElement() {
         BValue[] args = {new BXML(s1), new BString("/xxx/text()"), new BString("Peter")};
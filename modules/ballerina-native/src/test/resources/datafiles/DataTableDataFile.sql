@@ -72,4 +72,17 @@ CREATE TABLE IF NOT EXISTS DateTimeTypes(
   timestamp_type timestamp,
 PRIMARY KEY (row_id)
 );
+/
+CREATE TABLE IF NOT EXISTS DataTableRep(
+  row_id       INTEGER NOT NULL IDENTITY,
+  int_type     INTEGER,
+  string_type  VARCHAR(50),
+  PRIMARY KEY (row_id)
+);
+/
+insert into DataTableRep (int_type, string_type) values (1, 'Hello');
+/
+insert into DataTableRep (int_type, string_type) values (2, 'World');
+/
+insert into DataTableRep (int_type, string_type) values (3, 'Ballerina');
 /
\ No newline at end of file
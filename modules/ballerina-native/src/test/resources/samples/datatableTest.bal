@@ -69,6 +69,20 @@ function toJson()(json) {
     return result;
 }
 
+function toJsonWithFetchSize()(json) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_DATA_TABLE_DB",
+                            "username":"SA", "password":"", "maximumPoolSize":1, "fetchSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+    sql:Parameter[] parameters=[];
+    datatable df;
+    json result;
+
+    df = sql:ClientConnector.select(testDB, "SELECT int_type, string_type from DataTableRep ORDER BY row_id",
+                parameters);
+    result = datatables:toJson(df);
+    return result;
+}
+
 function toXmlWithWrapper()(xml) {
     map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_DATA_TABLE_DB",
                             "username":"SA", "password":"", "maximumPoolSize":1};
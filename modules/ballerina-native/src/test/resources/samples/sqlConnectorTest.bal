@@ -157,6 +157,57 @@ function testQueryParameters() (string) {
     return firstName;
 }
 
+function testBatchUpdate() (int[]) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+        "username":"SA", "password":"", "maximumPoolSize":1, "maxBatchSize":2};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+
+    sql:Parameter para1 = {sqlType:"varchar", value:"Alex", direction:0};
+    sql:Parameter para2 = {sqlType:"integer", value:"10", direction:0};
+    sql:Parameter[] parameters1 = [para1, para2];
+    sql:ParameterRow row1 = {parameters:parameters1};
+
+    sql:Parameter para3 = {sqlType:"varchar", value:"Alice", direction:0};
+    sql:Parameter para4 = {sqlType:"integer", value:"11", direction:0};
+    sql:Parameter[] parameters2 = [para3, para4];
+    sql:ParameterRow row2 = {parameters:parameters2};
+
+    sql:Parameter para5 = {sqlType:"varchar", value:"Alan", direction:0};
+    sql:Parameter para6 = {sqlType:"integer", value:"12", direction:0};
+    sql:Parameter[] parameters3 = [para5, para6];
+    sql:ParameterRow row3 = {parameters:parameters3};
+
+    sql:ParameterRow[] rows = [row1, row2, row3];
+    int[] updateCounts = sql:ClientConnector.batchUpdate(testDB, "Insert into Customers
+        (firstName,lastName,registrationID,creditLimit,country) values (?, 'Batch', ?, 1000, 'UK')", rows);
+    return updateCounts;
+}
+
+function testRepeatedQueryParameters() (string) {
+    map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
+            "username":"SA", "password":"", "maximumPoolSize":1};
+    sql:ClientConnector testDB = create sql:ClientConnector(propertiesMap);
+
+    string firstNames = "";
+    string sqlType = "integer";
+    int i = 0;
+    while (i < 3) {
+        if (i == 2) {
+            sqlType = "bigint";
+        }
+        sql:Parameter para1 = {sqlType:sqlType, value:"1", direction:0};
+        sql:Parameter[] parameters=[para1];
+        datatable dt = sql:ClientConnector.select(testDB,
+            "SELECT  FirstName from Customers where registrationID = ?", parameters);
+        while (datatables:next(dt)) {
+            firstNames = firstNames + datatables:getString(dt, 1);
+        }
+        datatables:close(dt);
+        i = i + 1;
+    }
+    return firstNames;
+}
+
 function testInsertTableDataWithParameters() (int) {
     map propertiesMap = {"jdbcUrl" : "jdbc:hsqldb:file:./target/tempdb/TEST_SQL_CONNECTOR",
         "username":"SA", "password":"", "maximumPoolSize":1};
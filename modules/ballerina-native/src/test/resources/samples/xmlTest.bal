@@ -60,4 +60,10 @@ function xmlSetString1()(xml) {
          </CheckAvailability>`;
      xmls:set(payload, "/CheckAvailability/doctorName/text()", doctorName);
      return payload;
- }
\ No newline at end of file
+ }
+function getStringAfterSet(xml msg, string xPath, string value) (string, string) {
+    string before;
+    before = xmls:getString(msg, xPath);
+    xmls:set(msg, xPath, value);
+    return before, xmls:getString(msg, xPath);
+}
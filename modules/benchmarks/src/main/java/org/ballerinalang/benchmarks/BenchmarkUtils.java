@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.BLangProgramLoader;
+import org.ballerinalang.bre.RuntimeEnvironment;
+import org.ballerinalang.model.BLangPackage;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.model.builder.BLangExecutionFlowBuilder;
+import org.ballerinalang.natives.BuiltInNativeConstructLoader;
+import org.ballerinalang.natives.connectors.BallerinaConnectorManager;
+import org.ballerinalang.natives.connectors.NativeConnectorRegistry;
+import org.ballerinalang.runtime.ResourceInvocationPlan;
+import org.ballerinalang.runtime.message.StringDataSource;
+import org.ballerinalang.services.MessageProcessor;
+import org.ballerinalang.services.dispatchers.DispatcherRegistry;
+import org.ballerinalang.services.dispatchers.http.Constants;
+import org.ballerinalang.util.exceptions.BallerinaException;
+import org.wso2.carbon.messaging.CarbonMessage;
+import org.wso2.carbon.messaging.DefaultCarbonMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Utility methods to load Ballerina programs and services for the benchmarks.
+ * <p>
+ * Benchmarks are run from a jar, hence the Ballerina sources are copied from the classpath to a temporary program
+ * directory before they are loaded.
+ *
+ * @since 0.8.1
+ */
+public class BenchmarkUtils {
+
+    private static final String RESOURCE_DIR = "/benchmarks/";
+
+    private static boolean initialized;
+
+    private BenchmarkUtils() {
+    }
+
+    /**
+     * Load the Ballerina program in the given benchmark resource.
+     *
+     * @param resourceName name of the Ballerina source in the benchmarks resource directory
+     * @return parsed, analyzed and linked program
+     */
+    public static BLangProgram loadProgram(String resourceName) {
+        initialize();
+        try (InputStream in = BenchmarkUtils.class.getResourceAsStream(RESOURCE_DIR + resourceName)) {
+            if (in == null) {
+                throw new BallerinaException("benchmark resource not found: " + resourceName);
+            }
+            Path programDir = Files.createTempDirectory("ballerina-benchmark");
+            Files.copy(in, programDir.resolve(resourceName), StandardCopyOption.REPLACE_EXISTING);
+            return new BLangProgramLoader().loadLibrary(programDir, Paths.get(resourceName));
+        } catch (IOException e) {
+            throw new BallerinaException("failed to load benchmark resource: " + resourceName, e);
+        }
+    }
+
+    /**
+     * Load a Ballerina program with the given source, e.g. a generated one.
+     *
+     * @param fileName name of the Ballerina source file
+     * @param source   Ballerina source
+     * @return parsed, analyzed and linked program
+     */
+    public static BLangProgram loadProgram(String fileName, String source) {
+        initialize();
+        try {
+            Path programDir = Files.createTempDirectory("ballerina-benchmark");
+            Files.write(programDir.resolve(fileName), source.getBytes(StandardCharsets.UTF_8));
+            return new BLangProgramLoader().loadLibrary(programDir, Paths.get(fileName));
+        } catch (IOException e) {
+            throw new BallerinaException("failed to write benchmark program: " + fileName, e);
+        }
+    }
+
+    /**
+     * Register the services of the given program with the dispatchers, without starting any server connectors.
+     *
+     * @param bLangProgram program with services
+     */
+    public static void deployServices(BLangProgram bLangProgram) {
+        BLangExecutionFlowBuilder flowBuilder = new BLangExecutionFlowBuilder();
+        for (BLangPackage servicePackage : bLangProgram.getPackages()) {
+            for (Service service : servicePackage.getServices()) {
+                service.setBLangProgram(bLangProgram);
+                DispatcherRegistry.getInstance().getServiceDispatchers().forEach((protocol, dispatcher) ->
+                        dispatcher.serviceRegistered(service));
+                service.accept(flowBuilder);
+                ResourceInvocationPlan.prepare(service);
+            }
+        }
+        bLangProgram.setRuntimeEnvironment(RuntimeEnvironment.get(bLangProgram));
+    }
+
+    public static void undeployServices(BLangProgram bLangProgram) {
+        for (BLangPackage servicePackage : bLangProgram.getPackages()) {
+            for (Service service : servicePackage.getServices()) {
+                DispatcherRegistry.getInstance().getServiceDispatchers().forEach((protocol, dispatcher) ->
+                        dispatcher.serviceUnregistered(service));
+            }
+        }
+        NativeConnectorRegistry.getInstance().release(bLangProgram.getRuntimeEnvironment());
+    }
+
+    /**
+     * Create an in-memory HTTP request, as received by the HTTP server connector.
+     *
+     * @param path    request path, including the base path of the service
+     * @param method  HTTP method
+     * @param payload request payload, or null
+     * @return request message
+     */
+    public static CarbonMessage createHTTPMessage(String path, String method, String payload) {
+        CarbonMessage carbonMessage = new DefaultCarbonMessage();
+        carbonMessage.setProperty(org.wso2.carbon.messaging.Constants.PROTOCOL, Constants.PROTOCOL_HTTP);
+        carbonMessage.setProperty(org.wso2.carbon.messaging.Constants.LISTENER_INTERFACE_ID,
+                Constants.DEFAULT_INTERFACE);
+        carbonMessage.setProperty(org.wso2.carbon.messaging.Constants.TO, path);
+        carbonMessage.setProperty(Constants.HTTP_METHOD, method);
+
+        if (payload != null) {
+            StringDataSource dataSource = new StringDataSource(payload);
+            dataSource.setOutputStream(carbonMessage.getOutputStream());
+            carbonMessage.setMessageDataSource(dataSource);
+            carbonMessage.setAlreadyRead(true);
+        }
+        return carbonMessage;
+    }
+
+    private static synchronized void initialize() {
+        if (initialized) {
+            return;
+        }
+        BallerinaConnectorManager.getInstance().initialize(new MessageProcessor());
+        BuiltInNativeConstructLoader.loadConstructs();
+        initialized = true;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.bre.nonblocking.ModeResolver;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BValue;
+import org.ballerinalang.util.program.BLangFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link BLangFunctions#invoke} on loops, arithmetic, struct field access and function calls, with
+ * the tree walking and the bytecode interpreters.
+ *
+ * @since 0.8.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class InterpreterBenchmark {
+
+    @Param({"ast", "bytecode"})
+    private String interpreter;
+
+    @Param({"1000"})
+    private int iterations;
+
+    @Param({"15"})
+    private int fibonacciN;
+
+    private BLangProgram bLangProgram;
+    private BValue[] iterationArgs;
+    private BValue[] fibonacciArgs;
+
+    @Setup
+    public void setup() {
+        // The interpreter is selected when the program is loaded
+        ModeResolver.getInstance().setBytecodeEnabled("bytecode".equals(interpreter));
+        bLangProgram = BenchmarkUtils.loadProgram("interpreter.bal");
+        iterationArgs = new BValue[]{new BInteger(iterations)};
+        fibonacciArgs = new BValue[]{new BInteger(fibonacciN)};
+    }
+
+    @Benchmark
+    public BValue[] sumLoop() {
+        return BLangFunctions.invoke(bLangProgram, "sumLoop", iterationArgs);
+    }
+
+    @Benchmark
+    public BValue[] arithmetic() {
+        return BLangFunctions.invoke(bLangProgram, "arithmetic", iterationArgs);
+    }
+
+    @Benchmark
+    public BValue[] structAccess() {
+        return BLangFunctions.invoke(bLangProgram, "structAccess", iterationArgs);
+    }
+
+    @Benchmark
+    public BValue[] functionCalls() {
+        return BLangFunctions.invoke(bLangProgram, "fibonacci", fibonacciArgs);
+    }
+}
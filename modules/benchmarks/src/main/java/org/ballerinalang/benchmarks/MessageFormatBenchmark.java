@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.model.values.BJSON;
+import org.ballerinalang.model.values.BXML;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of building {@link BJSON} and {@link BXML} values from payloads and serializing them back, as done for
+ * every request and response with a json or xml payload.
+ *
+ * @since 0.8.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MessageFormatBenchmark {
+
+    @Param({"10", "1000"})
+    private int itemCount;
+
+    private String jsonPayload;
+    private String xmlPayload;
+    private BJSON json;
+    private BXML xml;
+    private ByteArrayOutputStream outputStream;
+
+    @Setup
+    public void setup() {
+        StringBuilder jsonBuilder = new StringBuilder("{\"order\":{\"id\":\"ORD-1\",\"items\":[");
+        StringBuilder xmlBuilder = new StringBuilder("<order id=\"ORD-1\"><items>");
+        for (int i = 0; i < itemCount; i++) {
+            if (i > 0) {
+                jsonBuilder.append(',');
+            }
+            jsonBuilder.append("{\"sku\":\"SKU-").append(i).append("\",\"quantity\":").append(i % 10)
+                    .append(",\"price\":").append(i * 1.5).append(",\"available\":true}");
+            xmlBuilder.append("<item available=\"true\"><sku>SKU-").append(i).append("</sku><quantity>")
+                    .append(i % 10).append("</quantity><price>").append(i * 1.5).append("</price></item>");
+        }
+        jsonPayload = jsonBuilder.append("]}}").toString();
+        xmlPayload = xmlBuilder.append("</items></order>").toString();
+
+        json = new BJSON(jsonPayload);
+        xml = new BXML(xmlPayload);
+        // Build the complete tree, instead of measuring the deferred parsing of the first serialization
+        xml.value().build();
+        outputStream = new ByteArrayOutputStream(Math.max(jsonPayload.length(), xmlPayload.length()) * 2);
+    }
+
+    @Benchmark
+    public BJSON jsonBuild() {
+        return new BJSON(jsonPayload);
+    }
+
+    @Benchmark
+    public int jsonSerialize() {
+        outputStream.reset();
+        json.setOutputStream(outputStream);
+        json.serializeData();
+        return outputStream.size();
+    }
+
+    @Benchmark
+    public String jsonToString() {
+        return json.stringValue();
+    }
+
+    @Benchmark
+    public BXML xmlBuild() {
+        BXML newXml = new BXML(xmlPayload);
+        newXml.value().build();
+        return newXml;
+    }
+
+    @Benchmark
+    public int xmlSerialize() {
+        outputStream.reset();
+        xml.setOutputStream(outputStream);
+        xml.serializeData();
+        return outputStream.size();
+    }
+
+    @Benchmark
+    public String xmlToString() {
+        return xml.stringValue();
+    }
+}
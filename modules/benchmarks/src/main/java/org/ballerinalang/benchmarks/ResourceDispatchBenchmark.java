@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.bre.Context;
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.model.Resource;
+import org.ballerinalang.model.Service;
+import org.ballerinalang.services.dispatchers.DispatcherRegistry;
+import org.ballerinalang.services.dispatchers.ResourceDispatcher;
+import org.ballerinalang.services.dispatchers.ServiceDispatcher;
+import org.ballerinalang.services.dispatchers.http.Constants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link ResourceDispatcher#findResource} for the HTTP protocol, on a service with many resources with
+ * path parameters.
+ *
+ * @since 0.8.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ResourceDispatchBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int resourceCount;
+
+    private BLangProgram bLangProgram;
+    private ResourceDispatcher resourceDispatcher;
+    private Service service;
+    private CarbonMessage firstResourceMsg;
+    private CarbonMessage lastResourceMsg;
+    private Context firstResourceContext;
+    private Context lastResourceContext;
+
+    @Setup
+    public void setup() {
+        bLangProgram = BenchmarkUtils.loadProgram("dispatch-service.bal", generateService(resourceCount));
+        BenchmarkUtils.deployServices(bLangProgram);
+
+        ServiceDispatcher serviceDispatcher = DispatcherRegistry.getInstance()
+                .getServiceDispatcher(Constants.PROTOCOL_HTTP);
+        resourceDispatcher = DispatcherRegistry.getInstance().getResourceDispatcher(Constants.PROTOCOL_HTTP);
+
+        // Service dispatching sets the sub path used to find the resource
+        firstResourceMsg = BenchmarkUtils.createHTTPMessage("/dispatch/resource0/42", "GET", null);
+        firstResourceContext = new Context(firstResourceMsg);
+        service = serviceDispatcher.findService(firstResourceMsg, null, firstResourceContext);
+
+        lastResourceMsg = BenchmarkUtils.createHTTPMessage("/dispatch/resource" + (resourceCount - 1) + "/42?q=1",
+                "GET", null);
+        lastResourceContext = new Context(lastResourceMsg);
+        serviceDispatcher.findService(lastResourceMsg, null, lastResourceContext);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkUtils.undeployServices(bLangProgram);
+    }
+
+    @Benchmark
+    public Resource findFirstResource() {
+        return resourceDispatcher.findResource(service, firstResourceMsg, null, firstResourceContext);
+    }
+
+    @Benchmark
+    public Resource findLastResourceWithQuery() {
+        return resourceDispatcher.findResource(service, lastResourceMsg, null, lastResourceContext);
+    }
+
+    private static String generateService(int resourceCount) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("@http:BasePath (\"/dispatch\")\n");
+        builder.append("service dispatch {\n");
+        for (int i = 0; i < resourceCount; i++) {
+            builder.append("    @http:GET\n");
+            builder.append("    @http:Path (\"/resource").append(i).append("/{id}\")\n");
+            builder.append("    resource resource").append(i)
+                    .append(" (message m, @http:PathParam (\"id\") string id) {\n");
+            builder.append("        reply m;\n");
+            builder.append("    }\n");
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.model.BLangProgram;
+import org.ballerinalang.runtime.BalCallback;
+import org.ballerinalang.runtime.ServerConnectorMessageHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.messaging.CarbonMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End to end benchmarks of {@link ServerConnectorMessageHandler#handleInbound}, i.e. service and resource
+ * dispatching, argument binding, resource execution and the reply, driven by in-memory HTTP requests.
+ * <p>
+ * Requests are consumed by the resources, hence a new request is created for every invocation.
+ *
+ * @since 0.8.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ServiceInvocationBenchmark {
+
+    private static final String JSON_PAYLOAD = "{\"name\":\"John\",\"age\":30,\"tags\":[\"a\",\"b\",\"c\"]}";
+
+    private BLangProgram bLangProgram;
+
+    @Setup
+    public void setup() {
+        bLangProgram = BenchmarkUtils.loadProgram("echo-service.bal");
+        BenchmarkUtils.deployServices(bLangProgram);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkUtils.undeployServices(bLangProgram);
+    }
+
+    @Benchmark
+    public CarbonMessage echoMessage() {
+        return invoke(BenchmarkUtils.createHTTPMessage("/echo/message", "GET", null));
+    }
+
+    @Benchmark
+    public CarbonMessage echoJson() {
+        return invoke(BenchmarkUtils.createHTTPMessage("/echo/json/42", "POST", JSON_PAYLOAD));
+    }
+
+    private static CarbonMessage invoke(CarbonMessage request) {
+        ResponseCallback callback = new ResponseCallback();
+        ServerConnectorMessageHandler.handleInbound(request, callback);
+        if (callback.response == null) {
+            throw new IllegalStateException("no response for the request to " +
+                    request.getProperty(org.wso2.carbon.messaging.Constants.TO));
+        }
+        return callback.response;
+    }
+
+    /**
+     * Holds the response of a resource, which is replied from the thread executing the request.
+     */
+    private static class ResponseCallback implements BalCallback {
+        private CarbonMessage response;
+
+        @Override
+        public void done(CarbonMessage carbonMessage) {
+            response = carbonMessage;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks;
+
+import org.ballerinalang.model.values.BArray;
+import org.ballerinalang.model.values.BInteger;
+import org.ballerinalang.model.values.BMap;
+import org.ballerinalang.model.values.BString;
+import org.ballerinalang.model.values.BValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link BMap} and {@link BArray} operations used by the interpreters.
+ *
+ * @since 0.8.1
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ValueBenchmark {
+
+    @Param({"16", "1024"})
+    private int size;
+
+    private BString[] keys;
+    private BInteger[] values;
+    private BMap<BString, BValue> map;
+    private BArray<BInteger> array;
+
+    @Setup
+    public void setup() {
+        keys = new BString[size];
+        values = new BInteger[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = new BString("key" + i);
+            values[i] = new BInteger(i);
+        }
+        map = mapPut();
+        array = arrayAdd();
+    }
+
+    @Benchmark
+    public BMap<BString, BValue> mapPut() {
+        BMap<BString, BValue> newMap = new BMap<>();
+        for (int i = 0; i < size; i++) {
+            newMap.put(keys[i], values[i]);
+        }
+        return newMap;
+    }
+
+    @Benchmark
+    public void mapGet(Blackhole blackhole) {
+        for (BString key : keys) {
+            blackhole.consume(map.get(key));
+        }
+    }
+
+    @Benchmark
+    public void mapIterate(Blackhole blackhole) {
+        for (BString key : map.keySet()) {
+            blackhole.consume(key);
+        }
+    }
+
+    @Benchmark
+    public BArray<BInteger> arrayAdd() {
+        BArray<BInteger> newArray = new BArray<>(BInteger.class);
+        for (int i = 0; i < size; i++) {
+            newArray.add(i, values[i]);
+        }
+        return newArray;
+    }
+
+    @Benchmark
+    public void arrayGet(Blackhole blackhole) {
+        for (int i = 0; i < size; i++) {
+            blackhole.consume(array.get(i));
+        }
+    }
+}
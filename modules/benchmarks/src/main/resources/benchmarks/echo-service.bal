@@ -0,0 +1,22 @@
+import ballerina.net.http;
+import ballerina.lang.messages;
+
+@http:BasePath ("/echo")
+service echo {
+
+    @http:GET
+    @http:Path ("/message")
+    resource echoMessage (message m) {
+        reply m;
+    }
+
+    @http:POST
+    @http:Path ("/json/{id}")
+    resource echoJson (message m, @http:PathParam ("id") string id) {
+        json payload = messages:getJsonPayload(m);
+        message response = {};
+        json responseJson = `{"id":${id}, "payload":${payload}}`;
+        messages:setJsonPayload(response, responseJson);
+        reply response;
+    }
+}
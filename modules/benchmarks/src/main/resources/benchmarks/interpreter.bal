@@ -0,0 +1,50 @@
+struct Person {
+    string name;
+    int age;
+    Address address;
+}
+
+struct Address {
+    string city;
+    int zipCode;
+}
+
+function sumLoop(int count) (int) {
+    int sum = 0;
+    int i = 0;
+    while (i < count) {
+        sum = sum + i;
+        i = i + 1;
+    }
+    return sum;
+}
+
+function arithmetic(int count) (int) {
+    int result = 1;
+    int i = 1;
+    while (i < count) {
+        result = (result * 31 + i) % 1000003;
+        result = result - (i / 3) + (i % 7);
+        i = i + 1;
+    }
+    return result;
+}
+
+function structAccess(int count) (int) {
+    Address address = {city:"Colombo", zipCode:10};
+    Person person = {name:"John", age:0, address:address};
+    int i = 0;
+    while (i < count) {
+        person.age = person.age + 1;
+        person.address.zipCode = person.address.zipCode + person.age % 3;
+        i = i + 1;
+    }
+    return person.address.zipCode;
+}
+
+function fibonacci(int n) (int) {
+    if (n < 2) {
+        return n;
+    }
+    return fibonacci(n - 1) + fibonacci(n - 2);
+}
@@ -28,6 +28,7 @@ import org.wso2.carbon.messaging.exceptions.ServerConnectorException;
 import java.io.PrintStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -54,14 +55,22 @@ class BProgramRunner {
     static void runServices(Path[] serviceFilePaths) {
         BallerinaConnectorManager.getInstance().initialize(new MessageProcessor());
 
+        List<BLangProgram> bLangPrograms = new ArrayList<>();
         for (Path servicePath : serviceFilePaths) {
             // TODO Handle errors
             BLangProgram bLangProgram = new BLangProgramLoader().loadService(programDirPath, servicePath);
 
             outStream.println("ballerina: deploying service(s) in '" + servicePath + "'");
             new BLangProgramRunner().startServices(bLangProgram);
+            bLangPrograms.add(bLangProgram);
         }
 
+        // Stop the services on shutdown, so that the connectors shared by them, e.g. sql connection pools, are closed
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            BLangProgramRunner programRunner = new BLangProgramRunner();
+            bLangPrograms.forEach(programRunner::stopServices);
+        }, "ballerina-shutdown"));
+
         try {
             List<ServerConnector> startedConnectors = BallerinaConnectorManager.getInstance()
                     .startPendingConnectors();
@@ -11,6 +11,7 @@ import org.ballerinalang.model.BLangProgram;
 import org.ballerinalang.util.exceptions.BLangRuntimeException;
 import org.ballerinalang.util.exceptions.ParserException;
 import org.ballerinalang.util.exceptions.SemanticException;
+import org.ballerinalang.util.program.BLangModelCache;
 import org.ballerinalang.util.program.BLangPrograms;
 
 import java.io.IOException;
@@ -507,14 +508,17 @@ public class Main {
             }
 
             Path programDirPath = Paths.get(System.getProperty("user.dir"));
+            // Source files which have not changed since a previous build are not parsed again
+            BLangModelCache modelCache = new BLangModelCache(BLangModelCache.getDefaultCacheDirPath());
             BLangProgram bLangProgram = new BLangProgramLoader()
+                    .setModelCache(modelCache)
                     .loadMain(programDirPath, sourcePath);
 
             // TODO Delete existing file  or WARNING
             if (outputFileName == null || outputFileName.isEmpty()) {
-                new BLangProgramArchiveBuilder().build(bLangProgram);
+                new BLangProgramArchiveBuilder().setModelCache(modelCache).build(bLangProgram);
             } else {
-                new BLangProgramArchiveBuilder().build(bLangProgram, outputFileName.trim());
+                new BLangProgramArchiveBuilder().setModelCache(modelCache).build(bLangProgram, outputFileName.trim());
             }
         }
 
@@ -591,14 +595,17 @@ public class Main {
             }
 
             Path programDirPath = Paths.get(System.getProperty("user.dir"));
+            // Source files which have not changed since a previous build are not parsed again
+            BLangModelCache modelCache = new BLangModelCache(BLangModelCache.getDefaultCacheDirPath());
             BLangProgram bLangProgram = new BLangProgramLoader()
+                    .setModelCache(modelCache)
                     .loadService(programDirPath, sourcePath);
 
             // TODO Delete existing file  or WARNING
             if (outputFileName == null || outputFileName.isEmpty()) {
-                new BLangProgramArchiveBuilder().build(bLangProgram);
+                new BLangProgramArchiveBuilder().setModelCache(modelCache).build(bLangProgram);
             } else {
-                new BLangProgramArchiveBuilder().build(bLangProgram, outputFileName.trim());
+                new BLangProgramArchiveBuilder().setModelCache(modelCache).build(bLangProgram, outputFileName.trim());
             }
         }
 